@@ -99,8 +99,8 @@ class BootloaderTest {
 
   // ⚠️ This line should change with every new migration to show that you meant to make a new
   // migration to the prod database
-  private static final String CURRENT_CONFIGS_MIGRATION_VERSION = "1.1.0.007";
-  private static final String CURRENT_JOBS_MIGRATION_VERSION = "1.1.0.000";
+  private static final String CURRENT_CONFIGS_MIGRATION_VERSION = "1.1.0.008";
+  private static final String CURRENT_JOBS_MIGRATION_VERSION = "1.1.0.001";
 
   @BeforeEach
   void setup() {
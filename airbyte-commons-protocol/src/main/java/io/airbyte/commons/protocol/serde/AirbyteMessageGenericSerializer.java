@@ -6,6 +6,8 @@ package io.airbyte.commons.protocol.serde;
 
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.version.Version;
+import java.io.IOException;
+import java.io.OutputStream;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -25,4 +27,9 @@ public class AirbyteMessageGenericSerializer<T> implements AirbyteMessageSeriali
     return Jsons.serialize(message);
   }
 
+  @Override
+  public void serialize(final T message, final OutputStream outputStream) throws IOException {
+    Jsons.serializeToOpenStream(message, outputStream);
+  }
+
 }
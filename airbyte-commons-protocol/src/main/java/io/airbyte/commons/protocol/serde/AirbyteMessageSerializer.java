@@ -5,6 +5,9 @@
 package io.airbyte.commons.protocol.serde;
 
 import io.airbyte.commons.version.Version;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Airbyte Protocol serialization interface.
@@ -15,6 +18,13 @@ public interface AirbyteMessageSerializer<T> {
 
   String serialize(final T message);
 
+  /**
+   * Write the serialized message as UTF-8 to a stream, which is left open.
+   */
+  default void serialize(final T message, final OutputStream outputStream) throws IOException {
+    outputStream.write(serialize(message).getBytes(StandardCharsets.UTF_8));
+  }
+
   Version getTargetVersion();
 
 }
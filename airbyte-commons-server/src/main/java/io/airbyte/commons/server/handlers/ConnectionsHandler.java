@@ -88,16 +88,16 @@ import io.airbyte.commons.server.validation.CatalogValidator;
 import io.airbyte.config.ActorCatalog;
 import io.airbyte.config.ActorDefinitionVersion;
 import io.airbyte.config.Attempt;
-import io.airbyte.config.AttemptWithJobInfo;
 import io.airbyte.config.BasicSchedule;
+import io.airbyte.config.ConfigSchema;
 import io.airbyte.config.ConfiguredAirbyteCatalog;
 import io.airbyte.config.DestinationConnection;
 import io.airbyte.config.FieldSelectionData;
 import io.airbyte.config.Geography;
 import io.airbyte.config.Job;
 import io.airbyte.config.JobConfig.ConfigType;
-import io.airbyte.config.JobOutput;
 import io.airbyte.config.JobStatus;
+import io.airbyte.config.JobStatusSummary;
 import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
 import io.airbyte.config.Schedule;
 import io.airbyte.config.ScheduleData;
@@ -108,7 +108,6 @@ import io.airbyte.config.StandardSourceDefinition;
 import io.airbyte.config.StandardSync;
 import io.airbyte.config.StandardSync.ScheduleType;
 import io.airbyte.config.StandardWorkspace;
-import io.airbyte.config.StreamSyncStats;
 import io.airbyte.config.helpers.CatalogHelpers;
 import io.airbyte.config.helpers.ScheduleHelpers;
 import io.airbyte.config.persistence.ActorDefinitionVersionHelper;
@@ -142,6 +141,7 @@ import io.airbyte.metrics.lib.MetricClientFactory;
 import io.airbyte.metrics.lib.MetricTags;
 import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.persistence.job.JobPersistence;
+import io.airbyte.persistence.job.JobPersistence.StreamRecordsCommittedPerDay;
 import io.airbyte.persistence.job.WorkspaceHelper;
 import io.airbyte.validation.json.JsonValidationException;
 import jakarta.inject.Inject;
@@ -149,7 +149,6 @@ import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.time.Instant;
-import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
@@ -162,12 +161,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -970,11 +968,21 @@ public class ConnectionsHandler {
       throws IOException, JsonValidationException, ConfigNotFoundException {
     ApmTraceUtils.addTagsToTrace(Map.of(MetricTags.CONNECTION_IDS, connectionStatusesRequestBody.getConnectionIds().toString()));
     final List<UUID> connectionIds = connectionStatusesRequestBody.getConnectionIds();
+    // The jobs and connections of all the requested connections are read at once, so that the number
+    // of queries doesn't grow with the number of connections.
+    final Map<UUID, List<Job>> jobsByConnectionId = jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, connectionIds, maxJobLookback);
+    final Map<UUID, Long> lastSyncJobCreatedAtByConnectionId = jobPersistence.getLastSyncJobForConnections(connectionIds).stream()
+        .collect(Collectors.toMap(JobStatusSummary::connectionId, JobStatusSummary::createdAt));
+    final Map<UUID, StandardSync> standardSyncsByConnectionId = connectionService.getStandardSyncs(connectionIds).stream()
+        .collect(Collectors.toMap(StandardSync::getConnectionId, Function.identity()));
+
     final List<ConnectionStatusRead> result = new ArrayList<>();
     for (final UUID connectionId : connectionIds) {
-      final List<Job> jobs = jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(),
-          maxJobLookback);
+      final StandardSync standardSync = standardSyncsByConnectionId.get(connectionId);
+      if (standardSync == null) {
+        throw new ConfigNotFoundException(ConfigSchema.STANDARD_SYNC, connectionId.toString());
+      }
+      final List<Job> jobs = jobsByConnectionId.getOrDefault(connectionId, List.of());
       final Optional<Job> activeJob = jobs.stream().findFirst().filter(job -> JobStatus.NON_TERMINAL_STATUSES.contains(job.getStatus()));
       final boolean isRunning = activeJob.isPresent();
 
@@ -990,14 +998,16 @@ public class ConnectionsHandler {
       final Optional<Job> lastSuccessfulJob = jobs.stream().filter(job -> job.getStatus() == JobStatus.SUCCEEDED).findFirst();
       final Optional<Long> lastSuccessTimestamp = lastSuccessfulJob.map(Job::getUpdatedAtInSecond);
 
-      final ConnectionRead connectionRead = buildConnectionRead(connectionId);
-      final boolean hasBreakingSchemaChange = connectionRead.getBreakingChange() != null && connectionRead.getBreakingChange();
+      final boolean hasBreakingSchemaChange = standardSync.getBreakingChange() != null && standardSync.getBreakingChange();
+      // Only the schedule of the connection is needed, so its catalog is neither converted nor masked.
+      final ConnectionRead connectionSchedule = new ConnectionRead();
+      apiPojoConverters.populateConnectionReadSchedule(standardSync, connectionSchedule);
 
       final ConnectionStatusRead connectionStatus = new ConnectionStatusRead()
           .connectionId(connectionId)
           .activeJob(activeJob.map(JobConverter::getJobRead).orElse(null))
           .lastSuccessfulSync(lastSuccessTimestamp.orElse(null))
-          .scheduleData(connectionRead.getScheduleData());
+          .scheduleData(connectionSchedule.getScheduleData());
       if (lastSucceededOrFailedJob.isPresent()) {
         connectionStatus.lastSyncJobId(lastSucceededOrFailedJob.get().getId());
         final Optional<Attempt> lastAttempt = lastSucceededOrFailedJob.get().getLastAttempt();
@@ -1027,16 +1037,16 @@ public class ConnectionsHandler {
         }
       }
 
-      final Optional<JobRead> latestSyncJob = jobPersistence.getLastSyncJob(connectionId).map(JobConverter::getJobRead);
-      latestSyncJob.ifPresent(job -> {
-        connectionStatus.setLastSyncJobCreatedAt(job.getCreatedAt());
-      });
+      final Long lastSyncJobCreatedAt = lastSyncJobCreatedAtByConnectionId.get(connectionId);
+      if (lastSyncJobCreatedAt != null) {
+        connectionStatus.setLastSyncJobCreatedAt(lastSyncJobCreatedAt);
+      }
 
       if (isRunning) {
         connectionStatus.setConnectionSyncStatus(ConnectionSyncStatus.RUNNING);
       } else if (hasBreakingSchemaChange || hasConfigError) {
         connectionStatus.setConnectionSyncStatus(ConnectionSyncStatus.FAILED);
-      } else if (connectionRead.getStatus() != ConnectionStatus.ACTIVE) {
+      } else if (apiPojoConverters.toApiStatus(standardSync.getStatus()) != ConnectionStatus.ACTIVE) {
         connectionStatus.setConnectionSyncStatus(ConnectionSyncStatus.PAUSED);
       } else if (lastJobWasCancelled) {
         connectionStatus.setConnectionSyncStatus(ConnectionSyncStatus.INCOMPLETE);
@@ -1256,76 +1266,23 @@ public class ConnectionsHandler {
       throws IOException {
 
     // Start time in designated timezone
-    final ZonedDateTime endTimeInUserTimeZone = Instant.now().atZone(ZoneId.of(connectionStreamHistoryRequestBody.getTimezone()));
-    final ZonedDateTime startTimeInUserTimeZone = endTimeInUserTimeZone.minusDays(30);
-    // Convert start time to UTC (since that's what the database uses)
-    final Instant startTimeInUTC = startTimeInUserTimeZone.toInstant();
+    final ZonedDateTime startTimeInUserTimeZone =
+        Instant.now().atZone(ZoneId.of(connectionStreamHistoryRequestBody.getTimezone())).minusDays(30);
 
-    final List<AttemptWithJobInfo> attempts = jobPersistence.listAttemptsForConnectionAfterTimestamp(
+    final List<StreamRecordsCommittedPerDay> streamRecordsPerDay = jobPersistence.listStreamRecordsCommittedPerDay(
         connectionStreamHistoryRequestBody.getConnectionId(),
-        ConfigType.SYNC,
-        startTimeInUTC);
-
-    final NavigableMap<LocalDate, Map<List<String>, Long>> connectionStreamHistoryReadItemsByDate = new TreeMap<>();
-    final ZoneId userTimeZone = ZoneId.of(connectionStreamHistoryRequestBody.getTimezone());
-
-    final LocalDate startDate = startTimeInUserTimeZone.toLocalDate();
-    final LocalDate endDate = endTimeInUserTimeZone.toLocalDate();
-    for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-      connectionStreamHistoryReadItemsByDate.put(date, new HashMap<>());
-    }
-
-    for (final AttemptWithJobInfo attempt : attempts) {
-      final Optional<Long> endedAtOptional = attempt.getAttempt().getEndedAtInSecond();
-
-      if (endedAtOptional.isPresent()) {
-        // Convert the endedAt timestamp from the database to the designated timezone
-        final Instant attemptEndedAt = Instant.ofEpochSecond(endedAtOptional.get());
-        final LocalDate attemptDateInUserTimeZone = attemptEndedAt.atZone(ZoneId.of(connectionStreamHistoryRequestBody.getTimezone()))
-            .toLocalDate();
-
-        // Merge it with the records synced from the attempt
-        final Optional<JobOutput> attemptOutput = attempt.getAttempt().getOutput();
-        if (attemptOutput.isPresent()) {
-          final List<StreamSyncStats> streamSyncStats = attemptOutput.get().getSync().getStandardSyncSummary().getStreamStats();
-          for (final StreamSyncStats streamSyncStat : streamSyncStats) {
-            final String streamName = streamSyncStat.getStreamName();
-            final String streamNamespace = streamSyncStat.getStreamNamespace();
-            final long recordsCommitted = streamSyncStat.getStats().getRecordsCommitted();
-
-            // Update the records loaded for the corresponding stream for that day
-            final Map<List<String>, Long> existingItem = connectionStreamHistoryReadItemsByDate.get(attemptDateInUserTimeZone);
-            final List<String> key = List.of(streamNamespace, streamName);
-            if (existingItem.containsKey(key)) {
-              existingItem.put(key, existingItem.get(key) + recordsCommitted);
-            } else {
-              existingItem.put(key, recordsCommitted);
-            }
-          }
-        }
-      }
-    }
-
-    final List<ConnectionStreamHistoryReadItem> result = new ArrayList<>();
-    for (final Entry<LocalDate, Map<List<String>, Long>> entry : connectionStreamHistoryReadItemsByDate.entrySet()) {
-      final LocalDate date = entry.getKey();
-      final Map<List<String>, Long> streamRecordsByStream = entry.getValue();
-
-      streamRecordsByStream.entrySet().stream()
-          .sorted(Comparator.comparing((Entry<List<String>, Long> e) -> e.getKey().get(0))
-              .thenComparing(e -> e.getKey().get(1)))
-          .forEach(streamRecords -> {
-            final List<String> streamNamespaceAndName = streamRecords.getKey();
-            final Long recordsCommitted = streamRecords.getValue();
-
-            result.add(new ConnectionStreamHistoryReadItem()
-                .timestamp(Math.toIntExact(date.atStartOfDay(userTimeZone).toEpochSecond()))
-                .streamNamespace(streamNamespaceAndName.get(0))
-                .streamName(streamNamespaceAndName.get(1))
-                .recordsCommitted(recordsCommitted));
-          });
-    }
-    return result;
+        startTimeInUserTimeZone);
+
+    return streamRecordsPerDay.stream()
+        .sorted(Comparator.comparing(StreamRecordsCommittedPerDay::day)
+            .thenComparing(StreamRecordsCommittedPerDay::streamNamespace, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(StreamRecordsCommittedPerDay::streamName))
+        .map(streamRecords -> new ConnectionStreamHistoryReadItem()
+            .timestamp(Math.toIntExact(streamRecords.day().atStartOfDay(startTimeInUserTimeZone.getZone()).toEpochSecond()))
+            .streamNamespace(streamRecords.streamNamespace())
+            .streamName(streamRecords.streamName())
+            .recordsCommitted(streamRecords.recordsCommitted()))
+        .toList();
   }
 
   public ConnectionAutoPropagateResult applySchemaChange(final ConnectionAutoPropagateSchemaChange request)
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.server.handlers;
+
+import io.airbyte.api.model.generated.ActorType;
+import io.airbyte.api.model.generated.ConnectionIdRequestBody;
+import io.airbyte.api.model.generated.ConnectionRead;
+import io.airbyte.api.model.generated.ConnectionState;
+import io.airbyte.api.model.generated.JobOptionalRead;
+import io.airbyte.api.model.generated.ReplicationHydrationContextRead;
+import io.airbyte.api.model.generated.ReplicationHydrationContextRequestBody;
+import io.airbyte.api.model.generated.ResolveActorDefinitionVersionRequestBody;
+import io.airbyte.api.model.generated.ResolveActorDefinitionVersionResponse;
+import io.airbyte.api.model.generated.SecretPersistenceConfig;
+import io.airbyte.api.model.generated.SyncInput;
+import io.airbyte.commons.functional.CheckedSupplier;
+import io.airbyte.commons.server.scheduling.AirbyteTaskExecutors;
+import io.airbyte.config.ScopeType;
+import io.airbyte.data.exceptions.ConfigNotFoundException;
+import io.airbyte.data.services.DestinationService;
+import io.airbyte.data.services.SecretPersistenceConfigService;
+import io.airbyte.validation.json.JsonValidationException;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Gathers everything the workers need to hydrate the input of a replication, so that a replication
+ * starts with a single call to the server rather than one call per resource. Each part is the same
+ * as what the endpoint of that resource returns. The reads that do not depend on each other run
+ * concurrently, so the call takes about as long as its slowest read rather than the sum of them.
+ */
+@Singleton
+public class ReplicationHydrationContextHandler {
+
+  private final JobInputHandler jobInputHandler;
+  private final ActorDefinitionVersionHandler actorDefinitionVersionHandler;
+  private final ConnectionsHandler connectionsHandler;
+  private final StateHandler stateHandler;
+  private final JobHistoryHandler jobHistoryHandler;
+  private final SecretPersistenceConfigHandler secretPersistenceConfigHandler;
+  private final DestinationService destinationService;
+  private final SecretPersistenceConfigService secretPersistenceConfigService;
+  private final ExecutorService readExecutor;
+
+  public ReplicationHydrationContextHandler(final JobInputHandler jobInputHandler,
+                                            final ActorDefinitionVersionHandler actorDefinitionVersionHandler,
+                                            final ConnectionsHandler connectionsHandler,
+                                            final StateHandler stateHandler,
+                                            final JobHistoryHandler jobHistoryHandler,
+                                            final SecretPersistenceConfigHandler secretPersistenceConfigHandler,
+                                            final DestinationService destinationService,
+                                            final SecretPersistenceConfigService secretPersistenceConfigService,
+                                            @Named(AirbyteTaskExecutors.REPLICATION_HYDRATION) final ExecutorService readExecutor) {
+    this.jobInputHandler = jobInputHandler;
+    this.actorDefinitionVersionHandler = actorDefinitionVersionHandler;
+    this.connectionsHandler = connectionsHandler;
+    this.stateHandler = stateHandler;
+    this.jobHistoryHandler = jobHistoryHandler;
+    this.secretPersistenceConfigHandler = secretPersistenceConfigHandler;
+    this.destinationService = destinationService;
+    this.secretPersistenceConfigService = secretPersistenceConfigService;
+    this.readExecutor = readExecutor;
+  }
+
+  public ReplicationHydrationContextRead getReplicationHydrationContext(final ReplicationHydrationContextRequestBody requestBody)
+      throws JsonValidationException, IOException, ConfigNotFoundException {
+    // The state, the last replication job and the secret persistence config only depend on the
+    // request, so they are read in the background while the job input and the connection are built.
+    final ConnectionIdRequestBody connectionIdRequestBody = new ConnectionIdRequestBody().connectionId(requestBody.getConnectionId());
+    final CompletableFuture<ConnectionState> state = readAsync(() -> stateHandler.getState(connectionIdRequestBody));
+    final CompletableFuture<JobOptionalRead> lastReplicationJob = Boolean.TRUE.equals(requestBody.getIsReset())
+        ? readAsync(() -> jobHistoryHandler.getLastReplicationJob(connectionIdRequestBody))
+        : CompletableFuture.completedFuture(null);
+    final CompletableFuture<SecretPersistenceConfig> secretPersistenceConfig = requestBody.getOrganizationId() != null
+        ? readAsync(() -> secretPersistenceConfigHandler.buildSecretPersistenceConfigResponse(
+            secretPersistenceConfigService.get(ScopeType.ORGANIZATION, requestBody.getOrganizationId())))
+        : CompletableFuture.completedFuture(null);
+
+    // The job input comes first, generating it saves the configuration of the attempt.
+    final Object jobInput = jobInputHandler.getJobInput(new SyncInput().jobId(requestBody.getJobId()).attemptNumber(requestBody.getAttemptNumber()));
+
+    final UUID destinationDefinitionId = destinationService.getDestinationConnection(requestBody.getDestinationId()).getDestinationDefinitionId();
+    final ResolveActorDefinitionVersionResponse destinationVersion = actorDefinitionVersionHandler.resolveActorDefinitionVersionByTag(
+        new ResolveActorDefinitionVersionRequestBody()
+            .actorDefinitionId(destinationDefinitionId)
+            .actorType(ActorType.DESTINATION)
+            .dockerImageTag(requestBody.getDestinationDockerImageTag()));
+
+    // Destinations that support refreshes get the catalog of the connection as it was when the job was
+    // created.
+    final ConnectionRead connection = destinationVersion.getSupportRefreshes()
+        ? connectionsHandler.getConnectionForJob(requestBody.getConnectionId(), requestBody.getJobId())
+        : connectionsHandler.getConnection(requestBody.getConnectionId());
+
+    return new ReplicationHydrationContextRead()
+        .jobInput(jobInput)
+        .destinationVersion(destinationVersion)
+        .connection(connection)
+        .state(await(state))
+        .lastReplicationJob(await(lastReplicationJob))
+        .secretPersistenceConfig(await(secretPersistenceConfig));
+  }
+
+  private <T> CompletableFuture<T> readAsync(final CheckedSupplier<T, Exception> read) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return read.get();
+      } catch (final RuntimeException e) {
+        throw e;
+      } catch (final Exception e) {
+        throw new CompletionException(e);
+      }
+    }, readExecutor);
+  }
+
+  /**
+   * Waits for a read started by {@link #readAsync} and rethrows what it failed with, so that the
+   * errors are the same as if the read had run on the calling thread.
+   */
+  private static <T> T await(final CompletableFuture<T> read) throws JsonValidationException, IOException, ConfigNotFoundException {
+    try {
+      return read.join();
+    } catch (final CompletionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof JsonValidationException) {
+        throw (JsonValidationException) cause;
+      } else if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof ConfigNotFoundException) {
+        throw (ConfigNotFoundException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+}
@@ -35,4 +35,10 @@ public interface AirbyteTaskExecutors extends TaskExecutors {
    */
   String WEBHOOK = "webhook";
 
+  /**
+   * The name of the {@link java.util.concurrent.ExecutorService} used to run the reads that hydrate
+   * a replication input concurrently.
+   */
+  String REPLICATION_HYDRATION = "replication-hydration";
+
 }
@@ -10,12 +10,14 @@ import static io.airbyte.config.Job.REPLICATION_TYPES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -104,7 +106,6 @@ import io.airbyte.config.ActorType;
 import io.airbyte.config.Attempt;
 import io.airbyte.config.AttemptFailureSummary;
 import io.airbyte.config.AttemptStatus;
-import io.airbyte.config.AttemptWithJobInfo;
 import io.airbyte.config.BasicSchedule;
 import io.airbyte.config.ConfigSchema;
 import io.airbyte.config.ConfiguredAirbyteCatalog;
@@ -118,10 +119,9 @@ import io.airbyte.config.Geography;
 import io.airbyte.config.Job;
 import io.airbyte.config.JobConfig;
 import io.airbyte.config.JobConfig.ConfigType;
-import io.airbyte.config.JobOutput;
-import io.airbyte.config.JobOutput.OutputType;
 import io.airbyte.config.JobResetConnectionConfig;
 import io.airbyte.config.JobStatus;
+import io.airbyte.config.JobStatusSummary;
 import io.airbyte.config.JobSyncConfig;
 import io.airbyte.config.MapperConfig;
 import io.airbyte.config.MapperOperationName;
@@ -140,11 +140,7 @@ import io.airbyte.config.StandardSync;
 import io.airbyte.config.StandardSync.NonBreakingChangesPreference;
 import io.airbyte.config.StandardSync.ScheduleType;
 import io.airbyte.config.StandardSync.Status;
-import io.airbyte.config.StandardSyncOutput;
-import io.airbyte.config.StandardSyncSummary;
 import io.airbyte.config.StandardWorkspace;
-import io.airbyte.config.StreamSyncStats;
-import io.airbyte.config.SyncStats;
 import io.airbyte.config.helpers.CatalogHelpers;
 import io.airbyte.config.helpers.FieldGenerator;
 import io.airbyte.config.mapper.configs.HashingMapperConfig;
@@ -176,6 +172,7 @@ import io.airbyte.mappers.transformations.DestinationCatalogGenerator.MapperErro
 import io.airbyte.mappers.transformations.DestinationCatalogGenerator.MapperErrorType;
 import io.airbyte.mappers.transformations.HashingMapper;
 import io.airbyte.persistence.job.JobPersistence;
+import io.airbyte.persistence.job.JobPersistence.StreamRecordsCommittedPerDay;
 import io.airbyte.persistence.job.WorkspaceHelper;
 import io.airbyte.persistence.job.factory.OAuthConfigSupplier;
 import io.airbyte.protocol.models.Field;
@@ -185,10 +182,10 @@ import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -196,7 +193,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.assertj.core.api.Assertions;
 import org.jetbrains.annotations.NotNull;
@@ -1885,30 +1881,6 @@ class ConnectionsHandlerTest {
           apiPojoConverters, connectionSchedulerHelper, mapperSecretHelper);
     }
 
-    private Attempt generateMockAttemptWithStreamStats(final Instant attemptTime, final List<Map<List<String>, Long>> streamsToRecordsSynced) {
-      final List<StreamSyncStats> streamSyncStatsList = streamsToRecordsSynced.stream().map(streamToRecordsSynced -> {
-        final List<String> streamKey = new ArrayList<>(streamToRecordsSynced.keySet().iterator().next());
-        final String streamNamespace = streamKey.get(0);
-        final String streamName = streamKey.get(1);
-        final long recordsSynced = streamToRecordsSynced.get(streamKey);
-
-        return new StreamSyncStats()
-            .withStreamName(streamName)
-            .withStreamNamespace(streamNamespace)
-            .withStats(new SyncStats().withRecordsCommitted(recordsSynced));
-      }).collect(Collectors.toList());
-
-      final StandardSyncSummary standardSyncSummary = new StandardSyncSummary().withStreamStats(streamSyncStatsList);
-      final StandardSyncOutput standardSyncOutput = new StandardSyncOutput().withStandardSyncSummary(standardSyncSummary);
-      final JobOutput jobOutput = new JobOutput().withOutputType(OutputType.SYNC).withSync(standardSyncOutput);
-
-      return new Attempt(0, 0, null, null, jobOutput, AttemptStatus.FAILED, null, null, 0, 0, attemptTime.getEpochSecond());
-    }
-
-    private Job generateMockJob(final UUID connectionId, final Attempt attempt) {
-      return new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(attempt), JobStatus.RUNNING, 1001L, 1000L, 1002L);
-    }
-
     @Nested
     class GetConnectionDataHistory {
 
@@ -1996,7 +1968,7 @@ class ConnectionsHandlerTest {
             .connectionId(connectionId)
             .timezone(TIMEZONE_LOS_ANGELES);
 
-        when(jobPersistence.listAttemptsForConnectionAfterTimestamp(eq(connectionId), eq(ConfigType.SYNC), any(Instant.class)))
+        when(jobPersistence.listStreamRecordsCommittedPerDay(eq(connectionId), any(ZonedDateTime.class)))
             .thenReturn(Collections.emptyList());
 
         final List<ConnectionStreamHistoryReadItem> actual = connectionsHandler.getConnectionStreamHistory(requestBody);
@@ -2007,82 +1979,40 @@ class ConnectionsHandlerTest {
       }
 
       @Test
-      @DisplayName("Aggregates data correctly")
-      void testStreamHistoryAggregation() throws IOException {
+      @DisplayName("Lists records per day and stream in the requested timezone")
+      void testStreamHistoryOrder() throws IOException {
         final UUID connectionId = UUID.randomUUID();
-        final Instant endTime = Instant.now();
-        final Instant startTime = endTime.minus(30, ChronoUnit.DAYS);
-        final long attempt1Records = 100L;
-        final long attempt2Records = 150L;
-        final long attempt3Records = 200L;
-        final long attempt4Records = 125L;
+        final ZoneId timezone = ZoneId.of(TIMEZONE_LOS_ANGELES);
+        final LocalDate day1 = LocalDate.now(timezone).minusDays(2);
+        final LocalDate day2 = LocalDate.now(timezone).minusDays(1);
         final String streamName = "testStream";
         final String streamNamespace = "testNamespace";
         final String streamName2 = "testStream2";
 
-        // First Attempt - Day 1
-        final Attempt attempt1 = generateMockAttemptWithStreamStats(startTime.plus(1, ChronoUnit.DAYS),
-            List.of(Map.of(List.of(streamNamespace, streamName),
-                attempt1Records))); // 100 records
-        final AttemptWithJobInfo attemptWithJobInfo1 = new AttemptWithJobInfo(attempt1, generateMockJob(connectionId, attempt1));
-
-        // Second Attempt - Same Day as First, same stream as first
-        final Attempt attempt2 = generateMockAttemptWithStreamStats(startTime.plus(1, ChronoUnit.DAYS),
-            List.of(Map.of(List.of(streamNamespace, streamName),
-                attempt2Records))); // 100 records
-        final AttemptWithJobInfo attemptWithJobInfo2 = new AttemptWithJobInfo(attempt2, generateMockJob(connectionId, attempt2));
-
-        // Third Attempt - Same Day, different stream
-        final Attempt attempt3 = generateMockAttemptWithStreamStats(startTime.plus(1, ChronoUnit.DAYS),
-            List.of(Map.of(List.of(streamNamespace, streamName2),
-                attempt3Records))); // 100 records
-        final AttemptWithJobInfo attemptWithJobInfo3 = new AttemptWithJobInfo(attempt3, generateMockJob(connectionId, attempt3));
-
-        // Fourth Attempt - Different day, first stream
-        final Attempt attempt4 = generateMockAttemptWithStreamStats(startTime.plus(2, ChronoUnit.DAYS),
-            List.of(Map.of(List.of(streamNamespace, streamName),
-                attempt4Records))); // 100 records
-        final AttemptWithJobInfo attemptWithJobInfo4 = new AttemptWithJobInfo(attempt4, generateMockJob(connectionId, attempt4));
-
-        final List<AttemptWithJobInfo> attempts = Arrays.asList(attemptWithJobInfo1, attemptWithJobInfo2, attemptWithJobInfo3, attemptWithJobInfo4);
-
-        when(jobPersistence.listAttemptsForConnectionAfterTimestamp(eq(connectionId), eq(ConfigType.SYNC), any(Instant.class)))
-            .thenReturn(attempts);
+        when(jobPersistence.listStreamRecordsCommittedPerDay(eq(connectionId), any(ZonedDateTime.class)))
+            .thenReturn(List.of(
+                new StreamRecordsCommittedPerDay(day2, streamNamespace, streamName, 125L),
+                new StreamRecordsCommittedPerDay(day1, streamNamespace, streamName2, 200L),
+                new StreamRecordsCommittedPerDay(day1, null, streamName, 50L),
+                new StreamRecordsCommittedPerDay(day1, streamNamespace, streamName, 250L)));
 
         final ConnectionStreamHistoryRequestBody requestBody = new ConnectionStreamHistoryRequestBody()
             .connectionId(connectionId)
             .timezone(TIMEZONE_LOS_ANGELES);
         final List<ConnectionStreamHistoryReadItem> actual = connectionsHandler.getConnectionStreamHistory(requestBody);
 
-        final List<ConnectionStreamHistoryReadItem> expected = new ArrayList<>();
-        // expect the first entry to contain stream 1, day 1, 250 records... next item should be stream 2,
-        // day 1, 200 records, and final entry should be stream 1, day 2, 125 records
-        expected.add(new ConnectionStreamHistoryReadItem()
-            .timestamp(Math.toIntExact(startTime.plus(1, ChronoUnit.DAYS)
-                .atZone(ZoneId.of(requestBody.getTimezone()))
-                .toLocalDate().atStartOfDay(ZoneId.of(requestBody.getTimezone()))
-                .toEpochSecond()))
-            .streamName(streamName)
-            .streamNamespace(streamNamespace)
-            .recordsCommitted(attempt1Records + attempt2Records));
-        expected.add(new ConnectionStreamHistoryReadItem()
-            .timestamp(Math.toIntExact(startTime.plus(1, ChronoUnit.DAYS)
-                .atZone(ZoneId.of(requestBody.getTimezone()))
-                .toLocalDate().atStartOfDay(ZoneId.of(requestBody.getTimezone()))
-                .toEpochSecond()))
-            .streamName(streamName2)
-            .streamNamespace(streamNamespace)
-            .recordsCommitted(attempt3Records));
-        expected.add(new ConnectionStreamHistoryReadItem()
-            .timestamp(Math.toIntExact(startTime.plus(2, ChronoUnit.DAYS)
-                .atZone(ZoneId.of(requestBody.getTimezone()))
-                .toLocalDate().atStartOfDay(ZoneId.of(requestBody.getTimezone()))
-                .toEpochSecond()))
-            .streamName(streamName)
-            .streamNamespace(streamNamespace)
-            .recordsCommitted(attempt4Records));
-
-        assertEquals(actual, expected);
+        final int day1Timestamp = Math.toIntExact(day1.atStartOfDay(timezone).toEpochSecond());
+        final int day2Timestamp = Math.toIntExact(day2.atStartOfDay(timezone).toEpochSecond());
+        final List<ConnectionStreamHistoryReadItem> expected = List.of(
+            new ConnectionStreamHistoryReadItem().timestamp(day1Timestamp).streamName(streamName).streamNamespace(null).recordsCommitted(50L),
+            new ConnectionStreamHistoryReadItem().timestamp(day1Timestamp).streamName(streamName).streamNamespace(streamNamespace)
+                .recordsCommitted(250L),
+            new ConnectionStreamHistoryReadItem().timestamp(day1Timestamp).streamName(streamName2).streamNamespace(streamNamespace)
+                .recordsCommitted(200L),
+            new ConnectionStreamHistoryReadItem().timestamp(day2Timestamp).streamName(streamName).streamNamespace(streamNamespace)
+                .recordsCommitted(125L));
+
+        assertEquals(expected, actual);
       }
 
     }
@@ -2640,7 +2570,7 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final AttemptFailureSummary failureSummary = new AttemptFailureSummary();
@@ -2650,9 +2580,8 @@ class ConnectionsHandlerTest {
           new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.RUNNING, 1001L, 1000L, 1002L),
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(failedAttempt), JobStatus.FAILED, 901L, 900L, 902L),
           new Job(2L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       assertEquals(1, status.size());
@@ -2663,18 +2592,45 @@ class ConnectionsHandlerTest {
       assertEquals(0L, connectionStatus.getActiveJob().getId());
     }
 
+    @Test
+    void testConnectionStatusesAreReadInBulk() throws IOException, JsonValidationException, ConfigNotFoundException {
+      final StandardSync pausedStandardSync = Jsons.clone(standardSync).withConnectionId(UUID.randomUUID()).withStatus(Status.INACTIVE);
+      final UUID connectionId = standardSync.getConnectionId();
+      final List<UUID> connectionIds = List.of(connectionId, pausedStandardSync.getConnectionId());
+      when(connectionService.getStandardSyncs(connectionIds)).thenReturn(List.of(pausedStandardSync, standardSync));
+
+      final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.SUCCEEDED, null, null, 0, 0, 0L);
+      final List<Job> jobs = List.of(
+          new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(attempt), JobStatus.SUCCEEDED, 1001L, 1000L, 1002L));
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, connectionIds, 10))
+          .thenReturn(Map.of(connectionId, jobs));
+      when(jobPersistence.getLastSyncJobForConnections(connectionIds))
+          .thenReturn(List.of(new JobStatusSummary(connectionId, 1000L, JobStatus.SUCCEEDED)));
+
+      final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(connectionIds);
+      final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
+
+      assertEquals(connectionIds, status.stream().map(ConnectionStatusRead::getConnectionId).toList());
+      assertEquals(Enums.convertTo(ConnectionSyncStatus.SYNCED, io.airbyte.api.model.generated.ConnectionSyncStatus.class),
+          status.get(0).getConnectionSyncStatus());
+      assertEquals(1000L, status.get(0).getLastSyncJobCreatedAt());
+      assertEquals(Enums.convertTo(ConnectionSyncStatus.PAUSED, io.airbyte.api.model.generated.ConnectionSyncStatus.class),
+          status.get(1).getConnectionSyncStatus());
+      assertNull(status.get(1).getLastSyncJobCreatedAt());
+      verify(connectionService, never()).getStandardSync(any());
+    }
+
     @Test
     void testConnectionStatus_syncing() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.SUCCEEDED, null, null, 0, 0, 0L);
       final List<Job> jobs = List.of(
           new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.RUNNING, 1001L, 1000L, 1002L),
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(attempt), JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2685,15 +2641,14 @@ class ConnectionsHandlerTest {
     @Test
     void testConnectionStatus_failed_breakingSchemaChange() throws IOException, JsonValidationException, ConfigNotFoundException {
       final StandardSync standardSyncWithBreakingSchemaChange = Jsons.clone(standardSync).withBreakingChange(true);
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSyncWithBreakingSchemaChange);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSyncWithBreakingSchemaChange));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.SUCCEEDED, null, null, 0, 0, 0L);
       final List<Job> jobs = List.of(
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(attempt), JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2703,7 +2658,7 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_failed_hasConfigError() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final AttemptFailureSummary failureSummary = new AttemptFailureSummary();
@@ -2712,9 +2667,8 @@ class ConnectionsHandlerTest {
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.FAILED, null, failureSummary, 0, 0, 0L);
       final List<Job> jobs = List.of(
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(attempt), JobStatus.FAILED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2725,15 +2679,14 @@ class ConnectionsHandlerTest {
     @Test
     void testConnectionStatus_paused_inactive() throws IOException, JsonValidationException, ConfigNotFoundException {
       final StandardSync standardSyncPaused = Jsons.clone(standardSync).withStatus(Status.INACTIVE);
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSyncPaused);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSyncPaused));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.SUCCEEDED, null, null, 0, 0, 0L);
       final List<Job> jobs = List.of(
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(attempt), JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2744,15 +2697,14 @@ class ConnectionsHandlerTest {
     @Test
     void testConnectionStatus_paused_deprecated() throws IOException, JsonValidationException, ConfigNotFoundException {
       final StandardSync standardSyncPaused = Jsons.clone(standardSync).withStatus(Status.DEPRECATED);
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSyncPaused);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSyncPaused));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.SUCCEEDED, null, null, 0, 0, 0L);
       final List<Job> jobs = List.of(
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(attempt), JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2762,13 +2714,12 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_pending_nosyncs() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final List<Job> jobs = List.of();
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2778,7 +2729,7 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_pending_afterSuccessfulReset() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.SUCCEEDED, null, null, 0, 0, 0L);
@@ -2786,9 +2737,8 @@ class ConnectionsHandlerTest {
           new Job(0L, JobConfig.ConfigType.RESET_CONNECTION, connectionId.toString(), null, List.of(attempt),
               JobStatus.SUCCEEDED, 1001L, 1000L, 1002L),
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2798,7 +2748,7 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_pending_afterFailedReset() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.FAILED, null, null, 0, 0, 0L);
@@ -2806,9 +2756,8 @@ class ConnectionsHandlerTest {
           new Job(0L, JobConfig.ConfigType.RESET_CONNECTION, connectionId.toString(), null, List.of(attempt),
               JobStatus.FAILED, 1001L, 1000L, 1002L),
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2818,7 +2767,7 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_pending_afterSuccessfulClear() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.SUCCEEDED, null, null, 0, 0, 0L);
@@ -2826,9 +2775,8 @@ class ConnectionsHandlerTest {
           new Job(0L, JobConfig.ConfigType.CLEAR, connectionId.toString(), null, List.of(attempt),
               JobStatus.SUCCEEDED, 1001L, 1000L, 1002L),
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2838,7 +2786,7 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_pending_afterFailedClear() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.FAILED, null, null, 0, 0, 0L);
@@ -2846,9 +2794,8 @@ class ConnectionsHandlerTest {
           new Job(0L, JobConfig.ConfigType.CLEAR, connectionId.toString(), null, List.of(attempt),
               JobStatus.FAILED, 1001L, 1000L, 1002L),
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2858,7 +2805,7 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_incomplete_afterCancelledReset() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt resetAttempt = new Attempt(0, 0, null, null, null, AttemptStatus.FAILED, null, null, 0, 0, 0L);
@@ -2867,9 +2814,8 @@ class ConnectionsHandlerTest {
           new Job(0L, JobConfig.ConfigType.RESET_CONNECTION, connectionId.toString(), null, List.of(resetAttempt),
               JobStatus.CANCELLED, 1001L, 1000L, 1002L),
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(successAttempt), JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2879,16 +2825,15 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_incomplete_failed() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.FAILED, null, null, 0, 0, 0L);
       final List<Job> jobs = List.of(
           new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(attempt), JobStatus.FAILED, 1001L, 1000L, 1002L),
           new Job(1L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2898,16 +2843,15 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_incomplete_cancelled() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt failedAttempt = new Attempt(0, 0, null, null, null, AttemptStatus.FAILED, null, null, 0, 0, 0L);
       final List<Job> jobs = List.of(
           new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(failedAttempt),
               JobStatus.CANCELLED, 1001L, 1000L, 1002L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
@@ -2917,15 +2861,14 @@ class ConnectionsHandlerTest {
 
     @Test
     void testConnectionStatus_synced() throws IOException, JsonValidationException, ConfigNotFoundException {
-      when(connectionService.getStandardSync(standardSync.getConnectionId())).thenReturn(standardSync);
+      when(connectionService.getStandardSyncs(List.of(standardSync.getConnectionId()))).thenReturn(List.of(standardSync));
 
       final UUID connectionId = standardSync.getConnectionId();
       final Attempt attempt = new Attempt(0, 0, null, null, null, AttemptStatus.SUCCEEDED, null, null, 0, 0, 0L);
       final List<Job> jobs = List.of(
           new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(attempt), JobStatus.SUCCEEDED, 1001L, 1000L, 1002L));
-      when(jobPersistence.listJobsLight(REPLICATION_TYPES,
-          connectionId.toString(), 10))
-              .thenReturn(jobs);
+      when(jobPersistence.listJobsLightForConnections(REPLICATION_TYPES, List.of(connectionId), 10))
+          .thenReturn(Map.of(connectionId, jobs));
       final ConnectionStatusesRequestBody req = new ConnectionStatusesRequestBody().connectionIds(List.of(connectionId));
       final List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(req);
       final ConnectionStatusRead connectionStatus = status.get(0);
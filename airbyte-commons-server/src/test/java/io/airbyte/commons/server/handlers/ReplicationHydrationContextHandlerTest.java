@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.server.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.api.model.generated.ConnectionIdRequestBody;
+import io.airbyte.api.model.generated.ConnectionRead;
+import io.airbyte.api.model.generated.ConnectionState;
+import io.airbyte.api.model.generated.ConnectionStateType;
+import io.airbyte.api.model.generated.JobOptionalRead;
+import io.airbyte.api.model.generated.JobRead;
+import io.airbyte.api.model.generated.ReplicationHydrationContextRead;
+import io.airbyte.api.model.generated.ReplicationHydrationContextRequestBody;
+import io.airbyte.api.model.generated.ResolveActorDefinitionVersionResponse;
+import io.airbyte.api.model.generated.SyncInput;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.DestinationConnection;
+import io.airbyte.config.ScopeType;
+import io.airbyte.config.SecretPersistenceConfig;
+import io.airbyte.data.exceptions.ConfigNotFoundException;
+import io.airbyte.data.services.DestinationService;
+import io.airbyte.data.services.SecretPersistenceConfigService;
+import io.airbyte.validation.json.JsonValidationException;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicationHydrationContextHandlerTest {
+
+  private static final long JOB_ID = 123L;
+  private static final int ATTEMPT_NUMBER = 1;
+  private static final UUID CONNECTION_ID = UUID.randomUUID();
+  private static final UUID DESTINATION_ID = UUID.randomUUID();
+  private static final UUID DESTINATION_DEFINITION_ID = UUID.randomUUID();
+  private static final UUID ORGANIZATION_ID = UUID.randomUUID();
+  private static final String DESTINATION_DOCKER_IMAGE_TAG = "1.0.0";
+  private static final ConnectionIdRequestBody CONNECTION_ID_REQUEST_BODY = new ConnectionIdRequestBody().connectionId(CONNECTION_ID);
+  private static final ConnectionState STATE = new ConnectionState().connectionId(CONNECTION_ID).stateType(ConnectionStateType.NOT_SET);
+  private static final ConnectionRead CONNECTION = new ConnectionRead().connectionId(CONNECTION_ID);
+
+  private JobInputHandler jobInputHandler;
+  private ActorDefinitionVersionHandler actorDefinitionVersionHandler;
+  private ConnectionsHandler connectionsHandler;
+  private StateHandler stateHandler;
+  private JobHistoryHandler jobHistoryHandler;
+  private SecretPersistenceConfigHandler secretPersistenceConfigHandler;
+  private SecretPersistenceConfigService secretPersistenceConfigService;
+  private ExecutorService readExecutor;
+  private ReplicationHydrationContextHandler handler;
+
+  @BeforeEach
+  void setup() throws JsonValidationException, ConfigNotFoundException, IOException {
+    jobInputHandler = mock(JobInputHandler.class);
+    actorDefinitionVersionHandler = mock(ActorDefinitionVersionHandler.class);
+    connectionsHandler = mock(ConnectionsHandler.class);
+    stateHandler = mock(StateHandler.class);
+    jobHistoryHandler = mock(JobHistoryHandler.class);
+    secretPersistenceConfigHandler = mock(SecretPersistenceConfigHandler.class);
+    secretPersistenceConfigService = mock(SecretPersistenceConfigService.class);
+    final DestinationService destinationService = mock(DestinationService.class);
+    readExecutor = Executors.newFixedThreadPool(2);
+
+    when(jobInputHandler.getJobInput(new SyncInput().jobId(JOB_ID).attemptNumber(ATTEMPT_NUMBER))).thenReturn(Jsons.emptyObject());
+    when(destinationService.getDestinationConnection(DESTINATION_ID))
+        .thenReturn(new DestinationConnection().withDestinationId(DESTINATION_ID).withDestinationDefinitionId(DESTINATION_DEFINITION_ID));
+    when(stateHandler.getState(CONNECTION_ID_REQUEST_BODY)).thenReturn(STATE);
+    when(connectionsHandler.getConnection(CONNECTION_ID)).thenReturn(CONNECTION);
+    when(connectionsHandler.getConnectionForJob(CONNECTION_ID, JOB_ID)).thenReturn(CONNECTION);
+
+    handler = new ReplicationHydrationContextHandler(
+        jobInputHandler,
+        actorDefinitionVersionHandler,
+        connectionsHandler,
+        stateHandler,
+        jobHistoryHandler,
+        secretPersistenceConfigHandler,
+        destinationService,
+        secretPersistenceConfigService,
+        readExecutor);
+  }
+
+  @AfterEach
+  void tearDown() {
+    readExecutor.shutdownNow();
+  }
+
+  @Test
+  void testGetReplicationHydrationContext() throws JsonValidationException, ConfigNotFoundException, IOException {
+    mockDestinationVersion(false);
+
+    final ReplicationHydrationContextRead context = handler.getReplicationHydrationContext(getRequestBody(false, null));
+
+    assertEquals(Jsons.emptyObject(), context.getJobInput());
+    assertEquals(false, context.getDestinationVersion().getSupportRefreshes());
+    assertEquals(CONNECTION, context.getConnection());
+    assertEquals(STATE, context.getState());
+    assertNull(context.getLastReplicationJob());
+    assertNull(context.getSecretPersistenceConfig());
+    verify(connectionsHandler, never()).getConnectionForJob(any(), any());
+    verify(jobHistoryHandler, never()).getLastReplicationJob(any());
+    verify(secretPersistenceConfigService, never()).get(any(), any());
+  }
+
+  @Test
+  void testGetReplicationHydrationContextWithRefreshes() throws JsonValidationException, ConfigNotFoundException, IOException {
+    mockDestinationVersion(true);
+
+    final ReplicationHydrationContextRead context = handler.getReplicationHydrationContext(getRequestBody(false, null));
+
+    assertEquals(CONNECTION, context.getConnection());
+    verify(connectionsHandler).getConnectionForJob(CONNECTION_ID, JOB_ID);
+    verify(connectionsHandler, never()).getConnection(any());
+  }
+
+  @Test
+  void testGetReplicationHydrationContextForReset() throws JsonValidationException, ConfigNotFoundException, IOException {
+    mockDestinationVersion(false);
+    final JobOptionalRead lastReplicationJob = new JobOptionalRead().job(new JobRead().id(JOB_ID - 1));
+    when(jobHistoryHandler.getLastReplicationJob(CONNECTION_ID_REQUEST_BODY)).thenReturn(lastReplicationJob);
+
+    final ReplicationHydrationContextRead context = handler.getReplicationHydrationContext(getRequestBody(true, null));
+
+    assertEquals(lastReplicationJob, context.getLastReplicationJob());
+    assertEquals(STATE, context.getState());
+  }
+
+  @Test
+  void testGetReplicationHydrationContextWithOrganizationSecretPersistence()
+      throws JsonValidationException, ConfigNotFoundException, IOException {
+    mockDestinationVersion(false);
+    final SecretPersistenceConfig secretPersistenceConfig = new SecretPersistenceConfig()
+        .withScopeType(ScopeType.ORGANIZATION)
+        .withScopeId(ORGANIZATION_ID);
+    final io.airbyte.api.model.generated.SecretPersistenceConfig apiSecretPersistenceConfig =
+        new io.airbyte.api.model.generated.SecretPersistenceConfig().scopeId(ORGANIZATION_ID);
+    when(secretPersistenceConfigService.get(ScopeType.ORGANIZATION, ORGANIZATION_ID)).thenReturn(secretPersistenceConfig);
+    when(secretPersistenceConfigHandler.buildSecretPersistenceConfigResponse(secretPersistenceConfig)).thenReturn(apiSecretPersistenceConfig);
+
+    final ReplicationHydrationContextRead context = handler.getReplicationHydrationContext(getRequestBody(false, ORGANIZATION_ID));
+
+    assertEquals(apiSecretPersistenceConfig, context.getSecretPersistenceConfig());
+  }
+
+  @Test
+  void testGetReplicationHydrationContextRethrowsReadFailures() throws JsonValidationException, ConfigNotFoundException, IOException {
+    mockDestinationVersion(false);
+    when(secretPersistenceConfigService.get(ScopeType.ORGANIZATION, ORGANIZATION_ID))
+        .thenThrow(new ConfigNotFoundException("SecretPersistenceConfig", ORGANIZATION_ID.toString()));
+    when(stateHandler.getState(CONNECTION_ID_REQUEST_BODY)).thenThrow(new IOException("state"));
+
+    assertThrows(IOException.class, () -> handler.getReplicationHydrationContext(getRequestBody(false, null)));
+    when(stateHandler.getState(CONNECTION_ID_REQUEST_BODY)).thenReturn(STATE);
+    assertThrows(ConfigNotFoundException.class, () -> handler.getReplicationHydrationContext(getRequestBody(false, ORGANIZATION_ID)));
+  }
+
+  private void mockDestinationVersion(final boolean supportRefreshes) throws JsonValidationException, ConfigNotFoundException, IOException {
+    when(actorDefinitionVersionHandler.resolveActorDefinitionVersionByTag(any())).thenReturn(new ResolveActorDefinitionVersionResponse()
+        .versionId(UUID.randomUUID())
+        .dockerRepository("airbyte/destination")
+        .dockerImageTag(DESTINATION_DOCKER_IMAGE_TAG)
+        .supportRefreshes(supportRefreshes)
+        .supportFileTransfer(false));
+  }
+
+  private static ReplicationHydrationContextRequestBody getRequestBody(final boolean isReset, final UUID organizationId) {
+    return new ReplicationHydrationContextRequestBody()
+        .jobId(JOB_ID)
+        .attemptNumber(ATTEMPT_NUMBER)
+        .connectionId(CONNECTION_ID)
+        .destinationId(DESTINATION_ID)
+        .destinationDockerImageTag(DESTINATION_DOCKER_IMAGE_TAG)
+        .isReset(isReset)
+        .organizationId(organizationId);
+  }
+
+}
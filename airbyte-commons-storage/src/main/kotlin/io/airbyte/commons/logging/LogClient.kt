@@ -4,9 +4,13 @@
 
 package io.airbyte.commons.logging
 
+import com.fasterxml.jackson.core.JsonToken
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.module.SimpleModule
 import com.fasterxml.jackson.module.kotlin.readValue
+import com.google.common.io.CountingInputStream
+import com.google.common.util.concurrent.ThreadFactoryBuilder
+import io.airbyte.commons.logging.logback.COMPRESSED_STRUCTURED_LOG_FILE_EXTENSION
 import io.airbyte.commons.logging.logback.STRUCTURED_LOG_FILE_EXTENSION
 import io.airbyte.commons.storage.DocumentType
 import io.airbyte.commons.storage.StorageClientFactory
@@ -19,7 +23,13 @@ import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.Tag
 import io.micrometer.core.instrument.Timer
 import jakarta.inject.Singleton
+import java.io.InputStream
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 import java.util.regex.Pattern
+import java.util.zip.GZIPInputStream
 
 private val logger = KotlinLogging.logger {}
 
@@ -30,6 +40,12 @@ private val LOG_LINE_PATTERN =
   )
 private val TIMESTAMP_PATTERN = "^(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}).*".toPattern()
 
+private fun isStructuredLogFile(file: String): Boolean =
+  file.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION) || file.endsWith(suffix = COMPRESSED_STRUCTURED_LOG_FILE_EXTENSION)
+
+// Number of structured log files downloaded at the same time when retrieving the logs of a job.
+private const val MAX_CONCURRENT_FILE_READS = 8
+
 private fun MeterRegistry?.createCounter(
   metricName: String,
   logClientType: StorageType,
@@ -75,6 +91,13 @@ class LogClient(
   // Copy the mapper to avoid changing deserialization for all usages in the containing application
   private val objectMapper = mapper.copy()
 
+  private val fileReadExecutor: ExecutorService by lazy {
+    Executors.newFixedThreadPool(
+      MAX_CONCURRENT_FILE_READS,
+      ThreadFactoryBuilder().setNameFormat("log-client-file-read-%d").setDaemon(true).build(),
+    )
+  }
+
   init {
     val structuredLogEventModule = SimpleModule()
     structuredLogEventModule.addDeserializer(StackTraceElement::class.java, StackTraceElementDeserializer())
@@ -92,7 +115,7 @@ class LogClient(
     numLines: Int,
   ): LogEvents {
     logger.debug { "Tailing $numLines line(s) from logs from path '$logPath' using ${client.storageType} storage client..." }
-    val files = client.list(id = logPath).filter { it.endsWith(STRUCTURED_LOG_FILE_EXTENSION) }
+    val files = client.list(id = logPath).filter(::isStructuredLogFile)
     logger.debug { "Found ${files.size} files from path '$logPath' using ${client.storageType} storage client." }
 
     val instrumentedFiles =
@@ -170,7 +193,7 @@ class LogClient(
         logClientType = client.storageType,
       )
 
-    val isStructured = files.all { it.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION) }
+    val isStructured = files.all(::isStructuredLogFile)
 
     /*
      * This logic is here to handle logs created before the introduction of structured logs.  If any of the log files
@@ -186,28 +209,86 @@ class LogClient(
 
   private fun formatStructuredLogs(events: List<LogEvent>): List<String> = events.map { logEventLayout.doLayout(logEvent = it) }
 
+  /**
+   * Reads the first [numLines] events of the files, in order. Up to [MAX_CONCURRENT_FILE_READS] files are downloaded
+   * at the same time, no more files are downloaded once enough events have been read, and each file is only parsed up
+   * to the number of events that are still missing.
+   */
   private fun readStructuredLogs(
     files: List<String>,
     numLines: Int,
     lineCounter: Counter?,
     byteCounter: Counter?,
   ): List<LogEvent> {
-    var count = 0
-    val logLines =
-      files
-        .asSequence()
-        .map { file ->
-          val events = client.read(id = file)
-          byteCounter?.increment(events?.length?.toDouble() ?: 0.0)
-          extractEvents(events = events)
-        }.flatMap { it.events }
-        .takeWhile {
-          count++
-          lineCounter?.increment()
-          count <= numLines
-        }.sortedBy { it.timestamp }
-        .toList()
-    return logLines
+    val events = mutableListOf<LogEvent>()
+    val remainingFiles = files.iterator()
+    val pendingReads = ArrayDeque<Future<List<LogEvent>>>()
+    try {
+      while (events.size < numLines && (pendingReads.isNotEmpty() || remainingFiles.hasNext())) {
+        while (pendingReads.size < MAX_CONCURRENT_FILE_READS && remainingFiles.hasNext()) {
+          val file = remainingFiles.next()
+          // Files read ahead don't know how many events the files before them hold, so they read all the missing ones.
+          val maxEvents = numLines - events.size
+          pendingReads.addLast(
+            fileReadExecutor.submit<List<LogEvent>> { readEvents(file = file, maxEvents = maxEvents, byteCounter = byteCounter) },
+          )
+        }
+        events.addAll(pendingReads.removeFirst().get())
+      }
+    } catch (e: ExecutionException) {
+      throw e.cause ?: e
+    } finally {
+      pendingReads.forEach { it.cancel(true) }
+    }
+
+    val logLines = events.take(numLines)
+    lineCounter?.increment(logLines.size.toDouble())
+    return logLines.sortedBy { it.timestamp }
+  }
+
+  /**
+   * Streams the events of a structured log file, stopping after [maxEvents] events so that the rest of the file is
+   * not downloaded. Compressed files are decompressed as they are read, the byte count is the one of the stored file.
+   */
+  private fun readEvents(
+    file: String,
+    maxEvents: Int,
+    byteCounter: Counter?,
+  ): List<LogEvent> {
+    val stream = client.readStream(id = file) ?: return emptyList()
+    val countingStream = CountingInputStream(stream)
+    try {
+      val eventStream = if (file.endsWith(suffix = COMPRESSED_STRUCTURED_LOG_FILE_EXTENSION)) GZIPInputStream(countingStream) else countingStream
+      return readEvents(stream = eventStream, maxEvents = maxEvents)
+    } finally {
+      byteCounter?.increment(countingStream.count.toDouble())
+      countingStream.close()
+    }
+  }
+
+  private fun readEvents(
+    stream: InputStream,
+    maxEvents: Int,
+  ): List<LogEvent> {
+    val events = mutableListOf<LogEvent>()
+    objectMapper.factory.createParser(stream).use { parser ->
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return events
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        val fieldName = parser.currentName()
+        parser.nextToken()
+        if (fieldName != LogEvents::events.name || parser.currentToken() != JsonToken.START_ARRAY) {
+          parser.skipChildren()
+          continue
+        }
+        while (events.size < maxEvents && parser.nextToken() == JsonToken.START_OBJECT) {
+          events.add(objectMapper.readValue(parser, LogEvent::class.java))
+        }
+        return events
+      }
+    }
+    return events
   }
 
   private fun handleUnstructuredLogs(
@@ -222,7 +303,9 @@ class LogClient(
     run {
       files.forEach { file ->
         val fileLines =
-          if (file.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION)) {
+          if (file.endsWith(suffix = COMPRESSED_STRUCTURED_LOG_FILE_EXTENSION)) {
+            readEvents(file = file, maxEvents = numLines, byteCounter = null).map(logEventLayout::doLayout)
+          } else if (file.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION)) {
             val logEvents = extractEvents(events = client.read(id = file))
             logEvents.events.map(logEventLayout::doLayout)
           } else {
@@ -26,13 +26,18 @@ import io.airbyte.commons.storage.S3StorageClient
 import io.airbyte.commons.storage.S3StorageConfig
 import io.airbyte.commons.storage.StorageBucketConfig
 import io.airbyte.commons.storage.StorageClient
+import io.airbyte.commons.storage.writeStream
 import java.net.InetAddress
 import java.time.LocalDateTime
 import java.time.format.DateTimeFormatter
 import java.util.UUID
 import java.util.concurrent.Executors
 import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.RejectedExecutionException
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.zip.GZIPOutputStream
 
 private val objectMapper = MoreMappers.initMapper()
 
@@ -53,6 +58,7 @@ private val executorService =
  * @param timestamp A timestamp as a string for uniqueness
  * @param hostname The hostname of the machine executing this method
  * @param uniqueIdentifier A random UUID as a string for uniqueness
+ * @param extension The extension of the file
  * @return The field ID.
  */
 fun createFileId(
@@ -60,9 +66,10 @@ fun createFileId(
   timestamp: String = LocalDateTime.now().format(DATE_FORMAT),
   hostname: String = InetAddress.getLocalHost().hostName,
   uniqueIdentifier: String = UUID.randomUUID().toString(),
+  extension: String = STRUCTURED_LOG_FILE_EXTENSION,
 ): String {
   // Remove the leading/trailing "/" from the base storage ID if present to avoid duplicates in the storage ID
-  return "${baseId.trim('/')}/${timestamp}_${hostname}_${uniqueIdentifier.replace("-", "")}$STRUCTURED_LOG_FILE_EXTENSION"
+  return "${baseId.trim('/')}/${timestamp}_${hostname}_${uniqueIdentifier.replace("-", "")}$extension"
 }
 
 /**
@@ -78,6 +85,10 @@ fun stopAirbyteCloudStorageAppenderExecutorService() {
  * Custom Logback [AppenderBase] that uploads log events to remove storage.  Log data
  * is uploaded on a scheduled cadence that produces a new remote storage file each time.
  * This is necessary because most cloud storage systems do not support an append mode.
+ *
+ * Log data is also uploaded as soon as the buffered messages reach [maxBufferSizeBytes], and
+ * the buffer holds at most [maxBufferedEvents] events:  when uploads can't keep up, the logging
+ * thread uploads the buffer itself rather than letting it grow.  Files are gzip-compressed.
  */
 class AirbyteCloudStorageAppender(
   val baseStorageId: String,
@@ -85,9 +96,13 @@ class AirbyteCloudStorageAppender(
   val storageClient: StorageClient = buildStorageClient(storageConfig = buildStorageConfig(), documentType = documentType),
   val period: Long = 60L,
   val unit: TimeUnit = TimeUnit.SECONDS,
+  val maxBufferSizeBytes: Long = DEFAULT_MAX_BUFFER_SIZE_BYTES,
+  val maxBufferedEvents: Int = DEFAULT_MAX_BUFFERED_EVENTS,
 ) : AppenderBase<ILoggingEvent>() {
-  private val buffer = LinkedBlockingQueue<ILoggingEvent>()
-  private var currentStorageId: String = createFileId(baseId = baseStorageId)
+  private val buffer = LinkedBlockingQueue<ILoggingEvent>(maxBufferedEvents)
+  private val bufferSizeBytes = AtomicLong()
+  private val uploadRequested = AtomicBoolean(false)
+  private var currentStorageId: String = createCompressedFileId()
   private val uploadLock = Any()
 
   override fun start() {
@@ -108,25 +123,56 @@ class AirbyteCloudStorageAppender(
   }
 
   override fun append(eventObject: ILoggingEvent) {
-    buffer.offer(eventObject)
+    while (!buffer.offer(eventObject)) {
+      upload()
+    }
+
+    if (bufferSizeBytes.addAndGet(eventObject.estimatedSizeBytes()) >= maxBufferSizeBytes && uploadRequested.compareAndSet(false, true)) {
+      try {
+        executorService.execute(this::upload)
+      } catch (e: RejectedExecutionException) {
+        // The executor is shutting down, the buffer will be uploaded when the appender stops.
+        uploadRequested.set(false)
+      }
+    }
   }
 
   private fun upload() {
     synchronized(uploadLock) {
+      uploadRequested.set(false)
       val events = mutableListOf<ILoggingEvent>()
       buffer.drainTo(events)
 
       if (events.isNotEmpty()) {
-        val document = objectMapper.writeValueAsString(LogEvents(events = events.map(ILoggingEvent::toLogEvent)))
-        storageClient.write(id = currentStorageId, document = document)
+        bufferSizeBytes.addAndGet(-events.sumOf { it.estimatedSizeBytes() })
+        write(events = events)
 
         // Move to next file to avoid overwriting in log storage that doesn't support append mode
-        this.currentStorageId = createFileId(baseId = baseStorageId)
+        this.currentStorageId = createCompressedFileId()
+      }
+    }
+  }
+
+  /**
+   * Compresses the events as they are uploaded, so that neither the JSON document nor the compressed one is held in memory.
+   */
+  private fun write(events: List<ILoggingEvent>) {
+    storageClient.writeStream(id = currentStorageId) { document ->
+      GZIPOutputStream(document).use {
+        objectMapper.writeValue(it, LogEvents(events = events.map(ILoggingEvent::toLogEvent)))
       }
     }
   }
+
+  private fun createCompressedFileId(): String = createFileId(baseId = baseStorageId, extension = COMPRESSED_STRUCTURED_LOG_FILE_EXTENSION)
 }
 
+/**
+ * Size of the message of the event, used to decide when to upload the buffer.  It doesn't account for the rest of the
+ * event, which is small in comparison to the messages that fill the buffer.
+ */
+private fun ILoggingEvent.estimatedSizeBytes(): Long = formattedMessage?.length?.toLong() ?: 0L
+
 internal fun buildStorageClient(
   documentType: DocumentType,
   storageConfig: Map<EnvVar, String>,
@@ -187,6 +233,9 @@ internal fun buildStorageClient(
 }
 
 const val STRUCTURED_LOG_FILE_EXTENSION = ".json"
+const val COMPRESSED_STRUCTURED_LOG_FILE_EXTENSION = "$STRUCTURED_LOG_FILE_EXTENSION.gz"
+const val DEFAULT_MAX_BUFFER_SIZE_BYTES = 4L * 1024 * 1024
+const val DEFAULT_MAX_BUFFERED_EVENTS = 50_000
 private val DATE_FORMAT: DateTimeFormatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss")
 
 internal fun buildBucketConfig(storageConfig: Map<EnvVar, String>): StorageBucketConfig =
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import java.io.IOException
+import java.io.OutputStream
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import kotlin.io.path.createDirectories
+import kotlin.io.path.deleteIfExists
+
+/**
+ * [OutputStream] of a document, which is only committed once the stream is closed.
+ *
+ * Serializers tend to close the stream even when they fail part way, so the document must be [abort]ed instead of
+ * closed when writing it fails, otherwise a truncated document would be committed.
+ */
+abstract class DocumentOutputStream : OutputStream() {
+  /**
+   * Discards what was written and closes the stream without committing the document. Does nothing if the stream is
+   * already closed.
+   */
+  abstract fun abort()
+}
+
+/**
+ * [DocumentOutputStream] of a backend that only commits the document once [delegate] is closed, e.g. a GCS write
+ * channel or an Azure block blob stream. Aborting just never closes [delegate]: the data already sent is left
+ * uncommitted, and the backend cleans it up on its own.
+ */
+internal class CommitOnCloseOutputStream(
+  private val id: String,
+  private val delegate: OutputStream,
+) : DocumentOutputStream() {
+  private var closed = false
+
+  override fun write(b: Int) {
+    ensureOpen()
+    delegate.write(b)
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    ensureOpen()
+    delegate.write(b, off, len)
+  }
+
+  override fun flush() {
+    ensureOpen()
+    delegate.flush()
+  }
+
+  override fun close() {
+    if (closed) {
+      return
+    }
+    closed = true
+    delegate.close()
+  }
+
+  override fun abort() {
+    closed = true
+  }
+
+  private fun ensureOpen() {
+    if (closed) {
+      throw IOException("The stream of $id is closed")
+    }
+  }
+}
+
+/**
+ * [DocumentOutputStream] of a local document. The document is written to a temporary file under [tempDirectory],
+ * which must be on the same file system, and moved in place once the stream is closed, so that readers never see a
+ * partial document.
+ */
+internal class LocalDocumentOutputStream(
+  private val path: Path,
+  tempDirectory: Path,
+) : DocumentOutputStream() {
+  private val tempPath = Files.createTempFile(tempDirectory.createDirectories(), path.fileName.toString(), null)
+  private val delegate = Files.newOutputStream(tempPath)
+  private var closed = false
+
+  override fun write(b: Int) {
+    ensureOpen()
+    delegate.write(b)
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    ensureOpen()
+    delegate.write(b, off, len)
+  }
+
+  override fun flush() {
+    ensureOpen()
+    delegate.flush()
+  }
+
+  override fun close() {
+    if (closed) {
+      return
+    }
+    closed = true
+    try {
+      delegate.close()
+      Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+    } catch (e: Exception) {
+      tempPath.deleteIfExists()
+      throw e
+    }
+  }
+
+  override fun abort() {
+    if (closed) {
+      return
+    }
+    closed = true
+    runCatching { delegate.close() }
+    tempPath.deleteIfExists()
+  }
+
+  private fun ensureOpen() {
+    if (closed) {
+      throw IOException("The stream of $path is closed")
+    }
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload
+import software.amazon.awssdk.services.s3.model.CompletedPart
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.PutObjectRequest
+import software.amazon.awssdk.services.s3.model.UploadPartRequest
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+
+// S3 requires every part but the last one to be at least 5 MiB.
+internal const val MULTIPART_UPLOAD_PART_SIZE_BYTES = 8 * 1024 * 1024
+
+/**
+ * [DocumentOutputStream] that writes an S3 object without holding all of it in memory, by uploading it in parts of
+ * [partSizeBytes] as it is written.  Objects smaller than a part are written with a single put instead.
+ *
+ * The object only exists once the stream is closed.  If a part can't be uploaded, or the stream is [abort]ed, the
+ * multipart upload is aborted so that the parts already uploaded aren't kept.
+ *
+ * @param s3Client the [S3Client] used to upload the object
+ * @param bucketName the bucket of the object
+ * @param key the key of the object
+ * @param partSizeBytes the size of the uploaded parts
+ */
+internal class S3MultipartUploadOutputStream(
+  private val s3Client: S3Client,
+  private val bucketName: String,
+  private val key: String,
+  private val partSizeBytes: Int = MULTIPART_UPLOAD_PART_SIZE_BYTES,
+) : DocumentOutputStream() {
+  private val buffer = ByteArrayOutputStream()
+  private val completedParts = mutableListOf<CompletedPart>()
+  private var uploadId: String? = null
+  private var closed = false
+
+  override fun write(b: Int) {
+    ensureOpen()
+    buffer.write(b)
+    uploadPartIfFull()
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    ensureOpen()
+    var offset = off
+    var remaining = len
+    while (remaining > 0) {
+      val length = minOf(remaining, partSizeBytes - buffer.size())
+      buffer.write(b, offset, length)
+      offset += length
+      remaining -= length
+      uploadPartIfFull()
+    }
+  }
+
+  override fun close() {
+    if (closed) {
+      return
+    }
+    closed = true
+
+    if (uploadId == null) {
+      val request =
+        PutObjectRequest
+          .builder()
+          .bucket(bucketName)
+          .key(key)
+          .build()
+      s3Client.putObject(request, RequestBody.fromBytes(buffer.toByteArray()))
+      return
+    }
+
+    abortOnFailure {
+      if (buffer.size() > 0) {
+        uploadPart()
+      }
+      s3Client.completeMultipartUpload(
+        CompleteMultipartUploadRequest
+          .builder()
+          .bucket(bucketName)
+          .key(key)
+          .uploadId(uploadId)
+          .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+          .build(),
+      )
+    }
+  }
+
+  override fun abort() {
+    if (closed) {
+      return
+    }
+    closed = true
+    buffer.reset()
+    abortUpload()
+  }
+
+  private fun uploadPartIfFull() {
+    if (buffer.size() >= partSizeBytes) {
+      abortOnFailure { uploadPart() }
+    }
+  }
+
+  private fun uploadPart() {
+    val currentUploadId =
+      uploadId ?: s3Client
+        .createMultipartUpload(
+          CreateMultipartUploadRequest
+            .builder()
+            .bucket(bucketName)
+            .key(key)
+            .build(),
+        ).uploadId()
+        .also { uploadId = it }
+
+    val partNumber = completedParts.size + 1
+    val response =
+      s3Client.uploadPart(
+        UploadPartRequest
+          .builder()
+          .bucket(bucketName)
+          .key(key)
+          .uploadId(currentUploadId)
+          .partNumber(partNumber)
+          .build(),
+        RequestBody.fromBytes(buffer.toByteArray()),
+      )
+    completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build())
+    buffer.reset()
+  }
+
+  private fun abortOnFailure(block: () -> Unit) {
+    try {
+      block()
+    } catch (e: Exception) {
+      closed = true
+      abortUpload()
+      throw e
+    }
+  }
+
+  private fun abortUpload() {
+    uploadId?.let {
+      runCatching {
+        s3Client.abortMultipartUpload(
+          AbortMultipartUploadRequest
+            .builder()
+            .bucket(bucketName)
+            .key(key)
+            .uploadId(it)
+            .build(),
+        )
+      }
+    }
+  }
+
+  private fun ensureOpen() {
+    if (closed) {
+      throw IOException("The stream of $key is closed")
+    }
+  }
+}
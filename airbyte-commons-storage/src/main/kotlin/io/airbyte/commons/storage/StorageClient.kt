@@ -21,6 +21,7 @@ import io.micronaut.context.annotation.Value
 import io.micronaut.kotlin.context.createBean
 import jakarta.inject.Inject
 import jakarta.inject.Singleton
+import org.apache.commons.io.output.CloseShieldOutputStream
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials
 import software.amazon.awssdk.core.sync.RequestBody
 import software.amazon.awssdk.regions.Region
@@ -34,7 +35,10 @@ import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException
 import software.amazon.awssdk.services.s3.model.PutObjectRequest
 import java.io.ByteArrayInputStream
+import java.io.InputStream
+import java.io.OutputStream
 import java.net.URI
+import java.nio.channels.Channels
 import java.nio.charset.StandardCharsets
 import java.nio.file.Files
 import java.nio.file.Path
@@ -51,6 +55,8 @@ private fun prependIfMissing(
   id: String,
 ) = if (id.startsWith(prefix)) id else "${prefix.trimEnd('/')}/${id.trimStart('/')}"
 
+private const val PARTIAL_DOCUMENTS_DIRECTORY = ".partial"
+
 enum class StorageType {
   AZURE,
   GCS,
@@ -132,6 +138,18 @@ interface StorageClient {
     document: String,
   )
 
+  /**
+   * Opens a stream that writes a document with a given id, so that it can be written without holding all of it in
+   * memory. The document is only committed once the stream is closed, and is discarded if the stream is aborted. If a
+   * document already exists at this id it will be overwritten once the stream is closed.
+   *
+   * Prefer writing with the function overload, which aborts the document when writing it fails.
+   *
+   * @param id of the document to write
+   * @return the document stream, that the caller must close or abort
+   */
+  fun writeStream(id: String): DocumentOutputStream
+
   /**
    * Reads document with a given id.
    *
@@ -140,6 +158,15 @@ interface StorageClient {
    */
   fun read(id: String): String?
 
+  /**
+   * Opens the document with a given id as a stream, so that it can be read without holding all of it in memory.
+   * The caller must close the stream, and can do so before reading the whole document.
+   *
+   * @param id of the document to read.
+   * @return the document stream, or null if there is no document with this id
+   */
+  fun readStream(id: String): InputStream?
+
   /**
    * Deletes the document with provided id.
    *
@@ -157,6 +184,28 @@ interface StorageClient {
   fun key(id: String): String = prependIfMissing(prefix = documentType.prefix.toString(), id = id)
 }
 
+/**
+ * Writes a document with a given id by streaming it into [writer], e.g. a serializer. The document is only committed
+ * if [writer] succeeds, and is discarded if it throws, so that a failure part way never leaves a truncated document
+ * behind. [writer] may close the stream it is given, as Jackson does even when it fails, without committing the document.
+ *
+ * @param id of the document to write
+ * @param writer that writes the document to the given stream
+ */
+fun StorageClient.writeStream(
+  id: String,
+  writer: (OutputStream) -> Unit,
+) {
+  val stream = writeStream(id)
+  try {
+    writer(CloseShieldOutputStream(stream))
+  } catch (e: Throwable) {
+    stream.abort()
+    throw e
+  }
+  stream.close()
+}
+
 /**
  * Constructs a [AzureStorageClient] implementation of the [StorageClient].
  *
@@ -205,6 +254,17 @@ class AzureStorageClient(
       .upload(document.byteInputStream(StandardCharsets.UTF_8))
   }
 
+  override fun writeStream(id: String): DocumentOutputStream =
+    CommitOnCloseOutputStream(
+      id = id,
+      delegate =
+        azureClient
+          .getBlobContainerClient(bucketName)
+          .getBlobClient(key(id))
+          .blockBlobClient
+          .getBlobOutputStream(true),
+    )
+
   override fun read(id: String): String? =
     azureClient
       .getBlobContainerClient(bucketName)
@@ -214,6 +274,13 @@ class AzureStorageClient(
       ?.downloadContent()
       ?.toString()
 
+  override fun readStream(id: String): InputStream? =
+    azureClient
+      .getBlobContainerClient(bucketName)
+      .getBlobClient(key(id))
+      .takeIf { it.exists() }
+      ?.openInputStream()
+
   override fun delete(id: String): Boolean =
     azureClient
       .getBlobContainerClient(bucketName)
@@ -271,6 +338,11 @@ class GcsStorageClient(
     gcsClient.create(blobInfo, document.toByteArray(StandardCharsets.UTF_8))
   }
 
+  override fun writeStream(id: String): DocumentOutputStream {
+    val blobInfo = BlobInfo.newBuilder(blobId(id)).build()
+    return CommitOnCloseOutputStream(id = id, delegate = Channels.newOutputStream(gcsClient.writer(blobInfo)))
+  }
+
   override fun read(id: String): String? {
     val blobId = blobId(key(id))
 
@@ -280,6 +352,15 @@ class GcsStorageClient(
       ?.let { gcsClient.readAllBytes(blobId).toString(StandardCharsets.UTF_8) }
   }
 
+  override fun readStream(id: String): InputStream? {
+    val blobId = blobId(key(id))
+
+    return gcsClient
+      .get(blobId)
+      ?.takeIf { it.exists() }
+      ?.let { Channels.newInputStream(gcsClient.reader(blobId)) }
+  }
+
   override fun delete(id: String): Boolean = gcsClient.delete(BlobId.of(bucketName, key(id)))
 
   @VisibleForTesting
@@ -327,11 +408,23 @@ class LocalStorageClient(
     IOs.writeFile(path, document)
   }
 
+  override fun writeStream(id: String): DocumentOutputStream {
+    val path =
+      toPath(id).also { it.createParentDirectories() }
+    // Outside of the document directories, so that partial documents aren't listed.
+    return LocalDocumentOutputStream(path = path, tempDirectory = Path.of(config.root, PARTIAL_DOCUMENTS_DIRECTORY))
+  }
+
   override fun read(id: String): String? =
     toPath(id)
       .takeIf { it.exists() }
       ?.let { IOs.readFile(it) }
 
+  override fun readStream(id: String): InputStream? =
+    toPath(id)
+      .takeIf { it.exists() }
+      ?.let { Files.newInputStream(it) }
+
   override fun delete(id: String): Boolean =
     toPath(id)
       .deleteIfExists()
@@ -438,6 +531,8 @@ abstract class AbstractS3StorageClient internal constructor(
     s3Client.putObject(request, RequestBody.fromString(document))
   }
 
+  override fun writeStream(id: String): DocumentOutputStream = S3MultipartUploadOutputStream(s3Client = s3Client, bucketName = bucketName, key = key(id))
+
   override fun read(id: String): String? =
     try {
       s3Client
@@ -452,6 +547,19 @@ abstract class AbstractS3StorageClient internal constructor(
       null
     }
 
+  override fun readStream(id: String): InputStream? =
+    try {
+      s3Client.getObject(
+        GetObjectRequest
+          .builder()
+          .bucket(bucketName)
+          .key(key(id))
+          .build(),
+      )
+    } catch (e: NoSuchKeyException) {
+      null
+    }
+
   override fun delete(id: String): Boolean {
     val exists =
       try {
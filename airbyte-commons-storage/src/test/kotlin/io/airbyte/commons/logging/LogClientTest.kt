@@ -8,6 +8,7 @@ import ch.qos.logback.classic.Level
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.module.SimpleModule
 import io.airbyte.commons.jackson.MoreMappers
+import io.airbyte.commons.logging.logback.COMPRESSED_STRUCTURED_LOG_FILE_EXTENSION
 import io.airbyte.commons.logging.logback.STRUCTURED_LOG_FILE_EXTENSION
 import io.airbyte.commons.storage.DocumentType
 import io.airbyte.commons.storage.StorageClient
@@ -22,10 +23,12 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.EnumSource
+import java.io.ByteArrayOutputStream
 import java.time.Instant
 import java.time.LocalDateTime
 import java.time.ZoneId
 import java.time.format.DateTimeFormatter
+import java.util.zip.GZIPOutputStream
 import kotlin.io.path.createTempFile
 import kotlin.io.path.pathString
 
@@ -90,7 +93,7 @@ internal class LogClientTest {
     val storageClient =
       mockk<StorageClient> {
         every { list(any()) } returns listOf(logPath)
-        every { read(any()) } returns logFile.toFile().readText()
+        every { readStream(any()) } answers { logFile.toFile().inputStream() }
         every { storageType } returns StorageType.LOCAL
       }
     val storageClientFactory =
@@ -114,6 +117,71 @@ internal class LogClientTest {
     verify(exactly = 1) { storageClient.list(logPath) }
   }
 
+  @Test
+  fun testGetStructuredLogsStopsReadingFilesOnceEnoughLinesAreRead() {
+    val logPath = "log-path"
+    val numLines = 25
+    val files = (1..20).map { "file${it.toString().padStart(2, '0')}$STRUCTURED_LOG_FILE_EXTENSION" }
+    val logEvents = files.mapIndexed { index, file -> file to buildLogEvents(numLines = 10, startingTimestamp = index * 10_000L) }.toMap()
+
+    val storageClient =
+      mockk<StorageClient> {
+        every { list(any()) } returns files
+        every { readStream(any()) } answers { objectMapper.writeValueAsString(logEvents[firstArg()]).byteInputStream() }
+        every { storageType } returns StorageType.S3
+      }
+    val storageClientFactory =
+      mockk<StorageClientFactory> {
+        every { create(DocumentType.LOGS) } returns storageClient
+      }
+    val logClient =
+      LogClient(
+        storageClientFactory = storageClientFactory,
+        mapper = objectMapper,
+        logEventLayout = logEventLayout,
+        meterRegistry = null,
+      )
+
+    val result = logClient.getLogs(logPath = logPath, numLines = numLines)
+    assertEquals(numLines, result.events.size)
+    assertEquals(logEvents.values.flatMap { it.events }.take(numLines), result.events)
+    files.drop(10).forEach { file -> verify(exactly = 0) { storageClient.readStream(file) } }
+  }
+
+  @Test
+  fun testGetCompressedStructuredLogs() {
+    val logPath = "log-path"
+    val numLines = 25
+    val files = listOf("file1$STRUCTURED_LOG_FILE_EXTENSION", "file2$COMPRESSED_STRUCTURED_LOG_FILE_EXTENSION")
+    val logEvents = files.mapIndexed { index, file -> file to buildLogEvents(numLines = 20, startingTimestamp = index * 20_000L) }.toMap()
+
+    val storageClient =
+      mockk<StorageClient> {
+        every { list(any()) } returns files
+        every { readStream(files[0]) } answers { objectMapper.writeValueAsBytes(logEvents[files[0]]).inputStream() }
+        every { readStream(files[1]) } answers {
+          val document = ByteArrayOutputStream()
+          GZIPOutputStream(document).use { objectMapper.writeValue(it, logEvents[files[1]]) }
+          document.toByteArray().inputStream()
+        }
+        every { storageType } returns StorageType.GCS
+      }
+    val storageClientFactory =
+      mockk<StorageClientFactory> {
+        every { create(DocumentType.LOGS) } returns storageClient
+      }
+    val logClient =
+      LogClient(
+        storageClientFactory = storageClientFactory,
+        mapper = objectMapper,
+        logEventLayout = logEventLayout,
+        meterRegistry = null,
+      )
+
+    val result = logClient.getLogs(logPath = logPath, numLines = numLines)
+    assertEquals(logEvents.values.flatMap { it.events }.take(numLines), result.events)
+  }
+
   @Test
   fun testTailLogFilesLocal() {
     val logFile = createTempFile(prefix = "log", suffix = ".log")
@@ -170,7 +238,7 @@ internal class LogClientTest {
     val storageClient =
       mockk<StorageClient> {
         every { list(any()) } returns listOf(logPath)
-        every { read(any()) } returns logFile.toFile().readText()
+        every { readStream(any()) } answers { logFile.toFile().inputStream() }
         every { storageType } returns StorageType.LOCAL
       }
     val storageClientFactory =
@@ -282,10 +350,10 @@ internal class LogClientTest {
     val storageClient =
       mockk<StorageClient> {
         every { list(any()) } returns fileList
-        every { read("file1$STRUCTURED_LOG_FILE_EXTENSION") } returns objectMapper.writeValueAsString(logEvents1)
-        every { read("file2$STRUCTURED_LOG_FILE_EXTENSION") } returns objectMapper.writeValueAsString(logEvents2)
-        every { read("file3$STRUCTURED_LOG_FILE_EXTENSION") } returns objectMapper.writeValueAsString(logEvents3)
-        every { read("file4$STRUCTURED_LOG_FILE_EXTENSION") } returns objectMapper.writeValueAsString(logEvents4)
+        every { readStream("file1$STRUCTURED_LOG_FILE_EXTENSION") } answers { objectMapper.writeValueAsString(logEvents1).byteInputStream() }
+        every { readStream("file2$STRUCTURED_LOG_FILE_EXTENSION") } answers { objectMapper.writeValueAsString(logEvents2).byteInputStream() }
+        every { readStream("file3$STRUCTURED_LOG_FILE_EXTENSION") } answers { objectMapper.writeValueAsString(logEvents3).byteInputStream() }
+        every { readStream("file4$STRUCTURED_LOG_FILE_EXTENSION") } answers { objectMapper.writeValueAsString(logEvents4).byteInputStream() }
         every { this@mockk.storageType } returns storageType
       }
     val storageClientFactory =
@@ -605,7 +673,7 @@ internal class LogClientTest {
     val storageClient =
       mockk<StorageClient> {
         every { list(any()) } returns listOf(logPath)
-        every { read(any()) } returns logFile.toFile().readText()
+        every { readStream(any()) } answers { logFile.toFile().inputStream() }
         every { storageType } returns StorageType.LOCAL
       }
     val storageClientFactory =
@@ -11,26 +11,33 @@ import ch.qos.logback.core.Context
 import ch.qos.logback.core.status.Status
 import ch.qos.logback.core.status.StatusManager
 import io.airbyte.commons.envvar.EnvVar
+import io.airbyte.commons.jackson.MoreMappers
 import io.airbyte.commons.resources.MoreResources
 import io.airbyte.commons.storage.AzureStorageClient
 import io.airbyte.commons.storage.DocumentType
 import io.airbyte.commons.storage.GcsStorageClient
+import io.airbyte.commons.storage.InMemoryDocumentOutputStream
 import io.airbyte.commons.storage.LocalStorageClient
 import io.airbyte.commons.storage.MinioStorageClient
 import io.airbyte.commons.storage.S3StorageClient
 import io.airbyte.commons.storage.StorageClient
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.slot
 import io.mockk.verify
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 import java.nio.file.Files
 import java.util.UUID
 import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPInputStream
 import kotlin.io.path.Path
 
 private class AirbyteCloudStorageAppenderTest {
+  private val objectMapper = MoreMappers.initMapper()
+
   @AfterEach
   fun tearDown() {
     Files.newDirectoryStream(Path("."), "*.log").use { stream ->
@@ -204,7 +211,59 @@ private class AirbyteCloudStorageAppenderTest {
 
     Thread.sleep(TimeUnit.SECONDS.toMillis(period * 2))
 
-    verify(exactly = 1) { storageClient.write(any<String>(), any<String>()) }
+    verify(exactly = 1) { storageClient.writeStream(any<String>()) }
+  }
+
+  @Test
+  fun testStorageUploadWhenBufferIsFull() {
+    val baseStorageId = "/path/to/logs"
+    val id = slot<String>()
+    val document = InMemoryDocumentOutputStream()
+    val storageClient =
+      mockk<StorageClient> {
+        every { writeStream(capture(id)) } returns document
+      }
+    val logMessage = "test message"
+    val event =
+      mockk<ILoggingEvent> {
+        every { callerData } returns arrayOf(StackTraceElement("io.airbyte.TestClass", "testMethod", "TestClass.kt", 12345))
+        every { formattedMessage } returns logMessage
+        every { level } returns Level.INFO
+        every { loggerName } returns PLATFORM_LOGGER_NAME
+        every { mdcPropertyMap } returns emptyMap<String, String>()
+        every { threadName } returns "Test Thread"
+        every { throwableProxy } returns null
+        every { timeStamp } returns 0L
+      }
+    val loggingContext =
+      mockk<Context> {
+        every { statusManager } returns mockk<StatusManager> { every { add(any<Status>()) } returns Unit }
+      }
+
+    val appender =
+      AirbyteCloudStorageAppender(
+        documentType = DocumentType.LOGS,
+        storageClient = storageClient,
+        baseStorageId = baseStorageId,
+        period = 1L,
+        unit = TimeUnit.HOURS,
+        maxBufferSizeBytes = logMessage.length * 2L,
+      )
+    appender.context = loggingContext
+    appender.start()
+
+    appender.doAppend(event)
+    verify(exactly = 0) { storageClient.writeStream(any<String>()) }
+    appender.doAppend(event)
+
+    verify(exactly = 1, timeout = 5000) { storageClient.writeStream(any<String>()) }
+    // Waits for the upload to complete, there is nothing left to upload.
+    appender.stop()
+    verify(exactly = 1) { storageClient.writeStream(any<String>()) }
+    assertTrue(id.captured.endsWith(COMPRESSED_STRUCTURED_LOG_FILE_EXTENSION))
+    assertTrue(document.committed)
+    val logEvents = objectMapper.readTree(GZIPInputStream(document.toByteArray().inputStream()))
+    assertEquals(listOf(logMessage, logMessage), logEvents["events"].map { it["message"].asText() })
   }
 
   @Test
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.core.sync.ResponseTransformer
+import software.amazon.awssdk.http.AbortableInputStream
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse
+import software.amazon.awssdk.services.s3.model.GetObjectRequest
+import software.amazon.awssdk.services.s3.model.GetObjectResponse
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest
+import software.amazon.awssdk.services.s3.model.HeadBucketResponse
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException
+import software.amazon.awssdk.services.s3.model.PutObjectRequest
+import software.amazon.awssdk.services.s3.model.PutObjectResponse
+import software.amazon.awssdk.services.s3.model.UploadPartRequest
+import software.amazon.awssdk.services.s3.model.UploadPartResponse
+import java.io.ByteArrayOutputStream
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Stand-in for a Minio server, keeping the objects of a single bucket in memory.  Only implements the S3 operations
+ * used by [AbstractS3StorageClient].
+ */
+internal class InMemoryS3Client : S3Client {
+  private val objects = ConcurrentHashMap<String, ByteArray>()
+  private val multipartUploads = ConcurrentHashMap<String, ConcurrentHashMap<Int, ByteArray>>()
+
+  /** Number of parts uploaded through multipart uploads. */
+  var uploadedParts = 0
+    private set
+
+  /** Number of multipart uploads that were neither completed nor aborted. */
+  val pendingMultipartUploads: Int
+    get() = multipartUploads.size
+
+  override fun serviceName(): String = S3Client.SERVICE_NAME
+
+  override fun close() {}
+
+  override fun headBucket(headBucketRequest: HeadBucketRequest): HeadBucketResponse = HeadBucketResponse.builder().build()
+
+  override fun putObject(
+    putObjectRequest: PutObjectRequest,
+    requestBody: RequestBody,
+  ): PutObjectResponse {
+    objects[putObjectRequest.key()] = requestBody.bytes()
+    return PutObjectResponse.builder().build()
+  }
+
+  override fun <ReturnT> getObject(
+    getObjectRequest: GetObjectRequest,
+    responseTransformer: ResponseTransformer<GetObjectResponse, ReturnT>,
+  ): ReturnT {
+    val document = objects[getObjectRequest.key()] ?: throw NoSuchKeyException.builder().build()
+    return responseTransformer.transform(
+      GetObjectResponse.builder().contentLength(document.size.toLong()).build(),
+      AbortableInputStream.create(document.inputStream()),
+    )
+  }
+
+  override fun headObject(headObjectRequest: HeadObjectRequest): HeadObjectResponse {
+    val document = objects[headObjectRequest.key()] ?: throw NoSuchKeyException.builder().build()
+    return HeadObjectResponse.builder().contentLength(document.size.toLong()).build()
+  }
+
+  override fun deleteObject(deleteObjectRequest: DeleteObjectRequest): DeleteObjectResponse {
+    objects.remove(deleteObjectRequest.key())
+    return DeleteObjectResponse.builder().build()
+  }
+
+  override fun createMultipartUpload(createMultipartUploadRequest: CreateMultipartUploadRequest): CreateMultipartUploadResponse {
+    val uploadId = UUID.randomUUID().toString()
+    multipartUploads[uploadId] = ConcurrentHashMap()
+    return CreateMultipartUploadResponse.builder().uploadId(uploadId).build()
+  }
+
+  override fun uploadPart(
+    uploadPartRequest: UploadPartRequest,
+    requestBody: RequestBody,
+  ): UploadPartResponse {
+    val parts = multipartUploads[uploadPartRequest.uploadId()] ?: throw NoSuchUploadException.builder().build()
+    parts[uploadPartRequest.partNumber()] = requestBody.bytes()
+    uploadedParts++
+    return UploadPartResponse.builder().eTag("etag-${uploadPartRequest.partNumber()}").build()
+  }
+
+  override fun completeMultipartUpload(completeMultipartUploadRequest: CompleteMultipartUploadRequest): CompleteMultipartUploadResponse {
+    val parts = multipartUploads.remove(completeMultipartUploadRequest.uploadId()) ?: throw NoSuchUploadException.builder().build()
+    val document = ByteArrayOutputStream()
+    completeMultipartUploadRequest.multipartUpload().parts().forEach { document.write(parts.getValue(it.partNumber())) }
+    objects[completeMultipartUploadRequest.key()] = document.toByteArray()
+    return CompleteMultipartUploadResponse.builder().build()
+  }
+
+  override fun abortMultipartUpload(abortMultipartUploadRequest: AbortMultipartUploadRequest): AbortMultipartUploadResponse {
+    multipartUploads.remove(abortMultipartUploadRequest.uploadId())
+    return AbortMultipartUploadResponse.builder().build()
+  }
+
+  private fun RequestBody.bytes(): ByteArray = contentStreamProvider().newStream().use { it.readAllBytes() }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.PutObjectRequest
+import software.amazon.awssdk.services.s3.model.S3Exception
+import software.amazon.awssdk.services.s3.model.UploadPartRequest
+import software.amazon.awssdk.services.s3.model.UploadPartResponse
+
+private const val BUCKET = "bucket"
+private const val OBJECT_KEY = "key"
+private const val UPLOAD_ID = "upload-id"
+
+internal class S3MultipartUploadOutputStreamTest {
+  @Test
+  fun `small documents are written with a single put`() {
+    val s3Client: S3Client =
+      mockk {
+        every { putObject(any<PutObjectRequest>(), any<RequestBody>()) } returns mockk()
+      }
+
+    S3MultipartUploadOutputStream(s3Client = s3Client, bucketName = BUCKET, key = OBJECT_KEY, partSizeBytes = 10).use {
+      it.write("doc".toByteArray())
+    }
+
+    verify(exactly = 1) { s3Client.putObject(PutObjectRequest.builder().bucket(BUCKET).key(OBJECT_KEY).build(), any<RequestBody>()) }
+  }
+
+  @Test
+  fun `large documents are written in parts`() {
+    val s3Client: S3Client =
+      mockk {
+        every { createMultipartUpload(any<CreateMultipartUploadRequest>()) } returns
+          CreateMultipartUploadResponse.builder().uploadId(UPLOAD_ID).build()
+        every { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } returns UploadPartResponse.builder().eTag("etag").build()
+        every { completeMultipartUpload(any<CompleteMultipartUploadRequest>()) } returns mockk()
+      }
+
+    S3MultipartUploadOutputStream(s3Client = s3Client, bucketName = BUCKET, key = OBJECT_KEY, partSizeBytes = 10).use {
+      it.write(ByteArray(25))
+    }
+
+    verify(exactly = 1) { s3Client.createMultipartUpload(any<CreateMultipartUploadRequest>()) }
+    verify(exactly = 3) { s3Client.uploadPart(any<UploadPartRequest>(), any<RequestBody>()) }
+    verify(exactly = 1) { s3Client.completeMultipartUpload(match<CompleteMultipartUploadRequest> { it.multipartUpload().parts().size == 3 }) }
+  }
+
+  @Test
+  fun `the upload is aborted when a part can't be uploaded`() {
+    val s3Client: S3Client =
+      mockk {
+        every { createMultipartUpload(any<CreateMultipartUploadRequest>()) } returns
+          CreateMultipartUploadResponse.builder().uploadId(UPLOAD_ID).build()
+        every { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } throws S3Exception.builder().message("failed").build()
+        every { abortMultipartUpload(any<AbortMultipartUploadRequest>()) } returns mockk()
+      }
+
+    val stream = S3MultipartUploadOutputStream(s3Client = s3Client, bucketName = BUCKET, key = OBJECT_KEY, partSizeBytes = 10)
+    assertThrows<S3Exception> { stream.write(ByteArray(25)) }
+    stream.close()
+
+    verify(exactly = 1) { s3Client.abortMultipartUpload(match<AbortMultipartUploadRequest> { it.uploadId() == UPLOAD_ID }) }
+    verify(exactly = 0) { s3Client.completeMultipartUpload(any<CompleteMultipartUploadRequest>()) }
+  }
+
+  @Test
+  fun `aborting the stream discards the document`() {
+    val s3Client: S3Client =
+      mockk {
+        every { createMultipartUpload(any<CreateMultipartUploadRequest>()) } returns
+          CreateMultipartUploadResponse.builder().uploadId(UPLOAD_ID).build()
+        every { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } returns UploadPartResponse.builder().eTag("etag").build()
+        every { abortMultipartUpload(any<AbortMultipartUploadRequest>()) } returns mockk()
+      }
+
+    val stream = S3MultipartUploadOutputStream(s3Client = s3Client, bucketName = BUCKET, key = OBJECT_KEY, partSizeBytes = 10)
+    stream.write(ByteArray(25))
+    stream.abort()
+    stream.close()
+
+    verify(exactly = 1) { s3Client.abortMultipartUpload(match<AbortMultipartUploadRequest> { it.uploadId() == UPLOAD_ID }) }
+    verify(exactly = 0) { s3Client.completeMultipartUpload(any<CompleteMultipartUploadRequest>()) }
+    verify(exactly = 0) { s3Client.putObject(any<PutObjectRequest>(), any<RequestBody>()) }
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import io.airbyte.commons.json.Jsons
+import io.github.oshai.kotlinlogging.KotlinLogging
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable
+import org.junit.jupiter.api.io.TempDir
+import java.io.OutputStream
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+import kotlin.io.path.listDirectoryEntries
+import kotlin.io.path.pathString
+import kotlin.random.Random
+
+private val logger = KotlinLogging.logger {}
+
+private val conformanceBuckets =
+  StorageBucketConfig(log = "log", state = "state", workloadOutput = "workload", activityPayload = "payload")
+
+// Larger than a part of a multipart upload, so that S3 documents are uploaded in several parts.
+private const val LARGE_DOCUMENT_SIZE_BYTES = 2 * MULTIPART_UPLOAD_PART_SIZE_BYTES + 1024
+private const val CHUNK_SIZE_BYTES = 64 * 1024
+private const val THROUGHPUT_DOCUMENT_SIZE_BYTES = 256 * 1024 * 1024
+
+/**
+ * Behavior that every [StorageClient] implementation must have, whether documents are written and read whole or as
+ * streams.
+ *
+ * The throughput test compares the string and stream methods on a large document.  It is a benchmark rather than a
+ * test, it only runs when STORAGE_CLIENT_BENCHMARK is set to true and logs its results.
+ */
+internal abstract class StorageClientConformanceTest {
+  protected lateinit var client: StorageClient
+
+  abstract fun createClient(): StorageClient
+
+  @BeforeEach
+  fun setup() {
+    client = createClient()
+  }
+
+  @Test
+  fun `documents can be written and read`() {
+    client.write("foo", "foodoc")
+    client.write("bar/baz", "barbaz")
+
+    assertEquals("foodoc", client.read("foo"))
+    assertEquals("barbaz", client.read("bar/baz"))
+    assertEquals("barbaz", client.readStream("bar/baz")?.use { it.readAllBytes().toString(StandardCharsets.UTF_8) })
+  }
+
+  @Test
+  fun `documents are overwritten`() {
+    client.write("foo", "foodoc")
+    client.writeStream("foo").use { it.write("newdoc".toByteArray()) }
+
+    assertEquals("newdoc", client.read("foo"))
+  }
+
+  @Test
+  fun `missing documents are null`() {
+    assertNull(client.read("missing"))
+    assertNull(client.readStream("missing"))
+  }
+
+  @Test
+  fun `binary documents can be written and read`() {
+    val document = Random.nextBytes(1024)
+    client.writeStream("job/0/doc").use { it.write(document) }
+
+    assertArrayEquals(document, client.readStream("job/0/doc")?.use { it.readAllBytes() })
+  }
+
+  @Test
+  fun `empty documents can be streamed`() {
+    client.writeStream("empty").close()
+
+    assertEquals("", client.read("empty"))
+  }
+
+  @Test
+  fun `large documents can be streamed`() {
+    val document = Random.nextBytes(LARGE_DOCUMENT_SIZE_BYTES)
+    client.writeStream("job/0/large").use { writeInChunks(document, it) }
+
+    assertArrayEquals(document, client.readStream("job/0/large")?.use { it.readAllBytes() })
+  }
+
+  @Test
+  fun `documents are not committed when a serializer fails part way`() {
+    client.write("foo", "foodoc")
+
+    assertThrows<RuntimeException> { client.writeStream("foo") { Jsons.serialize(FailingDocument(), it) } }
+    assertThrows<RuntimeException> { client.writeStream("new") { Jsons.serialize(FailingDocument(), it) } }
+
+    assertEquals("foodoc", client.read("foo"))
+    assertNull(client.read("new"))
+  }
+
+  @Test
+  fun `large documents are not committed when writing fails part way`() {
+    val document = Random.nextBytes(LARGE_DOCUMENT_SIZE_BYTES)
+
+    assertThrows<IllegalStateException> {
+      client.writeStream("job/0/large") {
+        writeInChunks(document, it)
+        it.close()
+        throw IllegalStateException("failed after writing the document")
+      }
+    }
+
+    assertNull(client.readStream("job/0/large"))
+  }
+
+  @Test
+  fun `documents can be deleted`() {
+    client.write("foo", "foodoc")
+
+    assertTrue(client.delete("foo"))
+    assertNull(client.read("foo"))
+    assertFalse(client.delete("foo"))
+  }
+
+  @Test
+  @EnabledIfEnvironmentVariable(named = "STORAGE_CLIENT_BENCHMARK", matches = "true")
+  fun `throughput of strings and streams`() {
+    val document = ByteArray(THROUGHPUT_DOCUMENT_SIZE_BYTES) { ('a' + Random.nextInt(26)).code.toByte() }
+    val documentString = String(document, StandardCharsets.UTF_8)
+
+    val stringWrite = measureBytesPerSecond { client.write("string", documentString) }
+    val stringRead = measureBytesPerSecond { client.read("string") }
+    val streamWrite = measureBytesPerSecond { client.writeStream("stream").use { writeInChunks(document, it) } }
+    val streamRead = measureBytesPerSecond { client.readStream("stream")?.use { it.transferTo(OutputStream.nullOutputStream()) } }
+
+    logger.info {
+      "${client.storageType}: strings written at $stringWrite MiB/s and read at $stringRead MiB/s, " +
+        "streams written at $streamWrite MiB/s and read at $streamRead MiB/s"
+    }
+  }
+
+  /**
+   * Fails once its first property is serialized, like a serializer that fails half way through a document.
+   */
+  @Suppress("unused")
+  private class FailingDocument {
+    val id = "id"
+    val payload: String
+      get() = throw IllegalStateException("failed to serialize the payload")
+  }
+
+  private fun measureBytesPerSecond(block: () -> Unit): Long {
+    val start = System.nanoTime()
+    block()
+    val nanos = maxOf(System.nanoTime() - start, 1L)
+    return THROUGHPUT_DOCUMENT_SIZE_BYTES * 1_000_000_000L / nanos / (1024 * 1024)
+  }
+
+  private fun writeInChunks(
+    document: ByteArray,
+    stream: OutputStream,
+  ) {
+    for (offset in document.indices step CHUNK_SIZE_BYTES) {
+      stream.write(document, offset, minOf(CHUNK_SIZE_BYTES, document.size - offset))
+    }
+  }
+}
+
+internal class LocalStorageClientConformanceTest : StorageClientConformanceTest() {
+  @TempDir
+  lateinit var root: Path
+
+  override fun createClient(): StorageClient =
+    LocalStorageClient(config = LocalStorageConfig(buckets = conformanceBuckets, root = root.pathString), type = DocumentType.STATE)
+
+  @Test
+  fun `partial documents are neither listed nor kept`() {
+    client.writeStream("job/0/doc").use {
+      it.write("partial".toByteArray())
+      assertEquals(emptyList<String>(), client.list("job/0"))
+    }
+    assertThrows<IllegalStateException> {
+      client.writeStream("job/0/failed") {
+        it.write("partial".toByteArray())
+        throw IllegalStateException("failed after writing the document")
+      }
+    }
+
+    assertEquals(listOf("job/0/doc"), client.list("job/0"))
+    assertEquals(emptyList<Path>(), root.resolve(".partial").listDirectoryEntries())
+  }
+}
+
+internal class MinioStorageClientConformanceTest : StorageClientConformanceTest() {
+  private val s3Client = InMemoryS3Client()
+
+  override fun createClient(): StorageClient =
+    MinioStorageClient(
+      config = MinioStorageConfig(buckets = conformanceBuckets, accessKey = "access-key", secretAccessKey = "secret-key", endpoint = "localhost"),
+      type = DocumentType.STATE,
+      s3Client = s3Client,
+    )
+
+  @Test
+  fun `large documents are uploaded in parts`() {
+    client.writeStream("small").use { it.write("smalldoc".toByteArray()) }
+    assertEquals(0, s3Client.uploadedParts)
+
+    client.writeStream("large").use { it.write(ByteArray(LARGE_DOCUMENT_SIZE_BYTES)) }
+    assertEquals(3, s3Client.uploadedParts)
+  }
+
+  @Test
+  fun `uploads are aborted when writing fails part way`() {
+    assertThrows<IllegalStateException> {
+      client.writeStream("large") {
+        it.write(ByteArray(LARGE_DOCUMENT_SIZE_BYTES))
+        throw IllegalStateException("failed after writing the document")
+      }
+    }
+
+    assertEquals(0, s3Client.pendingMultipartUploads)
+    assertNull(client.read("large"))
+  }
+}
@@ -27,7 +27,9 @@ import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.io.TempDir
 import software.amazon.awssdk.core.ResponseBytes
+import software.amazon.awssdk.core.ResponseInputStream
 import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.http.AbortableInputStream
 import software.amazon.awssdk.services.s3.S3Client
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest
 import software.amazon.awssdk.services.s3.model.CreateBucketResponse
@@ -393,6 +395,29 @@ internal class LocalStorageClientTest {
     assertEquals(listOf(file.fileName.toString()), result)
   }
 
+  @Test
+  fun `it can read state files as streams`() {
+    val root = createTempDirectory(prefix = "local-test")
+    val config = LocalStorageConfig(buckets = buckets, root = root.pathString)
+    val client = LocalStorageClient(config = config, type = DocumentType.STATE)
+
+    client.write("foo", "foodoc")
+
+    assertEquals("foodoc", client.readStream("foo")?.use { it.readAllBytes().toString(StandardCharsets.UTF_8) })
+    assertNull(client.readStream("missing"))
+  }
+
+  @Test
+  fun `it can write state files as streams`() {
+    val root = createTempDirectory(prefix = "local-test")
+    val config = LocalStorageConfig(buckets = buckets, root = root.pathString)
+    val client = LocalStorageClient(config = config, type = DocumentType.STATE)
+
+    client.writeStream("job/0/foo").use { it.write("foodoc".toByteArray()) }
+
+    assertEquals("foodoc", client.read("job/0/foo"))
+  }
+
   @Test
   fun `it can write and read state files correctly`() {
     val root = createTempDirectory(prefix = "local-test")
@@ -664,6 +689,51 @@ internal class S3StorageClientTest {
     }
   }
 
+  @Test
+  fun `read stream of missing doc`() {
+    val s3Client: S3Client =
+      mockk {
+        every { createBucket(any<CreateBucketRequest>()) } returns mockk<CreateBucketResponse>()
+        every { headBucket(any<HeadBucketRequest>()) } throws NoSuchBucketException.builder().build()
+      }
+    val client = S3StorageClient(config = config, type = DocumentType.STATE, s3Client = s3Client)
+
+    val request =
+      GetObjectRequest
+        .builder()
+        .bucket(buckets.state)
+        .key(client.key(KEY))
+        .build()
+
+    every { s3Client.getObject(request) } throws NoSuchKeyException.builder().build()
+    assertNull(client.readStream(KEY), "key $KEY should be null")
+  }
+
+  @Test
+  fun `read stream of existing doc`() {
+    val s3Client: S3Client =
+      mockk {
+        every { createBucket(any<CreateBucketRequest>()) } returns mockk<CreateBucketResponse>()
+        every { headBucket(any<HeadBucketRequest>()) } throws NoSuchBucketException.builder().build()
+      }
+    val client = S3StorageClient(config = config, type = DocumentType.STATE, s3Client = s3Client)
+
+    val request =
+      GetObjectRequest
+        .builder()
+        .bucket(buckets.state)
+        .key(client.key(KEY))
+        .build()
+
+    every { s3Client.getObject(request) } returns
+      ResponseInputStream(GetObjectResponse.builder().build(), AbortableInputStream.create(DOC1.byteInputStream()))
+
+    with(client.readStream(KEY)) {
+      assertNotNull(this, "key $KEY should not be null")
+      assertEquals(DOC1, this?.use { it.readAllBytes().toString(StandardCharsets.UTF_8) })
+    }
+  }
+
   @Test
   fun `write doc`() {
     val s3Client: S3Client =
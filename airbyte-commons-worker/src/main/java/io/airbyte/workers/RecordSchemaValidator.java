@@ -7,30 +7,63 @@ package io.airbyte.workers;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.validation.json.JsonSchemaValidator;
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Validates that AirbyteRecordMessage data conforms to the JSON schema defined by the source's
  * configured catalog.
+ * <p>
+ * Validation is asynchronous. Records waiting for validation are kept in a bounded queue which is
+ * drained in batches by up to {@code validationWorkers} tasks on the validation executor. When the
+ * queue is full, validation can't keep up and the records are dropped instead of piling up on the
+ * heap. On top of that, a {@link SamplingConfiguration} lets callers only validate a fraction of the
+ * records of a stream, see {@link #shouldValidate(AirbyteStreamNameNamespacePair)}.
  */
 public class RecordSchemaValidator implements Closeable {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(RecordSchemaValidator.class);
+
+  public static final int DEFAULT_VALIDATION_WORKERS = 2;
+  public static final int DEFAULT_MAX_PENDING_RECORDS = 10_000;
+  public static final int DEFAULT_BATCH_SIZE = 100;
+
   private final JsonSchemaValidator validator;
   private final ExecutorService validationExecutor;
   private final Map<AirbyteStreamNameNamespacePair, JsonNode> streams;
+  private final SamplingConfiguration samplingConfiguration;
+  private final Map<AirbyteStreamNameNamespacePair, AtomicLong> sampledRecordCounters = new ConcurrentHashMap<>();
+
+  private final int validationWorkers;
+  private final int batchSize;
+  private final BlockingQueue<Runnable> pendingValidations;
+  private final AtomicInteger activeDrainers = new AtomicInteger();
+  private final LongAdder droppedRecords = new LongAdder();
 
   /**
    * Creates a RecordSchemaValidator.
@@ -38,7 +71,21 @@ public class RecordSchemaValidator implements Closeable {
    * @param streamNamesToSchemas Name of streams.
    */
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas) {
-    this(streamNamesToSchemas, Executors.newFixedThreadPool(1));
+    this(streamNamesToSchemas, SamplingConfiguration.VALIDATE_ALL, DEFAULT_VALIDATION_WORKERS);
+  }
+
+  /**
+   * Creates a RecordSchemaValidator.
+   *
+   * @param streamNamesToSchemas Name of streams.
+   * @param samplingConfiguration fraction of the records to validate per stream.
+   * @param validationWorkers number of threads validating records.
+   */
+  public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                               final SamplingConfiguration samplingConfiguration,
+                               final int validationWorkers) {
+    this(streamNamesToSchemas, Executors.newFixedThreadPool(validationWorkers), new JsonSchemaValidator(), samplingConfiguration,
+        validationWorkers, DEFAULT_MAX_PENDING_RECORDS, DEFAULT_BATCH_SIZE);
   }
 
   @VisibleForTesting
@@ -50,11 +97,27 @@ public class RecordSchemaValidator implements Closeable {
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
                                final ExecutorService validationExecutor,
                                final JsonSchemaValidator jsonSchemaValidator) {
+    this(streamNamesToSchemas, validationExecutor, jsonSchemaValidator, SamplingConfiguration.VALIDATE_ALL, DEFAULT_VALIDATION_WORKERS,
+        DEFAULT_MAX_PENDING_RECORDS, DEFAULT_BATCH_SIZE);
+  }
+
+  @VisibleForTesting
+  public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                               final ExecutorService validationExecutor,
+                               final JsonSchemaValidator jsonSchemaValidator,
+                               final SamplingConfiguration samplingConfiguration,
+                               final int validationWorkers,
+                               final int maxPendingRecords,
+                               final int batchSize) {
     // streams is Map of a stream source namespace + name mapped to the stream schema
     // for easy access when we check each record's schema
     this.streams = streamNamesToSchemas;
     this.validationExecutor = validationExecutor;
     this.validator = jsonSchemaValidator;
+    this.samplingConfiguration = samplingConfiguration;
+    this.validationWorkers = Math.max(1, validationWorkers);
+    this.batchSize = Math.max(1, batchSize);
+    this.pendingValidations = new ArrayBlockingQueue<>(maxPendingRecords);
     // initialize schema validator to avoid creating validators each time.
     for (final AirbyteStreamNameNamespacePair stream : streamNamesToSchemas.keySet()) {
       // We must choose a JSON validator version for validating the schema
@@ -70,6 +133,43 @@ public class RecordSchemaValidator implements Closeable {
     }
   }
 
+  /**
+   * Whether the next record of a stream is part of the sample to validate. Records that are not
+   * sampled should neither be validated nor checked for unexpected fields.
+   */
+  public boolean shouldValidate(final AirbyteStreamNameNamespacePair airbyteStream) {
+    final double rate = samplingConfiguration.rateFor(airbyteStream);
+    if (rate >= 1.0) {
+      return true;
+    }
+    if (rate <= 0.0) {
+      return false;
+    }
+    final long period = Math.max(1, Math.round(1.0 / rate));
+    return sampledRecordCounters.computeIfAbsent(airbyteStream, k -> new AtomicLong()).getAndIncrement() % period == 0;
+  }
+
+  /**
+   * Whether any record of a stream can be validated, i.e. its sampling rate is not 0.
+   */
+  public boolean validatesStream(final AirbyteStreamNameNamespacePair airbyteStream) {
+    return samplingConfiguration.rateFor(airbyteStream) > 0.0;
+  }
+
+  /**
+   * Whether every record of a stream is validated, i.e. its sampling rate is 1.
+   */
+  public boolean validatesEveryRecord(final AirbyteStreamNameNamespacePair airbyteStream) {
+    return samplingConfiguration.rateFor(airbyteStream) >= 1.0;
+  }
+
+  /**
+   * Number of records that were not validated because validation could not keep up.
+   */
+  public long getDroppedRecordCount() {
+    return droppedRecords.sum();
+  }
+
   /**
    * Takes an AirbyteRecordMessage and uses the JsonSchemaValidator to validate that its data conforms
    * to the stream's schema. If it does not, an error is added to the validationErrors map.
@@ -78,8 +178,9 @@ public class RecordSchemaValidator implements Closeable {
                              final AirbyteRecordMessage message,
                              final AirbyteStreamNameNamespacePair airbyteStream,
                              final ConcurrentMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors) {
-    validationExecutor.execute(() -> {
-      Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
+    final JsonNode data = message.getData();
+    enqueue(() -> {
+      final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), data);
       if (!errorMessages.isEmpty()) {
         updateValidationErrors(errorMessages, airbyteStream, validationErrors);
       }
@@ -94,14 +195,65 @@ public class RecordSchemaValidator implements Closeable {
                                             final AirbyteRecordMessage message,
                                             final AirbyteStreamNameNamespacePair airbyteStream,
                                             final ConcurrentMap<AirbyteStreamNameNamespacePair, Set<String>> validationErrors) {
-    validationExecutor.execute(() -> {
-      final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
+    final JsonNode data = message.getData();
+    enqueue(() -> {
+      final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), data);
       if (!errorMessages.isEmpty()) {
-        validationErrors.computeIfAbsent(airbyteStream, k -> new HashSet<>()).addAll(errorMessages);
+        validationErrors.computeIfAbsent(airbyteStream, k -> ConcurrentHashMap.newKeySet()).addAll(errorMessages);
       }
     });
   }
 
+  private void enqueue(final Runnable validation) {
+    if (!pendingValidations.offer(validation)) {
+      droppedRecords.increment();
+      return;
+    }
+    if (tryAcquireDrainer()) {
+      try {
+        validationExecutor.execute(this::drainPendingValidations);
+      } catch (final RejectedExecutionException e) {
+        // The validator is closed.
+        activeDrainers.decrementAndGet();
+      }
+    }
+  }
+
+  private void drainPendingValidations() {
+    final List<Runnable> batch = new ArrayList<>(batchSize);
+    while (true) {
+      batch.clear();
+      pendingValidations.drainTo(batch, batchSize);
+      if (batch.isEmpty()) {
+        activeDrainers.decrementAndGet();
+        // A record could have been queued after drainTo and before the decrement, in which case nobody
+        // else would pick it up.
+        if (pendingValidations.isEmpty() || !tryAcquireDrainer()) {
+          return;
+        }
+        continue;
+      }
+      for (final Runnable validation : batch) {
+        try {
+          validation.run();
+        } catch (final RuntimeException e) {
+          LOGGER.warn("Failed to validate a record", e);
+        }
+      }
+    }
+  }
+
+  private boolean tryAcquireDrainer() {
+    int current;
+    do {
+      current = activeDrainers.get();
+      if (current >= validationWorkers) {
+        return false;
+      }
+    } while (!activeDrainers.compareAndSet(current, current + 1));
+    return true;
+  }
+
   private void updateValidationErrors(final Set<String> errorMessages,
                                       final AirbyteStreamNameNamespacePair airbyteStream,
                                       final ConcurrentMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors) {
@@ -124,6 +276,53 @@ public class RecordSchemaValidator implements Closeable {
     validationExecutor.shutdownNow();
   }
 
+  /**
+   * Fraction of the records to validate for each stream, between 0 (none) and 1 (all).
+   *
+   * @param defaultRate rate of the streams without a specific rate.
+   * @param streamRates rate per stream.
+   */
+  public record SamplingConfiguration(double defaultRate, Map<AirbyteStreamNameNamespacePair, Double> streamRates) {
+
+    public static final SamplingConfiguration VALIDATE_ALL = new SamplingConfiguration(1.0, Map.of());
+
+    private static final String DEFAULT_RATE_KEY = "*";
+
+    public double rateFor(final AirbyteStreamNameNamespacePair stream) {
+      return streamRates.getOrDefault(stream, defaultRate);
+    }
+
+    /**
+     * Parses sampling rates from a JSON object keyed by {@code namespace.name} (or {@code name} for
+     * streams without a namespace), with {@code *} as the rate of the streams that are not listed.
+     * Anything that can't be parsed validates every record.
+     *
+     * @param json sampling rates, e.g. {@code {"*": 0.01, "public.users": 1.0}}
+     * @param streams streams of the catalog
+     */
+    public static SamplingConfiguration fromJson(final String json, final Set<AirbyteStreamNameNamespacePair> streams) {
+      if (json == null || json.isBlank()) {
+        return VALIDATE_ALL;
+      }
+      final Optional<JsonNode> rates = Jsons.tryDeserialize(json);
+      if (rates.isEmpty() || !rates.get().isObject()) {
+        LOGGER.warn("Ignoring invalid schema validation sampling rates: {}", json);
+        return VALIDATE_ALL;
+      }
+      final double defaultRate = rates.get().path(DEFAULT_RATE_KEY).asDouble(1.0);
+      final Map<AirbyteStreamNameNamespacePair, Double> streamRates = new HashMap<>();
+      for (final AirbyteStreamNameNamespacePair stream : streams) {
+        final String key = stream.getNamespace() == null ? stream.getName() : stream.getNamespace() + "." + stream.getName();
+        final JsonNode rate = rates.get().get(key);
+        if (rate != null && rate.isNumber()) {
+          streamRates.put(stream, rate.asDouble());
+        }
+      }
+      return new SamplingConfiguration(defaultRate, streamRates);
+    }
+
+  }
+
   /**
    * Migrates the reserved property name <code>id</code> in JSON Schema to its escaped equivalent
    * <code>$id</code>. The <code>id</code> keyword has been reserved since <a href=
@@ -15,21 +15,17 @@ import dev.failsafe.RetryPolicy;
 import dev.failsafe.function.CheckedSupplier;
 import io.airbyte.api.client.AirbyteApiClient;
 import io.airbyte.api.client.model.generated.ActorType;
-import io.airbyte.api.client.model.generated.ConnectionAndJobIdRequestBody;
-import io.airbyte.api.client.model.generated.ConnectionIdRequestBody;
 import io.airbyte.api.client.model.generated.ConnectionRead;
 import io.airbyte.api.client.model.generated.ConnectionState;
 import io.airbyte.api.client.model.generated.ConnectionStateCreateOrUpdate;
 import io.airbyte.api.client.model.generated.ConnectionStateType;
-import io.airbyte.api.client.model.generated.DestinationIdRequestBody;
 import io.airbyte.api.client.model.generated.JobOptionalRead;
-import io.airbyte.api.client.model.generated.ResolveActorDefinitionVersionRequestBody;
+import io.airbyte.api.client.model.generated.ReplicationHydrationContextRead;
+import io.airbyte.api.client.model.generated.ReplicationHydrationContextRequestBody;
+import io.airbyte.api.client.model.generated.ResolveActorDefinitionVersionResponse;
 import io.airbyte.api.client.model.generated.SaveStreamAttemptMetadataRequestBody;
-import io.airbyte.api.client.model.generated.ScopeType;
 import io.airbyte.api.client.model.generated.SecretPersistenceConfig;
-import io.airbyte.api.client.model.generated.SecretPersistenceConfigGetRequestBody;
 import io.airbyte.api.client.model.generated.StreamAttemptMetadata;
-import io.airbyte.api.client.model.generated.SyncInput;
 import io.airbyte.commons.converters.ApiClientConverters;
 import io.airbyte.commons.converters.CatalogClientConverters;
 import io.airbyte.commons.converters.StateConverter;
@@ -117,12 +113,7 @@ public class ReplicationInputHydrator {
         .get(supplier);
   }
 
-  private void refreshSecretsReferences(final ReplicationActivityInput parsed) {
-    final Object jobInput = retry(() -> airbyteApiClient.getJobsApi().getJobInput(
-        new SyncInput(
-            Long.parseLong(parsed.getJobRunConfig().getJobId()),
-            parsed.getJobRunConfig().getAttemptId().intValue())));
-
+  private void refreshSecretsReferences(final ReplicationActivityInput parsed, final Object jobInput) {
     if (jobInput != null) {
       final JobInput apiResult = Jsons.convertValue(jobInput, JobInput.class);
       if (apiResult != null && apiResult.getSyncInput() != null) {
@@ -150,13 +141,30 @@ public class ReplicationInputHydrator {
    * @throws Exception from the Airbyte API
    */
   public ReplicationInput getHydratedReplicationInput(final ReplicationActivityInput replicationActivityInput) throws Exception {
-    ApmTraceUtils.addTagsToTrace(Map.of("api_base_url", airbyteApiClient.getDestinationApi().getBaseUrl()));
-    refreshSecretsReferences(replicationActivityInput);
-    final var destination =
-        airbyteApiClient.getDestinationApi().getDestination(new DestinationIdRequestBody(replicationActivityInput.getDestinationId()));
-    final var tag = DockerImageName.INSTANCE.extractTag(replicationActivityInput.getDestinationLauncherConfig().getDockerImage());
-    final var resolvedDestinationVersion = airbyteApiClient.getActorDefinitionVersionApi().resolveActorDefinitionVersionByTag(
-        new ResolveActorDefinitionVersionRequestBody(destination.getDestinationDefinitionId(), ActorType.DESTINATION, tag));
+    final long start = System.currentTimeMillis();
+    final ReplicationInput replicationInput = hydrateReplicationInput(replicationActivityInput);
+    metricClient.distribution(OssMetricsRegistry.REPLICATION_INPUT_HYDRATION_TIME_MS, System.currentTimeMillis() - start);
+    return replicationInput;
+  }
+
+  private ReplicationInput hydrateReplicationInput(final ReplicationActivityInput replicationActivityInput) throws Exception {
+    ApmTraceUtils.addTagsToTrace(Map.of("api_base_url", airbyteApiClient.getJobsApi().getBaseUrl()));
+    final long jobId = Long.parseLong(replicationActivityInput.getJobRunConfig().getJobId());
+    final UUID organizationId = replicationActivityInput.getConnectionContext().getOrganizationId();
+    final boolean useOrganizationSecretPersistence = useRuntimeSecretPersistence && organizationId != null;
+
+    // Everything the hydration reads from the server comes back from a single call.
+    final ReplicationHydrationContextRead context = retry(() -> airbyteApiClient.getJobsApi().getReplicationHydrationContext(
+        new ReplicationHydrationContextRequestBody(
+            jobId,
+            replicationActivityInput.getJobRunConfig().getAttemptId().intValue(),
+            replicationActivityInput.getConnectionId(),
+            replicationActivityInput.getDestinationId(),
+            DockerImageName.INSTANCE.extractTag(replicationActivityInput.getDestinationLauncherConfig().getDockerImage()),
+            replicationActivityInput.getIsReset(),
+            useOrganizationSecretPersistence ? organizationId : null)));
+    refreshSecretsReferences(replicationActivityInput, context.getJobInput());
+    final ResolveActorDefinitionVersionResponse resolvedDestinationVersion = context.getDestinationVersion();
 
     final SourceActorConfig sourceActorConfig = Jsons.object(replicationActivityInput.getSourceConfiguration(), SourceActorConfig.class);
     final boolean useFileTransfer = sourceActorConfig.getUseFileTransfer() || (sourceActorConfig.getDeliveryMethod() != null
@@ -169,20 +177,15 @@ public class ReplicationInputHydrator {
       throw new WorkerException(errorMessage);
     }
 
-    // Retrieve the connection, which we need in a few places.
-    final long jobId = Long.parseLong(replicationActivityInput.getJobRunConfig().getJobId());
-    final ConnectionRead connectionInfo = resolvedDestinationVersion.getSupportRefreshes()
-        ? airbyteApiClient.getConnectionApi()
-            .getConnectionForJob(new ConnectionAndJobIdRequestBody(replicationActivityInput.getConnectionId(), jobId))
-        : airbyteApiClient.getConnectionApi().getConnection(new ConnectionIdRequestBody(replicationActivityInput.getConnectionId()));
+    // The connection, which we need in a few places.
+    final ConnectionRead connectionInfo = context.getConnection();
 
     final ConfiguredAirbyteCatalog catalog = retrieveCatalog(connectionInfo);
     if (replicationActivityInput.getIsReset()) {
       // If this is a reset, we need to set the streams being reset to Full Refresh | Overwrite.
-      updateCatalogForReset(replicationActivityInput, catalog);
+      updateCatalogForReset(context.getLastReplicationJob(), catalog);
     }
-    // Retrieve the state.
-    State state = retrieveState(replicationActivityInput);
+    State state = toInternalState(context.getState());
     List<StreamDescriptor> streamsToBackfill = null;
     if (backfillHelper.syncShouldBackfill(replicationActivityInput, connectionInfo)) {
       streamsToBackfill = backfillHelper.getStreamsToBackfill(replicationActivityInput.getSchemaRefreshOutput().getAppliedDiff(), catalog);
@@ -204,24 +207,20 @@ public class ReplicationInputHydrator {
     // Hydrate the secrets.
     final JsonNode fullDestinationConfig;
     final JsonNode fullSourceConfig;
-    final UUID organizationId = replicationActivityInput.getConnectionContext().getOrganizationId();
 
     // If the organization is configured to use "run time secrets management" aka "bring your own
     // secrets manager", then we must look up their secrets config and hydrate from there.
     // TODO: The runtime secrets client and the default secrets client should implement the same
     // interface, so we can avoid this conditional look up and delegation in the hydrator itself and do
     // it at the injection layer.
-    if (useRuntimeSecretPersistence && organizationId != null) {
-      try {
-        final RuntimeSecretPersistence runtimeSecretPersistence = getRuntimeSecretPersistence(organizationId);
-        fullSourceConfig = secretsRepositoryReader.hydrateConfigFromRuntimeSecretPersistence(replicationActivityInput.getSourceConfiguration(),
-            runtimeSecretPersistence);
-        fullDestinationConfig =
-            secretsRepositoryReader.hydrateConfigFromRuntimeSecretPersistence(replicationActivityInput.getDestinationConfiguration(),
-                runtimeSecretPersistence);
-      } catch (final IOException e) {
-        throw new RuntimeException(e);
-      }
+    if (useOrganizationSecretPersistence) {
+      final RuntimeSecretPersistence runtimeSecretPersistence =
+          new RuntimeSecretPersistence(fromApiSecretPersistenceConfig(context.getSecretPersistenceConfig()));
+      fullSourceConfig = secretsRepositoryReader.hydrateConfigFromRuntimeSecretPersistence(replicationActivityInput.getSourceConfiguration(),
+          runtimeSecretPersistence);
+      fullDestinationConfig =
+          secretsRepositoryReader.hydrateConfigFromRuntimeSecretPersistence(replicationActivityInput.getDestinationConfiguration(),
+              runtimeSecretPersistence);
     } else { // use default configured persistence
       try {
         fullSourceConfig = secretsRepositoryReader.hydrateConfigFromDefaultSecretPersistence(replicationActivityInput.getSourceConfiguration());
@@ -258,13 +257,6 @@ public class ReplicationInputHydrator {
         .withDestinationSupportsRefreshes(resolvedDestinationVersion.getSupportRefreshes());
   }
 
-  private RuntimeSecretPersistence getRuntimeSecretPersistence(final UUID organizationId) throws IOException {
-    final SecretPersistenceConfig secretPersistenceConfig = airbyteApiClient.getSecretPersistenceConfigApi().getSecretsPersistenceConfig(
-        new SecretPersistenceConfigGetRequestBody(ScopeType.ORGANIZATION, organizationId));
-    return new RuntimeSecretPersistence(
-        fromApiSecretPersistenceConfig(secretPersistenceConfig));
-  }
-
   @VisibleForTesting
   void trackBackfillAndResume(final Long jobId,
                               final Long attemptNumber,
@@ -330,20 +322,13 @@ public class ReplicationInputHydrator {
     airbyteApiClient.getStateApi().createOrUpdateState(new ConnectionStateCreateOrUpdate(connectionId, connectionState));
   }
 
-  private State retrieveState(final ReplicationActivityInput replicationActivityInput) throws IOException {
-    final ConnectionState connectionState =
-        airbyteApiClient.getStateApi().getState(new ConnectionIdRequestBody(replicationActivityInput.getConnectionId()));
-    final State state =
-        connectionState != null && !ConnectionStateType.NOT_SET.equals(connectionState.getStateType())
-            ? StateMessageHelper.getState(StateConverter.toInternal(StateConverter.fromClientToApi(connectionState)))
-            : null;
-    return state;
+  private State toInternalState(final ConnectionState connectionState) {
+    return connectionState != null && !ConnectionStateType.NOT_SET.equals(connectionState.getStateType())
+        ? StateMessageHelper.getState(StateConverter.toInternal(StateConverter.fromClientToApi(connectionState)))
+        : null;
   }
 
-  private void updateCatalogForReset(final ReplicationActivityInput replicationActivityInput, final ConfiguredAirbyteCatalog catalog)
-      throws IOException {
-    final JobOptionalRead jobInfo = airbyteApiClient.getJobsApi().getLastReplicationJob(
-        new ConnectionIdRequestBody(replicationActivityInput.getConnectionId()));
+  private void updateCatalogForReset(final JobOptionalRead jobInfo, final ConfiguredAirbyteCatalog catalog) {
     final boolean hasStreamsToReset = jobInfo != null && jobInfo.getJob() != null && jobInfo.getJob().getResetConfig() != null
         && jobInfo.getJob().getResetConfig().getStreamsToReset() != null;
     if (hasStreamsToReset) {
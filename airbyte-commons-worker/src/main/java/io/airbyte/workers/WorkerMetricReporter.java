@@ -61,6 +61,17 @@ public class WorkerMetricReporter {
     metricClient.count(OssMetricsRegistry.NUM_UNEXPECTED_FIELDS_IN_STREAMS, unexpectedFieldNames.size(), attributesArr);
   }
 
+  /**
+   * Given a AirbyteStreamNameNamespacePair and the number of fields removed from its records by field
+   * selection, produce a DataDog count.
+   */
+  public void trackDroppedFields(final AirbyteStreamNameNamespacePair stream, final long droppedFields) {
+    metricClient.count(OssMetricsRegistry.NUM_FIELDS_DROPPED_BY_FIELD_SELECTION, droppedFields,
+        new MetricAttribute("docker_repo", dockerRepo),
+        new MetricAttribute("docker_version", dockerVersion),
+        new MetricAttribute("stream", stream.toString()));
+  }
+
   public void trackStateMetricTrackerError() {
     metricClient.count(OssMetricsRegistry.STATE_METRIC_TRACKER_ERROR, 1, new MetricAttribute("docker_repo", dockerRepo),
         new MetricAttribute("docker_version", dockerVersion));
@@ -7,7 +7,7 @@ package io.airbyte.workers.general;
 import static io.airbyte.metrics.lib.ApmTraceConstants.WORKER_OPERATION_NAME;
 
 import datadog.trace.api.Trace;
-import io.airbyte.commons.concurrency.ClosableLinkedBlockingQueue;
+import io.airbyte.commons.concurrency.ByteBoundedClosableQueue;
 import io.airbyte.commons.concurrency.ClosableQueue;
 import io.airbyte.commons.io.LineGobbler;
 import io.airbyte.commons.timer.Stopwatch;
@@ -27,6 +27,7 @@ import io.airbyte.workers.RecordSchemaValidator;
 import io.airbyte.workers.context.ReplicationContext;
 import io.airbyte.workers.context.ReplicationFeatureFlags;
 import io.airbyte.workers.exception.WorkerException;
+import io.airbyte.workers.helper.AirbyteMessageSizeEstimator;
 import io.airbyte.workers.helper.StreamStatusCompletionTracker;
 import io.airbyte.workers.internal.AirbyteDestination;
 import io.airbyte.workers.internal.AirbyteSource;
@@ -36,8 +37,10 @@ import io.airbyte.workers.internal.exception.DestinationException;
 import io.airbyte.workers.internal.exception.SourceException;
 import io.airbyte.workers.internal.syncpersistence.SyncPersistence;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -45,6 +48,7 @@ import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +59,9 @@ import org.slf4j.MDC;
  * <p>
  * There is one thread per IO/Transform and buffers in between the different steps to apply
  * backpressure.
+ * <p>
+ * The per record part of the transform can optionally be spread over several threads, see
+ * {@link BufferConfiguration#getProcessingParallelism()}.
  */
 @SuppressWarnings({"PMD.UnusedLocalVariable", "PMD.ExceptionAsFlowControl"})
 public class BufferedReplicationWorker {
@@ -72,7 +79,11 @@ public class BufferedReplicationWorker {
   private final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone;
   private final ClosableQueue<AirbyteMessage> messagesFromSourceQueue;
   private final ClosableQueue<AirbyteMessage> messagesForDestinationQueue;
+  private final int drainBatchSize;
   private final ExecutorService executors;
+  // Only set when records are pre-processed in parallel, see preProcessInParallel.
+  private final ExecutorService processingExecutors;
+  private final List<List<AirbyteMessage>> processingPartitions;
   private final DestinationTimeoutMonitor destinationTimeoutMonitor;
 
   private volatile boolean isReadFromDestRunning;
@@ -88,6 +99,7 @@ public class BufferedReplicationWorker {
   private final ReplicationInput replicationInput;
 
   private static final int executorShutdownGracePeriodInSeconds = 10;
+  private static final long bufferMetricsReportIntervalInMillis = 10_000;
 
   public BufferedReplicationWorker(final String jobId,
                                    final int attempt,
@@ -113,13 +125,23 @@ public class BufferedReplicationWorker {
     this.recordSchemaValidator = recordSchemaValidator;
     this.syncPersistence = syncPersistence;
     this.srcHeartbeatTimeoutChaperone = srcHeartbeatTimeoutChaperone;
-    this.messagesFromSourceQueue =
-        new ClosableLinkedBlockingQueue<>(bufferConfiguration.getSourceMaxBufferSize(), bufferConfiguration.getPollTimeoutDuration());
-    this.messagesForDestinationQueue =
-        new ClosableLinkedBlockingQueue<>(bufferConfiguration.getDestinationMaxBufferSize(), bufferConfiguration.getPollTimeoutDuration());
+    this.messagesFromSourceQueue = bufferConfiguration.createSourceQueue(AirbyteMessageSizeEstimator::estimate);
+    this.messagesForDestinationQueue = bufferConfiguration.createDestinationQueue(AirbyteMessageSizeEstimator::estimate);
+    this.drainBatchSize = Math.max(1, bufferConfiguration.getDrainBatchSize());
     // readFromSource + processMessage + writeToDestination + readFromDestination +
-    // source heartbeat + dest timeout monitor + workload heartbeat = 7 threads
-    this.executors = Executors.newFixedThreadPool(7);
+    // source heartbeat + dest timeout monitor + workload heartbeat + buffer metrics = 8 threads
+    this.executors = Executors.newFixedThreadPool(8);
+    final int processingParallelism = bufferConfiguration.getProcessingParallelism();
+    if (processingParallelism > 1) {
+      this.processingExecutors = Executors.newFixedThreadPool(processingParallelism);
+      this.processingPartitions = new ArrayList<>(processingParallelism);
+      for (int i = 0; i < processingParallelism; i++) {
+        this.processingPartitions.add(new ArrayList<>());
+      }
+    } else {
+      this.processingExecutors = null;
+      this.processingPartitions = List.of();
+    }
     this.isReadFromDestRunning = true;
     this.writeToDestFailed = false;
 
@@ -157,6 +179,7 @@ public class BufferedReplicationWorker {
         CompletableFuture.runAsync(
             replicationWorkerHelper.getWorkloadStatusHeartbeat(mdc),
             executors);
+        CompletableFuture.runAsync(this::reportBufferFillLevels, executors);
 
         CompletableFuture.allOf(
             runAsyncWithHeartbeatCheck(this::readFromSource, mdc),
@@ -175,6 +198,9 @@ public class BufferedReplicationWorker {
         replicationWorkerHelper.markFailed();
       } finally {
         executors.shutdownNow();
+        if (processingExecutors != null) {
+          processingExecutors.shutdownNow();
+        }
 
         try {
           // Best effort to mark as complete when the Worker is actually done.
@@ -283,6 +309,9 @@ public class BufferedReplicationWorker {
 
     LOGGER.info("Cancelling replication worker...");
     executors.shutdownNow();
+    if (processingExecutors != null) {
+      processingExecutors.shutdownNow();
+    }
     try {
       executors.awaitTermination(executorShutdownGracePeriodInSeconds, TimeUnit.SECONDS);
     } catch (final InterruptedException e) {
@@ -384,23 +413,38 @@ public class BufferedReplicationWorker {
     try {
       LOGGER.info("processMessage: start");
 
+      final List<AirbyteMessage> batch = new ArrayList<>(drainBatchSize);
       while (!replicationWorkerHelper.getShouldAbort() && !messagesFromSourceQueue.isDone() && !messagesForDestinationQueue.isClosed()) {
-        final AirbyteMessage message;
-        message = messagesFromSourceQueue.poll();
-        if (message == null) {
+        batch.clear();
+        if (messagesFromSourceQueue.drainTo(batch, drainBatchSize) == 0) {
           continue;
         }
-
-        final Optional<AirbyteMessage> processedMessageOpt;
-        try (final var t = processFromSourceStopwatch.start()) {
-          processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message);
+        if (processingExecutors != null) {
+          preProcessInParallel(batch);
         }
-        if (processedMessageOpt.isPresent()) {
-          final AirbyteMessage m = processedMessageOpt.get();
-          // TODO this check should move to the processMessageFromSource
-          if (m.getType() == Type.RECORD || m.getType() == Type.STATE) {
-            while (!messagesForDestinationQueue.add(m) && !messagesForDestinationQueue.isClosed()) {
-              Thread.sleep(100);
+
+        for (final AirbyteMessage message : batch) {
+          // A batch can be large, stop as soon as the sync is aborted or the destination side is gone.
+          if (replicationWorkerHelper.getShouldAbort() || messagesForDestinationQueue.isClosed()) {
+            break;
+          }
+          final Optional<AirbyteMessage> processedMessageOpt;
+          if (processingExecutors != null && isPreProcessed(message)) {
+            // Records are timed when pre-processed, what is left for them here is the in order tracking.
+            processedMessageOpt = replicationWorkerHelper.processPreProcessedMessageFromSource(message);
+          } else {
+            try (final var t = processFromSourceStopwatch.start()) {
+              processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message);
+            }
+          }
+          if (processedMessageOpt.isPresent()) {
+            final AirbyteMessage m = processedMessageOpt.get();
+            // TODO this check should move to the processMessageFromSource
+            if (m.getType() == Type.RECORD || m.getType() == Type.STATE) {
+              while (!replicationWorkerHelper.getShouldAbort() && !messagesForDestinationQueue.add(m)
+                  && !messagesForDestinationQueue.isClosed()) {
+                Thread.sleep(100);
+              }
             }
           }
         }
@@ -421,21 +465,74 @@ public class BufferedReplicationWorker {
     }
   }
 
+  /**
+   * Pre-process the records of a batch on the processing threads: field selection, schema
+   * validation, mappers and serialization. Records are partitioned by stream, so the records of a
+   * stream are handled in order by a single thread. The tracking of the records and the processing
+   * of the other messages, including STATE messages, still happen in order on the processMessage
+   * thread once the whole batch is pre-processed.
+   */
+  private void preProcessInParallel(final List<AirbyteMessage> batch) throws InterruptedException {
+    for (final List<AirbyteMessage> partition : processingPartitions) {
+      partition.clear();
+    }
+    for (final AirbyteMessage message : batch) {
+      if (isPreProcessed(message)) {
+        final int streamHash = 31 * Objects.hashCode(message.getRecord().getNamespace()) + Objects.hashCode(message.getRecord().getStream());
+        processingPartitions.get(Math.floorMod(streamHash, processingPartitions.size())).add(message);
+      }
+    }
+
+    final Map<String, String> mdc = MDC.getCopyOfContextMap();
+    final List<Future<?>> futures = new ArrayList<>(processingPartitions.size());
+    for (final List<AirbyteMessage> partition : processingPartitions) {
+      if (!partition.isEmpty()) {
+        futures.add(processingExecutors.submit(() -> {
+          MDC.setContextMap(mdc);
+          for (final AirbyteMessage message : partition) {
+            try (final var t = processFromSourceStopwatch.start()) {
+              replicationWorkerHelper.preProcessRecordFromSource(message);
+            }
+          }
+        }));
+      }
+    }
+    for (final Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (final ExecutionException e) {
+        if (e.getCause() instanceof final RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    }
+  }
+
+  private static boolean isPreProcessed(final AirbyteMessage message) {
+    return message.getType() == Type.RECORD && message.getRecord() != null;
+  }
+
   private void writeToDestination() {
     try {
       LOGGER.info("writeToDestination: start");
       try {
+        final List<AirbyteMessage> batch = new ArrayList<>(drainBatchSize);
         while (!replicationWorkerHelper.getShouldAbort() && !messagesForDestinationQueue.isDone() && isReadFromDestRunning) {
-          final AirbyteMessage message;
-          message = messagesForDestinationQueue.poll();
-          if (message == null) {
+          batch.clear();
+          if (messagesForDestinationQueue.drainTo(batch, drainBatchSize) == 0) {
             continue;
           }
-          if (replicationInput.getUseFileTransfer()) {
-            LOGGER.info("writeToDestination: writing message to transfer file");
-          }
-          try (final var t = writeToDestStopwatch.start()) {
-            destination.accept(message);
+          for (final AirbyteMessage message : batch) {
+            if (replicationWorkerHelper.getShouldAbort() || !isReadFromDestRunning) {
+              break;
+            }
+            if (replicationInput.getUseFileTransfer()) {
+              LOGGER.info("writeToDestination: writing message to transfer file");
+            }
+            try (final var t = writeToDestStopwatch.start()) {
+              destination.accept(message);
+            }
           }
         }
 
@@ -554,6 +651,37 @@ public class BufferedReplicationWorker {
 
   }
 
+  /**
+   * Periodically reports how full the buffers are, so that orchestrator sizing can be based on the
+   * actual amount of data in flight. Runs until the executor is shut down.
+   */
+  private void reportBufferFillLevels() {
+    final MetricAttribute connectionIdAttribute =
+        new MetricAttribute(MetricTags.CONNECTION_ID, String.valueOf(replicationInput.getConnectionId()));
+    try {
+      while (!replicationWorkerHelper.getShouldAbort() && !(messagesFromSourceQueue.isDone() && messagesForDestinationQueue.isDone())) {
+        reportBufferFillLevel(messagesFromSourceQueue, "source", connectionIdAttribute);
+        reportBufferFillLevel(messagesForDestinationQueue, "destination", connectionIdAttribute);
+        Thread.sleep(bufferMetricsReportIntervalInMillis);
+      }
+    } catch (final InterruptedException e) {
+      // The executor is shutting down, nothing left to report.
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void reportBufferFillLevel(final ClosableQueue<AirbyteMessage> queue,
+                                     final String bufferName,
+                                     final MetricAttribute connectionIdAttribute) {
+    final MetricAttribute bufferAttribute = new MetricAttribute("buffer", bufferName);
+    metricClient.gauge(OssMetricsRegistry.REPLICATION_BUFFER_MESSAGES, queue.size(), connectionIdAttribute, bufferAttribute);
+    if (queue instanceof final ByteBoundedClosableQueue<AirbyteMessage> byteBoundedQueue) {
+      metricClient.gauge(OssMetricsRegistry.REPLICATION_BUFFER_BYTES, byteBoundedQueue.getUsedBytes(), connectionIdAttribute, bufferAttribute);
+      metricClient.gauge(OssMetricsRegistry.REPLICATION_BUFFER_FILL_RATIO,
+          (double) byteBoundedQueue.getUsedBytes() / byteBoundedQueue.getMaxBytes(), connectionIdAttribute, bufferAttribute);
+    }
+  }
+
   private void recordErrorExitValue(final String connectionId, final String connectorType, final String connectorImage, final String exitValue) {
     metricClient.count(OssMetricsRegistry.CONNECTOR_FAILURE_EXIT_VALUE, 1L,
         new MetricAttribute("connection_id", connectionId),
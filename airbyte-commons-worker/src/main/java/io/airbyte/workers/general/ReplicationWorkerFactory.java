@@ -25,13 +25,19 @@ import io.airbyte.featureflag.DestinationTimeoutSeconds;
 import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.FieldSelectionEnabled;
 import io.airbyte.featureflag.Multi;
+import io.airbyte.featureflag.ParseSourceRecordsFromBytes;
 import io.airbyte.featureflag.PrintLongRecordPks;
+import io.airbyte.featureflag.RawRecordPassthrough;
 import io.airbyte.featureflag.RemoveValidationLimit;
+import io.airbyte.featureflag.ReplicationBufferBytesOverride;
 import io.airbyte.featureflag.ReplicationBufferOverride;
+import io.airbyte.featureflag.ReplicationProcessingParallelism;
+import io.airbyte.featureflag.SchemaValidationSamplingRates;
 import io.airbyte.featureflag.ShouldFailSyncOnDestinationTimeout;
 import io.airbyte.featureflag.Source;
 import io.airbyte.featureflag.SourceDefinition;
 import io.airbyte.featureflag.SourceType;
+import io.airbyte.featureflag.UseRingBufferReplicationQueue;
 import io.airbyte.featureflag.Workspace;
 import io.airbyte.mappers.application.RecordMapper;
 import io.airbyte.mappers.transformations.DestinationCatalogGenerator;
@@ -40,6 +46,7 @@ import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.persistence.job.models.JobRunConfig;
 import io.airbyte.persistence.job.models.ReplicationInput;
 import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.RecordSchemaValidator.SamplingConfiguration;
 import io.airbyte.workers.WorkerMetricReporter;
 import io.airbyte.workers.WorkerUtils;
 import io.airbyte.workers.helper.GsonPksExtractor;
@@ -48,7 +55,6 @@ import io.airbyte.workers.internal.AirbyteDestination;
 import io.airbyte.workers.internal.AirbyteMapper;
 import io.airbyte.workers.internal.AirbyteMessageBufferedWriterFactory;
 import io.airbyte.workers.internal.AirbyteSource;
-import io.airbyte.workers.internal.AirbyteStreamFactory;
 import io.airbyte.workers.internal.AnalyticsMessageTracker;
 import io.airbyte.workers.internal.ContainerIOHandle;
 import io.airbyte.workers.internal.DestinationTimeoutMonitor;
@@ -157,7 +163,7 @@ public class ReplicationWorkerFactory {
     final HeartbeatTimeoutChaperone heartbeatTimeoutChaperone = createHeartbeatTimeoutChaperone(heartbeatMonitor,
         featureFlagClient, replicationInput, sourceLauncherConfig.getDockerImage(), metricClient);
     final DestinationTimeoutMonitor destinationTimeout = createDestinationTimeout(featureFlagClient, replicationInput, metricClient);
-    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(replicationInput);
+    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(replicationInput, featureFlagClient);
 
     log.info("Setting up source...");
     final boolean printLongRecordPks = featureFlagClient.boolVariation(PrintLongRecordPks.INSTANCE,
@@ -165,13 +171,20 @@ public class ReplicationWorkerFactory {
             new Connection(sourceLauncherConfig.getConnectionId()),
             new Workspace(sourceLauncherConfig.getWorkspaceId()))));
     final var invalidLineConfig = new VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration(printLongRecordPks);
+    // Passthrough forwards the records read from the source as is, when nothing on the platform side needs to look at them.
+    final boolean rawRecordPassthrough =
+        featureFlagClient.boolVariation(RawRecordPassthrough.INSTANCE, new Connection(sourceLauncherConfig.getConnectionId()));
 
     // reset jobs use an empty source to induce resetting all data in destination.
     final var airbyteSource = replicationInput.getIsReset()
         ? new EmptyAirbyteSource(replicationInput.getNamespaceDefinition() == JobSyncConfig.NamespaceDefinitionType.CUSTOMFORMAT)
         : new LocalContainerAirbyteSource(
             heartbeatMonitor,
-            getStreamFactory(sourceLauncherConfig, replicationInput.getCatalog(), SOURCE_LOG_MDC_BUILDER, invalidLineConfig),
+            getStreamFactory(sourceLauncherConfig, replicationInput.getCatalog(), SOURCE_LOG_MDC_BUILDER, invalidLineConfig)
+                .withRecordParsingFromBytes(rawRecordPassthrough || featureFlagClient.boolVariation(ParseSourceRecordsFromBytes.INSTANCE,
+                    new Connection(sourceLauncherConfig.getConnectionId())))
+                // Every record of these streams is validated against the tree, parse it only once.
+                .withRecordDataParsedAsTree(recordSchemaValidator::validatesEveryRecord),
             new MessageMetricsTracker(metricClient),
             ContainerIOHandle.source());
 
@@ -193,7 +206,8 @@ public class ReplicationWorkerFactory {
     final AnalyticsMessageTracker analyticsMessageTracker = new AnalyticsMessageTracker(trackingClient);
 
     final FieldSelector fieldSelector =
-        createFieldSelector(recordSchemaValidator, metricReporter, featureFlagClient, replicationInput.getWorkspaceId(), sourceDefinitionId);
+        createFieldSelector(recordSchemaValidator, metricReporter, featureFlagClient, replicationInput.getWorkspaceId(), sourceDefinitionId,
+            rawRecordPassthrough);
 
     log.info("Setting up replication worker...");
     final SyncPersistence syncPersistence = createSyncPersistence(syncPersistenceFactory, replicationInput, sourceLauncherConfig);
@@ -277,20 +291,27 @@ public class ReplicationWorkerFactory {
   /**
    * Create RecordSchemaValidator.
    */
-  private static RecordSchemaValidator createRecordSchemaValidator(final ReplicationInput replicationInput) {
-    return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()));
+  private static RecordSchemaValidator createRecordSchemaValidator(final ReplicationInput replicationInput,
+                                                                   final FeatureFlagClient featureFlagClient) {
+    final var streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog());
+    final String samplingRates =
+        featureFlagClient.stringVariation(SchemaValidationSamplingRates.INSTANCE, new Connection(replicationInput.getConnectionId()));
+    return new RecordSchemaValidator(streamNamesToSchemas,
+        SamplingConfiguration.fromJson(samplingRates, streamNamesToSchemas.keySet()),
+        RecordSchemaValidator.DEFAULT_VALIDATION_WORKERS);
   }
 
   private static FieldSelector createFieldSelector(final RecordSchemaValidator recordSchemaValidator,
                                                    final WorkerMetricReporter metricReporter,
                                                    final FeatureFlagClient featureFlagClient,
                                                    final UUID workspaceId,
-                                                   final UUID sourceDefinitionId) {
+                                                   final UUID sourceDefinitionId,
+                                                   final boolean rawRecordPassthrough) {
     final boolean fieldSelectionEnabled = workspaceId != null && featureFlagClient.boolVariation(FieldSelectionEnabled.INSTANCE, new Multi(
         List.of(new Workspace(workspaceId), new SourceDefinition(sourceDefinitionId))));
     final boolean removeValidationLimit =
         workspaceId != null && featureFlagClient.boolVariation(RemoveValidationLimit.INSTANCE, new Workspace(workspaceId));
-    return new FieldSelector(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit);
+    return new FieldSelector(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit, rawRecordPassthrough);
   }
 
   /**
@@ -321,8 +342,18 @@ public class ReplicationWorkerFactory {
     final Context flagContext = getFeatureFlagContext(replicationInput);
 
     final int bufferSize = featureFlagClient.intVariation(ReplicationBufferOverride.INSTANCE, flagContext);
-    final BufferConfiguration bufferConfiguration =
+    final int bufferBytesOverrideMb = featureFlagClient.intVariation(ReplicationBufferBytesOverride.INSTANCE, flagContext);
+    BufferConfiguration bufferConfiguration =
         bufferSize > 0 ? BufferConfiguration.withBufferSize(bufferSize) : BufferConfiguration.withDefaultConfiguration();
+    if (bufferBytesOverrideMb > 0) {
+      // The byte budget is opt-in: sizing every message has a cost on the record path.
+      bufferConfiguration = bufferConfiguration.withMaxBufferBytes(bufferBytesOverrideMb * 1024L * 1024L);
+    }
+    bufferConfiguration = bufferConfiguration
+        .withQueueType(featureFlagClient.boolVariation(UseRingBufferReplicationQueue.INSTANCE, flagContext)
+            ? BufferQueueType.SPSC_RING_BUFFER
+            : BufferQueueType.LINKED_BLOCKING)
+        .withProcessingParallelism(featureFlagClient.intVariation(ReplicationProcessingParallelism.INSTANCE, flagContext));
 
     return buildReplicationWorkerInstance(
         jobRunConfig.getJobId(),
@@ -427,10 +458,10 @@ public class ReplicationWorkerFactory {
         sourceLauncherConfig.getAttemptId().intValue(), replicationInput.getCatalog());
   }
 
-  private AirbyteStreamFactory getStreamFactory(final IntegrationLauncherConfig launcherConfig,
-                                                final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
-                                                final MdcScope.Builder mdcScopeBuilder,
-                                                final VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration invalidLineFailureConfiguration) {
+  private VersionedAirbyteStreamFactory<?> getStreamFactory(final IntegrationLauncherConfig launcherConfig,
+                                                            final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
+                                                            final MdcScope.Builder mdcScopeBuilder,
+                                                            final VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration invalidLineFailureConfiguration) {
     return new VersionedAirbyteStreamFactory<>(serDeProvider, migratorFactory, launcherConfig.getProtocolVersion(),
         Optional.of(launcherConfig.getConnectionId()), Optional.of(configuredAirbyteCatalog), mdcScopeBuilder,
         invalidLineFailureConfiguration, gsonPksExtractor);
@@ -4,13 +4,13 @@
 
 package io.airbyte.workers.internal;
 
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 
 /**
  * Factory for creating airbyte message writers. Base class that the versioned writers build upon.
  */
 public interface AirbyteMessageBufferedWriterFactory {
 
-  AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter);
+  AirbyteMessageBufferedWriter createWriter(BufferedOutputStream outputStream);
 
 }
@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.internal;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Iterables;
 import io.airbyte.commons.protocol.CatalogDiffHelpers;
 import io.airbyte.config.ConfiguredAirbyteCatalog;
@@ -71,8 +72,11 @@ public class BasicAirbyteMessageValidator {
                   record.getStream(), record.getNamespace()));
             }
 
+            // Raw data is scanned for the keys rather than parsed, most records are never materialized.
+            final JsonNode data = record.getData();
             final boolean containsAtLeastOneNonNullPk = Iterables.tryFind(pksList,
-                pks -> AirbyteMessageExtractor.containsNonNullPK(pks, record.getData())).isPresent();
+                pks -> data instanceof final RawRecordData raw ? raw.containsPath(pks) : AirbyteMessageExtractor.containsNonNullPK(pks, data))
+                .isPresent();
 
             if (!containsAtLeastOneNonNullPk) {
               throw new SourceException(String.format("All the defined primary keys are null, the primary keys are: %s",
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Splits an InputStream into newline separated lines without decoding them to Strings.
+ * <p>
+ * Each line is returned as its own byte array. Like {@link java.io.BufferedReader#readLine()}, a
+ * line is terminated by {@code \n}, {@code \r} or {@code \r\n}, and the terminator is not
+ * included.
+ */
+public class ByteLineReader {
+
+  private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final InputStream inputStream;
+  private byte[] buffer;
+  // Start of the current line in the buffer.
+  private int position;
+  // End of the valid bytes in the buffer.
+  private int limit;
+  // Where to resume looking for a line separator.
+  private int scanFrom;
+  private boolean eof;
+  // The last line ended with a \r, skip a \n if it is the next byte.
+  private boolean skipLineFeed;
+
+  public ByteLineReader(final InputStream inputStream) {
+    this(inputStream, DEFAULT_BUFFER_SIZE);
+  }
+
+  public ByteLineReader(final InputStream inputStream, final int bufferSize) {
+    this.inputStream = inputStream;
+    this.buffer = new byte[bufferSize];
+  }
+
+  /**
+   * Read the next line.
+   *
+   * @return the line, or null once the stream is exhausted
+   */
+  public byte[] readLine() throws IOException {
+    while (true) {
+      if (skipLineFeed) {
+        // The previous line ended with a \r, a \n right after it belongs to the same separator.
+        if (position < limit) {
+          if (buffer[position] == '\n') {
+            position++;
+            scanFrom = Math.max(scanFrom, position);
+          }
+          skipLineFeed = false;
+        } else if (eof) {
+          skipLineFeed = false;
+        } else {
+          fill();
+          continue;
+        }
+      }
+
+      for (int i = scanFrom; i < limit; i++) {
+        final byte b = buffer[i];
+        if (b == '\n' || b == '\r') {
+          final byte[] line = Arrays.copyOfRange(buffer, position, i);
+          position = i + 1;
+          scanFrom = position;
+          skipLineFeed = b == '\r';
+          return line;
+        }
+      }
+      scanFrom = limit;
+
+      if (eof) {
+        if (position < limit) {
+          final byte[] line = Arrays.copyOfRange(buffer, position, limit);
+          position = limit;
+          scanFrom = limit;
+          return line;
+        }
+        return null;
+      }
+      fill();
+    }
+  }
+
+  /**
+   * Lines as a lazily populated Stream, the same way {@link java.io.BufferedReader#lines()} works.
+   */
+  public Stream<byte[]> lines() {
+    final Iterator<byte[]> iterator = new Iterator<>() {
+
+      private byte[] nextLine;
+
+      @Override
+      public boolean hasNext() {
+        if (nextLine != null) {
+          return true;
+        }
+        try {
+          nextLine = readLine();
+          return nextLine != null;
+        } catch (final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+      @Override
+      public byte[] next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final byte[] line = nextLine;
+        nextLine = null;
+        return line;
+      }
+
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  private void fill() throws IOException {
+    if (position > 0) {
+      // Drop the lines that were already returned.
+      final int remaining = limit - position;
+      System.arraycopy(buffer, position, buffer, 0, remaining);
+      scanFrom -= position;
+      limit = remaining;
+      position = 0;
+    }
+    if (limit == buffer.length) {
+      // A single line does not fit in the buffer.
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    final int read = inputStream.read(buffer, limit, buffer.length - limit);
+    if (read < 0) {
+      eof = true;
+    } else {
+      limit += read;
+    }
+  }
+
+}
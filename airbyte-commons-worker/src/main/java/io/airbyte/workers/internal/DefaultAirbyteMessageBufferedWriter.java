@@ -6,34 +6,60 @@ package io.airbyte.workers.internal;
 
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteMessage;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 
 /**
  * Default writer that serializes airbyte messages to JSON.
+ * <p>
+ * Records allowed to pass through are written back as the bytes they were read from. Other messages
+ * are serialized straight into the buffered stream, without building a String first.
  */
 public class DefaultAirbyteMessageBufferedWriter implements AirbyteMessageBufferedWriter {
 
-  protected final BufferedWriter writer;
+  private static final int NEW_LINE = '\n';
 
-  public DefaultAirbyteMessageBufferedWriter(final BufferedWriter writer) {
-    this.writer = writer;
+  protected final BufferedOutputStream outputStream;
+
+  public DefaultAirbyteMessageBufferedWriter(final BufferedOutputStream outputStream) {
+    this.outputStream = outputStream;
   }
 
   @Override
   public void write(final AirbyteMessage message) throws IOException {
-    writer.write(Jsons.serialize(message));
-    writer.newLine();
+    if (!writePassthroughLine(message)) {
+      Jsons.serializeToOpenStream(message, outputStream);
+      writeNewLine();
+    }
+  }
+
+  /**
+   * Write the original line of a passthrough record.
+   *
+   * @return false if the message is not a passthrough record and nothing was written
+   */
+  protected boolean writePassthroughLine(final AirbyteMessage message) throws IOException {
+    final byte[] passthroughLine = RawRecordData.getPassthroughLine(message);
+    if (passthroughLine == null) {
+      return false;
+    }
+    outputStream.write(passthroughLine);
+    writeNewLine();
+    return true;
+  }
+
+  protected void writeNewLine() throws IOException {
+    outputStream.write(NEW_LINE);
   }
 
   @Override
   public void flush() throws IOException {
-    writer.flush();
+    outputStream.flush();
   }
 
   @Override
   public void close() throws IOException {
-    writer.close();
+    outputStream.close();
   }
 
 }
@@ -4,7 +4,7 @@
 
 package io.airbyte.workers.internal;
 
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 
 /**
  * Factory that provides the default writer.
@@ -12,8 +12,8 @@ import java.io.BufferedWriter;
 public class DefaultAirbyteMessageBufferedWriterFactory implements AirbyteMessageBufferedWriterFactory {
 
   @Override
-  public AirbyteMessageBufferedWriter createWriter(BufferedWriter writer) {
-    return new DefaultAirbyteMessageBufferedWriter(writer);
+  public AirbyteMessageBufferedWriter createWriter(BufferedOutputStream outputStream) {
+    return new DefaultAirbyteMessageBufferedWriter(outputStream);
   }
 
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Immutable plan of the top-level fields to keep in the records of a stream, compiled once from the
+ * configured catalog by {@link FieldSelector}.
+ * <p>
+ * Instead of removing the fields that are not selected one by one, the projected data is built from
+ * the selected fields only, in the order of the record. Records still held as {@link RawRecordData}
+ * are projected while they are parsed: the fields that are not selected are skipped by the parser
+ * and never turned into nodes, and records without such fields are left untouched.
+ */
+public final class FieldProjection {
+
+  /**
+   * Projection of a stream without any selected field.
+   */
+  public static final FieldProjection EMPTY = new FieldProjection(List.of());
+
+  private final Set<String> selectedFieldSet;
+
+  public FieldProjection(final List<String> selectedFields) {
+    this.selectedFieldSet = Set.copyOf(selectedFields);
+  }
+
+  /**
+   * Replace the data of a record with its projection.
+   *
+   * @param record record to project
+   * @return the number of fields that were dropped from the record
+   */
+  public int apply(final AirbyteRecordMessage record) {
+    final JsonNode data = record.getData();
+    if (data instanceof final RawRecordData raw) {
+      return applyRaw(record, raw);
+    }
+    if (!data.isObject()) {
+      throw new RuntimeException(String.format("Unexpected data in record: %s", data));
+    }
+
+    int droppedFields = 0;
+    final Iterator<String> fieldNames = data.fieldNames();
+    while (fieldNames.hasNext()) {
+      if (!selectedFieldSet.contains(fieldNames.next())) {
+        droppedFields++;
+      }
+    }
+    if (droppedFields == 0) {
+      return 0;
+    }
+
+    final ObjectNode projected = JsonNodeFactory.instance.objectNode();
+    final Iterator<Entry<String, JsonNode>> fields = data.fields();
+    while (fields.hasNext()) {
+      final Entry<String, JsonNode> field = fields.next();
+      if (selectedFieldSet.contains(field.getKey())) {
+        projected.set(field.getKey(), field.getValue());
+      }
+    }
+    record.setData(projected);
+    return droppedFields;
+  }
+
+  private int applyRaw(final AirbyteRecordMessage record, final RawRecordData raw) {
+    // Most records only contain selected fields: look at the field names first, and only build the
+    // projected nodes if a field has to be dropped.
+    if (!hasUnselectedField(raw)) {
+      return 0;
+    }
+
+    try (final JsonParser parser = startObject(raw)) {
+      final ObjectNode projected = JsonNodeFactory.instance.objectNode();
+      int droppedFields = 0;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.currentName();
+        parser.nextToken();
+        if (selectedFieldSet.contains(field)) {
+          projected.set(field, RawRecordData.EXACT_MAPPER.readTree(parser));
+        } else {
+          parser.skipChildren();
+          droppedFields++;
+        }
+      }
+      record.setData(projected);
+      return droppedFields;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private boolean hasUnselectedField(final RawRecordData raw) {
+    try (final JsonParser parser = startObject(raw)) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        if (!selectedFieldSet.contains(parser.currentName())) {
+          return true;
+        }
+        parser.nextToken();
+        parser.skipChildren();
+      }
+      return false;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static JsonParser startObject(final RawRecordData raw) throws IOException {
+    final JsonParser parser = raw.createParser();
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      parser.close();
+      throw new RuntimeException(String.format("Unexpected data in record: %s", raw.toJsonNode()));
+    }
+    return parser;
+  }
+
+}
@@ -5,7 +5,6 @@
 package io.airbyte.workers.internal;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airbyte.config.ConfiguredAirbyteCatalog;
 import io.airbyte.config.ConfiguredAirbyteStream;
 import io.airbyte.protocol.models.AirbyteMessage;
@@ -14,7 +13,6 @@ import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.workers.RecordSchemaValidator;
 import io.airbyte.workers.WorkerMetricReporter;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -24,6 +22,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import kotlin.text.Regex;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -42,23 +41,35 @@ public class FieldSelector {
    */
   private final ConcurrentMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors = new ConcurrentHashMap<>();
   private final ConcurrentMap<AirbyteStreamNameNamespacePair, Set<String>> uncountedValidationErrors = new ConcurrentHashMap<>();
-  private final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields = new HashMap<>();
+  private final Map<AirbyteStreamNameNamespacePair, FieldProjection> streamToProjection = new HashMap<>();
   private final Map<AirbyteStreamNameNamespacePair, Set<String>> streamToAllFields = new HashMap<>();
-  private final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields = new HashMap<>();
+  // Updated concurrently when records of different streams are processed in parallel.
+  private final ConcurrentMap<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields = new ConcurrentHashMap<>();
+  private final ConcurrentMap<AirbyteStreamNameNamespacePair, LongAdder> droppedFields = new ConcurrentHashMap<>();
 
   private final RecordSchemaValidator recordSchemaValidator;
   private final WorkerMetricReporter metricReporter;
   private final boolean fieldSelectionEnabled;
   private final boolean removeValidationLimit;
+  private final boolean rawRecordPassthrough;
 
   public FieldSelector(final RecordSchemaValidator recordSchemaValidator,
                        final WorkerMetricReporter metricReporter,
                        final boolean fieldSelectionEnabled,
                        final boolean removeValidationLimit) {
+    this(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit, false);
+  }
+
+  public FieldSelector(final RecordSchemaValidator recordSchemaValidator,
+                       final WorkerMetricReporter metricReporter,
+                       final boolean fieldSelectionEnabled,
+                       final boolean removeValidationLimit,
+                       final boolean rawRecordPassthrough) {
     this.recordSchemaValidator = recordSchemaValidator;
     this.metricReporter = metricReporter;
     this.fieldSelectionEnabled = fieldSelectionEnabled;
     this.removeValidationLimit = removeValidationLimit;
+    this.rawRecordPassthrough = rawRecordPassthrough;
   }
 
   /**
@@ -84,6 +95,17 @@ public class FieldSelector {
     }
   }
 
+  /**
+   * Whether the records of a stream can be forwarded to the destination as they were read: passthrough
+   * is enabled, no field selection applies and none of the records of the stream is validated. The
+   * mappers are checked separately.
+   *
+   * @param stream stream of the records
+   */
+  public boolean allowsPassthrough(final AirbyteStreamNameNamespacePair stream) {
+    return rawRecordPassthrough && !fieldSelectionEnabled && !recordSchemaValidator.validatesStream(stream);
+  }
+
   /**
    * Filter the fields according to the field configuration.
    *
@@ -102,12 +124,9 @@ public class FieldSelector {
     }
 
     final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
-    final List<String> selectedFields = streamToSelectedFields.getOrDefault(messageStream, Collections.emptyList());
-    final JsonNode data = record.getData();
-    if (data.isObject()) {
-      ((ObjectNode) data).retain(selectedFields);
-    } else {
-      throw new RuntimeException(String.format("Unexpected data in record: %s", data));
+    final int droppedFieldCount = streamToProjection.getOrDefault(messageStream, FieldProjection.EMPTY).apply(record);
+    if (droppedFieldCount > 0) {
+      droppedFields.computeIfAbsent(messageStream, k -> new LongAdder()).add(droppedFieldCount);
     }
   }
 
@@ -130,6 +149,14 @@ public class FieldSelector {
         metricReporter.trackSchemaValidationErrors(stream, errorPair.getLeft());
       });
     }
+    droppedFields.forEach((stream, count) -> {
+      log.info("Field selection dropped {} fields from the records of stream {}", count.sum(), stream);
+      metricReporter.trackDroppedFields(stream, count.sum());
+    });
+    final long droppedRecords = recordSchemaValidator.getDroppedRecordCount();
+    if (droppedRecords > 0) {
+      log.warn("Schema validation could not keep up, {} records were not validated.", droppedRecords);
+    }
     unexpectedFields.forEach((stream, unexpectedFieldNames) -> {
       if (!unexpectedFieldNames.isEmpty()) {
         log.warn("Source {} has unexpected fields [{}] in stream {}", sourceId, String.join(", ", unexpectedFieldNames), stream);
@@ -139,9 +166,16 @@ public class FieldSelector {
   }
 
   /**
-   * Generates a map from stream -> the explicit list of fields included for that stream, according to
-   * the configured catalog. Since the configured catalog only includes the selected fields, this lets
-   * us filter records to only the fields explicitly requested.
+   * Number of records that were not validated because schema validation could not keep up.
+   */
+  public long getSchemaValidationDroppedRecordCount() {
+    return recordSchemaValidator.getDroppedRecordCount();
+  }
+
+  /**
+   * Generates a map from stream -> the projection of the explicit list of fields included for that
+   * stream, according to the configured catalog. Since the configured catalog only includes the
+   * selected fields, this lets us filter records to only the fields explicitly requested.
    *
    * @param catalog catalog
    */
@@ -154,7 +188,7 @@ public class FieldSelector {
       } else {
         throw new RuntimeException("No properties node in stream schema");
       }
-      streamToSelectedFields.put(extractStream(s), selectedFields);
+      streamToProjection.put(extractStream(s), new FieldProjection(selectedFields));
     }
   }
 
@@ -188,7 +222,11 @@ public class FieldSelector {
 
     final AirbyteRecordMessage record = message.getRecord();
     final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
+    if (!recordSchemaValidator.shouldValidate(messageStream)) {
+      return;
+    }
 
+    RawRecordData.materialize(record);
     recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors);
     final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
     if (!unexpectedFieldNames.isEmpty()) {
@@ -205,11 +243,12 @@ public class FieldSelector {
     final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
     // avoid noise by validating only if the stream has less than 10 records with validation errors
     final boolean streamHasLessThenTenErrs = validationErrors.get(messageStream) == null || validationErrors.get(messageStream).getRight() < 10;
-    if (streamHasLessThenTenErrs) {
+    if (streamHasLessThenTenErrs && recordSchemaValidator.shouldValidate(messageStream)) {
+      RawRecordData.materialize(record);
       recordSchemaValidator.validateSchema(record, messageStream, validationErrors);
       final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
       if (!unexpectedFieldNames.isEmpty()) {
-        unexpectedFields.computeIfAbsent(messageStream, k -> new HashSet<>()).addAll(unexpectedFieldNames);
+        unexpectedFields.computeIfAbsent(messageStream, k -> ConcurrentHashMap.newKeySet()).addAll(unexpectedFieldNames);
       }
     }
   }
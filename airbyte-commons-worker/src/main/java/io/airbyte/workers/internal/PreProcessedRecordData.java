@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import java.io.IOException;
+
+/**
+ * Record data that went through field selection and the mappers of its stream ahead of the in
+ * order processing of the record, on one of the processing threads of the replication.
+ * <p>
+ * It is the tree the mappers produced, so it reads and compares as such. The data of records that
+ * are kept is also serialized when pre-processed and written as is, so it must not be modified
+ * afterwards. Along with it are kept the sizes the stats count for the record, so that tracking the
+ * record in order doesn't walk its data again.
+ */
+public final class PreProcessedRecordData extends ObjectNode {
+
+  private static final long serialVersionUID = 1L;
+
+  // Null for the records filtered out by a mapper, which are never written.
+  private final byte[] json;
+  private final long byteSize;
+  private final long byteSizeBeforeMappers;
+
+  private PreProcessedRecordData(final ObjectNode data, final byte[] json, final long byteSize, final long byteSizeBeforeMappers) {
+    super(JsonNodeFactory.instance);
+    setAll(data);
+    this.json = json;
+    this.byteSize = byteSize;
+    this.byteSizeBeforeMappers = byteSizeBeforeMappers;
+  }
+
+  /**
+   * Data of a record of a stream without mappers.
+   *
+   * @param data selected data of the record
+   */
+  public static PreProcessedRecordData kept(final ObjectNode data) {
+    final byte[] json = Jsons.toBytes(data);
+    return new PreProcessedRecordData(data, json, json.length, json.length);
+  }
+
+  /**
+   * Data of a record kept by the mappers of its stream.
+   *
+   * @param data data of the record after the mappers
+   * @param byteSizeBeforeMappers size of the selected data of the record, before the mappers
+   */
+  public static PreProcessedRecordData kept(final ObjectNode data, final long byteSizeBeforeMappers) {
+    final byte[] json = Jsons.toBytes(data);
+    return new PreProcessedRecordData(data, json, json.length, byteSizeBeforeMappers);
+  }
+
+  /**
+   * Data of a record filtered out by the mappers of its stream.
+   *
+   * @param data data of the record after the mappers
+   * @param byteSizeBeforeMappers size of the selected data of the record, before the mappers
+   */
+  public static PreProcessedRecordData filteredOut(final ObjectNode data, final long byteSizeBeforeMappers) {
+    return new PreProcessedRecordData(data, null, Jsons.estimateByteSizeWithoutSerializing(data), byteSizeBeforeMappers);
+  }
+
+  public boolean isFilteredOut() {
+    return json == null;
+  }
+
+  /**
+   * Size of the data after the mappers, in bytes.
+   */
+  public long getByteSize() {
+    return byteSize;
+  }
+
+  /**
+   * Size of the data as selected from what the source emitted, before the mappers, in bytes.
+   */
+  public long getByteSizeBeforeMappers() {
+    return byteSizeBeforeMappers;
+  }
+
+  /**
+   * Copy of the data as a regular tree, for code that needs to modify it.
+   */
+  public ObjectNode toObjectNode() {
+    final ObjectNode tree = JsonNodeFactory.instance.objectNode();
+    tree.setAll(this);
+    return tree;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+    if (json == null) {
+      super.serialize(gen, provider);
+      return;
+    }
+    new RawRecordData.RawJson(json, 0, json.length).serialize(gen, provider);
+  }
+
+  @Override
+  public void serializeWithType(final JsonGenerator gen, final SerializerProvider provider, final TypeSerializer typeSer) throws IOException {
+    serialize(gen, provider);
+  }
+
+}
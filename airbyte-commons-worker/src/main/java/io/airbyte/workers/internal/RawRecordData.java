@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.node.POJONode;
+import io.airbyte.commons.jackson.MoreMappers;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Record data kept as the raw JSON bytes read from the connector instead of a Jackson tree.
+ * <p>
+ * It is set as the {@link AirbyteRecordMessage#getData()} of records parsed by
+ * {@link StreamingAirbyteMessageParser}. Serializing the message writes the bytes back verbatim, so
+ * a record that is never inspected on the platform side is never turned into a tree. Anything that
+ * needs to read or modify the data must call {@link #materialize(AirbyteRecordMessage)} first.
+ * <p>
+ * The whole line the record was read from is kept along with the stream and namespace it had. Once
+ * a record is allowed to pass through, see {@link #allowPassthrough(AirbyteRecordMessage)}, and as
+ * long as its data is not materialized and its stream descriptor is not remapped, the line is
+ * forwarded to the destination as is, see {@link #getPassthroughLine(AirbyteMessage)}.
+ */
+public final class RawRecordData extends POJONode {
+
+  private static final long serialVersionUID = 1L;
+
+  static final ObjectMapper EXACT_MAPPER = MoreMappers.initMapper();
+
+  static {
+    EXACT_MAPPER.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    EXACT_MAPPER.getFactory().setStreamReadConstraints(StreamReadConstraints.builder().maxStringLength(Integer.MAX_VALUE).build());
+  }
+
+  private final String originalStream;
+  private final String originalNamespace;
+  // Set on the processing thread, read by the writer once the record was handed over through a queue.
+  private boolean passthroughAllowed;
+
+  public RawRecordData(final byte[] bytes) {
+    this(bytes, 0, bytes.length, null, null);
+  }
+
+  /**
+   * Data held as a slice of the line it was read from.
+   *
+   * @param line full line of the record message
+   * @param start offset of the data object in the line
+   * @param end offset right after the data object in the line
+   * @param originalStream stream of the record as read from the line
+   * @param originalNamespace namespace of the record as read from the line
+   */
+  public RawRecordData(final byte[] line, final int start, final int end, final String originalStream, final String originalNamespace) {
+    super(new RawJson(line, start, end));
+    this.originalStream = originalStream;
+    this.originalNamespace = originalNamespace;
+  }
+
+  public byte[] getBytes() {
+    final RawJson raw = (RawJson) _value;
+    return Arrays.copyOfRange(raw.line(), raw.start(), raw.end());
+  }
+
+  /**
+   * Size of the raw JSON, in bytes.
+   */
+  public int getByteSize() {
+    final RawJson raw = (RawJson) _value;
+    return raw.end() - raw.start();
+  }
+
+  /**
+   * Parse the raw bytes into a Jackson tree, preserving numeric precision.
+   */
+  public JsonNode toJsonNode() {
+    final RawJson raw = (RawJson) _value;
+    try {
+      return EXACT_MAPPER.readTree(raw.line(), raw.start(), raw.end() - raw.start());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Parser over the raw JSON, for callers that only need part of it.
+   */
+  JsonParser createParser() throws IOException {
+    final RawJson raw = (RawJson) _value;
+    return EXACT_MAPPER.getFactory().createParser(raw.line(), raw.start(), raw.end() - raw.start());
+  }
+
+  /**
+   * Whether the data has a field at the given path, without parsing it into a tree. Same as
+   * {@code Jsons.navigateTo(toJsonNode(), path) != null}: a field holding null is present, and a path
+   * going through anything but objects is not.
+   *
+   * @param path names of the nested fields, from the root object
+   */
+  public boolean containsPath(final List<String> path) {
+    try (final JsonParser parser = createParser()) {
+      return parser.nextToken() != null && containsPath(parser, path, 0);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static boolean containsPath(final JsonParser parser, final List<String> path, final int depth) throws IOException {
+    if (depth == path.size()) {
+      return true;
+    }
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      return false;
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final boolean matches = path.get(depth).equals(parser.currentName());
+      parser.nextToken();
+      if (matches) {
+        return containsPath(parser, path, depth + 1);
+      }
+      parser.skipChildren();
+    }
+    return false;
+  }
+
+  /**
+   * Replace raw or pre-processed data on the record with a regular tree, if needed.
+   *
+   * @param record record to materialize
+   * @return the record data as a regular Jackson tree
+   */
+  public static JsonNode materialize(final AirbyteRecordMessage record) {
+    final JsonNode data = record.getData();
+    if (data instanceof final RawRecordData raw) {
+      final JsonNode materialized = raw.toJsonNode();
+      record.setData(materialized);
+      return materialized;
+    }
+    if (data instanceof final PreProcessedRecordData preProcessed) {
+      final JsonNode materialized = preProcessed.toObjectNode();
+      record.setData(materialized);
+      return materialized;
+    }
+    return data;
+  }
+
+  public static boolean isRaw(final JsonNode data) {
+    return data instanceof RawRecordData;
+  }
+
+  /**
+   * Let the record be written to the destination as the line it was read from. Only records of
+   * streams that no mapper, field selection or schema validation applies to should be allowed.
+   *
+   * @param record record to pass through
+   */
+  public static void allowPassthrough(final AirbyteRecordMessage record) {
+    if (record.getData() instanceof final RawRecordData raw) {
+      raw.passthroughAllowed = true;
+    }
+  }
+
+  /**
+   * The line a record was read from, if it can be written to the destination instead of serializing
+   * the message again.
+   *
+   * @param message message about to be written
+   * @return the original bytes of the line, not a copy, or null if the message is not an untouched
+   *         raw record allowed to pass through
+   */
+  public static byte[] getPassthroughLine(final AirbyteMessage message) {
+    final AirbyteRecordMessage record = message.getRecord();
+    if (message.getType() != AirbyteMessage.Type.RECORD || record == null || !(record.getData() instanceof final RawRecordData raw)) {
+      return null;
+    }
+    if (!raw.passthroughAllowed
+        || raw.originalStream == null
+        || !raw.originalStream.equals(record.getStream())
+        || !Objects.equals(raw.originalNamespace, record.getNamespace())) {
+      return null;
+    }
+    return ((RawJson) raw._value).line();
+  }
+
+  /**
+   * Writes the bytes as a raw JSON value.
+   */
+  record RawJson(byte[] line, int start, int end) implements JsonSerializable {
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers) throws IOException {
+      gen.writeRawValue(new String(line, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void serializeWithType(final JsonGenerator gen, final SerializerProvider serializers, final TypeSerializer typeSer)
+        throws IOException {
+      serialize(gen, serializers);
+    }
+
+  }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Parses RECORD lines straight from their bytes with a streaming JSON parser.
+ * <p>
+ * Only the envelope of the record (stream, namespace, emitted_at, meta...) is deserialized. The
+ * {@code data} object is tokenized to make sure it is well-formed, then kept as a
+ * {@link RawRecordData} slice of the line, which is not copied.
+ * <p>
+ * The data of the streams whose records are always parsed into a tree later on, e.g. because every
+ * record is schema validated, is parsed into a tree right away instead, so that it is only parsed
+ * once. This is only possible when the stream comes before the data in the record, otherwise the
+ * data is kept raw.
+ * <p>
+ * Anything that is not a well-formed record message is left to the regular deserializer, which
+ * keeps the existing validation and logging of malformed lines.
+ */
+public class StreamingAirbyteMessageParser {
+
+  private static final String TYPE_FIELD = "type";
+  private static final String RECORD_FIELD = "record";
+  private static final String DATA_FIELD = "data";
+  private static final String STREAM_FIELD = "stream";
+  private static final String NAMESPACE_FIELD = "namespace";
+
+  private final Predicate<AirbyteStreamNameNamespacePair> parsesDataAsTree;
+
+  public StreamingAirbyteMessageParser() {
+    this(stream -> false);
+  }
+
+  /**
+   * Parser that keeps the data raw, except for the streams matching {@code parsesDataAsTree}.
+   *
+   * @param parsesDataAsTree streams whose data is parsed into a tree
+   */
+  public StreamingAirbyteMessageParser(final Predicate<AirbyteStreamNameNamespacePair> parsesDataAsTree) {
+    this.parsesDataAsTree = parsesDataAsTree;
+  }
+
+  /**
+   * Attempt to parse a line as a record message.
+   *
+   * @param line a full line from the connector, without the line separator
+   * @return the record message, or empty if the line is not a record and should go through the
+   *         regular deserializer
+   */
+  public Optional<AirbyteMessage> parseRecord(final byte[] line) {
+    try (final JsonParser parser = RawRecordData.EXACT_MAPPER.getFactory().createParser(line)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return Optional.empty();
+      }
+
+      String type = null;
+      ObjectNode envelope = null;
+      int dataStart = -1;
+      int dataEnd = -1;
+      JsonNode treeData = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String fieldName = parser.currentName();
+        final JsonToken valueToken = parser.nextToken();
+        if (TYPE_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+          type = parser.getText();
+        } else if (RECORD_FIELD.equals(fieldName) && valueToken == JsonToken.START_OBJECT && envelope == null) {
+          envelope = JsonNodeFactory.instance.objectNode();
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String recordFieldName = parser.currentName();
+            final JsonToken recordValueToken = parser.nextToken();
+            if (DATA_FIELD.equals(recordFieldName) && recordValueToken == JsonToken.START_OBJECT && parsesDataAsTree(envelope)) {
+              treeData = RawRecordData.EXACT_MAPPER.readTree(parser);
+            } else if (DATA_FIELD.equals(recordFieldName) && recordValueToken == JsonToken.START_OBJECT) {
+              dataStart = (int) parser.currentTokenLocation().getByteOffset();
+              parser.skipChildren();
+              dataEnd = (int) parser.currentLocation().getByteOffset();
+            } else {
+              envelope.set(recordFieldName, RawRecordData.EXACT_MAPPER.readTree(parser));
+            }
+          }
+        } else {
+          // Not a record, or a record with unexpected top-level content.
+          return Optional.empty();
+        }
+      }
+
+      if (parser.nextToken() != null) {
+        // Trailing content after the message.
+        return Optional.empty();
+      }
+      if (!AirbyteMessage.Type.RECORD.value().equals(type) || envelope == null || (dataStart < 0 && treeData == null)) {
+        return Optional.empty();
+      }
+
+      final AirbyteRecordMessage record = RawRecordData.EXACT_MAPPER.treeToValue(envelope, AirbyteRecordMessage.class);
+      record.setData(treeData != null ? treeData : new RawRecordData(line, dataStart, dataEnd, record.getStream(), record.getNamespace()));
+      return Optional.of(new AirbyteMessage().withType(AirbyteMessage.Type.RECORD).withRecord(record));
+    } catch (final IOException | IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Whether the data of a record should be parsed into a tree, given the fields of the record read
+   * before the data. The namespace is assumed absent if it was not read yet: the choice only matters
+   * for performance.
+   */
+  private boolean parsesDataAsTree(final ObjectNode envelope) {
+    final JsonNode stream = envelope.get(STREAM_FIELD);
+    if (stream == null || !stream.isTextual()) {
+      return false;
+    }
+    final JsonNode namespace = envelope.get(NAMESPACE_FIELD);
+    return parsesDataAsTree.test(
+        new AirbyteStreamNameNamespacePair(stream.asText(), namespace != null && namespace.isTextual() ? namespace.asText() : null));
+  }
+
+}
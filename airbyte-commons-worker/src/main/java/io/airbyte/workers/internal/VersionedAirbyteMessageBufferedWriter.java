@@ -8,7 +8,7 @@ import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator;
 import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer;
 import io.airbyte.config.ConfiguredAirbyteCatalog;
 import io.airbyte.protocol.models.AirbyteMessage;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.util.Optional;
 
@@ -22,22 +22,38 @@ public class VersionedAirbyteMessageBufferedWriter<T> extends DefaultAirbyteMess
   private final AirbyteMessageSerializer<T> serializer;
   private final AirbyteMessageVersionedMigrator<T> migrator;
   private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  // Raw record data is written as is, unless the record has to be migrated.
+  private final boolean needMigration;
 
-  public VersionedAirbyteMessageBufferedWriter(final BufferedWriter writer,
+  public VersionedAirbyteMessageBufferedWriter(final BufferedOutputStream outputStream,
                                                final AirbyteMessageSerializer<T> serializer,
                                                final AirbyteMessageVersionedMigrator<T> migrator,
                                                final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog) {
-    super(writer);
+    this(outputStream, serializer, migrator, configuredAirbyteCatalog, true);
+  }
+
+  public VersionedAirbyteMessageBufferedWriter(final BufferedOutputStream outputStream,
+                                               final AirbyteMessageSerializer<T> serializer,
+                                               final AirbyteMessageVersionedMigrator<T> migrator,
+                                               final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                               final boolean needMigration) {
+    super(outputStream);
     this.serializer = serializer;
     this.migrator = migrator;
     this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+    this.needMigration = needMigration;
   }
 
   @Override
   public void write(final AirbyteMessage message) throws IOException {
+    if (needMigration && message.getRecord() != null) {
+      RawRecordData.materialize(message.getRecord());
+    } else if (writePassthroughLine(message)) {
+      return;
+    }
     final T downgradedMessage = migrator.downgrade(message, configuredAirbyteCatalog);
-    writer.write(serializer.serialize(downgradedMessage));
-    writer.newLine();
+    serializer.serialize(downgradedMessage, outputStream);
+    writeNewLine();
   }
 
 }
@@ -8,7 +8,7 @@ import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
 import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
 import io.airbyte.commons.version.Version;
 import io.airbyte.config.ConfiguredAirbyteCatalog;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,17 +36,18 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
   }
 
   @Override
-  public AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter) {
+  public AirbyteMessageBufferedWriter createWriter(BufferedOutputStream outputStream) {
     final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
     LOGGER.info(
         "Writing messages to protocol version {}{}",
         protocolVersion.serialize(),
         needMigration ? ", messages will be downgraded from protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
     return new VersionedAirbyteMessageBufferedWriter<>(
-        bufferedWriter,
+        outputStream,
         serDeProvider.getSerializer(protocolVersion).orElseThrow(),
         migratorFactory.getAirbyteMessageMigrator(protocolVersion),
-        configuredAirbyteCatalog);
+        configuredAirbyteCatalog,
+        needMigration);
   }
 
 }
@@ -28,16 +28,19 @@ import io.airbyte.metrics.lib.MetricTags;
 import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.protocol.models.AirbyteLogMessage;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.workers.helper.GsonPksExtractor;
 import io.micronaut.core.util.StringUtils;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -94,6 +97,8 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   private Version protocolVersion;
 
   private boolean shouldDetectVersion = false;
+  private boolean shouldParseRecordsFromBytes = false;
+  private StreamingAirbyteMessageParser streamingParser = new StreamingAirbyteMessageParser();
 
   private final InvalidLineFailureConfiguration invalidLineFailureConfiguration;
   private final GsonPksExtractor gsonPksExtractor;
@@ -200,6 +205,30 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     return addLineReadLogic(bufferedReader);
   }
 
+  /**
+   * Create the AirbyteMessage stream from the raw bytes of the connector output.
+   * <p>
+   * When record parsing from bytes is enabled, record lines are parsed without being decoded to a
+   * String and their data is kept as {@link RawRecordData} until something needs the tree. This is
+   * only possible when no version detection or migration is needed, otherwise this falls back to the
+   * line based reader.
+   */
+  @Override
+  public Stream<AirbyteMessage> createFromInputStream(final InputStream inputStream) {
+    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+    if (!shouldParseRecordsFromBytes || shouldDetectVersion || needMigration) {
+      return AirbyteStreamFactory.super.createFromInputStream(inputStream);
+    }
+    logger.info("Reading messages from protocol version {}, records are parsed from bytes", protocolVersion.serialize());
+
+    final var metricClient = MetricClientFactory.getMetricClient();
+    return new ByteLineReader(inputStream)
+        .lines()
+        .peek(line -> metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, line.length))
+        .flatMap(this::toAirbyteMessage)
+        .filter(this::filterLog);
+  }
+
   private void detectAndInitialiseMigrators(final BufferedReader bufferedReader) {
     if (shouldDetectVersion) {
       final Optional<Version> versionMaybe;
@@ -285,6 +314,24 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     return this;
   }
 
+  /**
+   * Parse record lines straight from their bytes and keep their data raw until needed. See
+   * {@link #createFromInputStream(InputStream)}.
+   */
+  public VersionedAirbyteStreamFactory<T> withRecordParsingFromBytes(final boolean parseRecordsFromBytes) {
+    this.shouldParseRecordsFromBytes = parseRecordsFromBytes;
+    return this;
+  }
+
+  /**
+   * When records are parsed from bytes, parse the data of the given streams into a tree right away
+   * rather than keeping it raw, for streams whose records all end up being parsed anyway.
+   */
+  public VersionedAirbyteStreamFactory<T> withRecordDataParsedAsTree(final Predicate<AirbyteStreamNameNamespacePair> parsesDataAsTree) {
+    this.streamingParser = new StreamingAirbyteMessageParser(parsesDataAsTree);
+    return this;
+  }
+
   protected final void initializeForProtocolVersion(final Version protocolVersion) {
     this.deserializer = (AirbyteMessageDeserializer<AirbyteMessage>) serDeProvider.getDeserializer(protocolVersion).orElseThrow();
     this.migrator = migratorFactory.getAirbyteMessageMigrator(protocolVersion);
@@ -325,7 +372,7 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
    * 3. upgrade the message to the platform version, if needed.
    */
   protected Stream<AirbyteMessage> toAirbyteMessage(final String line) {
-    logLargeRecordWarning(line);
+    logLargeRecordWarning(line.length(), () -> line);
 
     Optional<AirbyteMessage> m = deserializer.deserializeExact(line);
 
@@ -344,19 +391,43 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     return m.stream();
   }
 
-  private void logLargeRecordWarning(final String line) {
+  /**
+   * Same as {@link #toAirbyteMessage(String)} for a line read as bytes. Records are parsed without
+   * decoding the line and keep their data as {@link RawRecordData}, other messages go through the
+   * regular deserializer.
+   */
+  protected Stream<AirbyteMessage> toAirbyteMessage(final byte[] line) {
+    final Optional<AirbyteMessage> record = streamingParser.parseRecord(line);
+    if (record.isEmpty()) {
+      // Not a record, or a malformed one: use the regular deserializer which handles the reporting.
+      return toAirbyteMessage(new String(line, StandardCharsets.UTF_8));
+    }
+
+    logLargeRecordWarning(line.length, () -> new String(line, StandardCharsets.UTF_8));
+
+    final Optional<AirbyteMessage> m = BasicAirbyteMessageValidator.validate(record.get(), configuredAirbyteCatalog);
+    if (m.isEmpty()) {
+      logger.error("Validation failed: {}", Jsons.serialize(new String(line, StandardCharsets.UTF_8)));
+      return m.stream();
+    }
+
+    return upgradeMessage(m.get());
+  }
+
+  private void logLargeRecordWarning(final int lineLength, final Supplier<String> line) {
+    if (lineLength < MAXIMUM_CHARACTERS_ALLOWED) {
+      return;
+    }
     try (final MdcScope ignored = containerLogMdcBuilder.build()) {
-      if (line.length() >= MAXIMUM_CHARACTERS_ALLOWED) {
-        connectionId.ifPresentOrElse(c -> MetricClientFactory.getMetricClient().count(OssMetricsRegistry.LINE_SKIPPED_TOO_LONG, 1,
-            new MetricAttribute(MetricTags.CONNECTION_ID, c.toString())),
-            () -> MetricClientFactory.getMetricClient().count(OssMetricsRegistry.LINE_SKIPPED_TOO_LONG, 1));
-        MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.TOO_LONG_LINES_DISTRIBUTION, line.length());
-        if (invalidLineFailureConfiguration.printLongRecordPks) {
-          logger.warn("[LARGE RECORD] Risk of Destinations not being able to properly handle: " + line.length());
-          configuredAirbyteCatalog.ifPresent(
-              airbyteCatalog -> logger
-                  .warn("[LARGE RECORD] The primary keys of the long record are: " + gsonPksExtractor.extractPks(airbyteCatalog, line)));
-        }
+      connectionId.ifPresentOrElse(c -> MetricClientFactory.getMetricClient().count(OssMetricsRegistry.LINE_SKIPPED_TOO_LONG, 1,
+          new MetricAttribute(MetricTags.CONNECTION_ID, c.toString())),
+          () -> MetricClientFactory.getMetricClient().count(OssMetricsRegistry.LINE_SKIPPED_TOO_LONG, 1));
+      MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.TOO_LONG_LINES_DISTRIBUTION, lineLength);
+      if (invalidLineFailureConfiguration.printLongRecordPks) {
+        logger.warn("[LARGE RECORD] Risk of Destinations not being able to properly handle: " + lineLength);
+        configuredAirbyteCatalog.ifPresent(
+            airbyteCatalog -> logger
+                .warn("[LARGE RECORD] The primary keys of the long record are: " + gsonPksExtractor.extractPks(airbyteCatalog, line.get())));
       }
     } catch (final Exception e) {
       throw e;
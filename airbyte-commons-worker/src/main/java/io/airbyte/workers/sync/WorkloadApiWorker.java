@@ -54,6 +54,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import org.openapitools.client.infrastructure.ServerException;
 import org.slf4j.Logger;
@@ -160,32 +161,18 @@ public class WorkloadApiWorker implements ReplicationWorker {
 
   public void waitForWorkload(final String workloadId) {
     // Wait until workload reaches a terminal status
-    // TODO merge this with WorkloadApiHelper.waitForWorkload. The only difference currently is the
-    // progress log.
-    int i = 0;
-    final Duration sleepInterval = Duration.ofSeconds(featureFlagClient.intVariation(WorkloadPollingInterval.INSTANCE, getFeatureFlagContext()));
-    Workload workload;
-    while (true) {
-      workload = getWorkload(workloadId);
-
-      if (workload.getStatus() != null) {
-        if (TERMINAL_STATUSES.contains(workload.getStatus())) {
-          log.info("Workload {} has returned a terminal status of {}.  Fetching output...", workloadId, workload.getStatus());
-          break;
-        }
-
-        if (i % 5 == 0) {
-          i++;
-          // Since syncs are mostly in a running state this can spam logs
-          // while providing no actionable information
-          if (workload.getStatus() != WorkloadStatus.RUNNING) {
-            log.info("Workload {} is {}", workloadId, workload.getStatus());
-          }
-        }
-        i++;
-      }
-      sleep(sleepInterval.toMillis());
+    final int pollingIntervalInSeconds = featureFlagClient.intVariation(WorkloadPollingInterval.INSTANCE, getFeatureFlagContext());
+    final Workload workload;
+    try {
+      // Like callWithRetry, only give up on the workload-api after the heartbeat timeout.
+      workload = workloadClient.workloadCompletion(workloadId, pollingIntervalInSeconds, getHeartbeatTimeout()).get();
+    } catch (final ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
     }
+    log.info("Workload {} has returned a terminal status of {}.  Fetching output...", workloadId, workload.getStatus());
 
     if (workload.getStatus() == WorkloadStatus.CANCELLED) {
       throw new CancellationException("Replication cancelled by " + workload.getTerminationSource());
@@ -293,20 +280,14 @@ public class WorkloadApiWorker implements ReplicationWorker {
    * @return the result of the API call
    */
   private <T> T callWithRetry(CheckedSupplier<T> workloadApiCall) {
-    Duration timeoutDuration = Duration.ofMinutes(featureFlagClient.intVariation(WorkloadHeartbeatTimeout.INSTANCE, getFeatureFlagContext()));
     return Failsafe.with(RetryPolicy.builder()
         .withDelay(Duration.ofSeconds(30))
-        .withMaxDuration(timeoutDuration)
+        .withMaxDuration(getHeartbeatTimeout())
         .build()).get(workloadApiCall);
   }
 
-  private void sleep(final long millis) {
-    try {
-      Thread.sleep(millis);
-    } catch (final InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new RuntimeException(e);
-    }
+  private Duration getHeartbeatTimeout() {
+    return Duration.ofMinutes(featureFlagClient.intVariation(WorkloadHeartbeatTimeout.INSTANCE, getFeatureFlagContext()));
   }
 
 }
@@ -1,16 +1,80 @@
 package io.airbyte.workers.general
 
+import io.airbyte.commons.concurrency.ByteBoundedClosableQueue
 import io.airbyte.commons.concurrency.ClosableLinkedBlockingQueue
+import io.airbyte.commons.concurrency.ClosableQueue
+import io.airbyte.commons.concurrency.ClosableSpscRingBufferQueue
+import java.util.function.ToLongFunction
 
+/**
+ * Queue implementation used between the stages of the [BufferedReplicationWorker].
+ */
+enum class BufferQueueType {
+  /** [ClosableLinkedBlockingQueue], allocates a node and takes a lock per message. */
+  LINKED_BLOCKING,
+
+  /** [ClosableSpscRingBufferQueue], preallocated lock-free ring buffer with batched drain. */
+  SPSC_RING_BUFFER,
+}
+
+/**
+ * Sizing of the buffers of the [BufferedReplicationWorker].
+ *
+ * The buffers are bounded by their message counts. A positive byte budget additionally bounds them
+ * by the estimated size of the messages in flight, at the cost of sizing every message; it is off
+ * (0) by default.
+ *
+ * [processingParallelism] is the number of threads pre-processing the records drained from the
+ * source buffer, 1 keeps all the processing on the processMessage thread.
+ */
 data class BufferConfiguration(
   val sourceMaxBufferSize: Int = DEFAULT_SOURCE_MAX_BUFFER_SIZE,
   val destinationMaxBufferSize: Int = DEFAULT_DESTINATION_MAX_BUFFER_SIZE,
   val pollTimeoutDuration: Int = DEFAULT_POLL_TIME_OUT_DURATION_SECONDS,
+  val queueType: BufferQueueType = DEFAULT_QUEUE_TYPE,
+  val drainBatchSize: Int = DEFAULT_DRAIN_BATCH_SIZE,
+  val sourceMaxBufferBytes: Long = DEFAULT_SOURCE_MAX_BUFFER_BYTES,
+  val destinationMaxBufferBytes: Long = DEFAULT_DESTINATION_MAX_BUFFER_BYTES,
+  val processingParallelism: Int = DEFAULT_PROCESSING_PARALLELISM,
 ) {
+  fun <T> createSourceQueue(sizer: ToLongFunction<T>): ClosableQueue<T> = createQueue(sourceMaxBufferSize, sourceMaxBufferBytes, sizer)
+
+  fun <T> createDestinationQueue(sizer: ToLongFunction<T>): ClosableQueue<T> =
+    createQueue(destinationMaxBufferSize, destinationMaxBufferBytes, sizer)
+
+  private fun <T> createQueue(
+    maxSize: Int,
+    maxBytes: Long,
+    sizer: ToLongFunction<T>,
+  ): ClosableQueue<T> =
+    if (maxBytes > 0) {
+      ByteBoundedClosableQueue(createCountBoundedQueue(maxSize), maxSize, sizer, maxBytes, pollTimeoutDuration)
+    } else {
+      createCountBoundedQueue(maxSize)
+    }
+
+  private fun <T> createCountBoundedQueue(maxSize: Int): ClosableQueue<T> =
+    when (queueType) {
+      BufferQueueType.LINKED_BLOCKING -> ClosableLinkedBlockingQueue(maxSize, pollTimeoutDuration)
+      BufferQueueType.SPSC_RING_BUFFER -> ClosableSpscRingBufferQueue(maxSize, pollTimeoutDuration)
+    }
+
+  fun withQueueType(queueType: BufferQueueType): BufferConfiguration = copy(queueType = queueType)
+
+  fun withMaxBufferBytes(maxBufferBytes: Long): BufferConfiguration =
+    copy(sourceMaxBufferBytes = maxBufferBytes, destinationMaxBufferBytes = maxBufferBytes)
+
+  fun withProcessingParallelism(processingParallelism: Int): BufferConfiguration = copy(processingParallelism = processingParallelism)
+
   companion object {
     const val DEFAULT_SOURCE_MAX_BUFFER_SIZE = 1000
     const val DEFAULT_DESTINATION_MAX_BUFFER_SIZE = 1000
     const val DEFAULT_POLL_TIME_OUT_DURATION_SECONDS = ClosableLinkedBlockingQueue.DEFAULT_POLL_TIME_OUT_DURATION_SECONDS
+    const val DEFAULT_DRAIN_BATCH_SIZE = 100
+    const val DEFAULT_SOURCE_MAX_BUFFER_BYTES = 0L
+    const val DEFAULT_DESTINATION_MAX_BUFFER_BYTES = 0L
+    const val DEFAULT_PROCESSING_PARALLELISM = 1
+    val DEFAULT_QUEUE_TYPE = BufferQueueType.LINKED_BLOCKING
 
     // Helpers for Java due to the lack of named parameters
 
@@ -6,6 +6,7 @@ package io.airbyte.workers.general
 
 import com.fasterxml.jackson.core.JsonProcessingException
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.node.ObjectNode
 import com.google.common.annotations.VisibleForTesting
 import io.airbyte.api.client.AirbyteApiClient
 import io.airbyte.api.client.model.generated.ActorType
@@ -40,6 +41,8 @@ import io.airbyte.metrics.lib.OssMetricsRegistry
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.protocol.models.AirbyteMessage.Type
+import io.airbyte.protocol.models.AirbyteRecordMessage
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair
 import io.airbyte.protocol.models.AirbyteTraceMessage
 import io.airbyte.workers.WorkerUtils
 import io.airbyte.workers.context.ReplicationContext
@@ -56,8 +59,11 @@ import io.airbyte.workers.internal.AnalyticsMessageTracker
 import io.airbyte.workers.internal.DestinationTimeoutMonitor
 import io.airbyte.workers.internal.FieldSelector
 import io.airbyte.workers.internal.HeartbeatTimeoutChaperone
+import io.airbyte.workers.internal.PreProcessedRecordData
+import io.airbyte.workers.internal.RawRecordData
 import io.airbyte.workers.internal.bookkeeping.AirbyteMessageOrigin
 import io.airbyte.workers.internal.bookkeeping.AirbyteMessageTracker
+import io.airbyte.workers.internal.bookkeeping.estimateDataByteSize
 import io.airbyte.workers.internal.bookkeeping.events.ReplicationAirbyteMessageEvent
 import io.airbyte.workers.internal.bookkeeping.events.ReplicationAirbyteMessageEventPublishingHelper
 import io.airbyte.workers.internal.bookkeeping.getPerStreamStats
@@ -80,6 +86,7 @@ import java.time.Instant
 import java.util.Collections
 import java.util.Optional
 import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.atomic.AtomicBoolean
 import kotlin.properties.Delegates
 import io.airbyte.workload.api.client.generated.infrastructure.ClientException as GeneratedClientException
@@ -126,6 +133,9 @@ class ReplicationWorkerHelper(
   private var supportRefreshes by Delegates.notNull<Boolean>()
   private lateinit var mappersPerStreamDescriptor: Map<StreamDescriptor, List<out MapperConfig>>
 
+  // Whether the records of a stream can be written to the destination as read, only used on the processMessage thread.
+  private val passthroughPerStream: MutableMap<AirbyteStreamNameNamespacePair, Boolean> = ConcurrentHashMap()
+
   fun markCancelled(): Unit = _cancelled.set(true)
 
   fun markFailed(): Unit = hasFailed.set(true)
@@ -298,6 +308,10 @@ class ReplicationWorkerHelper(
     }
 
     fieldSelector.reportMetrics(context.sourceId)
+    val schemaValidationDroppedRecords = fieldSelector.getSchemaValidationDroppedRecordCount()
+    if (schemaValidationDroppedRecords > 0) {
+      metricClient.count(OssMetricsRegistry.NUM_RECORDS_DROPPED_BY_SCHEMA_VALIDATION, schemaValidationDroppedRecords, *metricAttrs.toTypedArray())
+    }
     timeTracker.trackSourceReadEndTime()
   }
 
@@ -388,10 +402,43 @@ class ReplicationWorkerHelper(
 
   @VisibleForTesting
   fun internalProcessMessageFromSource(sourceRawMessage: AirbyteMessage): AirbyteMessage? {
-    val context = requireNotNull(ctx)
+    fieldSelector.filterSelectedFields(sourceRawMessage)
+    fieldSelector.validateSchema(sourceRawMessage)
+    return internalProcessPreProcessedMessageFromSource(sourceRawMessage)
+  }
 
+  /**
+   * The part of the processing of a source record that only depends on the record and its stream:
+   * field selection, schema validation, the mappers of the stream and the serialization of the data.
+   * The outcome is kept on the record as [PreProcessedRecordData], the stats and the rest of the
+   * processing are left to [processPreProcessedMessageFromSource].
+   *
+   * It is safe to call concurrently for records of different streams. Records of a same stream must
+   * still be pre-processed in order.
+   */
+  fun preProcessRecordFromSource(sourceRawMessage: AirbyteMessage) {
     fieldSelector.filterSelectedFields(sourceRawMessage)
     fieldSelector.validateSchema(sourceRawMessage)
+    if (sourceRawMessage.type != Type.RECORD) {
+      return
+    }
+
+    val record = sourceRawMessage.record
+    val byteSizeBeforeMappers = if (hasMappers(record)) estimateDataByteSize(record.data) else null
+    val include = mapRecord(sourceRawMessage)
+    // Raw data is either passed through or written as read.
+    val data = record.data as? ObjectNode ?: return
+    record.data =
+      when {
+        !include -> PreProcessedRecordData.filteredOut(data, byteSizeBeforeMappers ?: estimateDataByteSize(data))
+        byteSizeBeforeMappers != null -> PreProcessedRecordData.kept(data, byteSizeBeforeMappers)
+        else -> PreProcessedRecordData.kept(data)
+      }
+  }
+
+  private fun internalProcessPreProcessedMessageFromSource(sourceRawMessage: AirbyteMessage): AirbyteMessage? {
+    val context = requireNotNull(ctx)
+
     messageTracker.acceptFromSource(sourceRawMessage)
     streamStatusTracker.track(sourceRawMessage)
     if (isAnalyticsMessage(sourceRawMessage)) {
@@ -413,9 +460,9 @@ class ReplicationWorkerHelper(
     }
 
     if (sourceRawMessage.type == Type.RECORD) {
-      val airbyteJsonRecordAdapter = AirbyteJsonRecordAdapter(sourceRawMessage)
-      applyTransformationMappers(airbyteJsonRecordAdapter)
-      if (!airbyteJsonRecordAdapter.shouldInclude()) {
+      val data = sourceRawMessage.record.data
+      val include = if (data is PreProcessedRecordData) !data.isFilteredOut else mapRecord(sourceRawMessage)
+      if (!include) {
         messageTracker.syncStatsTracker.updateFilteredOutRecordsStats(sourceRawMessage.record)
         return null
       }
@@ -424,6 +471,23 @@ class ReplicationWorkerHelper(
     return sourceRawMessage
   }
 
+  /**
+   * Applies the mappers of the stream of a record.
+   *
+   * @return whether the record is kept
+   */
+  private fun mapRecord(sourceRawMessage: AirbyteMessage): Boolean {
+    if (needsRecordAdapter(sourceRawMessage.record)) {
+      RawRecordData.materialize(sourceRawMessage.record)
+      val airbyteJsonRecordAdapter = AirbyteJsonRecordAdapter(sourceRawMessage)
+      applyTransformationMappers(airbyteJsonRecordAdapter)
+      return airbyteJsonRecordAdapter.shouldInclude()
+    } else if (allowsPassthrough(sourceRawMessage.record)) {
+      RawRecordData.allowPassthrough(sourceRawMessage.record)
+    }
+    return true
+  }
+
   private fun handleControlMessage(
     rawMessage: AirbyteMessage,
     context: ReplicationContext,
@@ -467,12 +531,41 @@ class ReplicationWorkerHelper(
       ?.let { Optional.ofNullable(it) } ?: Optional.empty()
   }
 
+  /**
+   * Same as [processMessageFromSource] for a message that already went through
+   * [preProcessRecordFromSource]. Must be called in the order the messages were read from the source.
+   */
+  fun processPreProcessedMessageFromSource(sourceRawMessage: AirbyteMessage): Optional<AirbyteMessage> =
+    internalProcessPreProcessedMessageFromSource(attachIdToStateMessageFromSource(sourceRawMessage))
+      ?.let { mapper.mapMessage(it) }
+      ?.let { Optional.ofNullable(it) } ?: Optional.empty()
+
   fun getSourceDefinitionIdForSourceId(sourceId: UUID): UUID =
     airbyteApiClient.sourceApi.getSource(SourceIdRequestBody(sourceId = sourceId)).sourceDefinitionId
 
   fun getDestinationDefinitionIdForDestinationId(destinationId: UUID): UUID =
     airbyteApiClient.destinationApi.getDestination(DestinationIdRequestBody(destinationId = destinationId)).destinationDefinitionId
 
+  /**
+   * Records parsed from bytes keep their data raw, only turn them into a tree if a mapper is going to
+   * look at them.
+   */
+  private fun needsRecordAdapter(record: AirbyteRecordMessage): Boolean = !RawRecordData.isRaw(record.data) || hasMappers(record)
+
+  private fun hasMappers(record: AirbyteRecordMessage): Boolean =
+    !mappersPerStreamDescriptor[StreamDescriptor().withNamespace(record.namespace).withName(record.stream)].isNullOrEmpty()
+
+  /**
+   * Raw records are only forwarded as read for streams without mappers, field selection or schema
+   * validation.
+   */
+  private fun allowsPassthrough(record: AirbyteRecordMessage): Boolean {
+    val stream = AirbyteStreamNameNamespacePair.fromRecordMessage(record)
+    return passthroughPerStream.getOrPut(stream) {
+      fieldSelector.allowsPassthrough(stream) && !hasMappers(record)
+    }
+  }
+
   fun applyTransformationMappers(message: AirbyteRecord) {
     val mappersForStream: List<MapperConfig> =
       mappersPerStreamDescriptor[message.streamDescriptor] ?: listOf()
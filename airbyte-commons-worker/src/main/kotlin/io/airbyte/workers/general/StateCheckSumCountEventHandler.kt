@@ -104,6 +104,9 @@ class StateCheckSumCountEventHandler(
   @Volatile
   private var totalMismatchEvents = 0
 
+  @Volatile
+  private var lastStateHash: StateHash? = null
+
   fun getCurrentTimeInMicroSecond() = epochMilliSupplier!!.get() * 1000
 
   private fun trackStateCountMetrics(
@@ -144,6 +147,21 @@ class StateCheckSumCountEventHandler(
     }
   }
 
+  /**
+   * Hash of a state message, computed once for all the events emitted about it. The memo is keyed on
+   * the message itself rather than its id: the state echoed back by the destination has the same id
+   * as the source's, but its content may differ and must be hashed on its own.
+   */
+  private fun getStateHash(stateMessage: AirbyteStateMessage): Int {
+    val memo = lastStateHash
+    if (memo != null && memo.stateMessage === stateMessage) {
+      return memo.hash
+    }
+    return stateMessage.getStateHashCode(Hashing.murmur3_32_fixed()).also { lastStateHash = StateHash(stateMessage, it) }
+  }
+
+  private class StateHash(val stateMessage: AirbyteStateMessage, val hash: Int)
+
   private fun stateCheckSumCountEvent(
     recordCount: Double,
     stateMessage: AirbyteStateMessage,
@@ -172,7 +190,7 @@ class StateCheckSumCountEventHandler(
         idSupplier!!.get().toString(),
         jobId.toString(),
         recordCount.toLong(),
-        stateMessage.getStateHashCode(Hashing.murmur3_32_fixed()).toString(),
+        getStateHash(stateMessage).toString(),
         stateMessage.getStateIdForStatsTracking().toString(),
         stateOrigin,
         stateMessage.type.toString(),
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.helper
+
+import com.fasterxml.jackson.databind.JsonNode
+import io.airbyte.commons.json.Jsons
+import io.airbyte.protocol.models.AirbyteMessage
+import io.airbyte.protocol.models.AirbyteStateMessage
+import io.airbyte.workers.internal.RawRecordData
+
+/**
+ * Cheap estimate of the in-flight size of an [AirbyteMessage], used to bound the replication
+ * buffers by bytes. The payloads are measured by walking the JSON tree, nothing is serialized.
+ */
+object AirbyteMessageSizeEstimator {
+  /**
+   * Rough size of the envelope around the payload (type, stream descriptor, emitted_at, ...).
+   */
+  private const val ENVELOPE_OVERHEAD_BYTES = 64L
+
+  @JvmStatic
+  fun estimate(message: AirbyteMessage): Long =
+    ENVELOPE_OVERHEAD_BYTES +
+      when (message.type) {
+        AirbyteMessage.Type.RECORD ->
+          message.record?.let {
+            estimateData(it.data) + (it.stream?.length ?: 0) + (it.namespace?.length ?: 0)
+          } ?: 0L
+        AirbyteMessage.Type.STATE -> message.state?.let { estimateState(it) } ?: 0L
+        else -> 0L
+      }
+
+  private fun estimateData(data: JsonNode?): Long =
+    when (data) {
+      is RawRecordData -> data.byteSize.toLong()
+      else -> Jsons.estimateByteSizeWithoutSerializing(data)
+    }
+
+  private fun estimateState(state: AirbyteStateMessage): Long =
+    when (state.type) {
+      AirbyteStateMessage.AirbyteStateType.STREAM -> Jsons.estimateByteSizeWithoutSerializing(state.stream?.streamState)
+      AirbyteStateMessage.AirbyteStateType.GLOBAL ->
+        state.global?.let { global ->
+          Jsons.estimateByteSizeWithoutSerializing(global.sharedState) +
+            (global.streamStates?.sumOf { Jsons.estimateByteSizeWithoutSerializing(it.streamState) } ?: 0L)
+        } ?: 0L
+      else -> Jsons.estimateByteSizeWithoutSerializing(state.data)
+    }
+}
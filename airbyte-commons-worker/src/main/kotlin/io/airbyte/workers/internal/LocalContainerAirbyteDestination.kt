@@ -18,9 +18,8 @@ import io.airbyte.workers.internal.LocalContainerConstants.ACCEPTED_MESSAGE_TYPE
 import io.airbyte.workers.internal.LocalContainerConstants.IGNORED_EXIT_CODES
 import io.airbyte.workers.internal.LocalContainerConstants.LOCAL_CONTAINER_RETRY_POLICY
 import io.github.oshai.kotlinlogging.KotlinLogging
-import java.io.BufferedWriter
+import java.io.BufferedOutputStream
 import java.io.IOException
-import java.io.OutputStreamWriter
 import java.nio.file.Path
 import java.util.Optional
 import java.util.concurrent.atomic.AtomicBoolean
@@ -76,7 +75,7 @@ class LocalContainerAirbyteDestination(
     LineGobbler.gobble(containerIOHandle.getErrInputStream(), { msg: String -> logger.error { msg } }, CALLER, containerLogMdcBuilder)
 
     // TODO are these the correct pipes?
-    writer = messageWriterFactory.createWriter(BufferedWriter(OutputStreamWriter(containerIOHandle.getOutputStream(), Charsets.UTF_8)))
+    writer = messageWriterFactory.createWriter(BufferedOutputStream(containerIOHandle.getOutputStream()))
 
     Failsafe.with(LOCAL_CONTAINER_RETRY_POLICY).run(
       CheckedRunnable {
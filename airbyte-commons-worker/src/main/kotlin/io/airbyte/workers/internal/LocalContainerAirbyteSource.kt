@@ -6,7 +6,6 @@ package io.airbyte.workers.internal
 
 import dev.failsafe.Failsafe
 import dev.failsafe.function.CheckedRunnable
-import io.airbyte.commons.io.IOs
 import io.airbyte.commons.io.LineGobbler
 import io.airbyte.commons.logging.LogSource
 import io.airbyte.commons.logging.MdcScope
@@ -65,7 +64,7 @@ class LocalContainerAirbyteSource(
     Failsafe.with(LOCAL_CONTAINER_RETRY_POLICY).run(
       CheckedRunnable {
         messageIterator =
-          streamFactory.create(IOs.newBufferedReader(containerIOHandle.getInputStream()))
+          streamFactory.createFromInputStream(containerIOHandle.getInputStream())
             .peek { message: AirbyteMessage ->
               if (shouldBeat(message.type)) {
                 heartbeatMonitor.beat()
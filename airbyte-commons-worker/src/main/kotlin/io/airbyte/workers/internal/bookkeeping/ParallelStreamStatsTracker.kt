@@ -19,6 +19,7 @@ import io.micronaut.context.annotation.Value
 import jakarta.inject.Named
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
 
 private val logger = KotlinLogging.logger { }
 
@@ -36,6 +37,12 @@ class ParallelStreamStatsTracker(
 ) : SyncStatsTracker {
   private val streamTrackers: MutableMap<AirbyteStreamNameNamespacePair, StreamStatsTracker> = ConcurrentHashMap()
   private val syncStatsCounters = SyncStatsCounters()
+
+  // Totals of the named streams, which are the ones reported in the stats.
+  private val syncStatsTotals = SyncStatsTotals()
+
+  @Volatile
+  private var hasNamedStreams = false
   private var expectedEstimateType: Type? = null
   private var replicationFeatureFlags: ReplicationFeatureFlags? = null
 
@@ -219,37 +226,20 @@ class ParallelStreamStatsTracker(
    */
   fun getTotalStats(hasReplicationCompleted: Boolean = false): SyncStats {
     // For backwards compatibility with existing code which treats null and 0 differently,
-    // if [getAllStreamSyncStats] is empty then treat it as a null itself.
-    // [sumOf] methods handle null values as 0, which is a change that we don't want to make at this time.
-    val streamSyncStats = getAllStreamSyncStats(hasReplicationCompleted).takeIf { it.isNotEmpty() }
-    val bytesCommitted = streamSyncStats?.sumOf { it.stats.bytesCommitted }
-    val recordsFilteredOut = streamSyncStats?.sumOf { it.stats.recordsFilteredOut }
-    val bytesFilteredOut = streamSyncStats?.sumOf { it.stats.bytesFilteredOut }
-    val recordsCommitted = streamSyncStats?.sumOf { it.stats.recordsCommitted }
-    val bytesEmitted = streamSyncStats?.sumOf { it.stats.bytesEmitted }
-    val recordsEmitted = streamSyncStats?.sumOf { it.stats.recordsEmitted }
-    val estimatedBytes =
-      if (!hasEstimatesErrors && expectedEstimateType == Type.SYNC) {
-        syncStatsCounters.estimatedBytesCount.get()
-      } else {
-        streamSyncStats?.mapNotNull { it.stats.estimatedBytes }
-          // mapNotNull with return an empty list if there are no non-null results
-          // we want to treat an empty list as null for backwards compatability reasons,
-          // specifically around treating a 0 and null differently
-          ?.takeIf { it.isNotEmpty() }
-          ?.sumOf { it }
-      }
-    val estimatedRecords =
-      if (!hasEstimatesErrors && expectedEstimateType == Type.SYNC) {
-        syncStatsCounters.estimatedRecordCount.get()
-      } else {
-        streamSyncStats?.mapNotNull { it.stats.estimatedRecords }
-          // mapNotNull with return an empty list if there are no non-null results
-          // we want to treat an empty list as null for backwards compatability reasons,
-          // specifically around treating a 0 and null differently
-          ?.takeIf { it.isNotEmpty() }
-          ?.sumOf { it }
-      }
+    // totals are null as long as there are no stream stats.
+    val bytesEmitted = getTotal(syncStatsTotals.emittedBytesCount)
+    val recordsEmitted = getTotal(syncStatsTotals.emittedRecordsCount)
+    val bytesFilteredOut = getTotal(syncStatsTotals.filteredOutBytesCount)
+    val recordsFilteredOut = getTotal(syncStatsTotals.filteredOutRecords)
+    val bytesCommitted: Long?
+    val recordsCommitted: Long?
+    if (hasReplicationCompleted) {
+      bytesCommitted = bytesEmitted?.minus(bytesFilteredOut ?: 0)
+      recordsCommitted = recordsEmitted?.minus(recordsFilteredOut ?: 0)
+    } else {
+      bytesCommitted = getTotal(syncStatsTotals.committedBytesCount)
+      recordsCommitted = getTotal(syncStatsTotals.committedRecordsCount)
+    }
 
     return SyncStats()
       .withBytesCommitted(bytesCommitted)
@@ -258,10 +248,26 @@ class ParallelStreamStatsTracker(
       .withRecordsEmitted(recordsEmitted)
       .withRecordsFilteredOut(recordsFilteredOut)
       .withBytesFilteredOut(bytesFilteredOut)
-      .withEstimatedBytes(estimatedBytes)
-      .withEstimatedRecords(estimatedRecords)
+      .withEstimatedBytes(getTotalEstimate(syncStatsCounters.estimatedBytesCount, syncStatsTotals.estimatedBytesCount))
+      .withEstimatedRecords(getTotalEstimate(syncStatsCounters.estimatedRecordCount, syncStatsTotals.estimatedRecordsCount))
   }
 
+  private fun getTotal(counter: LongAdder): Long? = if (hasNamedStreams) counter.sum() else null
+
+  /**
+   * Sync estimates are used when the source sends them, the totals of the stream estimates otherwise.
+   * Estimates are null when the source sent both kinds.
+   */
+  private fun getTotalEstimate(
+    syncEstimate: AtomicLong,
+    streamEstimatesTotal: LongAdder,
+  ): Long? =
+    when {
+      hasEstimatesErrors -> null
+      expectedEstimateType == Type.SYNC -> syncEstimate.get()
+      else -> getTotal(streamEstimatesTotal)
+    }
+
   /**
    * Return all the [StreamSyncStats] for the sync.
    *
@@ -282,32 +288,32 @@ class ParallelStreamStatsTracker(
   override fun getStreamToCommittedBytes(): Map<AirbyteStreamNameNamespacePair, Long> =
     streamTrackers
       .filterValues { it.nameNamespacePair.name != null }
-      .mapValues { it.value.streamStats.committedBytesCount.get() }
+      .mapValues { it.value.streamStats.committedBytesCount.sum() }
 
   override fun getStreamToCommittedRecords(): Map<AirbyteStreamNameNamespacePair, Long> =
     streamTrackers
       .filterValues { it.nameNamespacePair.name != null }
-      .mapValues { it.value.streamStats.committedRecordsCount.get() }
+      .mapValues { it.value.streamStats.committedRecordsCount.sum() }
 
   override fun getStreamToEmittedBytes(): Map<AirbyteStreamNameNamespacePair, Long> =
     streamTrackers
       .filterValues { it.nameNamespacePair.name != null }
-      .mapValues { it.value.streamStats.emittedBytesCount.get() }
+      .mapValues { it.value.streamStats.emittedBytesCount.sum() }
 
   override fun getStreamToEmittedRecords(): Map<AirbyteStreamNameNamespacePair, Long> =
     streamTrackers
       .filterValues { it.nameNamespacePair.name != null }
-      .mapValues { it.value.streamStats.emittedRecordsCount.get() }
+      .mapValues { it.value.streamStats.emittedRecordsCount.sum() }
 
   override fun getStreamToFilteredOutRecords(): Map<AirbyteStreamNameNamespacePair, Long> =
     streamTrackers
       .filterValues { it.nameNamespacePair.name != null }
-      .mapValues { it.value.streamStats.filteredOutRecords.get() }
+      .mapValues { it.value.streamStats.filteredOutRecords.sum() }
 
   override fun getStreamToFilteredOutBytes(): Map<AirbyteStreamNameNamespacePair, Long> =
     streamTrackers
       .filterValues { it.nameNamespacePair.name != null }
-      .mapValues { it.value.streamStats.filteredOutBytesCount.get() }
+      .mapValues { it.value.streamStats.filteredOutBytesCount.sum() }
 
   override fun getStreamToEstimatedRecords(): Map<AirbyteStreamNameNamespacePair, Long> =
     if (hasEstimatesErrors) {
@@ -327,21 +333,22 @@ class ParallelStreamStatsTracker(
         .mapValues { it.value.streamStats.estimatedBytesCount.get() }
     }
 
-  override fun getTotalRecordsEmitted(): Long = getTotalStats().recordsEmitted ?: 0
+  override fun getTotalRecordsEmitted(): Long = syncStatsTotals.emittedRecordsCount.sum()
 
-  override fun getTotalRecordsFilteredOut(): Long = getTotalStats().recordsFilteredOut ?: 0
+  override fun getTotalRecordsFilteredOut(): Long = syncStatsTotals.filteredOutRecords.sum()
 
-  override fun getTotalBytesFilteredOut(): Long = getTotalStats().bytesFilteredOut ?: 0
+  override fun getTotalBytesFilteredOut(): Long = syncStatsTotals.filteredOutBytesCount.sum()
 
-  override fun getTotalRecordsEstimated(): Long = getTotalStats().estimatedRecords ?: 0
+  override fun getTotalRecordsEstimated(): Long =
+    getTotalEstimate(syncStatsCounters.estimatedRecordCount, syncStatsTotals.estimatedRecordsCount) ?: 0
 
-  override fun getTotalBytesEmitted(): Long = getTotalStats().bytesEmitted ?: 0
+  override fun getTotalBytesEmitted(): Long = syncStatsTotals.emittedBytesCount.sum()
 
-  override fun getTotalBytesEstimated(): Long = getTotalStats().estimatedBytes ?: 0
+  override fun getTotalBytesEstimated(): Long = getTotalEstimate(syncStatsCounters.estimatedBytesCount, syncStatsTotals.estimatedBytesCount) ?: 0
 
-  override fun getTotalBytesCommitted(): Long? = getTotalStats().bytesCommitted
+  override fun getTotalBytesCommitted(): Long? = getTotal(syncStatsTotals.committedBytesCount)
 
-  override fun getTotalRecordsCommitted(): Long? = getTotalStats().recordsCommitted
+  override fun getTotalRecordsCommitted(): Long? = getTotal(syncStatsTotals.committedRecordsCount)
 
   override fun getTotalSourceStateMessagesEmitted(): Long = streamTrackers.values.sumOf { it.streamStats.sourceStateCount.get() }
 
@@ -399,17 +406,17 @@ class ParallelStreamStatsTracker(
       .withStreamNamespace(nameNamespacePair.namespace)
       .withStats(
         SyncStats()
-          .withBytesEmitted(streamStats.emittedBytesCount.get())
-          .withRecordsEmitted(streamStats.emittedRecordsCount.get())
-          .withRecordsFilteredOut(streamStats.filteredOutRecords.get())
-          .withBytesFilteredOut(streamStats.filteredOutBytesCount.get())
+          .withBytesEmitted(streamStats.emittedBytesCount.sum())
+          .withRecordsEmitted(streamStats.emittedRecordsCount.sum())
+          .withRecordsFilteredOut(streamStats.filteredOutRecords.sum())
+          .withBytesFilteredOut(streamStats.filteredOutBytesCount.sum())
           .apply {
             if (hasReplicationCompleted) {
-              withBytesCommitted(streamStats.emittedBytesCount.get().minus(bytesFilteredOut))
-              withRecordsCommitted(streamStats.emittedRecordsCount.get().minus(recordsFilteredOut))
+              withBytesCommitted(bytesEmitted.minus(bytesFilteredOut))
+              withRecordsCommitted(recordsEmitted.minus(recordsFilteredOut))
             } else {
-              withBytesCommitted(streamStats.committedBytesCount.get())
-              withRecordsCommitted(streamStats.committedRecordsCount.get())
+              withBytesCommitted(streamStats.committedBytesCount.sum())
+              withRecordsCommitted(streamStats.committedRecordsCount.sum())
             }
 
             if (hasEstimatesErrors) {
@@ -444,11 +451,17 @@ class ParallelStreamStatsTracker(
       if (replicationFeatureFlags?.logStateMsgs == true) {
         logger.info { "Creating new stats tracker for stream $pair" }
       }
+      // Stats of null streams are not reported, see getAllStreamSyncStats, so they are kept out of the totals.
+      val isNamedStream = pair.name != null
+      if (isNamedStream) {
+        hasNamedStreams = true
+      }
       // if no existing tracker exists, create a new one and also place it into the trackers map
       return StreamStatsTracker(
         nameNamespacePair = pair,
         metricClient = metricClient,
         useFileTransfer = useFileTransfer,
+        syncStatsTotals = if (isNamedStream) syncStatsTotals else null,
       ).also { streamTrackers[pair] = it }
     }
   }
@@ -1,5 +1,7 @@
 package io.airbyte.workers.internal.bookkeeping
 
+import com.fasterxml.jackson.databind.JsonNode
+import com.google.common.hash.Funnels
 import com.google.common.hash.HashFunction
 import com.google.common.util.concurrent.AtomicDouble
 import io.airbyte.commons.json.Jsons
@@ -10,6 +12,8 @@ import io.airbyte.protocol.models.AirbyteEstimateTraceMessage
 import io.airbyte.protocol.models.AirbyteRecordMessage
 import io.airbyte.protocol.models.AirbyteStateMessage
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair
+import io.airbyte.workers.internal.PreProcessedRecordData
+import io.airbyte.workers.internal.RawRecordData
 import io.airbyte.workers.models.StateWithId
 import io.github.oshai.kotlinlogging.KotlinLogging
 import java.time.LocalDateTime
@@ -19,6 +23,19 @@ import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicLong
 import java.util.concurrent.atomic.LongAccumulator
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Size of the data of a record in UTF-8 bytes, as counted by the stats. Records read as bytes or
+ * pre-processed already know the size of their data. The size of the others is computed by walking
+ * their data, which gives the same length as their serialization without serializing them.
+ */
+fun estimateDataByteSize(data: JsonNode?): Long =
+  when (data) {
+    is RawRecordData -> data.byteSize.toLong()
+    is PreProcessedRecordData -> data.byteSize
+    else -> Jsons.estimateByteSizeWithoutSerializing(data)
+  }
 
 /**
  * Track Stats for a specific stream.
@@ -33,17 +50,19 @@ import java.util.concurrent.atomic.LongAccumulator
  *
  * Data class for tracking stats of a given stream, this is also how stats are returned to the outside.
  *
- * All the counters are implemented as AtomicLong to avoid race conditions on updates.
+ * The counters updated for every record are [LongAdder]s, so that threads processing records in
+ * parallel do not contend on them. The other counters are implemented as AtomicLong to avoid race
+ * conditions on updates.
  *
  * TODO: Make internal when [ParallelStreamStatsTracker] has converted.
  */
 data class StreamStatsCounters(
-  val emittedRecordsCount: AtomicLong = AtomicLong(),
-  val filteredOutRecords: AtomicLong = AtomicLong(),
-  val filteredOutBytesCount: AtomicLong = AtomicLong(),
-  val emittedBytesCount: AtomicLong = AtomicLong(),
-  val committedRecordsCount: AtomicLong = AtomicLong(),
-  val committedBytesCount: AtomicLong = AtomicLong(),
+  val emittedRecordsCount: LongAdder = LongAdder(),
+  val filteredOutRecords: LongAdder = LongAdder(),
+  val filteredOutBytesCount: LongAdder = LongAdder(),
+  val emittedBytesCount: LongAdder = LongAdder(),
+  val committedRecordsCount: LongAdder = LongAdder(),
+  val committedBytesCount: LongAdder = LongAdder(),
   val estimatedRecordsCount: AtomicLong = AtomicLong(),
   val estimatedBytesCount: AtomicLong = AtomicLong(),
   val sourceStateCount: AtomicLong = AtomicLong(),
@@ -63,10 +82,27 @@ data class StreamStatsCounters(
  * once the state is acked by the destination.
  */
 data class EmittedStatsCounters(
-  val remittedRecordsCount: AtomicLong = AtomicLong(),
-  val emittedBytesCount: AtomicLong = AtomicLong(),
-  val filteredOutRecords: AtomicLong = AtomicLong(),
-  val filteredOutBytesCount: AtomicLong = AtomicLong(),
+  val remittedRecordsCount: LongAdder = LongAdder(),
+  val emittedBytesCount: LongAdder = LongAdder(),
+  val filteredOutRecords: LongAdder = LongAdder(),
+  val filteredOutBytesCount: LongAdder = LongAdder(),
+)
+
+/**
+ * Totals of the [StreamStatsCounters] of the streams of a sync.
+ *
+ * The totals are updated along with the counters of each stream, so that reading them doesn't
+ * require walking every stream.
+ */
+class SyncStatsTotals(
+  val emittedRecordsCount: LongAdder = LongAdder(),
+  val filteredOutRecords: LongAdder = LongAdder(),
+  val filteredOutBytesCount: LongAdder = LongAdder(),
+  val emittedBytesCount: LongAdder = LongAdder(),
+  val committedRecordsCount: LongAdder = LongAdder(),
+  val committedBytesCount: LongAdder = LongAdder(),
+  val estimatedRecordsCount: LongAdder = LongAdder(),
+  val estimatedBytesCount: LongAdder = LongAdder(),
 )
 
 /**
@@ -95,11 +131,14 @@ private val logger = KotlinLogging.logger { }
  * add the current (State, EmittedStatsCounters) to a list. When we see a state message back from
  * the destination, we pop the corresponding EmittedStatsCounters and update the global committed
  * records count.
+ * <p>
+ * When given [SyncStatsTotals], the tracker also adds what it counts to them.
  */
 class StreamStatsTracker(
   val nameNamespacePair: AirbyteStreamNameNamespacePair,
   private val metricClient: MetricClient,
   private val useFileTransfer: Boolean,
+  private val syncStatsTotals: SyncStatsTotals? = null,
 ) {
   val streamStats = StreamStatsCounters()
   private val stateIds = ConcurrentHashMap.newKeySet<Int>()
@@ -110,17 +149,31 @@ class StreamStatsTracker(
 
   fun updateFilteredOutRecordsStats(recordMessage: AirbyteRecordMessage) {
     val emittedStatsToUpdate = emittedStats
-    val filteredOutByteSize = Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+    val filteredOutByteSize = estimateDataByteSize(recordMessage.data)
     with(emittedStatsToUpdate) {
-      filteredOutRecords.incrementAndGet()
-      filteredOutBytesCount.addAndGet(filteredOutByteSize)
+      filteredOutRecords.increment()
+      filteredOutBytesCount.add(filteredOutByteSize)
     }
     with(streamStats) {
-      filteredOutRecords.incrementAndGet()
-      filteredOutBytesCount.addAndGet(filteredOutByteSize)
+      filteredOutRecords.increment()
+      filteredOutBytesCount.add(filteredOutByteSize)
+    }
+    syncStatsTotals?.run {
+      filteredOutRecords.increment()
+      filteredOutBytesCount.add(filteredOutByteSize)
     }
   }
 
+  /**
+   * The emitted stats count the data of a record before the mappers. Pre-processed records were
+   * already mapped, but they kept that size.
+   */
+  private fun estimateEmittedDataByteSize(recordMessage: AirbyteRecordMessage): Long =
+    when (val data = recordMessage.data) {
+      is PreProcessedRecordData -> data.byteSizeBeforeMappers
+      else -> estimateDataByteSize(data)
+    }
+
   /**
    * Bookkeeping for when a record message is read.
    *
@@ -132,13 +185,13 @@ class StreamStatsTracker(
     // TODO: we can probably wrap this in an extension method and encapsulate the keys somewhere as constants.
     val estimatedBytesSize: Long =
       if (!useFileTransfer) {
-        Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+        estimateEmittedDataByteSize(recordMessage)
       } else {
         recordMessage.additionalProperties["file"]?.let {
           logger.info { "Received a file transfer record: $it" }
           val fileTransferInformations = Jsons.deserialize(Jsons.serialize(it), FileTransferInformations::class.java)
           fileTransferInformations.bytes
-        } ?: Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+        } ?: estimateEmittedDataByteSize(recordMessage)
       }
 
     // Update the current emitted stats
@@ -149,14 +202,18 @@ class StreamStatsTracker(
     // acquire the write.
     val emittedStatsToUpdate = emittedStats
     with(emittedStatsToUpdate) {
-      remittedRecordsCount.incrementAndGet()
-      emittedBytesCount.addAndGet(estimatedBytesSize)
+      remittedRecordsCount.increment()
+      emittedBytesCount.add(estimatedBytesSize)
     }
 
     // Update the global stream stats
     with(streamStats) {
-      emittedRecordsCount.incrementAndGet()
-      emittedBytesCount.addAndGet(estimatedBytesSize)
+      emittedRecordsCount.increment()
+      emittedBytesCount.add(estimatedBytesSize)
+    }
+    syncStatsTotals?.run {
+      emittedRecordsCount.increment()
+      emittedBytesCount.add(estimatedBytesSize)
     }
   }
 
@@ -270,12 +327,16 @@ class StreamStatsTracker(
       stateIds.remove(stagedStats.stateId)
 
       // Increment committed stats as we are un-staging stats
-      streamStats.committedBytesCount.addAndGet(
-        stagedStats.emittedStatsCounters.emittedBytesCount.get().minus(stagedStats.emittedStatsCounters.filteredOutBytesCount.get()),
-      )
-      streamStats.committedRecordsCount.addAndGet(
-        stagedStats.emittedStatsCounters.remittedRecordsCount.get().minus(stagedStats.emittedStatsCounters.filteredOutBytesCount.get()),
-      )
+      val committedBytes =
+        stagedStats.emittedStatsCounters.emittedBytesCount.sum().minus(stagedStats.emittedStatsCounters.filteredOutBytesCount.sum())
+      val committedRecords =
+        stagedStats.emittedStatsCounters.remittedRecordsCount.sum().minus(stagedStats.emittedStatsCounters.filteredOutBytesCount.sum())
+      streamStats.committedBytesCount.add(committedBytes)
+      streamStats.committedRecordsCount.add(committedRecords)
+      syncStatsTotals?.run {
+        committedBytesCount.add(committedBytes)
+        committedRecordsCount.add(committedRecords)
+      }
 
       if (stagedStats.stateId == stateId) {
         break
@@ -298,14 +359,18 @@ class StreamStatsTracker(
   /**
    * Bookkeeping for when we see an estimate message.
    */
-  fun trackEstimates(msg: AirbyteEstimateTraceMessage): Unit =
-    with(streamStats) {
-      estimatedBytesCount.set(msg.byteEstimate)
-      estimatedRecordsCount.set(msg.rowEstimate)
+  fun trackEstimates(msg: AirbyteEstimateTraceMessage) {
+    val previousBytesEstimate = streamStats.estimatedBytesCount.getAndSet(msg.byteEstimate)
+    val previousRecordsEstimate = streamStats.estimatedRecordsCount.getAndSet(msg.rowEstimate)
+    // The new estimates replace the previous ones in the totals as well.
+    syncStatsTotals?.run {
+      estimatedBytesCount.add(msg.byteEstimate - previousBytesEstimate)
+      estimatedRecordsCount.add(msg.rowEstimate - previousRecordsEstimate)
     }
+  }
 
   fun getTrackedEmittedRecordsSinceLastStateMessage(): Long {
-    return previousEmittedStats.remittedRecordsCount.get()
+    return previousEmittedStats.remittedRecordsCount.sum()
   }
 
   fun getTrackedEmittedRecordsSinceLastStateMessage(stateMessage: AirbyteStateMessage): Long {
@@ -314,7 +379,7 @@ class StreamStatsTracker(
     if (stagedStats == null) {
       logger.warn { "Could not find the state message with id $stateId in the stagedStatsList" }
     }
-    return stagedStats?.emittedStatsCounters?.remittedRecordsCount?.get() ?: 0
+    return stagedStats?.emittedStatsCounters?.remittedRecordsCount?.sum() ?: 0
   }
 
   fun getTrackedFilteredOutRecordsSinceLastStateMessage(stateMessage: AirbyteStateMessage): Long {
@@ -323,7 +388,7 @@ class StreamStatsTracker(
     if (stagedStats == null) {
       logger.warn { "Could not find the state message with id $stateId in the stagedStatsList" }
     }
-    return stagedStats?.emittedStatsCounters?.filteredOutRecords?.get() ?: 0
+    return stagedStats?.emittedStatsCounters?.filteredOutRecords?.sum() ?: 0
   }
 
   fun areStreamStatsReliable(): Boolean {
@@ -331,13 +396,22 @@ class StreamStatsTracker(
   }
 }
 
-fun AirbyteStateMessage.getStateHashCode(hashFunction: HashFunction): Int =
-  when (type) {
-    AirbyteStateMessage.AirbyteStateType.GLOBAL -> hashFunction.hashBytes(Jsons.serialize(global).toByteArray()).hashCode()
-    AirbyteStateMessage.AirbyteStateType.STREAM -> hashFunction.hashBytes(Jsons.serialize(stream.streamState).toByteArray()).hashCode()
-    // state type is legacy
-    else -> hashFunction.hashBytes(Jsons.serialize(data).toByteArray()).hashCode()
-  }
+/**
+ * Hash of the state, without its stats. The state is serialized straight into the hasher, which
+ * gives the hash of its JSON without building the JSON string.
+ */
+fun AirbyteStateMessage.getStateHashCode(hashFunction: HashFunction): Int {
+  val state: Any? =
+    when (type) {
+      AirbyteStateMessage.AirbyteStateType.GLOBAL -> global
+      AirbyteStateMessage.AirbyteStateType.STREAM -> stream.streamState
+      // state type is legacy
+      else -> data
+    }
+  val hasher = hashFunction.newHasher()
+  Jsons.serialize(state, Funnels.asOutputStream(hasher))
+  return hasher.hash().hashCode()
+}
 
 fun AirbyteStateMessage.getStateIdForStatsTracking(): Int = StateWithId.getIdFromStateMessage(this)
 
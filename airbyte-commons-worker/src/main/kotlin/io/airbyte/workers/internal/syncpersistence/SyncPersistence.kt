@@ -1,5 +1,6 @@
 package io.airbyte.workers.internal.syncpersistence
 
+import com.fasterxml.jackson.databind.JsonNode
 import datadog.trace.api.Trace
 import io.airbyte.api.client.AirbyteApiClient
 import io.airbyte.api.client.model.generated.AttemptStats
@@ -7,6 +8,8 @@ import io.airbyte.api.client.model.generated.AttemptStreamStats
 import io.airbyte.api.client.model.generated.ConnectionStateCreateOrUpdate
 import io.airbyte.api.client.model.generated.SaveStatsRequestBody
 import io.airbyte.commons.converters.StateConverter
+import io.airbyte.config.StateType
+import io.airbyte.config.StateWrapper
 import io.airbyte.config.SyncStats
 import io.airbyte.config.helpers.StateMessageHelper
 import io.airbyte.metrics.lib.MetricAttribute
@@ -15,8 +18,11 @@ import io.airbyte.metrics.lib.MetricClientFactory
 import io.airbyte.metrics.lib.MetricTags
 import io.airbyte.metrics.lib.OssMetricsRegistry
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage
+import io.airbyte.protocol.models.AirbyteGlobalState
 import io.airbyte.protocol.models.AirbyteRecordMessage
 import io.airbyte.protocol.models.AirbyteStateMessage
+import io.airbyte.protocol.models.AirbyteStreamState
+import io.airbyte.protocol.models.StreamDescriptor
 import io.airbyte.workers.internal.bookkeeping.SyncStatsTracker
 import io.airbyte.workers.internal.bookkeeping.getPerStreamStats
 import io.airbyte.workers.internal.bookkeeping.getTotalStats
@@ -76,6 +82,12 @@ class SyncPersistenceImpl
     private var statsToPersist: SaveStatsRequestBody? = null
     private var retryWithJitterConfig: RetryWithJitterConfig? = null
 
+    // States as of the last successful flush, used to only send the streams whose state changed since then.
+    private val persistedStreamStates = mutableMapOf<StreamDescriptor, JsonNode?>()
+    private var persistedSharedState: JsonNode? = null
+    private var hasPersistedSharedState = false
+    private var persistedStateType: StateType? = null
+
     constructor(
       airbyteApiClient: AirbyteApiClient,
       stateAggregatorFactory: StateAggregatorFactory,
@@ -262,24 +274,100 @@ class SyncPersistenceImpl
 
       val state = stateToFlush?.getAggregated() ?: return
       val maybeStateWrapper = StateMessageHelper.getTypedState(state.state).getOrNull() ?: return
+      val stateDelta = toStateDelta(maybeStateWrapper)
+      if (stateDelta == null) {
+        // Every state has already been persisted by a previous flush
+        stateToFlush = null
+        return
+      }
 
       metricClient.count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT, 1)
 
       val stateApiRequest =
-        ConnectionStateCreateOrUpdate(connectionId = connectionId, connectionState = StateConverter.toClient(connectionId, maybeStateWrapper))
+        ConnectionStateCreateOrUpdate(connectionId = connectionId, connectionState = StateConverter.toClient(connectionId, stateDelta))
 
       try {
         airbyteApiClient.stateApi.createOrUpdateState(stateApiRequest)
       } catch (e: Exception) {
         metricClient.count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_FAILED, 1)
+        // We don't know what the server kept from a failed write, the next flush sends every stream again.
+        forgetPersistedStates()
         throw e
       }
 
       // Only reset stateToFlush if the API call was successful
       stateToFlush = null
+      markAsPersisted(stateDelta)
       metricClient.count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_SUCCESSFUL, 1)
     }
 
+    /**
+     * Drop the stream states that are unchanged since the last successful flush. The server only updates the streams that are part
+     * of a state update and keeps the others as they are, so the streams that didn't move don't need to be sent again.
+     *
+     * The delta is a new state, the aggregated state is left untouched so that it can be sent again if the flush fails.
+     *
+     * @return the state to send, or null if nothing changed
+     */
+    private fun toStateDelta(stateWrapper: StateWrapper): StateWrapper? {
+      if (stateWrapper.stateType != persistedStateType) {
+        // What was persisted with another state type tells nothing about the streams of this one.
+        forgetPersistedStates()
+      }
+      return when (stateWrapper.stateType) {
+        StateType.STREAM -> {
+          val changedStateMessages = stateWrapper.stateMessages.filter { it.stream == null || isChanged(it.stream) }
+          if (changedStateMessages.isEmpty()) {
+            null
+          } else {
+            StateWrapper().withStateType(StateType.STREAM).withStateMessages(changedStateMessages)
+          }
+        }
+        StateType.GLOBAL -> {
+          val globalState = stateWrapper.global.global
+          val changedStreamStates = globalState.streamStates.filter { isChanged(it) }
+          val isSharedStateChanged = !hasPersistedSharedState || globalState.sharedState != persistedSharedState
+          if (changedStreamStates.isEmpty() && !isSharedStateChanged) {
+            null
+          } else {
+            StateWrapper()
+              .withStateType(StateType.GLOBAL)
+              .withGlobal(
+                AirbyteStateMessage()
+                  .withType(stateWrapper.global.type)
+                  .withGlobal(AirbyteGlobalState().withSharedState(globalState.sharedState).withStreamStates(changedStreamStates)),
+              )
+          }
+        }
+        else -> stateWrapper
+      }
+    }
+
+    private fun isChanged(streamState: AirbyteStreamState): Boolean =
+      !persistedStreamStates.containsKey(streamState.streamDescriptor) ||
+        persistedStreamStates[streamState.streamDescriptor] != streamState.streamState
+
+    private fun markAsPersisted(stateDelta: StateWrapper) {
+      when (stateDelta.stateType) {
+        StateType.STREAM -> stateDelta.stateMessages.mapNotNull { it.stream }.forEach { persistedStreamStates[it.streamDescriptor] = it.streamState }
+        StateType.GLOBAL -> {
+          val globalState = stateDelta.global.global
+          globalState.streamStates.forEach { persistedStreamStates[it.streamDescriptor] = it.streamState }
+          persistedSharedState = globalState.sharedState
+          hasPersistedSharedState = true
+        }
+        else -> {}
+      }
+      persistedStateType = stateDelta.stateType
+    }
+
+    private fun forgetPersistedStates() {
+      persistedStreamStates.clear()
+      persistedSharedState = null
+      hasPersistedSharedState = false
+      persistedStateType = null
+    }
+
     private fun doFlushStats() {
       if (!hasStatsToFlush()) {
         return
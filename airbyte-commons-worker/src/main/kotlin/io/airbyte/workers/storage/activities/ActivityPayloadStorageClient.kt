@@ -2,6 +2,7 @@ package io.airbyte.workers.storage.activities
 
 import io.airbyte.commons.json.JsonSerde
 import io.airbyte.commons.storage.StorageClient
+import io.airbyte.commons.storage.writeStream
 import io.airbyte.metrics.lib.ApmTraceUtils
 import io.airbyte.metrics.lib.MetricAttribute
 import io.airbyte.metrics.lib.MetricClient
@@ -42,8 +43,8 @@ class ActivityPayloadStorageClient(
   ): T? {
     metricClient.count(OssMetricsRegistry.ACTIVITY_PAYLOAD_READ_FROM_DOC_STORE, 1)
 
-    return storageClientRaw.read(uri.id)
-      ?.let { jsonSerde.deserialize(it, target) }
+    return storageClientRaw.readStream(uri.id)
+      ?.use { jsonSerde.deserialize(it, target) }
   }
 
   /**
@@ -58,7 +59,8 @@ class ActivityPayloadStorageClient(
   ) {
     metricClient.count(OssMetricsRegistry.ACTIVITY_PAYLOAD_WRITTEN_TO_DOC_STORE, 1)
 
-    return storageClientRaw.write(uri.id, jsonSerde.serialize(payload))
+    // The payload is streamed to the object store, and only committed once it is fully serialized.
+    return storageClientRaw.writeStream(uri.id) { jsonSerde.serialize(payload, it) }
   }
 
   /**
@@ -1,5 +1,8 @@
 package io.airbyte.workers.sync
 
+import dev.failsafe.Failsafe
+import dev.failsafe.RetryPolicy
+import dev.failsafe.function.CheckedSupplier
 import io.airbyte.commons.temporal.HeartbeatUtils
 import io.airbyte.config.ConnectorJobOutput
 import io.airbyte.config.FailureReason
@@ -10,26 +13,62 @@ import io.airbyte.workload.api.client.model.generated.Workload
 import io.airbyte.workload.api.client.model.generated.WorkloadCancelRequest
 import io.airbyte.workload.api.client.model.generated.WorkloadCreateRequest
 import io.airbyte.workload.api.client.model.generated.WorkloadStatus
+import io.airbyte.workload.api.client.model.generated.WorkloadTerminalListRequest
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.http.HttpStatus
 import io.temporal.activity.ActivityExecutionContext
 import jakarta.inject.Singleton
 import org.openapitools.client.infrastructure.ClientException
 import java.io.IOException
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicReference
-import kotlin.time.Duration.Companion.seconds
 
 private val logger = KotlinLogging.logger { }
 
 /**
  * WorkloadClient that abstracts common interactions with the workload-api.
  * This client should be preferred over direct usage of the WorkloadApiClient.
+ *
+ * Workloads being waited on are polled together by a single thread, asking the workload-api which of them are terminal
+ * in one request rather than getting each workload on its own. This saves requests, not threads: the callers of
+ * [waitForWorkload] still block on the completion of their workload.
  */
 @Singleton
 class WorkloadClient(private val workloadApiClient: WorkloadApiClient, private val jobOutputDocStore: JobOutputDocStore) {
   companion object {
     const val CANCELLATION_SOURCE_STR = "Cancellation callback."
     val TERMINAL_STATUSES = setOf(WorkloadStatus.SUCCESS, WorkloadStatus.FAILURE, WorkloadStatus.CANCELLED)
+
+    // Keeps the request body and the query of the workload-api bounded when many workloads are in flight.
+    const val MAX_WORKLOADS_PER_POLL = 1000
+
+    // How long the workload-api may be unreachable before a workload being waited on fails, unless told otherwise.
+    val DEFAULT_POLL_TIMEOUT: Duration = Duration.ofMinutes(5)
+
+    // Failed polls are retried after the polling frequency, doubled on each consecutive failure up to this delay.
+    private val MAX_POLL_BACKOFF = Duration.ofMinutes(1)
+
+    private val RETRY_DELAY = Duration.ofSeconds(30)
+  }
+
+  private val pendingWorkloads = ConcurrentHashMap<String, PendingWorkload>()
+  private val pollScheduled = AtomicBoolean(false)
+
+  // Only updated by the poller thread.
+  @Volatile
+  private var consecutiveFailedPolls = 0
+  private val poller: ScheduledExecutorService by lazy {
+    Executors.newSingleThreadScheduledExecutor { runnable ->
+      Thread(runnable, "workload-completion-poller").apply { isDaemon = true }
+    }
   }
 
   fun createWorkload(workloadCreateRequest: WorkloadCreateRequest) {
@@ -59,18 +98,199 @@ class WorkloadClient(private val workloadApiClient: WorkloadApiClient, private v
     pollingFrequencyInSeconds: Int,
   ) {
     try {
-      var workload = workloadApiClient.workloadApi.workloadGet(workloadId)
-      while (!isWorkloadTerminal(workload)) {
-        Thread.sleep(pollingFrequencyInSeconds.seconds.inWholeMilliseconds)
-        workload = workloadApiClient.workloadApi.workloadGet(workloadId)
-      }
-    } catch (e: IOException) {
-      throw RuntimeException(e)
+      workloadCompletion(workloadId, pollingFrequencyInSeconds).get()
+    } catch (e: ExecutionException) {
+      throw RuntimeException(e.cause)
     } catch (e: InterruptedException) {
       throw RuntimeException(e)
     }
   }
 
+  /**
+   * Returns a future completed with the workload once it reaches a terminal status. The pending workloads are polled
+   * together, at the smallest polling frequency requested for them.
+   *
+   * @param pollTimeout how long the workload-api may be unreachable before the future fails. The first get of the
+   * workload is retried for as long, except on client errors. Polls that fail are retried with a backoff, and only fail
+   * the workloads that were not polled successfully for their own timeout.
+   */
+  @JvmOverloads
+  fun workloadCompletion(
+    workloadId: String,
+    pollingFrequencyInSeconds: Int,
+    pollTimeout: Duration = DEFAULT_POLL_TIMEOUT,
+  ): CompletableFuture<Workload> {
+    // Fails fast if the workload doesn't exist, and avoids waiting for the next poll if it is already done.
+    val workload =
+      try {
+        getWorkloadWithRetry(workloadId, pollTimeout)
+      } catch (e: Exception) {
+        return CompletableFuture.failedFuture(e)
+      }
+    if (isWorkloadTerminal(workload)) {
+      return CompletableFuture.completedFuture(workload)
+    }
+    logStatus(workload)
+
+    val pendingWorkload =
+      pendingWorkloads.computeIfAbsent(workloadId) {
+        PendingWorkload(CompletableFuture(), pollingFrequencyInSeconds, pollTimeout, Instant.now(), workload.status)
+      }
+    schedulePoll()
+    return pendingWorkload.completion
+  }
+
+  /**
+   * Same retries as the other workload-api calls of the workers, which only give up after the heartbeat timeout.
+   */
+  private fun getWorkloadWithRetry(
+    workloadId: String,
+    timeout: Duration,
+  ): Workload {
+    if (timeout.isZero) {
+      return workloadApiClient.workloadApi.workloadGet(workloadId)
+    }
+    return Failsafe.with(
+      RetryPolicy.builder<Workload>()
+        .abortOn(ClientException::class.java)
+        .withDelay(RETRY_DELAY)
+        .withMaxDuration(timeout)
+        .build(),
+    ).get(CheckedSupplier { workloadApiClient.workloadApi.workloadGet(workloadId) })
+  }
+
+  private fun schedulePoll() {
+    if (pendingWorkloads.isEmpty() || !pollScheduled.compareAndSet(false, true)) {
+      return
+    }
+    // The workloads may have completed in the meantime, which costs at most one empty poll.
+    val pollingFrequencyInSeconds = pendingWorkloads.values.minOfOrNull { it.pollingFrequencyInSeconds } ?: 1
+    poller.schedule(::pollPendingWorkloads, getPollDelayInSeconds(pollingFrequencyInSeconds), TimeUnit.SECONDS)
+  }
+
+  private fun getPollDelayInSeconds(pollingFrequencyInSeconds: Int): Long {
+    val failedPolls = consecutiveFailedPolls
+    if (failedPolls == 0) {
+      return pollingFrequencyInSeconds.toLong()
+    }
+    return minOf(MAX_POLL_BACKOFF.seconds, pollingFrequencyInSeconds.toLong() shl minOf(failedPolls, 16))
+      .coerceAtLeast(pollingFrequencyInSeconds.toLong())
+  }
+
+  private fun pollPendingWorkloads() {
+    try {
+      val failedPolls = pendingWorkloads.keys.toList().chunked(MAX_WORKLOADS_PER_POLL).count { !pollWorkloads(it) }
+      consecutiveFailedPolls = if (failedPolls > 0) consecutiveFailedPolls + 1 else 0
+    } finally {
+      pollScheduled.set(false)
+      schedulePoll()
+    }
+  }
+
+  /**
+   * @return whether the workload-api could be polled
+   */
+  private fun pollWorkloads(workloadIds: List<String>): Boolean {
+    val pollTime = Instant.now()
+    val pollResult =
+      try {
+        getTerminalWorkloads(workloadIds)
+      } catch (e: Exception) {
+        logger.warn(e) { "Failed to poll the status of ${workloadIds.size} workloads, retrying with a backoff." }
+        failTimedOutWorkloads(workloadIds, pollTime, e)
+        return false
+      }
+
+    pollResult.terminalWorkloads.forEach { workload ->
+      pendingWorkloads.remove(workload.id)?.completion?.complete(workload)
+    }
+    pollResult.notFoundWorkloadIds.forEach { workloadId ->
+      pendingWorkloads.remove(workloadId)?.completion?.completeExceptionally(
+        ClientException(message = "Workload $workloadId was not found", statusCode = HttpStatus.NOT_FOUND.code),
+      )
+    }
+    workloadIds.forEach { workloadId ->
+      pendingWorkloads[workloadId]?.let {
+        it.lastSuccessfulPoll = pollTime
+        updateStatus(it, workloadId, pollResult.statuses[workloadId])
+      }
+    }
+    return true
+  }
+
+  private fun failTimedOutWorkloads(
+    workloadIds: List<String>,
+    pollTime: Instant,
+    cause: Exception,
+  ) {
+    workloadIds.forEach { workloadId ->
+      val pendingWorkload = pendingWorkloads[workloadId] ?: return@forEach
+      if (Duration.between(pendingWorkload.lastSuccessfulPoll, pollTime) >= pendingWorkload.pollTimeout) {
+        logger.error { "Workload $workloadId could not be polled for ${pendingWorkload.pollTimeout}, giving up." }
+        pendingWorkloads.remove(workloadId)?.completion?.completeExceptionally(cause)
+      }
+    }
+  }
+
+  /**
+   * The terminal list doesn't say what the other workloads are doing, their status is only known when the workloads are
+   * got one at a time. Workloads are mostly running, which isn't worth logging, so only the other changes are logged.
+   */
+  private fun updateStatus(
+    pendingWorkload: PendingWorkload,
+    workloadId: String,
+    status: WorkloadStatus?,
+  ) {
+    if (status == null || status == pendingWorkload.lastKnownStatus) {
+      return
+    }
+    pendingWorkload.lastKnownStatus = status
+    if (status != WorkloadStatus.RUNNING) {
+      logger.info { "Workload $workloadId is $status" }
+    }
+  }
+
+  private fun logStatus(workload: Workload) {
+    if (workload.status != WorkloadStatus.RUNNING) {
+      logger.info { "Workload ${workload.id} is ${workload.status}" }
+    }
+  }
+
+  /**
+   * Falls back to getting the workloads one at a time if the workload-api can't list the terminal ones, e.g. while it
+   * runs an older version.
+   */
+  private fun getTerminalWorkloads(workloadIds: List<String>): PollResult {
+    try {
+      val response = workloadApiClient.workloadApi.workloadListTerminal(WorkloadTerminalListRequest(workloadIds))
+      return PollResult(response.workloads, response.notFoundWorkloadIds ?: listOf(), mapOf())
+    } catch (e: ClientException) {
+      if (e.statusCode != HttpStatus.NOT_FOUND.code) {
+        throw e
+      }
+    }
+
+    val terminalWorkloads = mutableListOf<Workload>()
+    val notFoundWorkloadIds = mutableListOf<String>()
+    val statuses = mutableMapOf<String, WorkloadStatus>()
+    workloadIds.forEach { workloadId ->
+      try {
+        val workload = workloadApiClient.workloadApi.workloadGet(workloadId)
+        if (isWorkloadTerminal(workload)) {
+          terminalWorkloads.add(workload)
+        } else {
+          workload.status?.let { statuses[workloadId] = it }
+        }
+      } catch (e: ClientException) {
+        if (e.statusCode != HttpStatus.NOT_FOUND.code) {
+          throw e
+        }
+        notFoundWorkloadIds.add(workloadId)
+      }
+    }
+    return PollResult(terminalWorkloads, notFoundWorkloadIds, statuses)
+  }
+
   fun getConnectorJobOutput(
     workloadId: String,
     onFailure: (FailureReason) -> ConnectorJobOutput,
@@ -175,4 +395,19 @@ class WorkloadClient(private val workloadApiClient: WorkloadApiClient, private v
   }
 
   private fun isWorkloadTerminal(workload: Workload): Boolean = workload.status in TERMINAL_STATUSES
+
+  private class PendingWorkload(
+    val completion: CompletableFuture<Workload>,
+    val pollingFrequencyInSeconds: Int,
+    val pollTimeout: Duration,
+    // Only updated by the poller thread
+    var lastSuccessfulPoll: Instant,
+    var lastKnownStatus: WorkloadStatus?,
+  )
+
+  private data class PollResult(
+    val terminalWorkloads: List<Workload>,
+    val notFoundWorkloadIds: List<String>,
+    val statuses: Map<String, WorkloadStatus>,
+  )
 }
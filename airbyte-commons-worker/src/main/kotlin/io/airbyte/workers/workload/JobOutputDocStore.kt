@@ -2,6 +2,7 @@ package io.airbyte.workers.workload
 
 import io.airbyte.commons.json.Jsons
 import io.airbyte.commons.storage.StorageClient
+import io.airbyte.commons.storage.writeStream
 import io.airbyte.config.ConnectorJobOutput
 import io.airbyte.config.ReplicationOutput
 import io.airbyte.metrics.lib.MetricAttribute
@@ -20,14 +21,14 @@ class JobOutputDocStore(
 ) {
   @Throws(DocStoreAccessException::class)
   fun read(workloadId: String): Optional<ConnectorJobOutput> {
-    val output: String? =
+    val output: ConnectorJobOutput? =
       try {
-        storageClient.read(workloadId)
+        readOutput(workloadId = workloadId, target = ConnectorJobOutput::class.java)
       } catch (e: Exception) {
         throw DocStoreAccessException("Unable to read output for $workloadId", e)
       }
 
-    return Optional.ofNullable(output?.let { Jsons.deserialize(it, ConnectorJobOutput::class.java) })
+    return Optional.ofNullable(output)
   }
 
   @Throws(DocStoreAccessException::class)
@@ -40,16 +41,16 @@ class JobOutputDocStore(
 
   @Throws(DocStoreAccessException::class)
   fun readSyncOutput(workloadId: String): Optional<ReplicationOutput> {
-    val output: String? =
+    val output: ReplicationOutput? =
       try {
-        storageClient.read(workloadId).also {
+        readOutput(workloadId = workloadId, target = ReplicationOutput::class.java).also {
           metricClient.count(OssMetricsRegistry.JOB_OUTPUT_READ, 1, MetricAttribute(MetricTags.STATUS, "success"))
         }
       } catch (e: Exception) {
         metricClient.count(OssMetricsRegistry.JOB_OUTPUT_READ, 1, MetricAttribute(MetricTags.STATUS, "error"))
         throw DocStoreAccessException("Unable to read output for $workloadId", e)
       }
-    return Optional.ofNullable(output?.let { Jsons.deserialize(it, ReplicationOutput::class.java) })
+    return Optional.ofNullable(output)
   }
 
   @Throws(DocStoreAccessException::class)
@@ -60,12 +61,21 @@ class JobOutputDocStore(
     writeOutput(workloadId = workloadId, output = connectorJobOutput)
   }
 
+  /**
+   * Deserializes the output as it is downloaded, since sync outputs can be too large to be held in memory as a string.
+   */
+  private fun <T> readOutput(
+    workloadId: String,
+    target: Class<T>,
+  ): T? = storageClient.readStream(workloadId)?.use { Jsons.deserialize(it, target) }
+
   private fun writeOutput(
     workloadId: String,
     output: Any,
   ) {
     try {
-      storageClient.write(workloadId, Jsons.serialize(output))
+      // The output is only committed once it is fully serialized.
+      storageClient.writeStream(workloadId) { Jsons.serialize(output, it) }
       metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "success"))
     } catch (e: Exception) {
       metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "error"))
@@ -5,6 +5,7 @@
 package io.airbyte.workers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import io.airbyte.commons.resources.MoreResources;
 import io.airbyte.config.StandardSync;
@@ -13,6 +14,8 @@ import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteStream;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.Jsons;
+import io.airbyte.validation.json.JsonSchemaValidator;
+import io.airbyte.workers.RecordSchemaValidator.SamplingConfiguration;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import io.airbyte.workers.test_utils.TestConfigHelpers;
 import java.io.IOException;
@@ -119,4 +122,67 @@ class RecordSchemaValidatorTest {
     assertEquals(0, uncountedValidationErrors.size());
   }
 
+  @Test
+  void testValidateInBatchesOnSeveralWorkers() throws InterruptedException {
+    final var executorService = Executors.newFixedThreadPool(4);
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()), executorService,
+        new JsonSchemaValidator(), SamplingConfiguration.VALIDATE_ALL, 4, 10_000, 10);
+
+    for (int i = 0; i < 1000; i++) {
+      recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+    }
+
+    executorService.shutdown();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+    assertEquals(1000, (int) validationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).getRight());
+    assertEquals(0, recordSchemaValidator.getDroppedRecordCount());
+  }
+
+  @Test
+  void testDropRecordsWhenValidationCannotKeepUp() {
+    // Nothing drains the pending records.
+    final var executorService = Executors.newFixedThreadPool(1);
+    executorService.shutdown();
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()), executorService,
+        new JsonSchemaValidator(), SamplingConfiguration.VALIDATE_ALL, 1, 2, 10);
+
+    for (int i = 0; i < 5; i++) {
+      recordSchemaValidator.validateSchemaWithoutCounting(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR,
+          uncountedValidationErrors);
+    }
+
+    assertEquals(3, recordSchemaValidator.getDroppedRecordCount());
+  }
+
+  @Test
+  void testSampling() {
+    final var otherStream = new AirbyteStreamNameNamespacePair("other", null);
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(replicationInput.getCatalog()),
+        new SamplingConfiguration(0.5, Map.of(otherStream, 0.0)), 1);
+
+    final List<Boolean> sampled = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      sampled.add(recordSchemaValidator.shouldValidate(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR));
+    }
+
+    assertEquals(List.of(true, false, true, false), sampled);
+    assertFalse(recordSchemaValidator.shouldValidate(otherStream));
+  }
+
+  @Test
+  void testSamplingConfigurationFromJson() {
+    final var users = new AirbyteStreamNameNamespacePair("users", "public");
+    final var orders = new AirbyteStreamNameNamespacePair("orders", null);
+    final var events = new AirbyteStreamNameNamespacePair("events", "public");
+
+    final SamplingConfiguration configuration =
+        SamplingConfiguration.fromJson("{\"*\": 0.01, \"public.users\": 1.0, \"orders\": 0.5}", Set.of(users, orders, events));
+
+    assertEquals(1.0, configuration.rateFor(users), 0.0);
+    assertEquals(0.5, configuration.rateFor(orders), 0.0);
+    assertEquals(0.01, configuration.rateFor(events), 0.0);
+    assertEquals(SamplingConfiguration.VALIDATE_ALL, SamplingConfiguration.fromJson("", Set.of(users)));
+    assertEquals(SamplingConfiguration.VALIDATE_ALL, SamplingConfiguration.fromJson("not json", Set.of(users)));
+  }
+
 }
@@ -9,41 +9,43 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import io.airbyte.api.client.AirbyteApiClient;
-import io.airbyte.api.client.generated.ActorDefinitionVersionApi;
 import io.airbyte.api.client.generated.AttemptApi;
-import io.airbyte.api.client.generated.ConnectionApi;
-import io.airbyte.api.client.generated.DestinationApi;
 import io.airbyte.api.client.generated.JobsApi;
-import io.airbyte.api.client.generated.SecretsPersistenceConfigApi;
 import io.airbyte.api.client.generated.StateApi;
 import io.airbyte.api.client.model.generated.AirbyteCatalog;
 import io.airbyte.api.client.model.generated.AirbyteStream;
 import io.airbyte.api.client.model.generated.AirbyteStreamAndConfiguration;
 import io.airbyte.api.client.model.generated.AirbyteStreamConfiguration;
 import io.airbyte.api.client.model.generated.CatalogDiff;
-import io.airbyte.api.client.model.generated.ConnectionAndJobIdRequestBody;
-import io.airbyte.api.client.model.generated.ConnectionIdRequestBody;
 import io.airbyte.api.client.model.generated.ConnectionRead;
 import io.airbyte.api.client.model.generated.ConnectionState;
 import io.airbyte.api.client.model.generated.ConnectionStatus;
-import io.airbyte.api.client.model.generated.DestinationRead;
 import io.airbyte.api.client.model.generated.DestinationSyncMode;
 import io.airbyte.api.client.model.generated.FieldTransform;
 import io.airbyte.api.client.model.generated.JobConfigType;
 import io.airbyte.api.client.model.generated.JobOptionalRead;
 import io.airbyte.api.client.model.generated.JobRead;
 import io.airbyte.api.client.model.generated.JobStatus;
+import io.airbyte.api.client.model.generated.ReplicationHydrationContextRead;
+import io.airbyte.api.client.model.generated.ReplicationHydrationContextRequestBody;
 import io.airbyte.api.client.model.generated.ResetConfig;
 import io.airbyte.api.client.model.generated.ResolveActorDefinitionVersionResponse;
 import io.airbyte.api.client.model.generated.SaveStreamAttemptMetadataRequestBody;
 import io.airbyte.api.client.model.generated.SchemaChangeBackfillPreference;
+import io.airbyte.api.client.model.generated.ScopeType;
+import io.airbyte.api.client.model.generated.SecretPersistenceConfig;
+import io.airbyte.api.client.model.generated.SecretPersistenceType;
 import io.airbyte.api.client.model.generated.StreamAttemptMetadata;
 import io.airbyte.api.client.model.generated.StreamDescriptor;
 import io.airbyte.api.client.model.generated.StreamTransform;
@@ -61,6 +63,7 @@ import io.airbyte.config.helpers.FieldGenerator;
 import io.airbyte.config.helpers.StateMessageHelper;
 import io.airbyte.config.secrets.SecretsRepositoryReader;
 import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.persistence.job.models.JobRunConfig;
 import io.airbyte.workers.exception.WorkerException;
@@ -176,30 +179,12 @@ class ReplicationInputHydratorTest {
                   null,
                   null)),
                   List.of()))));
-  private static final DestinationRead DESTINATION_READ = new DestinationRead(
-      UUID.randomUUID(),
-      UUID.randomUUID(),
-      UUID.randomUUID(),
-      Jsons.emptyObject(),
-      "name",
-      "destinationName",
-      1L,
-      "icon",
-      false,
-      null,
-      null,
-      null);
-
   private static SecretsRepositoryReader secretsRepositoryReader;
   private static MapperSecretHydrationHelper mapperSecretHydrationHelper;
   private static AirbyteApiClient airbyteApiClient;
-  private static ConnectionApi connectionApi;
   private static StateApi stateApi;
   private static JobsApi jobsApi;
-  private SecretsPersistenceConfigApi secretsPersistenceConfigApi;
-  private ActorDefinitionVersionApi actorDefinitionVersionApi;
   private AttemptApi attemptApi;
-  private DestinationApi destinationApi;
   private ResumableFullRefreshStatsHelper resumableFullRefreshStatsHelper;
   private BackfillHelper backfillHelper;
   private CatalogClientConverters catalogClientConverters;
@@ -211,31 +196,24 @@ class ReplicationInputHydratorTest {
     mapperSecretHydrationHelper = mock(MapperSecretHydrationHelper.class);
     airbyteApiClient = mock(AirbyteApiClient.class);
     attemptApi = mock(AttemptApi.class);
-    connectionApi = mock(ConnectionApi.class);
     stateApi = mock(StateApi.class);
     jobsApi = mock(JobsApi.class);
-    secretsPersistenceConfigApi = mock(SecretsPersistenceConfigApi.class);
-    actorDefinitionVersionApi = mock(ActorDefinitionVersionApi.class);
-    destinationApi = mock(DestinationApi.class);
     resumableFullRefreshStatsHelper = mock(ResumableFullRefreshStatsHelper.class);
     catalogClientConverters = new CatalogClientConverters(new FieldGenerator(), Collections.emptyList());
     backfillHelper = new BackfillHelper(catalogClientConverters);
     metricClient = mock(MetricClient.class);
-    when(destinationApi.getBaseUrl()).thenReturn("http://localhost:8001/api");
-    when(destinationApi.getDestination(any())).thenReturn(DESTINATION_READ);
+    when(jobsApi.getBaseUrl()).thenReturn("http://localhost:8001/api");
     when(airbyteApiClient.getAttemptApi()).thenReturn(attemptApi);
-    when(airbyteApiClient.getConnectionApi()).thenReturn(connectionApi);
-    when(airbyteApiClient.getDestinationApi()).thenReturn(destinationApi);
     when(airbyteApiClient.getStateApi()).thenReturn(stateApi);
     when(airbyteApiClient.getJobsApi()).thenReturn(jobsApi);
-    when(airbyteApiClient.getSecretPersistenceConfigApi()).thenReturn(secretsPersistenceConfigApi);
-    when(airbyteApiClient.getActorDefinitionVersionApi()).thenReturn(actorDefinitionVersionApi);
-    when(airbyteApiClient.getDestinationApi()).thenReturn(destinationApi);
-    when(stateApi.getState(new ConnectionIdRequestBody(CONNECTION_ID))).thenReturn(CONNECTION_STATE_RESPONSE);
     when(mapperSecretHydrationHelper.hydrateMapperSecrets(any(), anyBoolean(), any())).thenAnswer(invocation -> invocation.getArgument(0));
   }
 
   private ReplicationInputHydrator getReplicationInputHydrator() {
+    return getReplicationInputHydrator(useRuntimePersistence);
+  }
+
+  private ReplicationInputHydrator getReplicationInputHydrator(final boolean useRuntimeSecretPersistence) {
     return new ReplicationInputHydrator(
         airbyteApiClient,
         resumableFullRefreshStatsHelper,
@@ -245,7 +223,7 @@ class ReplicationInputHydratorTest {
         catalogClientConverters,
         new ReplicationInputMapper(),
         metricClient,
-        useRuntimePersistence);
+        useRuntimeSecretPersistence);
   }
 
   private ReplicationActivityInput getDefaultReplicationActivityInputForTest() {
@@ -287,47 +265,50 @@ class ReplicationInputHydratorTest {
     assertEquals(1, replicationInput.getCatalog().getStreams().size());
     assertEquals(TEST_STREAM_NAME, replicationInput.getCatalog().getStreams().get(0).getStream().getName());
     assertEquals(withRefresh, replicationInput.getDestinationSupportsRefreshes());
+    verify(metricClient).distribution(eq(OssMetricsRegistry.REPLICATION_INPUT_HYDRATION_TIME_MS), anyDouble());
   }
 
   @ParameterizedTest
   @ValueSource(booleans = {true, false})
   void testGenerateReplicationInputHandlesResets(final boolean withRefresh) throws Exception {
-    if (withRefresh) {
-      mockRefresh();
-    } else {
-      mockNonRefresh();
-    }
     // Verify that if the sync is a reset, we retrieve the job info and handle the streams accordingly.
     final ReplicationInputHydrator replicationInputHydrator = getReplicationInputHydrator();
     final ReplicationActivityInput input = getDefaultReplicationActivityInputForTest();
     input.setIsReset(true);
-    when(jobsApi.getLastReplicationJob(new ConnectionIdRequestBody(CONNECTION_ID))).thenReturn(
-        new JobOptionalRead(new JobRead(
-            JOB_ID,
-            JobConfigType.SYNC,
-            CONNECTION_ID.toString(),
-            System.currentTimeMillis(),
-            System.currentTimeMillis(),
-            JobStatus.CANCELLED,
-            null,
-            null,
-            new ResetConfig(List.of(new StreamDescriptor(TEST_STREAM_NAME, TEST_STREAM_NAMESPACE))),
-            null,
-            null,
-            null)));
+    mockReplicationHydrationContext(true, null, getReplicationHydrationContext(withRefresh, null, new JobOptionalRead(new JobRead(
+        JOB_ID,
+        JobConfigType.SYNC,
+        CONNECTION_ID.toString(),
+        System.currentTimeMillis(),
+        System.currentTimeMillis(),
+        JobStatus.CANCELLED,
+        null,
+        null,
+        new ResetConfig(List.of(new StreamDescriptor(TEST_STREAM_NAME, TEST_STREAM_NAMESPACE))),
+        null,
+        null,
+        null)), null));
     final var replicationInput = replicationInputHydrator.getHydratedReplicationInput(input);
     assertEquals(1, replicationInput.getCatalog().getStreams().size());
     assertEquals(io.airbyte.config.SyncMode.FULL_REFRESH, replicationInput.getCatalog().getStreams().getFirst().getSyncMode());
   }
 
+  @Test
+  void testGenerateReplicationInputKeepsSyncModesForResetsWithoutStreamsToReset() throws Exception {
+    // Verify that a reset whose last job has nothing to reset leaves the catalog as configured.
+    final ReplicationInputHydrator replicationInputHydrator = getReplicationInputHydrator();
+    final ReplicationActivityInput input = getDefaultReplicationActivityInputForTest();
+    input.setIsReset(true);
+    mockReplicationHydrationContext(true, null, getReplicationHydrationContext(false, null, new JobOptionalRead(null), null));
+    final var replicationInput = replicationInputHydrator.getHydratedReplicationInput(input);
+    assertEquals(1, replicationInput.getCatalog().getStreams().size());
+    assertEquals(io.airbyte.config.SyncMode.INCREMENTAL, replicationInput.getCatalog().getStreams().getFirst().getSyncMode());
+    assertEquals(EXPECTED_STATE, replicationInput.getState());
+  }
+
   @ParameterizedTest
   @ValueSource(booleans = {true, false})
   void testGenerateReplicationInputHandlesBackfills(final boolean withRefresh) throws Exception {
-    if (withRefresh) {
-      mockRefresh();
-    } else {
-      mockNonRefresh();
-    }
     // Verify that if backfill is enabled, and we have an appropriate diff, then we clear the state for
     // the affected streams.
     mockEnableBackfillForConnection(withRefresh);
@@ -337,6 +318,25 @@ class ReplicationInputHydratorTest {
     final var replicationInput = replicationInputHydrator.getHydratedReplicationInput(input);
     final var typedState = StateMessageHelper.getTypedState(replicationInput.getState().getState());
     assertEquals(JsonNodeFactory.instance.nullNode(), typedState.get().getStateMessages().get(0).getStream().getStreamState());
+    verify(stateApi).createOrUpdateState(any());
+  }
+
+  @Test
+  void testGenerateReplicationInputUsesOrganizationSecretPersistence() throws Exception {
+    // Verify that the secrets are hydrated from the secret persistence of the organization when it has
+    // one.
+    final ReplicationInputHydrator replicationInputHydrator = getReplicationInputHydrator(true);
+    final ReplicationActivityInput input = getDefaultReplicationActivityInputForTest();
+    final UUID organizationId = input.getConnectionContext().getOrganizationId();
+    mockReplicationHydrationContext(false, organizationId, getReplicationHydrationContext(false, null, null,
+        new SecretPersistenceConfig(SecretPersistenceType.TESTING, Jsons.emptyObject(), ScopeType.ORGANIZATION, organizationId)));
+    when(secretsRepositoryReader.hydrateConfigFromRuntimeSecretPersistence(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    final var replicationInput = replicationInputHydrator.getHydratedReplicationInput(input);
+    assertEquals(SOURCE_CONFIG, replicationInput.getSourceConfiguration());
+    assertEquals(DESTINATION_CONFIG, replicationInput.getDestinationConfiguration());
+    verify(secretsRepositoryReader, times(2)).hydrateConfigFromRuntimeSecretPersistence(any(), any());
+    verify(secretsRepositoryReader, never()).hydrateConfigFromDefaultSecretPersistence(any());
   }
 
   @Test
@@ -442,41 +442,50 @@ class ReplicationInputHydratorTest {
   }
 
   private void mockEnableBackfillForConnection(final boolean withRefresh) throws IOException {
-    if (withRefresh) {
-      when(connectionApi.getConnectionForJob(new ConnectionAndJobIdRequestBody(CONNECTION_ID, JOB_ID)))
-          .thenReturn(new ConnectionRead(CONNECTION_ID, CONNECTION_NAME, SOURCE_ID, DESTINATION_ID, SYNC_CATALOG, ConnectionStatus.ACTIVE, false,
-              null, null, null, null, null, null, null, null, null, null, null, null, null, null, SchemaChangeBackfillPreference.ENABLED, null));
-    } else {
-      when(connectionApi.getConnection(new ConnectionIdRequestBody(CONNECTION_ID)))
-          .thenReturn(new ConnectionRead(CONNECTION_ID, CONNECTION_NAME, SOURCE_ID, DESTINATION_ID, SYNC_CATALOG, ConnectionStatus.ACTIVE, false,
-              null, null, null, null, null, null, null, null, null, null, null, null, null, null, SchemaChangeBackfillPreference.ENABLED, null));
-    }
+    mockReplicationHydrationContext(false, null, getReplicationHydrationContext(withRefresh, SchemaChangeBackfillPreference.ENABLED, null, null));
   }
 
   private void mockRefresh() throws IOException {
-    when(connectionApi.getConnectionForJob(new ConnectionAndJobIdRequestBody(CONNECTION_ID, JOB_ID)))
-        .thenReturn(new ConnectionRead(CONNECTION_ID, CONNECTION_NAME, SOURCE_ID, DESTINATION_ID, SYNC_CATALOG, ConnectionStatus.ACTIVE, false, null,
-            null, null, null, null, null, null, null, null, null, null, null, null, null, null, null));
-
-    when(actorDefinitionVersionApi.resolveActorDefinitionVersionByTag(any())).thenReturn(new ResolveActorDefinitionVersionResponse(
-        UUID.randomUUID(),
-        "dockerRepo",
-        "dockerTag",
-        true,
-        false));
+    mockReplicationHydrationContext(false, null, getReplicationHydrationContext(true, null, null, null));
   }
 
   private void mockNonRefresh() throws IOException {
-    when(connectionApi.getConnection(new ConnectionIdRequestBody(CONNECTION_ID)))
-        .thenReturn(new ConnectionRead(CONNECTION_ID, CONNECTION_NAME, SOURCE_ID, DESTINATION_ID, SYNC_CATALOG, ConnectionStatus.ACTIVE, false, null,
-            null, null, null, null, null, null, null, null, null, null, null, null, null, null, null));
-
-    when(actorDefinitionVersionApi.resolveActorDefinitionVersionByTag(any())).thenReturn(new ResolveActorDefinitionVersionResponse(
-        UUID.randomUUID(),
-        "dockerRepo",
-        "dockerTag",
-        false,
-        false));
+    mockReplicationHydrationContext(false, null, getReplicationHydrationContext(false, null, null, null));
+  }
+
+  /**
+   * Only answers the request the hydrator is expected to send for the default input, so that a wrong
+   * request fails the test.
+   */
+  private void mockReplicationHydrationContext(final boolean isReset, final UUID organizationId, final ReplicationHydrationContextRead context)
+      throws IOException {
+    when(jobsApi.getReplicationHydrationContext(new ReplicationHydrationContextRequestBody(
+        JOB_ID,
+        ATTEMPT_NUMBER.intValue(),
+        CONNECTION_ID,
+        DESTINATION_ID,
+        "dockertag",
+        isReset,
+        organizationId))).thenReturn(context);
+  }
+
+  private static ReplicationHydrationContextRead getReplicationHydrationContext(final boolean withRefresh,
+                                                                                final SchemaChangeBackfillPreference backfillPreference,
+                                                                                final JobOptionalRead lastReplicationJob,
+                                                                                final SecretPersistenceConfig secretPersistenceConfig) {
+    return new ReplicationHydrationContextRead(
+        Jsons.emptyObject(),
+        new ResolveActorDefinitionVersionResponse(
+            UUID.randomUUID(),
+            "dockerRepo",
+            "dockerTag",
+            withRefresh,
+            false),
+        new ConnectionRead(CONNECTION_ID, CONNECTION_NAME, SOURCE_ID, DESTINATION_ID, SYNC_CATALOG, ConnectionStatus.ACTIVE, false, null,
+            null, null, null, null, null, null, null, null, null, null, null, null, null, backfillPreference, null),
+        CONNECTION_STATE_RESPONSE,
+        lastReplicationJob,
+        secretPersistenceConfig);
   }
 
 }
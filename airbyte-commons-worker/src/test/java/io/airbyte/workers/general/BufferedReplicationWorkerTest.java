@@ -41,11 +41,15 @@ class BufferedReplicationWorkerTest extends ReplicationWorkerTest {
         replicationWorkerHelper,
         destinationTimeoutMonitor,
         streamStatusCompletionTracker,
-        BufferConfiguration.withPollTimeout(1),
+        getBufferConfiguration(),
         metricClient,
         replicationInput);
   }
 
+  BufferConfiguration getBufferConfiguration() {
+    return BufferConfiguration.withPollTimeout(1);
+  }
+
   // BufferedReplicationWorkerTests.
   // Tests in this class should be implementation specific, general behavior tests should be added to
   // the ReplicationWorkerTest.
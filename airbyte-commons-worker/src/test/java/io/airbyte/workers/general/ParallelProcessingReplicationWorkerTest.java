@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+/**
+ * Runs the BufferedReplicationWorker test suite with records pre-processed on several threads.
+ */
+class ParallelProcessingReplicationWorkerTest extends BufferedReplicationWorkerTest {
+
+  @Override
+  BufferConfiguration getBufferConfiguration() {
+    return BufferConfiguration.withPollTimeout(1).withProcessingParallelism(4);
+  }
+
+}
@@ -67,6 +67,7 @@ import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.persistence.job.models.ReplicationInput;
 import io.airbyte.protocol.models.AirbyteLogMessage.Level;
 import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.AirbyteStreamStatusTraceMessage;
 import io.airbyte.protocol.models.AirbyteTraceMessage;
@@ -109,6 +110,7 @@ import io.airbyte.workload.api.client.generated.WorkloadApi;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -229,6 +231,7 @@ abstract class ReplicationWorkerTest {
     syncStatsTracker = mock(SyncStatsTracker.class);
     syncPersistence = mock(SyncPersistence.class);
     recordSchemaValidator = mock(RecordSchemaValidator.class);
+    when(recordSchemaValidator.shouldValidate(any())).thenReturn(true);
     connectorConfigUpdater = mock(ConnectorConfigUpdater.class);
     metricClient = mock(MetricClient.class);
     workerMetricReporter = new WorkerMetricReporter(metricClient, "docker_image:v1.0.0");
@@ -359,6 +362,77 @@ abstract class ReplicationWorkerTest {
     assertNotEquals(0, syncStats.getDestinationWriteEndTime());
   }
 
+  @Test
+  void testRecordsAndStatesAreSentInSourceOrder() throws Exception {
+    final List<AirbyteMessage> sourceMessages = createInterleavedMessages();
+    sourceStub.setMessages(sourceMessages.toArray(new AirbyteMessage[0]));
+    when(mapper.mapMessage(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(mapper.revertMap(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    final List<AirbyteMessage> sentToDestination = Collections.synchronizedList(new ArrayList<>());
+    doAnswer(invocation -> {
+      sentToDestination.add(invocation.getArgument(0));
+      return invocation.callRealMethod();
+    }).when(destination).accept(any());
+
+    final var worker = getDefaultReplicationWorker();
+    worker.run(replicationInput, jobRoot);
+
+    assertEquals(sourceMessages, sentToDestination);
+  }
+
+  @Test
+  void testStatesAreSentAfterThePrecedingRecordsAreProcessed() throws Exception {
+    final List<AirbyteMessage> sourceMessages = createInterleavedMessages();
+    sourceStub.setMessages(sourceMessages.toArray(new AirbyteMessage[0]));
+    when(mapper.mapMessage(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(mapper.revertMap(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    final Set<AirbyteRecordMessage> validatedRecords = ConcurrentHashMap.newKeySet();
+    doAnswer(invocation -> {
+      validatedRecords.add(invocation.getArgument(0));
+      return null;
+    }).when(recordSchemaValidator).validateSchema(any(), any(), any());
+
+    final List<AirbyteMessage> statesSent = Collections.synchronizedList(new ArrayList<>());
+    final AtomicReference<String> barrierViolation = new AtomicReference<>();
+    doAnswer(invocation -> {
+      final AirbyteMessage message = invocation.getArgument(0);
+      if (message.getType() == AirbyteMessage.Type.STATE) {
+        // Every record read before this state must have been fully processed already.
+        for (final AirbyteMessage previous : sourceMessages.subList(0, sourceMessages.indexOf(message))) {
+          if (previous.getType() == AirbyteMessage.Type.RECORD && !validatedRecords.contains(previous.getRecord())) {
+            barrierViolation.compareAndSet(null, "state sent before record " + previous.getRecord().getData() + " was processed");
+          }
+        }
+        statesSent.add(message);
+      }
+      return invocation.callRealMethod();
+    }).when(destination).accept(any());
+
+    final var worker = getDefaultReplicationWorker();
+    worker.run(replicationInput, jobRoot);
+
+    assertNull(barrierViolation.get());
+    assertEquals(sourceMessages.stream().filter(m -> m.getType() == AirbyteMessage.Type.STATE).toList(), statesSent);
+  }
+
+  /**
+   * Records spread over several streams with a state message every few records, so that records of
+   * different streams can be processed on different threads.
+   */
+  private static List<AirbyteMessage> createInterleavedMessages() {
+    final List<AirbyteMessage> messages = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      final String streamName = "stream" + (i % 8);
+      messages.add(AirbyteMessageUtils.createRecordMessage(streamName, i));
+      if (i % 7 == 6) {
+        messages.add(AirbyteMessageUtils.createStateMessage(streamName, "checkpoint", String.valueOf(i)));
+      }
+    }
+    return messages;
+  }
+
   @Test
   void testInvalidSchema() throws Exception {
     sourceStub.setMessages(RECORD_MESSAGE1, RECORD_MESSAGE2, RECORD_MESSAGE3);
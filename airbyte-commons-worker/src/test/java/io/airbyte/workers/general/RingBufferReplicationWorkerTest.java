@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+/**
+ * Runs the BufferedReplicationWorker test suite with the ring buffer queues.
+ */
+class RingBufferReplicationWorkerTest extends BufferedReplicationWorkerTest {
+
+  @Override
+  BufferConfiguration getBufferConfiguration() {
+    return BufferConfiguration.withPollTimeout(1).withQueueType(BufferQueueType.SPSC_RING_BUFFER);
+  }
+
+}
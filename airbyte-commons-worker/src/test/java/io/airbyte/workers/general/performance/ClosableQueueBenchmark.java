@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general.performance;
+
+import io.airbyte.commons.concurrency.ClosableQueue;
+import io.airbyte.workers.general.BufferConfiguration;
+import io.airbyte.workers.general.BufferQueueType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the queue implementations available to the BufferedReplicationWorker by pushing a fixed
+ * number of messages from one producer thread to one consumer thread, the way messages move between
+ * readFromSource, processMessage and writeToDestination.
+ * <p>
+ * Run the main method to start benchmarking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ClosableQueueBenchmark {
+
+  private static final int MESSAGE_COUNT = 1_000_000;
+  private static final Object MESSAGE = new Object();
+
+  @Param({"LINKED_BLOCKING", "SPSC_RING_BUFFER"})
+  public BufferQueueType queueType;
+
+  @Param({"1", "100"})
+  public int drainBatchSize;
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGE_COUNT)
+  public int transfer() throws Exception {
+    final ClosableQueue<Object> queue = BufferConfiguration.withDefaultConfiguration()
+        .withQueueType(queueType)
+        .withMaxBufferBytes(0)
+        .createSourceQueue(message -> 1L);
+
+    final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+          while (!queue.add(MESSAGE)) {
+            Thread.onSpinWait();
+          }
+        }
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      } finally {
+        queue.close();
+      }
+    });
+
+    int received = 0;
+    final List<Object> batch = new ArrayList<>(drainBatchSize);
+    while (!queue.isDone()) {
+      batch.clear();
+      received += queue.drainTo(batch, drainBatchSize);
+    }
+    producer.get();
+    return received;
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {ClosableQueueBenchmark.class.getSimpleName()});
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.validation.json.JsonSchemaValidator;
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link JsonSchemaValidator#validateInitializedSchema(String, JsonNode)} with and without
+ * the compiled fast path, on a valid record of a flat stream schema like the ones most connectors
+ * declare.
+ * <p>
+ * Run the main method to start benchmarking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonSchemaValidatorBenchmark {
+
+  private static final String STREAM = "users";
+  private static final URI BASE_URI = URI.create("file:///app/nonexistent_file.json");
+
+  private static final JsonNode SCHEMA = Jsons.deserialize(
+      """
+      {
+        "$schema": "http://json-schema.org/draft-07/schema#",
+        "type": "object",
+        "properties": {
+          "id": {"type": "integer"},
+          "email": {"type": ["null", "string"]},
+          "first_name": {"type": ["null", "string"]},
+          "last_name": {"type": ["null", "string"]},
+          "age": {"type": ["null", "integer"]},
+          "score": {"type": ["null", "number"]},
+          "active": {"type": ["null", "boolean"]},
+          "country": {"type": ["null", "string"]},
+          "city": {"type": ["null", "string"]},
+          "tags": {"type": ["null", "array"], "items": {"type": "string"}},
+          "created_at": {"type": ["null", "string"], "format": "date-time", "airbyte_type": "timestamp_with_timezone"},
+          "updated_at": {"type": ["null", "string"], "format": "date-time", "airbyte_type": "timestamp_with_timezone"}
+        }
+      }
+      """);
+
+  private static final JsonNode RECORD = Jsons.deserialize(
+      """
+      {
+        "id": 42,
+        "email": "jane@example.com",
+        "first_name": "Jane",
+        "last_name": "Doe",
+        "age": 37,
+        "score": 12.5,
+        "active": true,
+        "country": "FR",
+        "city": null,
+        "tags": ["a", "b"],
+        "created_at": "2024-01-01T00:00:00Z",
+        "updated_at": "2024-06-01T00:00:00Z"
+      }
+      """);
+
+  @Param({"true", "false"})
+  public boolean compiledValidatorsEnabled;
+
+  private JsonSchemaValidator validator;
+
+  @Setup
+  public void setup() {
+    validator = new JsonSchemaValidator(BASE_URI, compiledValidatorsEnabled);
+    validator.initializeSchemaValidator(STREAM, SCHEMA);
+  }
+
+  @Benchmark
+  public Set<String> validateInitializedSchema() {
+    return validator.validateInitializedSchema(STREAM, RECORD);
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {JsonSchemaValidatorBenchmark.class.getSimpleName()});
+  }
+
+}
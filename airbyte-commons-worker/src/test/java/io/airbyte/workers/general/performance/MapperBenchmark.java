@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.AirbyteSecret;
+import io.airbyte.config.MapperConfig;
+import io.airbyte.config.MapperOperationName;
+import io.airbyte.config.adapters.AirbyteJsonRecordAdapter;
+import io.airbyte.config.adapters.AirbyteRecord;
+import io.airbyte.config.mapper.configs.AesEncryptionConfig;
+import io.airbyte.config.mapper.configs.AesMode;
+import io.airbyte.config.mapper.configs.AesPadding;
+import io.airbyte.config.mapper.configs.EncryptionConfig;
+import io.airbyte.config.mapper.configs.EncryptionMapperConfig;
+import io.airbyte.config.mapper.configs.HashingConfig;
+import io.airbyte.config.mapper.configs.HashingMapperConfig;
+import io.airbyte.config.mapper.configs.HashingMethods;
+import io.airbyte.config.mapper.configs.RsaEncryptionConfig;
+import io.airbyte.mappers.transformations.EncryptionMapper;
+import io.airbyte.mappers.transformations.HashingMapper;
+import io.airbyte.mappers.transformations.Mapper;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the hashing and encryption mappers on a chunk of records, mapped one record at a time
+ * with {@link Mapper#map} as the replication does. Copying the records is part of each invocation,
+ * since the mappers modify them.
+ * <p>
+ * Run the main method to start benchmarking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapperBenchmark {
+
+  private static final int RECORD_COUNT = 100;
+  private static final String TARGET_FIELD = "email";
+
+  @Param({"hashing", "aes", "rsa"})
+  public String mapperType;
+
+  private Mapper<MapperConfig> mapper;
+  private MapperConfig config;
+  private final List<JsonNode> records = new ArrayList<>();
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() throws NoSuchAlgorithmException {
+    switch (mapperType) {
+      case "hashing" -> {
+        mapper = (Mapper<MapperConfig>) (Mapper<?>) new HashingMapper();
+        config = new HashingMapperConfig(MapperOperationName.HASHING, null,
+            new HashingConfig(TARGET_FIELD, HashingMethods.SHA256, "_hashed"), null);
+      }
+      case "aes" -> {
+        final byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        mapper = (Mapper<MapperConfig>) (Mapper<?>) new EncryptionMapper();
+        config = encryptionConfig(new AesEncryptionConfig(EncryptionConfig.ALGO_AES, TARGET_FIELD, "_encrypted",
+            AesMode.CBC, AesPadding.PKCS5Padding, new AirbyteSecret.Hydrated(HexFormat.of().formatHex(key))));
+      }
+      case "rsa" -> {
+        final KeyPairGenerator keyGenerator = KeyPairGenerator.getInstance("RSA");
+        keyGenerator.initialize(2048);
+        mapper = (Mapper<MapperConfig>) (Mapper<?>) new EncryptionMapper();
+        config = encryptionConfig(new RsaEncryptionConfig(EncryptionConfig.ALGO_RSA, TARGET_FIELD, "_encrypted",
+            HexFormat.of().formatHex(keyGenerator.generateKeyPair().getPublic().getEncoded())));
+      }
+      default -> throw new IllegalArgumentException("Unknown mapper type: " + mapperType);
+    }
+
+    for (int i = 0; i < RECORD_COUNT; i++) {
+      records.add(Jsons.jsonNode(Map.of("id", i, TARGET_FIELD, "user" + i + "@example.com", "name", "User " + i)));
+    }
+  }
+
+  @Benchmark
+  public List<AirbyteRecord> map() {
+    final List<AirbyteRecord> chunk = new ArrayList<>(RECORD_COUNT);
+    for (final JsonNode data : records) {
+      chunk.add(new AirbyteJsonRecordAdapter(new AirbyteMessage()
+          .withType(AirbyteMessage.Type.RECORD)
+          .withRecord(new AirbyteRecordMessage().withStream("users").withData(data.deepCopy()))));
+    }
+
+    for (final AirbyteRecord record : chunk) {
+      mapper.map(config, record);
+    }
+    return chunk;
+  }
+
+  private static EncryptionMapperConfig encryptionConfig(final EncryptionConfig encryptionConfig) {
+    return new EncryptionMapperConfig(MapperOperationName.ENCRYPTION, null, encryptionConfig, null);
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {MapperBenchmark.class.getSimpleName()});
+  }
+
+}
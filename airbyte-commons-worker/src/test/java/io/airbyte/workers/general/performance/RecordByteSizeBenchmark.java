@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the two ways of measuring the data of a record held in memory:
+ * {@link Jsons#getEstimatedByteSize(JsonNode)}, which serializes it, and
+ * {@link Jsons#estimateByteSizeWithoutSerializing(JsonNode)}, which walks it. Both return the same
+ * size for ASCII data, the latter counts the UTF-8 bytes of other characters.
+ * <p>
+ * Run the main method to start benchmarking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RecordByteSizeBenchmark {
+
+  @Param({"narrow", "wide", "nested"})
+  public String recordShape;
+
+  private JsonNode record;
+
+  @Setup
+  public void setup() {
+    record = switch (recordShape) {
+      case "narrow" -> flatRecord(5);
+      case "wide" -> flatRecord(500);
+      case "nested" -> nestedRecord(20);
+      default -> throw new IllegalArgumentException("Unknown record shape: " + recordShape);
+    };
+  }
+
+  @Benchmark
+  public int serialize() {
+    return Jsons.getEstimatedByteSize(record);
+  }
+
+  @Benchmark
+  public long walkTree() {
+    return Jsons.estimateByteSizeWithoutSerializing(record);
+  }
+
+  private static ObjectNode flatRecord(final int columns) {
+    final ObjectNode record = JsonNodeFactory.instance.objectNode();
+    for (int i = 0; i < columns; i++) {
+      switch (i % 4) {
+        case 0 -> record.put("column_" + i, i * 1_000_003L);
+        case 1 -> record.put("column_" + i, "value of column " + i);
+        case 2 -> record.put("column_" + i, i * 0.25);
+        default -> record.put("column_" + i, i % 3 == 0);
+      }
+    }
+    return record;
+  }
+
+  private static ObjectNode nestedRecord(final int depth) {
+    ObjectNode record = flatRecord(5);
+    for (int i = 0; i < depth; i++) {
+      final ObjectNode parent = flatRecord(5);
+      final ArrayNode children = parent.putArray("children");
+      children.add(record);
+      children.add(flatRecord(3));
+      record = parent;
+    }
+    return record;
+  }
+
+  public static void main(final String[] args) throws Exception {
+    org.openjdk.jmh.Main.main(new String[] {RecordByteSizeBenchmark.class.getSimpleName()});
+  }
+
+}
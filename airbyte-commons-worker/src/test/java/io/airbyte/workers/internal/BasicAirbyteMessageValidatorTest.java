@@ -5,6 +5,7 @@
 package io.airbyte.workers.internal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -18,6 +19,7 @@ import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.Config;
 import io.airbyte.workers.internal.exception.SourceException;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -134,6 +136,32 @@ class BasicAirbyteMessageValidatorTest {
         getCatalogWithPk("stream_2", List.of(List.of(DATA_KEY_1))))));
   }
 
+  @Test
+  void testPkOfRawRecordIsCheckedWithoutMaterializing() {
+    final AirbyteMessage message = AirbyteMessageUtils.createRecordMessage(STREAM_1, DATA_KEY_1, DATA_VALUE);
+    message.getRecord().setData(new RawRecordData(
+        "{\"other\":{\"field_1\":1},\"nested\":{\"list\":[1,2],\"id\":null}}".getBytes(StandardCharsets.UTF_8)));
+
+    final var m = BasicAirbyteMessageValidator.validate(message, Optional.of(
+        getCatalogWithPk(STREAM_1, List.of(List.of(DATA_KEY_1), List.of("nested", "id")))));
+    assertTrue(m.isPresent());
+    assertTrue(RawRecordData.isRaw(message.getRecord().getData()));
+
+    assertThrows(SourceException.class, () -> BasicAirbyteMessageValidator.validate(message, Optional.of(
+        getCatalogWithPk(STREAM_1, List.of(List.of(DATA_KEY_1), List.of("nested", "list", "id"))))));
+  }
+
+  @Test
+  void testRawRecordContainsPathMatchesTheTree() {
+    final String json = "{\"a\":{\"b\":null,\"c\":[{\"d\":1}],\"e\":\"f\"},\"g\":1}";
+    final RawRecordData raw = new RawRecordData(json.getBytes(StandardCharsets.UTF_8));
+    for (final List<String> path : List.of(List.<String>of(), List.of("a"), List.of("a", "b"), List.of("a", "c"), List.of("a", "c", "d"),
+        List.of("a", "e", "f"), List.of("a", "b", "x"), List.of("g"), List.of("x"))) {
+      assertEquals(path.toString(), Jsons.navigateTo(Jsons.deserialize(json), path) != null, raw.containsPath(path));
+    }
+    assertFalse(raw.containsPath(List.of("a", "x")));
+  }
+
   private ConfiguredAirbyteCatalog getCatalogWithPk(final String streamName,
                                                     final List<List<String>> pksList) {
     return new ConfiguredAirbyteCatalog()
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ByteLineReaderTest {
+
+  @Test
+  void testSplitsLines() {
+    assertEquals(List.of("a", "bc", "", "def"), readLines("a\nbc\r\n\ndef", 64));
+  }
+
+  @Test
+  void testLineFeedTerminator() {
+    assertEquals(List.of("a", "b", "", "c"), readLines("a\nb\n\nc\n", 64));
+  }
+
+  @Test
+  void testCarriageReturnTerminator() {
+    assertEquals(List.of("a", "b", "", "c"), readLines("a\rb\r\rc\r", 64));
+  }
+
+  @Test
+  void testCarriageReturnLineFeedTerminator() {
+    assertEquals(List.of("a", "b", "", "c"), readLines("a\r\nb\r\n\r\nc\r\n", 64));
+  }
+
+  @Test
+  void testCarriageReturnLineFeedSplitAcrossReads() {
+    // With a tiny buffer the \r and the \n of a separator end up in different reads.
+    assertEquals(List.of("abc", "def", "gh"), readLines("abc\r\ndef\r\ngh", 2));
+  }
+
+  @Test
+  void testTrailingNewLine() {
+    assertEquals(List.of("a", "b"), readLines("a\nb\n", 64));
+  }
+
+  @Test
+  void testEmptyStream() {
+    assertEquals(List.of(), readLines("", 64));
+  }
+
+  @Test
+  void testLinesLongerThanTheBuffer() {
+    final String longLine = "x".repeat(100);
+    assertEquals(List.of(longLine, "y", longLine), readLines(longLine + "\ny\n" + longLine, 8));
+  }
+
+  @Test
+  void testMultiByteCharacters() {
+    assertEquals(List.of("héllo", "wörld"), readLines("héllo\nwörld", 4));
+  }
+
+  private static List<String> readLines(final String input, final int bufferSize) {
+    return new ByteLineReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), bufferSize)
+        .lines()
+        .map(line -> new String(line, StandardCharsets.UTF_8))
+        .toList();
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PreProcessedRecordDataTest {
+
+  private static final String STREAM_NAME = "user_preferences";
+  private static final String FIELD_NAME = "favorite_color";
+
+  @Test
+  void testKeptDataIsWrittenAsSerialized() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, new BigDecimal("1234567890.1234567890"));
+    final String expected = Jsons.serialize(record);
+    final ObjectNode data = (ObjectNode) record.getRecord().getData();
+
+    final PreProcessedRecordData preProcessed = PreProcessedRecordData.kept(data);
+    record.getRecord().setData(preProcessed);
+
+    assertFalse(preProcessed.isFilteredOut());
+    assertEquals(data, preProcessed);
+    assertEquals(preProcessed, data);
+    assertEquals(expected, Jsons.serialize(record));
+    assertEquals(Jsons.serialize(data).getBytes(StandardCharsets.UTF_8).length, preProcessed.getByteSize());
+    assertEquals(preProcessed.getByteSize(), preProcessed.getByteSizeBeforeMappers());
+  }
+
+  @Test
+  void testFilteredOutDataKeepsItsSizes() {
+    final ObjectNode data = (ObjectNode) Jsons.jsonNode(Map.of(FIELD_NAME, "green"));
+
+    final PreProcessedRecordData preProcessed = PreProcessedRecordData.filteredOut(data, 100L);
+
+    assertTrue(preProcessed.isFilteredOut());
+    assertEquals(Jsons.serialize(data), Jsons.serialize(preProcessed));
+    assertEquals(Jsons.serialize(data).length(), preProcessed.getByteSize());
+    assertEquals(100L, preProcessed.getByteSizeBeforeMappers());
+  }
+
+  @Test
+  void testMaterializeReturnsAModifiableTree() {
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+    final JsonNode data = record.getRecord().getData();
+    record.getRecord().setData(PreProcessedRecordData.kept((ObjectNode) data, 10L));
+
+    final JsonNode materialized = RawRecordData.materialize(record.getRecord());
+
+    assertFalse(materialized instanceof PreProcessedRecordData);
+    assertEquals(data, materialized);
+    assertEquals(materialized, record.getRecord().getData());
+  }
+
+}
@@ -7,7 +7,11 @@ package io.airbyte.workers.internal;
 import static io.airbyte.workers.internal.VersionedAirbyteStreamFactory.CONNECTION_ID_NOT_PRESENT;
 import static io.airbyte.workers.internal.VersionedAirbyteStreamFactory.MALFORMED_AIRBYTE_RECORD_LOG_MESSAGE;
 import static io.airbyte.workers.internal.VersionedAirbyteStreamFactory.MALFORMED_NON_AIRBYTE_RECORD_LOG_MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
@@ -255,6 +259,111 @@ class VersionedAirbyteStreamFactoryTest {
 
   }
 
+  @Nested
+  @DisplayName("Test Parsing Records From Bytes")
+  class ParseRecordsFromBytes {
+
+    private static final String STREAM_NAME = "user_preferences";
+    private static final String FIELD_NAME = "favorite_color";
+
+    @Test
+    void testRecordDataIsKeptRaw() {
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+
+      final List<AirbyteMessage> messages = bytesToMessageStream(Jsons.serialize(record)).toList();
+
+      assertEquals(1, messages.size());
+      assertTrue(RawRecordData.isRaw(messages.get(0).getRecord().getData()));
+      assertEquals(Jsons.serialize(record), Jsons.serialize(messages.get(0)));
+      RawRecordData.materialize(messages.get(0).getRecord());
+      assertEquals(record, messages.get(0));
+    }
+
+    @Test
+    void testRecordDataKeepsNumericPrecision() {
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME,
+          new BigDecimal("1234567890.1234567890"));
+
+      final AirbyteMessage message = bytesToMessageStream(Jsons.serialize(record)).toList().get(0);
+
+      RawRecordData.materialize(message.getRecord());
+      assertEquals(record, message);
+    }
+
+    @Test
+    void testNonRecordMessagesUseTheRegularDeserializer() {
+      final AirbyteMessage state = AirbyteMessageUtils.createStateMessage(STREAM_NAME, FIELD_NAME, "1");
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+
+      final List<AirbyteMessage> messages =
+          bytesToMessageStream(Jsons.serialize(state) + "\r\nnot a message\n" + Jsons.serialize(record)).toList();
+
+      assertEquals(2, messages.size());
+      assertEquals(state, messages.get(0));
+      assertEquals(Jsons.serialize(record), Jsons.serialize(messages.get(1)));
+    }
+
+    @Test
+    void testMalformedRecordFallsBack() {
+      final String invalidRecord = "{\"type\":\"RECORD\", \"record\": {\"stream\": \"transactions\", \"data\": {\"amount\": \"100.00\"";
+
+      assertEquals(Collections.emptyList(), bytesToMessageStream(invalidRecord).toList());
+    }
+
+    @Test
+    void testUntouchedRecordIsPassedThrough() {
+      final String line =
+          "{\"type\":\"RECORD\",\"record\":{\"namespace\":\"public\",\"stream\":\"documents\",\"data\":{\"value\": 1.50},\"emitted_at\":1}}";
+
+      final AirbyteMessage message = bytesToMessageStream(line).toList().get(0);
+      assertNull(RawRecordData.getPassthroughLine(message));
+
+      RawRecordData.allowPassthrough(message.getRecord());
+      assertArrayEquals(line.getBytes(StandardCharsets.UTF_8), RawRecordData.getPassthroughLine(message));
+    }
+
+    @Test
+    void testModifiedRecordIsNotPassedThrough() {
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+
+      final AirbyteMessage renamed = bytesToMessageStream(Jsons.serialize(record)).toList().get(0);
+      RawRecordData.allowPassthrough(renamed.getRecord());
+      renamed.getRecord().setStream("prefix_" + STREAM_NAME);
+      assertNull(RawRecordData.getPassthroughLine(renamed));
+
+      final AirbyteMessage materialized = bytesToMessageStream(Jsons.serialize(record)).toList().get(0);
+      RawRecordData.allowPassthrough(materialized.getRecord());
+      RawRecordData.materialize(materialized.getRecord());
+      assertNull(RawRecordData.getPassthroughLine(materialized));
+    }
+
+    @Test
+    void testRecordDataOfValidatedStreamsIsParsedAsTree() {
+      final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, new BigDecimal("1.50"));
+      final AirbyteMessage otherRecord = AirbyteMessageUtils.createRecordMessage("other_stream", FIELD_NAME, "green");
+      final InputStream inputStream = new ByteArrayInputStream(
+          (Jsons.serialize(record) + "\n" + Jsons.serialize(otherRecord)).getBytes(StandardCharsets.UTF_8));
+
+      final List<AirbyteMessage> messages = VersionedAirbyteStreamFactory.noMigrationVersionedAirbyteStreamFactory()
+          .withRecordParsingFromBytes(true)
+          .withRecordDataParsedAsTree(stream -> STREAM_NAME.equals(stream.getName()))
+          .createFromInputStream(inputStream)
+          .toList();
+
+      assertFalse(RawRecordData.isRaw(messages.get(0).getRecord().getData()));
+      assertEquals(record, messages.get(0));
+      assertTrue(RawRecordData.isRaw(messages.get(1).getRecord().getData()));
+    }
+
+    private Stream<AirbyteMessage> bytesToMessageStream(final String inputString) {
+      final InputStream inputStream = new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8));
+      return VersionedAirbyteStreamFactory.noMigrationVersionedAirbyteStreamFactory()
+          .withRecordParsingFromBytes(true)
+          .createFromInputStream(inputStream);
+    }
+
+  }
+
   @Nested
   @DisplayName("Test Correct Protocol Migration Behavior")
   class MigrateMessages {
@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.internal.syncpersistence;
 
+import static io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType.GLOBAL;
 import static io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType.LEGACY;
 import static io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType.STREAM;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -29,6 +30,7 @@ import io.airbyte.api.client.model.generated.ConnectionStateType;
 import io.airbyte.api.client.model.generated.StreamState;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage;
+import io.airbyte.protocol.models.AirbyteGlobalState;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.AirbyteStreamState;
@@ -38,10 +40,13 @@ import io.airbyte.workers.internal.bookkeeping.SyncStatsTracker;
 import io.airbyte.workers.internal.stateaggregator.StateAggregatorFactory;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.assertj.core.api.CollectionAssert;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -177,6 +182,96 @@ class SyncPersistenceImplTest {
     verify(stateApi, never()).createOrUpdateState(any());
   }
 
+  @Test
+  void testUnchangedStreamStatesAreNotSentAgain() throws IOException {
+    final AirbyteStateMessage stateA1 = getStreamState("A", 1);
+    final AirbyteStateMessage stateB1 = getStreamState("B", 1);
+    syncPersistence.accept(connectionId, stateA1);
+    syncPersistence.accept(connectionId, stateB1);
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateA1, stateB1));
+    clearInvocations(stateApi);
+
+    // Only B moved
+    final AirbyteStateMessage stateB2 = getStreamState("B", 2);
+    syncPersistence.accept(connectionId, getStreamState("A", 1));
+    syncPersistence.accept(connectionId, stateB2);
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateB2));
+    clearInvocations(stateApi);
+
+    // Nothing moved
+    syncPersistence.accept(connectionId, getStreamState("A", 1));
+    actualFlushMethod.getValue().run();
+    verify(stateApi, never()).createOrUpdateState(any());
+  }
+
+  @Test
+  void testGlobalStatesOnlySendTheChangedStreams() throws IOException {
+    final ArgumentCaptor<ConnectionStateCreateOrUpdate> captor = ArgumentCaptor.forClass(ConnectionStateCreateOrUpdate.class);
+
+    syncPersistence.accept(connectionId, getGlobalState(1, Map.of("A", 1, "B", 1)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi).createOrUpdateState(captor.capture());
+    assertEquals(Set.of("A", "B"), getGlobalStreamNames(captor.getValue()));
+    clearInvocations(stateApi);
+
+    syncPersistence.accept(connectionId, getGlobalState(2, Map.of("A", 1, "B", 2)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi).createOrUpdateState(captor.capture());
+    assertEquals(Jsons.jsonNode(2), captor.getValue().getConnectionState().getGlobalState().getSharedState());
+    assertEquals(Set.of("B"), getGlobalStreamNames(captor.getValue()));
+    clearInvocations(stateApi);
+
+    // The shared state alone is enough to send an update
+    syncPersistence.accept(connectionId, getGlobalState(3, Map.of("A", 1, "B", 2)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi).createOrUpdateState(captor.capture());
+    assertEquals(Jsons.jsonNode(3), captor.getValue().getConnectionState().getGlobalState().getSharedState());
+    assertEquals(Set.of(), getGlobalStreamNames(captor.getValue()));
+    clearInvocations(stateApi);
+
+    syncPersistence.accept(connectionId, getGlobalState(3, Map.of("A", 1, "B", 2)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi, never()).createOrUpdateState(any());
+  }
+
+  @Test
+  void testEveryStreamIsSentAgainAfterAFailedWrite() throws IOException {
+    final ArgumentCaptor<ConnectionStateCreateOrUpdate> captor = ArgumentCaptor.forClass(ConnectionStateCreateOrUpdate.class);
+
+    syncPersistence.accept(connectionId, getGlobalState(1, Map.of("A", 1, "B", 1)));
+    actualFlushMethod.getValue().run();
+    clearInvocations(stateApi);
+
+    when(stateApi.createOrUpdateState(any())).thenThrow(new IOException());
+    syncPersistence.accept(connectionId, getGlobalState(2, Map.of("A", 1, "B", 2)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi).createOrUpdateState(captor.capture());
+    assertEquals(Set.of("B"), getGlobalStreamNames(captor.getValue()));
+    reset(stateApi);
+
+    // The retry sends the whole aggregated state, which the failed delta did not modify
+    actualFlushMethod.getValue().run();
+    verify(stateApi).createOrUpdateState(captor.capture());
+    assertEquals(Jsons.jsonNode(2), captor.getValue().getConnectionState().getGlobalState().getSharedState());
+    assertEquals(Set.of("A", "B"), getGlobalStreamNames(captor.getValue()));
+  }
+
+  @Test
+  void testEveryStreamIsSentWhenTheStateTypeChanges() throws IOException {
+    final ArgumentCaptor<ConnectionStateCreateOrUpdate> captor = ArgumentCaptor.forClass(ConnectionStateCreateOrUpdate.class);
+
+    syncPersistence.accept(connectionId, getStreamState("A", 1));
+    actualFlushMethod.getValue().run();
+    clearInvocations(stateApi);
+
+    syncPersistence.accept(connectionId, getGlobalState(1, Map.of("A", 1)));
+    actualFlushMethod.getValue().run();
+    verify(stateApi).createOrUpdateState(captor.capture());
+    assertEquals(Set.of("A"), getGlobalStreamNames(captor.getValue()));
+  }
+
   @Test
   void testStatsFlushBasicEmissions() throws IOException {
     syncPersistence.updateStats(new AirbyteRecordMessage());
@@ -572,6 +667,23 @@ class SyncPersistenceImplTest {
                 .withStreamState(Jsons.jsonNode(stateValue)));
   }
 
+  private AirbyteStateMessage getGlobalState(final int sharedStateValue, final Map<String, Integer> streamStateValues) {
+    return new AirbyteStateMessage().withType(GLOBAL)
+        .withGlobal(new AirbyteGlobalState()
+            .withSharedState(Jsons.jsonNode(sharedStateValue))
+            .withStreamStates(streamStateValues.entrySet().stream()
+                .map(e -> new AirbyteStreamState()
+                    .withStreamDescriptor(new StreamDescriptor().withName(e.getKey()))
+                    .withStreamState(Jsons.jsonNode(e.getValue())))
+                .toList()));
+  }
+
+  private Set<String> getGlobalStreamNames(final ConnectionStateCreateOrUpdate request) {
+    return request.getConnectionState().getGlobalState().getStreamStates().stream()
+        .map(s -> s.getStreamDescriptor().getName())
+        .collect(Collectors.toSet());
+  }
+
   private AirbyteStateMessage getLegacyState(final String stateValue) {
     return new AirbyteStateMessage().withType(LEGACY)
         .withData(Jsons.deserialize("{\"state\":\"" + stateValue + "\"}"));
@@ -27,6 +27,8 @@ import io.mockk.just
 import io.mockk.mockk
 import io.mockk.verify
 import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Nested
@@ -243,6 +245,42 @@ class StateCheckSumCountEventHandlerTest {
 
   @Nested
   internal inner class DestinationStateCheckSumTests {
+    @Test
+    internal fun `destination state is hashed from its own content`() {
+      val published = mutableListOf<List<StateCheckSumCountEvent>>()
+      every { pubSubWriter.publishEvent(capture(published)) } just Runs
+
+      val sourceStateMessage =
+        airbyteStateMessageWithOutAnyCounts()
+          .withSourceStats(AirbyteStateStats().withRecordCount(1.0))
+      // The destination echoes the state with the same id, but with a different content.
+      val destinationStateMessage =
+        Jsons.clone(sourceStateMessage)
+          .withDestinationStats(AirbyteStateStats().withRecordCount(2.0))
+      destinationStateMessage.stream.streamState = Jsons.jsonNode(mapOf("cursor" to "other value"))
+      assertEquals(sourceStateMessage.getStateIdForStatsTracking(), destinationStateMessage.getStateIdForStatsTracking())
+
+      handler.validateStateChecksum(
+        stateMessage = sourceStateMessage,
+        platformRecordCount = 1.0,
+        origin = AirbyteMessageOrigin.SOURCE,
+        failOnInvalidChecksum = false,
+        checksumValidationEnabled = true,
+      )
+      handler.validateStateChecksum(
+        stateMessage = destinationStateMessage,
+        platformRecordCount = 1.0,
+        origin = AirbyteMessageOrigin.DESTINATION,
+        failOnInvalidChecksum = false,
+        checksumValidationEnabled = true,
+      )
+
+      val sourceHash = sourceStateMessage.getStateHashCode(Hashing.murmur3_32_fixed()).toString()
+      val destinationHash = destinationStateMessage.getStateHashCode(Hashing.murmur3_32_fixed()).toString()
+      assertNotEquals(sourceHash, destinationHash)
+      assertEquals(listOf(destinationHash, destinationHash, destinationHash), published.flatten().map { it.stateHash })
+    }
+
     @Test
     internal fun `destination count is present and equals platform count, source count is missing`() {
       val stateMessage =
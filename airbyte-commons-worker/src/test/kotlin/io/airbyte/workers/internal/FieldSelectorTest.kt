@@ -12,13 +12,20 @@ import io.airbyte.config.DestinationSyncMode
 import io.airbyte.config.SyncMode
 import io.airbyte.protocol.models.AirbyteMessage
 import io.airbyte.protocol.models.AirbyteRecordMessage
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair
 import io.airbyte.workers.RecordSchemaValidator
+import io.airbyte.workers.RecordSchemaValidator.SamplingConfiguration
+import io.airbyte.workers.WorkerMetricReporter
 import io.airbyte.workers.WorkerUtils
 import io.mockk.mockk
+import io.mockk.verify
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.ValueSource
+import java.util.UUID
 
 internal class FieldSelectorTest {
   companion object {
@@ -196,17 +203,107 @@ internal class FieldSelectorTest {
     assertEquals(expectedMessage, message)
   }
 
+  @Test
+  internal fun `test that we filter columns of raw records while parsing them`() {
+    val fieldSelector = createFieldSelector(createCatalog(SCHEMA), fieldSelectionEnabled = true)
+
+    val message = createRawRecord(RECORD_WITH_EXTRA)
+    fieldSelector.filterSelectedFields(message)
+
+    assertFalse(RawRecordData.isRaw(message.record.data))
+    assertEquals(Jsons.deserialize(RECORD_WITHOUT_EXTRA), message.record.data)
+  }
+
+  @Test
+  internal fun `test that raw records without fields to drop are left raw`() {
+    val fieldSelector = createFieldSelector(createCatalog(SCHEMA), fieldSelectionEnabled = true)
+
+    val message = createRawRecord(RECORD_WITHOUT_EXTRA)
+    fieldSelector.filterSelectedFields(message)
+
+    assertTrue(RawRecordData.isRaw(message.record.data))
+    assertEquals(Jsons.deserialize(RECORD_WITHOUT_EXTRA), (message.record.data as RawRecordData).toJsonNode())
+  }
+
+  @Test
+  internal fun `test that filtered records keep their own field order`() {
+    val fieldSelector = createFieldSelector(createCatalog(SCHEMA), fieldSelectionEnabled = true)
+    val record = """{"value":"myValue","unexpected":"strip me","key":"myKey"}"""
+
+    val message = createRecord(record)
+    fieldSelector.filterSelectedFields(message)
+    val rawMessage = createRawRecord(record)
+    fieldSelector.filterSelectedFields(rawMessage)
+
+    assertEquals("""{"value":"myValue","key":"myKey"}""", Jsons.serialize(message.record.data))
+    assertEquals("""{"value":"myValue","key":"myKey"}""", Jsons.serialize(rawMessage.record.data))
+  }
+
+  @Test
+  internal fun `test that dropped fields are reported per stream`() {
+    val metricReporter = mockk<WorkerMetricReporter>(relaxed = true)
+    val fieldSelector = createFieldSelector(createCatalog(SCHEMA), fieldSelectionEnabled = true, metricReporter = metricReporter)
+
+    fieldSelector.filterSelectedFields(createRecord(RECORD_WITH_EXTRA))
+    fieldSelector.filterSelectedFields(createRawRecord(RECORD_WITH_EXTRA))
+    fieldSelector.filterSelectedFields(createRecord(RECORD_WITHOUT_EXTRA))
+    fieldSelector.reportMetrics(UUID.randomUUID())
+
+    verify(exactly = 1) { metricReporter.trackDroppedFields(AirbyteStreamNameNamespacePair(STREAM_NAME, null), 4L) }
+  }
+
+  @Test
+  internal fun `test that passthrough is only allowed for streams without field selection or validation`() {
+    val stream = AirbyteStreamNameNamespacePair(STREAM_NAME, null)
+    val noValidation = SamplingConfiguration(0.0, mapOf())
+    val allowsPassthrough = { fieldSelectionEnabled: Boolean, rawRecordPassthrough: Boolean, sampling: SamplingConfiguration ->
+      createFieldSelector(
+        createCatalog(SCHEMA),
+        fieldSelectionEnabled = fieldSelectionEnabled,
+        rawRecordPassthrough = rawRecordPassthrough,
+        samplingConfiguration = sampling,
+      ).allowsPassthrough(stream)
+    }
+
+    assertTrue(allowsPassthrough(false, true, noValidation))
+    assertFalse(allowsPassthrough(false, false, noValidation))
+    assertFalse(allowsPassthrough(true, true, noValidation))
+    assertFalse(allowsPassthrough(false, true, SamplingConfiguration.VALIDATE_ALL))
+    assertFalse(allowsPassthrough(false, true, SamplingConfiguration(0.0, mapOf(stream to 0.1))))
+  }
+
+  private fun createCatalog(schema: String): ConfiguredAirbyteCatalog =
+    ConfiguredAirbyteCatalog()
+      .withStreams(
+        listOf(
+          ConfiguredAirbyteStream(
+            stream = AirbyteStream(STREAM_NAME, Jsons.deserialize(schema), listOf(SyncMode.INCREMENTAL)),
+            syncMode = SyncMode.INCREMENTAL,
+            destinationSyncMode = DestinationSyncMode.APPEND,
+          ),
+        ),
+      )
+
   private fun createFieldSelector(
     configuredCatalog: ConfiguredAirbyteCatalog,
     fieldSelectionEnabled: Boolean,
+    metricReporter: WorkerMetricReporter = mockk(),
+    rawRecordPassthrough: Boolean = false,
+    samplingConfiguration: SamplingConfiguration = SamplingConfiguration.VALIDATE_ALL,
   ): FieldSelector {
-    val schemaValidator = RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(configuredCatalog))
+    val schemaValidator =
+      RecordSchemaValidator(
+        WorkerUtils.mapStreamNamesToSchemas(configuredCatalog),
+        samplingConfiguration,
+        RecordSchemaValidator.DEFAULT_VALIDATION_WORKERS,
+      )
     val fieldSelector =
       FieldSelector(
         schemaValidator,
-        mockk(),
+        metricReporter,
         fieldSelectionEnabled,
         false,
+        rawRecordPassthrough,
       )
     fieldSelector.populateFields(configuredCatalog)
     return fieldSelector
@@ -220,4 +317,13 @@ internal class FieldSelectorTest {
           .withStream(STREAM_NAME)
           .withData(Jsons.deserialize(jsonData)),
       )
+
+  private fun createRawRecord(jsonData: String): AirbyteMessage =
+    AirbyteMessage()
+      .withType(AirbyteMessage.Type.RECORD)
+      .withRecord(
+        AirbyteRecordMessage()
+          .withStream(STREAM_NAME)
+          .withData(RawRecordData(jsonData.toByteArray(Charsets.UTF_8))),
+      )
 }
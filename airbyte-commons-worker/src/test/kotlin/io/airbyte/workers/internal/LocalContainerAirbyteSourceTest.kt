@@ -67,7 +67,7 @@ internal class LocalContainerAirbyteSourceTest {
       }
     streamFactory =
       mockk<AirbyteStreamFactory> {
-        every { create(any()) } returns stream
+        every { createFromInputStream(any()) } returns stream
       }
     workerSourceConfig = mockk<WorkerSourceConfig>()
   }
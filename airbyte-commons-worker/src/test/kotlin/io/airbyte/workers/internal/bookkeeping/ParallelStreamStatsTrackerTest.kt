@@ -1146,6 +1146,35 @@ class ParallelStreamStatsTrackerTest {
     }
   }
 
+  @Test
+  fun testTotalsMatchStreamStatsWhenUpdatedConcurrently() {
+    val streamNames = (1..10).map { "stream$it" }
+    val threads =
+      streamNames.flatMap { streamName ->
+        (1..2).map {
+          Thread {
+            repeat(500) { i -> statsTracker.updateStats(createRecord(streamName, "value$i")) }
+          }
+        }
+      }
+    threads.forEach { it.start() }
+    threads.forEach { it.join() }
+    streamNames.forEach { statsTracker.updateEstimates(createEstimate(it, 100L, 10L)) }
+    // A new estimate replaces the previous one of the stream.
+    statsTracker.updateEstimates(createEstimate(streamNames[0], 200L, 20L))
+
+    val streamStats = statsTracker.getAllStreamSyncStats(false).map { it.stats }
+    val totalStats = statsTracker.getTotalStats(false)
+
+    assertEquals(10_000L, statsTracker.getTotalRecordsEmitted())
+    assertEquals(streamStats.sumOf { it.recordsEmitted }, totalStats.recordsEmitted)
+    assertEquals(streamStats.sumOf { it.bytesEmitted }, statsTracker.getTotalBytesEmitted())
+    assertEquals(streamStats.sumOf { it.bytesEmitted }, statsTracker.getTotalStats(true).bytesCommitted)
+    assertEquals(0L, statsTracker.getTotalRecordsCommitted())
+    assertEquals(1_100L, statsTracker.getTotalBytesEstimated())
+    assertEquals(110L, totalStats.estimatedRecords)
+  }
+
   /**
    * Focus SyncStats comparison on the records related metrics by blanking out the rest.
    */
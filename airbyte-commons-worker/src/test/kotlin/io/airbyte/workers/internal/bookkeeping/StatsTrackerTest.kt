@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.internal.bookkeeping
 
+import com.fasterxml.jackson.databind.node.ObjectNode
 import com.google.common.hash.Hashing
 import io.airbyte.commons.json.Jsons
 import io.airbyte.config.FileTransferInformations
@@ -13,6 +14,8 @@ import io.airbyte.protocol.models.AirbyteStateMessage
 import io.airbyte.protocol.models.AirbyteStateStats
 import io.airbyte.protocol.models.AirbyteStreamState
 import io.airbyte.protocol.models.StreamDescriptor
+import io.airbyte.workers.internal.PreProcessedRecordData
+import io.airbyte.workers.internal.RawRecordData
 import io.mockk.mockk
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertNotEquals
@@ -77,6 +80,34 @@ class StatsTrackerTest {
     )
   }
 
+  @Test
+  internal fun `test that state hash code is the hash of the serialized state`() {
+    val hashFunction = Hashing.murmur3_32_fixed()
+    val streamState = Jsons.jsonNode(mapOf("cursor" to "2024-01-01T00:00:00Z", "name" to "caf\u00e9 \"quoted\"", "ids" to listOf(1, 2, 3)))
+    val global =
+      AirbyteGlobalState()
+        .withSharedState(Jsons.jsonNode(mapOf("lsn" to 123456789L)))
+        .withStreamStates(listOf(AirbyteStreamState().withStreamState(streamState).withStreamDescriptor(StreamDescriptor().withName("name"))))
+
+    val streamStateMessage =
+      AirbyteStateMessage()
+        .withType(AirbyteStateMessage.AirbyteStateType.STREAM)
+        .withStream(AirbyteStreamState().withStreamState(streamState))
+    val globalStateMessage =
+      AirbyteStateMessage()
+        .withType(AirbyteStateMessage.AirbyteStateType.GLOBAL)
+        .withGlobal(global)
+
+    assertEquals(
+      hashFunction.hashBytes(Jsons.serialize(streamState).toByteArray()).hashCode(),
+      streamStateMessage.getStateHashCode(hashFunction),
+    )
+    assertEquals(
+      hashFunction.hashBytes(Jsons.serialize(global).toByteArray()).hashCode(),
+      globalStateMessage.getStateHashCode(hashFunction),
+    )
+  }
+
   @Test
   internal fun `test file transfer stats`() {
     val streamStatsTracker =
@@ -98,7 +129,7 @@ class StatsTrackerTest {
 
     streamStatsTracker.trackRecord(record)
 
-    assertEquals(size, streamStatsTracker.streamStats.emittedBytesCount.get())
+    assertEquals(size, streamStatsTracker.streamStats.emittedBytesCount.sum())
   }
 
   @Test
@@ -122,6 +153,70 @@ class StatsTrackerTest {
 
     streamStatsTracker.trackRecord(record)
 
-    assertNotEquals(size, streamStatsTracker.streamStats.emittedBytesCount.get())
+    assertNotEquals(size, streamStatsTracker.streamStats.emittedBytesCount.sum())
+  }
+
+  @Test
+  internal fun `test record bytes match the serialized data`() {
+    val streamStatsTracker =
+      StreamStatsTracker(
+        mockk(),
+        mockk(),
+        false,
+      )
+
+    val data = Jsons.jsonNode(mapOf("id" to 1, "name" to "quoted \"name\"", "tags" to listOf("a", "b"), "score" to 1.5))
+    val record =
+      AirbyteRecordMessage()
+        .withStream("name")
+        .withNamespace("namespace")
+        .withData(data)
+
+    streamStatsTracker.trackRecord(record)
+
+    assertEquals(Jsons.serialize(data).length.toLong(), streamStatsTracker.streamStats.emittedBytesCount.sum())
+  }
+
+  @Test
+  internal fun `test pre-processed records count their data before the mappers`() {
+    val streamStatsTracker =
+      StreamStatsTracker(
+        mockk(),
+        mockk(),
+        false,
+      )
+
+    val mappedData = Jsons.jsonNode(mapOf("id" to 1)) as ObjectNode
+    val record =
+      AirbyteRecordMessage()
+        .withStream("name")
+        .withNamespace("namespace")
+        .withData(PreProcessedRecordData.filteredOut(mappedData, 100L))
+
+    streamStatsTracker.trackRecord(record)
+    streamStatsTracker.updateFilteredOutRecordsStats(record)
+
+    assertEquals(100L, streamStatsTracker.streamStats.emittedBytesCount.sum())
+    assertEquals(Jsons.serialize(mappedData).length.toLong(), streamStatsTracker.streamStats.filteredOutBytesCount.sum())
+  }
+
+  @Test
+  internal fun `test raw and parsed records count the same bytes`() {
+    val rawStreamStatsTracker = StreamStatsTracker(mockk(), mockk(), false)
+    val parsedStreamStatsTracker = StreamStatsTracker(mockk(), mockk(), false)
+
+    val data = Jsons.jsonNode(mapOf("name" to "caf\u00e9 \u2603", "emoji" to "\ud83d\ude00"))
+    rawStreamStatsTracker.trackRecord(
+      AirbyteRecordMessage().withStream("name").withData(RawRecordData(Jsons.toBytes(data))),
+    )
+    parsedStreamStatsTracker.trackRecord(
+      AirbyteRecordMessage().withStream("name").withData(data),
+    )
+
+    assertEquals(Jsons.toBytes(data).size.toLong(), rawStreamStatsTracker.streamStats.emittedBytesCount.sum())
+    assertEquals(
+      rawStreamStatsTracker.streamStats.emittedBytesCount.sum(),
+      parsedStreamStatsTracker.streamStats.emittedBytesCount.sum(),
+    )
   }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.storage
+
+import io.airbyte.commons.storage.DocumentOutputStream
+import java.io.ByteArrayOutputStream
+
+/**
+ * [DocumentOutputStream] that keeps the document in memory, and records whether it was committed or aborted.
+ */
+internal class InMemoryDocumentOutputStream : DocumentOutputStream() {
+  private val document = ByteArrayOutputStream()
+
+  var committed = false
+    private set
+
+  var aborted = false
+    private set
+
+  override fun write(b: Int) {
+    document.write(b)
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    document.write(b, off, len)
+  }
+
+  override fun close() {
+    committed = true
+  }
+
+  override fun abort() {
+    aborted = true
+  }
+
+  fun toByteArray(): ByteArray = document.toByteArray()
+
+  override fun toString(): String = document.toString(Charsets.UTF_8)
+}
@@ -6,6 +6,7 @@ import io.airbyte.config.StandardSyncOutput
 import io.airbyte.metrics.lib.MetricClient
 import io.airbyte.metrics.lib.OssMetricsRegistry
 import io.airbyte.workers.models.RefreshSchemaActivityOutput
+import io.airbyte.workers.storage.InMemoryDocumentOutputStream
 import io.mockk.every
 import io.mockk.impl.annotations.MockK
 import io.mockk.junit5.MockKExtension
@@ -14,6 +15,8 @@ import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
+import java.io.InputStream
+import java.io.OutputStream
 
 @ExtendWith(MockKExtension::class)
 class ActivityPayloadStorageClientTest {
@@ -36,9 +39,9 @@ class ActivityPayloadStorageClientTest {
 
     every { metricClient.count(any(), any(), *anyVararg()) } returns Unit
 
-    every { storageClientRaw.write(any(), any()) } returns Unit
+    every { storageClientRaw.writeStream(any()) } answers { InMemoryDocumentOutputStream() }
 
-    every { storageClientRaw.read(any()) } returns ""
+    every { storageClientRaw.readStream(any()) } answers { "".byteInputStream() }
   }
 
   @Test
@@ -46,24 +49,26 @@ class ActivityPayloadStorageClientTest {
     val syncOutput = StandardSyncOutput().withAdditionalProperty("some", "unique-value-1")
     val refreshOutput = RefreshSchemaActivityOutput()
 
+    val syncOutputStream = "serialized-sync-output".byteInputStream()
     every {
-      storageClientRaw.read("sync-output")
-    } returns "serialized-sync-output"
+      storageClientRaw.readStream("sync-output")
+    } returns syncOutputStream
 
     every {
-      serde.deserialize("serialized-sync-output", StandardSyncOutput::class.java)
+      serde.deserialize(syncOutputStream, StandardSyncOutput::class.java)
     } returns syncOutput
 
     val result1 = client.readJSON<StandardSyncOutput>(ActivityPayloadURI("sync-output"))
 
     Assertions.assertEquals(syncOutput, result1)
 
+    val refreshOutputStream = "serialized-refresh-output".byteInputStream()
     every {
-      storageClientRaw.read("refresh-output")
-    } returns "serialized-refresh-output"
+      storageClientRaw.readStream("refresh-output")
+    } returns refreshOutputStream
 
     every {
-      serde.deserialize("serialized-refresh-output", RefreshSchemaActivityOutput::class.java)
+      serde.deserialize(refreshOutputStream, RefreshSchemaActivityOutput::class.java)
     } returns refreshOutput
 
     val result2 = client.readJSON<RefreshSchemaActivityOutput>(ActivityPayloadURI("refresh-output"))
@@ -74,7 +79,7 @@ class ActivityPayloadStorageClientTest {
   @Test
   fun `readJSON handles null`() {
     every {
-      storageClientRaw.read("sync-output")
+      storageClientRaw.readStream("sync-output")
     } returns null
 
     val result = client.readJSON<StandardSyncOutput>(ActivityPayloadURI("sync-output"))
@@ -86,13 +91,45 @@ class ActivityPayloadStorageClientTest {
   fun `writeJSON serializes to json and writes to a given uri`() {
     val syncOutput = StandardSyncOutput().withAdditionalProperty("some", "unique-value-1")
 
+    val document = InMemoryDocumentOutputStream()
     every {
-      serde.serialize(syncOutput)
-    } returns "serialized-sync-output"
+      storageClientRaw.writeStream("sync-output")
+    } returns document
+
+    every {
+      serde.serialize(syncOutput, any())
+    } answers { secondArg<OutputStream>().write("serialized-sync-output".toByteArray()) }
 
     client.writeJSON(ActivityPayloadURI("sync-output"), syncOutput)
 
-    verify { storageClientRaw.write("sync-output", "serialized-sync-output") }
+    verify { serde.serialize(syncOutput, any()) }
+    Assertions.assertEquals("serialized-sync-output", document.toString())
+    Assertions.assertTrue(document.committed)
+  }
+
+  @Test
+  fun `writeJSON does not commit the payload when serialization fails`() {
+    val syncOutput = StandardSyncOutput().withAdditionalProperty("some", "unique-value-1")
+
+    val document = InMemoryDocumentOutputStream()
+    every {
+      storageClientRaw.writeStream("sync-output")
+    } returns document
+
+    every {
+      serde.serialize(syncOutput, any())
+    } answers {
+      secondArg<OutputStream>().apply {
+        write("partial".toByteArray())
+        close()
+      }
+      throw RuntimeException("failed to serialize")
+    }
+
+    Assertions.assertThrows(RuntimeException::class.java) { client.writeJSON(ActivityPayloadURI("sync-output"), syncOutput) }
+
+    Assertions.assertFalse(document.committed)
+    Assertions.assertTrue(document.aborted)
   }
 
   @Test
@@ -100,7 +137,7 @@ class ActivityPayloadStorageClientTest {
     val uri = ActivityPayloadURI("id", "version")
     val syncOutput = StandardSyncOutput().withAdditionalProperty("some", "unique-value-1")
 
-    every { serde.deserialize(any(), StandardSyncOutput::class.java) } returns syncOutput
+    every { serde.deserialize(any<InputStream>(), StandardSyncOutput::class.java) } returns syncOutput
 
     client.validateOutput(uri, StandardSyncOutput::class.java, syncOutput, comparator, listOf())
 
@@ -115,7 +152,7 @@ class ActivityPayloadStorageClientTest {
     val syncOutput1 = StandardSyncOutput().withAdditionalProperty("some", "unique-value-1")
     val syncOutput2 = StandardSyncOutput().withAdditionalProperty("some", "unique-value-2")
 
-    every { serde.deserialize(any(), StandardSyncOutput::class.java) } returns syncOutput2
+    every { serde.deserialize(any<InputStream>(), StandardSyncOutput::class.java) } returns syncOutput2
 
     client.validateOutput(uri, StandardSyncOutput::class.java, syncOutput1, comparator, listOf())
 
@@ -129,7 +166,7 @@ class ActivityPayloadStorageClientTest {
     val uri = ActivityPayloadURI("id", "version")
     val syncOutput = StandardSyncOutput().withAdditionalProperty("some", "unique-value-1")
 
-    every { storageClientRaw.read(uri.id) } returns null
+    every { storageClientRaw.readStream(uri.id) } returns null
 
     client.validateOutput(uri, StandardSyncOutput::class.java, syncOutput, comparator, listOf())
 
@@ -155,7 +192,7 @@ class ActivityPayloadStorageClientTest {
     val uri = ActivityPayloadURI("id", "version")
     val syncOutput = StandardSyncOutput().withAdditionalProperty("some", "unique-value-1")
 
-    every { storageClientRaw.read(uri.id) } throws RuntimeException("yikes")
+    every { storageClientRaw.readStream(uri.id) } throws RuntimeException("yikes")
 
     client.validateOutput(uri, StandardSyncOutput::class.java, syncOutput, comparator, listOf())
 
@@ -7,8 +7,11 @@ import io.airbyte.workers.workload.WorkloadConstants.WORKLOAD_CANCELLED_BY_USER_
 import io.airbyte.workload.api.client.WorkloadApiClient
 import io.airbyte.workload.api.client.generated.WorkloadApi
 import io.airbyte.workload.api.client.model.generated.WorkloadCancelRequest
+import io.airbyte.workload.api.client.model.generated.Workload
 import io.airbyte.workload.api.client.model.generated.WorkloadCreateRequest
 import io.airbyte.workload.api.client.model.generated.WorkloadPriority
+import io.airbyte.workload.api.client.model.generated.WorkloadStatus
+import io.airbyte.workload.api.client.model.generated.WorkloadTerminalListResponse
 import io.airbyte.workload.api.client.model.generated.WorkloadType
 import io.mockk.every
 import io.mockk.mockk
@@ -17,10 +20,16 @@ import io.mockk.slot
 import io.mockk.spyk
 import io.mockk.verify
 import io.temporal.activity.ActivityExecutionContext
+import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertDoesNotThrow
+import org.junit.jupiter.api.assertThrows
+import org.openapitools.client.infrastructure.ClientException
+import java.time.Duration
 import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicReference
 
 class WorkloadClientTest {
@@ -104,4 +113,103 @@ class WorkloadClientTest {
     verify { client.createWorkload(createReq) }
     verify { client.waitForWorkload(createReq.workloadId, checkFreqSecs) }
   }
+
+  @Test
+  fun `waitForWorkload returns without polling when the workload is already terminal`() {
+    every { apiClient.workloadGet("workloadId") } returns workload("workloadId", WorkloadStatus.SUCCESS)
+
+    client.waitForWorkload("workloadId", 1)
+
+    verify(exactly = 1) { apiClient.workloadGet("workloadId") }
+    verify(exactly = 0) { apiClient.workloadListTerminal(any()) }
+  }
+
+  @Test
+  fun `workloads being waited on are polled together`() {
+    every { apiClient.workloadGet("workload1") } returns workload("workload1", WorkloadStatus.RUNNING)
+    every { apiClient.workloadGet("workload2") } returns workload("workload2", WorkloadStatus.PENDING)
+    every { apiClient.workloadListTerminal(any()) } returns
+      WorkloadTerminalListResponse(listOf(workload("workload1", WorkloadStatus.SUCCESS), workload("workload2", WorkloadStatus.CANCELLED)))
+
+    val completion1 = client.workloadCompletion("workload1", 1)
+    val completion2 = client.workloadCompletion("workload2", 1)
+
+    assertEquals(WorkloadStatus.SUCCESS, completion1.get(10, TimeUnit.SECONDS).status)
+    assertEquals(WorkloadStatus.CANCELLED, completion2.get(10, TimeUnit.SECONDS).status)
+    verify(exactly = 1) { apiClient.workloadListTerminal(match { it.workloadIds.toSet() == setOf("workload1", "workload2") }) }
+    verify(exactly = 1) { apiClient.workloadGet("workload1") }
+    verify(exactly = 1) { apiClient.workloadGet("workload2") }
+  }
+
+  @Test
+  fun `workloads are polled one at a time when the workload-api can't list the terminal ones`() {
+    every { apiClient.workloadGet("workload1") } returnsMany
+      listOf(workload("workload1", WorkloadStatus.RUNNING), workload("workload1", WorkloadStatus.FAILURE))
+    every { apiClient.workloadGet("workload2") } returns workload("workload2", WorkloadStatus.RUNNING) andThenThrows
+      ClientException(statusCode = 404)
+    every { apiClient.workloadListTerminal(any()) } throws ClientException(statusCode = 404)
+
+    val completion1 = client.workloadCompletion("workload1", 1)
+    val completion2 = client.workloadCompletion("workload2", 1)
+
+    assertEquals(WorkloadStatus.FAILURE, completion1.get(10, TimeUnit.SECONDS).status)
+    assertThrows<ExecutionException> { completion2.get(10, TimeUnit.SECONDS) }
+  }
+
+  @Test
+  fun `workloads the workload-api doesn't know about fail`() {
+    every { apiClient.workloadGet("workload1") } returns workload("workload1", WorkloadStatus.RUNNING)
+    every { apiClient.workloadListTerminal(any()) } returns WorkloadTerminalListResponse(listOf(), listOf("workload1"))
+
+    val completion = client.workloadCompletion("workload1", 1)
+
+    val exception = assertThrows<ExecutionException> { completion.get(10, TimeUnit.SECONDS) }
+    assertEquals(404, (exception.cause as ClientException).statusCode)
+  }
+
+  @Test
+  fun `workloads fail once they could not be polled for the poll timeout`() {
+    every { apiClient.workloadGet("workload1") } returns workload("workload1", WorkloadStatus.RUNNING)
+    every { apiClient.workloadListTerminal(any()) } throws ClientException(statusCode = 500)
+
+    val completion = client.workloadCompletion("workload1", 1, Duration.ZERO)
+
+    assertThrows<ExecutionException> { completion.get(10, TimeUnit.SECONDS) }
+  }
+
+  @Test
+  fun `workloads keep being polled after a failed poll within the poll timeout`() {
+    every { apiClient.workloadGet("workload1") } returns workload("workload1", WorkloadStatus.RUNNING)
+    every { apiClient.workloadListTerminal(any()) } throws ClientException(statusCode = 500) andThen
+      WorkloadTerminalListResponse(listOf(workload("workload1", WorkloadStatus.SUCCESS)))
+
+    val completion = client.workloadCompletion("workload1", 1, Duration.ofMinutes(5))
+
+    assertEquals(WorkloadStatus.SUCCESS, completion.get(10, TimeUnit.SECONDS).status)
+    verify(exactly = 2) { apiClient.workloadListTerminal(any()) }
+  }
+
+  @Test
+  fun `a failed poll only fails the workloads whose own poll timeout passed`() {
+    every { apiClient.workloadGet("workload1") } returns workload("workload1", WorkloadStatus.RUNNING)
+    every { apiClient.workloadGet("workload2") } returns workload("workload2", WorkloadStatus.RUNNING)
+    every { apiClient.workloadListTerminal(any()) } throws ClientException(statusCode = 500) andThen
+      WorkloadTerminalListResponse(listOf(workload("workload2", WorkloadStatus.SUCCESS)))
+
+    val completion1 = client.workloadCompletion("workload1", 1, Duration.ZERO)
+    val completion2 = client.workloadCompletion("workload2", 1)
+
+    assertThrows<ExecutionException> { completion1.get(10, TimeUnit.SECONDS) }
+    assertEquals(WorkloadStatus.SUCCESS, completion2.get(10, TimeUnit.SECONDS).status)
+  }
+
+  private fun workload(
+    id: String,
+    status: WorkloadStatus,
+  ): Workload {
+    val w: Workload = mockk()
+    every { w.id } returns id
+    every { w.status } returns status
+    return w
+  }
 }
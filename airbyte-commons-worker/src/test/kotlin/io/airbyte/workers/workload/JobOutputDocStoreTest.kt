@@ -1,6 +1,7 @@
 package io.airbyte.workers.workload
 
 import io.airbyte.commons.json.Jsons
+import io.airbyte.commons.storage.DocumentOutputStream
 import io.airbyte.commons.storage.StorageClient
 import io.airbyte.config.ConnectorJobOutput
 import io.airbyte.config.ReplicationOutput
@@ -9,6 +10,7 @@ import io.airbyte.metrics.lib.MetricAttribute
 import io.airbyte.metrics.lib.MetricClient
 import io.airbyte.metrics.lib.MetricTags
 import io.airbyte.metrics.lib.OssMetricsRegistry
+import io.airbyte.workers.storage.InMemoryDocumentOutputStream
 import io.airbyte.workers.workload.exception.DocStoreAccessException
 import io.mockk.every
 import io.mockk.impl.annotations.MockK
@@ -20,6 +22,7 @@ import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.api.extension.ExtendWith
+import java.io.IOException
 import java.util.Optional
 
 @ExtendWith(MockKExtension::class)
@@ -51,32 +54,56 @@ internal class JobOutputDocStoreTest {
 
   @Test
   fun `properly create an output`() {
-    every { storageClient.write(workloadId, connectorJobOutputSerialized) } returns Unit
+    val document = InMemoryDocumentOutputStream()
+    every { storageClient.writeStream(workloadId) } returns document
     every { metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "success")) } returns Unit
 
     jobOutputDocStore.write(workloadId, connectorJobOutput)
 
+    assertEquals(connectorJobOutputSerialized, document.toString())
+    assertTrue(document.committed)
     verifyOrder {
-      storageClient.write(workloadId, connectorJobOutputSerialized)
+      storageClient.writeStream(workloadId)
       metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "success"))
     }
   }
 
   @Test
   fun `properly wrap writing error`() {
-    every { storageClient.write(workloadId, connectorJobOutputSerialized) } throws RuntimeException()
+    every { storageClient.writeStream(workloadId) } throws RuntimeException()
     every { metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "error")) } returns Unit
 
     assertThrows<DocStoreAccessException> { jobOutputDocStore.write(workloadId, connectorJobOutput) }
     verifyOrder {
-      storageClient.write(workloadId, connectorJobOutputSerialized)
+      storageClient.writeStream(workloadId)
       metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "error"))
     }
   }
 
+  @Test
+  fun `the output is not committed when it fails to be serialized`() {
+    val document =
+      object : DocumentOutputStream() {
+        var aborted = false
+
+        override fun write(b: Int): Unit = throw IOException("failed to write")
+
+        override fun close(): Unit = throw IllegalStateException("a partial output must not be committed")
+
+        override fun abort() {
+          aborted = true
+        }
+      }
+    every { storageClient.writeStream(workloadId) } returns document
+    every { metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "error")) } returns Unit
+
+    assertThrows<DocStoreAccessException> { jobOutputDocStore.writeSyncOutput(workloadId, replicationOutput) }
+    assertTrue(document.aborted)
+  }
+
   @Test
   fun `properly read an output`() {
-    every { storageClient.read(workloadId) } returns connectorJobOutputSerialized
+    every { storageClient.readStream(workloadId) } returns connectorJobOutputSerialized.byteInputStream()
 
     val output: Optional<ConnectorJobOutput> = jobOutputDocStore.read(workloadId)
 
@@ -86,7 +113,7 @@ internal class JobOutputDocStoreTest {
 
   @Test
   fun `properly read a missing output`() {
-    every { storageClient.read(workloadId) } returns null
+    every { storageClient.readStream(workloadId) } returns null
 
     val output: Optional<ConnectorJobOutput> = jobOutputDocStore.read(workloadId)
 
@@ -95,39 +122,42 @@ internal class JobOutputDocStoreTest {
 
   @Test
   fun `properly wrap reading error`() {
-    every { storageClient.read(workloadId) } throws RuntimeException()
+    every { storageClient.readStream(workloadId) } throws RuntimeException()
 
     assertThrows<DocStoreAccessException> { jobOutputDocStore.read(workloadId) }
   }
 
   @Test
   fun `properly create an output for syncs`() {
-    every { storageClient.write(workloadId, replicationOutputSerialized) } returns Unit
+    val document = InMemoryDocumentOutputStream()
+    every { storageClient.writeStream(workloadId) } returns document
     every { metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "success")) } returns Unit
 
     jobOutputDocStore.writeSyncOutput(workloadId, replicationOutput)
 
+    assertEquals(replicationOutputSerialized, document.toString())
+    assertTrue(document.committed)
     verifyOrder {
-      storageClient.write(workloadId, replicationOutputSerialized)
+      storageClient.writeStream(workloadId)
       metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "success"))
     }
   }
 
   @Test
   fun `properly wrap writing error for syncs`() {
-    every { storageClient.write(workloadId, replicationOutputSerialized) } throws RuntimeException()
+    every { storageClient.writeStream(workloadId) } throws RuntimeException()
     every { metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "error")) } returns Unit
 
     assertThrows<DocStoreAccessException> { jobOutputDocStore.writeSyncOutput(workloadId, replicationOutput) }
     verifyOrder {
-      storageClient.write(workloadId, replicationOutputSerialized)
+      storageClient.writeStream(workloadId)
       metricClient.count(OssMetricsRegistry.JOB_OUTPUT_WRITE, 1, MetricAttribute(MetricTags.STATUS, "error"))
     }
   }
 
   @Test
   fun `properly read an output for syncs`() {
-    every { storageClient.read(workloadId) } returns replicationOutputSerialized
+    every { storageClient.readStream(workloadId) } returns replicationOutputSerialized.byteInputStream()
     every { metricClient.count(OssMetricsRegistry.JOB_OUTPUT_READ, 1, MetricAttribute(MetricTags.STATUS, "success")) } returns Unit
 
     val output: Optional<ReplicationOutput> = jobOutputDocStore.readSyncOutput(workloadId)
@@ -135,33 +165,33 @@ internal class JobOutputDocStoreTest {
     assertTrue(output.isPresent)
     assertEquals(replicationOutput, output.get())
     verifyOrder {
-      storageClient.read(workloadId)
+      storageClient.readStream(workloadId)
       metricClient.count(OssMetricsRegistry.JOB_OUTPUT_READ, 1, MetricAttribute(MetricTags.STATUS, "success"))
     }
   }
 
   @Test
   fun `properly read a missing output for syncs`() {
-    every { storageClient.read(workloadId) } returns null
+    every { storageClient.readStream(workloadId) } returns null
     every { metricClient.count(OssMetricsRegistry.JOB_OUTPUT_READ, 1, MetricAttribute(MetricTags.STATUS, "success")) } returns Unit
 
     val output: Optional<ReplicationOutput> = jobOutputDocStore.readSyncOutput(workloadId)
 
     assertTrue(output.isEmpty)
     verifyOrder {
-      storageClient.read(workloadId)
+      storageClient.readStream(workloadId)
       metricClient.count(OssMetricsRegistry.JOB_OUTPUT_READ, 1, MetricAttribute(MetricTags.STATUS, "success"))
     }
   }
 
   @Test
   fun `properly wrap reading error for syncs`() {
-    every { storageClient.read(workloadId) } throws RuntimeException()
+    every { storageClient.readStream(workloadId) } throws RuntimeException()
     every { metricClient.count(OssMetricsRegistry.JOB_OUTPUT_READ, 1, MetricAttribute(MetricTags.STATUS, "error")) } returns Unit
 
     assertThrows<DocStoreAccessException> { jobOutputDocStore.readSyncOutput(workloadId) }
     verifyOrder {
-      storageClient.read(workloadId)
+      storageClient.readStream(workloadId)
       metricClient.count(OssMetricsRegistry.JOB_OUTPUT_READ, 1, MetricAttribute(MetricTags.STATUS, "error"))
     }
   }
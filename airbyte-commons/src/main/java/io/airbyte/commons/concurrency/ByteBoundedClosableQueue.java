@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link ClosableQueue} that bounds its content by an estimated byte budget on top of the
+ * message-count cap of the underlying queue.
+ * <p>
+ * {@link #add(Object)} applies backpressure while the budget is exhausted and gives up after the
+ * poll timeout, the same way the bounded queues do when they are full. A single element larger
+ * than the whole budget is still accepted when the queue is empty so that it cannot block forever.
+ * <p>
+ * Like {@link ClosableSpscRingBufferQueue}, this queue supports a single producer and a single
+ * consumer. The size each element was accounted for is kept in a preallocated ring that mirrors the
+ * order of the underlying queue, so nothing is allocated per element.
+ */
+public class ByteBoundedClosableQueue<T> implements ClosableQueue<T> {
+
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final ClosableQueue<T> delegate;
+  private final ToLongFunction<T> sizer;
+  private final long maxBytes;
+  private final long timeOutNanos;
+  private final AtomicLong usedBytes;
+
+  // Sizes of the queued elements, in queue order. Slot i & mask holds the size of the i-th element.
+  private final long[] sizes;
+  private final int mask;
+  // Only written by the producer.
+  private long producerIndex;
+  // Only written by the consumer, once the sizes of the removed elements are read.
+  private final AtomicLong consumerIndex;
+
+  /**
+   * Create a byte-bounded queue.
+   *
+   * @param delegate underlying queue, which provides the message-count cap
+   * @param maxQueueSize message-count cap of the underlying queue
+   * @param sizer estimates the size of an element in bytes
+   * @param maxBytes byte budget of the queue
+   * @param pollTimeOutDurationInSeconds how long {@link #add(Object)} waits for budget
+   */
+  public ByteBoundedClosableQueue(final ClosableQueue<T> delegate,
+                                  final int maxQueueSize,
+                                  final ToLongFunction<T> sizer,
+                                  final long maxBytes,
+                                  final int pollTimeOutDurationInSeconds) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be positive, got " + maxBytes);
+    }
+    if (maxQueueSize <= 0) {
+      throw new IllegalArgumentException("maxQueueSize must be positive, got " + maxQueueSize);
+    }
+    this.delegate = delegate;
+    this.sizer = sizer;
+    this.maxBytes = maxBytes;
+    this.timeOutNanos = TimeUnit.SECONDS.toNanos(pollTimeOutDurationInSeconds);
+    this.usedBytes = new AtomicLong();
+    // Rounded up to a power of two, so it is never smaller than the capacity of the underlying queue.
+    final int capacity = maxQueueSize == 1 ? 1 : Integer.highestOneBit(maxQueueSize - 1) << 1;
+    this.sizes = new long[capacity];
+    this.mask = capacity - 1;
+    this.consumerIndex = new AtomicLong();
+  }
+
+  @Override
+  public T poll() throws InterruptedException {
+    final T element = delegate.poll();
+    if (element != null) {
+      release(1);
+    }
+    return element;
+  }
+
+  @Override
+  public int drainTo(final Collection<? super T> target, final int maxElements) throws InterruptedException {
+    final int drained = delegate.drainTo(target, maxElements);
+    if (drained > 0) {
+      release(drained);
+    }
+    return drained;
+  }
+
+  @Override
+  public boolean add(final T e) throws InterruptedException {
+    if (delegate.isClosed()) {
+      return false;
+    }
+
+    final long bytes = sizer.applyAsLong(e);
+    if (!hasRoomFor(bytes)) {
+      final long deadline = System.nanoTime() + timeOutNanos;
+      while (!hasRoomFor(bytes)) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        final long remaining = deadline - System.nanoTime();
+        if (delegate.isClosed() || remaining <= 0) {
+          return false;
+        }
+        LockSupport.parkNanos(Math.min(remaining, MAX_PARK_NANOS));
+      }
+    }
+
+    // The slot is written before the element is published by the underlying queue, which makes it
+    // visible to the consumer once it removes the element.
+    sizes[(int) (producerIndex & mask)] = bytes;
+    usedBytes.addAndGet(bytes);
+    if (!delegate.add(e)) {
+      usedBytes.addAndGet(-bytes);
+      return false;
+    }
+    producerIndex++;
+    return true;
+  }
+
+  private boolean hasRoomFor(final long bytes) {
+    if (producerIndex - consumerIndex.get() >= sizes.length) {
+      // The consumer removed elements but did not release their sizes yet.
+      return false;
+    }
+    final long currentBytes = usedBytes.get();
+    return currentBytes <= 0 || currentBytes + bytes <= maxBytes;
+  }
+
+  /**
+   * Release the budget of the next removed elements, in queue order.
+   */
+  private void release(final int count) {
+    final long index = consumerIndex.get();
+    long releasedBytes = 0;
+    for (int i = 0; i < count; i++) {
+      releasedBytes += sizes[(int) ((index + i) & mask)];
+    }
+    usedBytes.addAndGet(-releasedBytes);
+    consumerIndex.lazySet(index + count);
+  }
+
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  /**
+   * Estimated bytes currently held by the queue.
+   */
+  public long getUsedBytes() {
+    return Math.max(0, usedBytes.get());
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  @Override
+  public boolean isDone() {
+    return delegate.isDone();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return delegate.isClosed();
+  }
+
+}
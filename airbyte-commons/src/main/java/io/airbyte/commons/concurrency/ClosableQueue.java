@@ -4,10 +4,31 @@
 
 package io.airbyte.commons.concurrency;
 
+import java.util.Collection;
+
 public interface ClosableQueue<T> {
 
   T poll() throws InterruptedException;
 
+  /**
+   * Move up to maxElements elements into target, waiting up to the poll timeout for the first one.
+   * Implementations should override this when they can hand over a batch cheaper than repeated
+   * {@link #poll()} calls.
+   *
+   * @return the number of elements added to target
+   */
+  default int drainTo(final Collection<? super T> target, final int maxElements) throws InterruptedException {
+    if (maxElements <= 0) {
+      return 0;
+    }
+    final T element = poll();
+    if (element == null) {
+      return 0;
+    }
+    target.add(element);
+    return 1;
+  }
+
   boolean add(final T e) throws InterruptedException;
 
   int size();
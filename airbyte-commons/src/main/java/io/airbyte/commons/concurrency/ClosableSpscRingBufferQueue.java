@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single-producer/single-consumer {@link ClosableQueue} backed by a preallocated ring buffer.
+ * <p>
+ * Unlike {@link ClosableLinkedBlockingQueue}, adding an element does not allocate a node and
+ * neither side takes a lock. The producer and the consumer each own one index and only publish it
+ * with an ordered write; each side caches the other side's index and only re-reads it when the
+ * cached value says the buffer is full (producer) or empty (consumer).
+ * <p>
+ * This queue is only safe with exactly one thread calling {@link #add(Object)} and exactly one
+ * thread calling {@link #poll()} or {@link #drainTo(Collection, int)}. {@link #close()},
+ * {@link #isClosed()}, {@link #isDone()} and {@link #size()} may be called from any thread.
+ */
+public class ClosableSpscRingBufferQueue<T> implements ClosableQueue<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClosableSpscRingBufferQueue.class);
+
+  private static final int SPIN_TRIES = 100;
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final Object[] buffer;
+  private final int mask;
+  private final long timeOutNanos;
+
+  // Next slot to be read, written by the consumer only.
+  private final PaddedAtomicLong head = new PaddedAtomicLong();
+  // Next slot to be written, written by the producer only.
+  private final PaddedAtomicLong tail = new PaddedAtomicLong();
+
+  // Producer-local view of head.
+  private long cachedHead;
+  // Consumer-local view of tail.
+  private long cachedTail;
+
+  private final AtomicBoolean closed;
+
+  /**
+   * Create a ring buffer queue.
+   *
+   * @param maxQueueSize requested capacity, rounded up to the next power of two
+   * @param pollTimeOutDurationInSeconds how long {@link #poll()} and {@link #add(Object)} wait before
+   *        giving up
+   */
+  public ClosableSpscRingBufferQueue(final int maxQueueSize, final int pollTimeOutDurationInSeconds) {
+    if (maxQueueSize <= 0) {
+      throw new IllegalArgumentException("maxQueueSize must be positive, got " + maxQueueSize);
+    }
+    LOGGER.info("Using ClosableSpscRingBufferQueue");
+    final int capacity = roundToPowerOfTwo(maxQueueSize);
+    this.buffer = new Object[capacity];
+    this.mask = capacity - 1;
+    this.timeOutNanos = TimeUnit.SECONDS.toNanos(pollTimeOutDurationInSeconds);
+    this.closed = new AtomicBoolean();
+  }
+
+  @Override
+  public T poll() throws InterruptedException {
+    final long currentHead = head.get();
+    if (!awaitAvailable(currentHead)) {
+      return null;
+    }
+    return take(currentHead);
+  }
+
+  /**
+   * Drains every element that is already published, up to maxElements, waiting up to the poll
+   * timeout for the first one. The head index is published once for the whole batch.
+   */
+  @Override
+  public int drainTo(final Collection<? super T> target, final int maxElements) throws InterruptedException {
+    if (maxElements <= 0) {
+      return 0;
+    }
+    final long currentHead = head.get();
+    if (!awaitAvailable(currentHead)) {
+      return 0;
+    }
+    final long available = Math.min(cachedTail - currentHead, maxElements);
+    for (long i = 0; i < available; i++) {
+      final int index = (int) (currentHead + i) & mask;
+      @SuppressWarnings("unchecked")
+      final T element = (T) buffer[index];
+      buffer[index] = null;
+      target.add(element);
+    }
+    head.lazySet(currentHead + available);
+    return (int) available;
+  }
+
+  @Override
+  public boolean add(final T e) throws InterruptedException {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (closed.get()) {
+      return false;
+    }
+
+    final long currentTail = tail.get();
+    final long wrapPoint = currentTail - buffer.length;
+    if (cachedHead <= wrapPoint) {
+      final long deadline = System.nanoTime() + timeOutNanos;
+      int tries = 0;
+      while ((cachedHead = head.get()) <= wrapPoint) {
+        if (closed.get() || !backOff(tries++, deadline)) {
+          return false;
+        }
+      }
+    }
+
+    buffer[(int) currentTail & mask] = e;
+    // Ordered write: the element store above is visible before the new tail.
+    tail.lazySet(currentTail + 1);
+    return true;
+  }
+
+  @Override
+  public int size() {
+    // Read head first so that a concurrent poll can only make the result smaller, never negative.
+    final long currentHead = head.get();
+    final long currentTail = tail.get();
+    return (int) Math.max(0, currentTail - currentHead);
+  }
+
+  @Override
+  public boolean isDone() {
+    // The producer publishes its last element before closing, so checking closed first guarantees we
+    // observe every element added before the close.
+    return isClosed() && size() == 0;
+  }
+
+  @Override
+  public void close() {
+    closed.set(true);
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed.get();
+  }
+
+  /**
+   * Wait until at least one element is available at currentHead, refreshing cachedTail.
+   *
+   * @return false if the poll timeout elapsed or the queue was closed while empty
+   */
+  private boolean awaitAvailable(final long currentHead) throws InterruptedException {
+    if (currentHead < cachedTail) {
+      return true;
+    }
+    final long deadline = System.nanoTime() + timeOutNanos;
+    int tries = 0;
+    while ((cachedTail = tail.get()) <= currentHead) {
+      if (closed.get()) {
+        // Re-check once in case the last element was published right before the close.
+        return (cachedTail = tail.get()) > currentHead;
+      }
+      if (!backOff(tries++, deadline)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T take(final long currentHead) {
+    final int index = (int) currentHead & mask;
+    final T element = (T) buffer[index];
+    buffer[index] = null;
+    head.lazySet(currentHead + 1);
+    return element;
+  }
+
+  /**
+   * Spin briefly, then park with an increasing delay capped at {@link #MAX_PARK_NANOS}.
+   *
+   * @return false once the deadline has passed
+   */
+  private static boolean backOff(final int tries, final long deadline) throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    final long remaining = deadline - System.nanoTime();
+    if (remaining <= 0) {
+      return false;
+    }
+    if (tries < SPIN_TRIES) {
+      Thread.onSpinWait();
+    } else {
+      LockSupport.parkNanos(Math.min(remaining, Math.min(MAX_PARK_NANOS, 1000L << Math.min(tries - SPIN_TRIES, 10))));
+    }
+    return true;
+  }
+
+  private static int roundToPowerOfTwo(final int value) {
+    final int highestBit = Integer.highestOneBit(value);
+    return highestBit == value ? value : highestBit << 1;
+  }
+
+  /**
+   * AtomicLong padded so that the producer and consumer indexes do not share a cache line.
+   */
+  @SuppressWarnings({"unused", "PMD.UnusedPrivateField"})
+  private static final class PaddedAtomicLong extends AtomicLong {
+
+    private static final long serialVersionUID = 1L;
+
+    private long p1;
+    private long p2;
+    private long p3;
+    private long p4;
+    private long p5;
+    private long p6;
+    private long p7;
+
+  }
+
+}
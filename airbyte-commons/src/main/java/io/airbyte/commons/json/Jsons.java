@@ -7,6 +7,7 @@ package io.airbyte.commons.json;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -16,7 +17,9 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
@@ -25,6 +28,8 @@ import com.google.common.base.Preconditions;
 import io.airbyte.commons.jackson.MoreMappers;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -70,6 +75,10 @@ public class Jsons {
   }
 
   private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer(new JsonPrettyPrinter());
+  private static final ObjectWriter OPEN_STREAM_WRITER = OBJECT_MAPPER.writer()
+      .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+      .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+      .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
   /**
    * Serialize an object to a JSON string.
@@ -86,6 +95,35 @@ public class Jsons {
     }
   }
 
+  /**
+   * Serialize an object as UTF-8 JSON to a stream, without building the JSON string. The bytes
+   * written are the ones of {@link #serialize(Object)}.
+   *
+   * @param object to serialize
+   * @param outputStream to write to, closed once the object is written
+   * @param <T> type of object
+   */
+  public static <T> void serialize(final T object, final OutputStream outputStream) {
+    try {
+      OBJECT_MAPPER.writeValue(outputStream, object);
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Same as {@link #serialize(Object, OutputStream)}, but the stream is neither flushed nor closed,
+   * so that several objects can be written to the same buffered stream.
+   *
+   * @param object to serialize
+   * @param outputStream to write to
+   * @param <T> type of object
+   * @throws IOException if writing to the stream fails
+   */
+  public static <T> void serializeToOpenStream(final T object, final OutputStream outputStream) throws IOException {
+    OPEN_STREAM_WRITER.writeValue(outputStream, object);
+  }
+
   /**
    * Deserialize a JSON string to an object with a type.
    *
@@ -118,6 +156,23 @@ public class Jsons {
     }
   }
 
+  /**
+   * Deserialize UTF-8 JSON read from a stream to an object with a type, without building the JSON
+   * string.
+   *
+   * @param inputStream containing JSON to deserialize, closed once the object is read
+   * @param klass of object
+   * @param <T> type of object
+   * @return deserialized JSON as type declare in klass
+   */
+  public static <T> T deserialize(final InputStream inputStream, final Class<T> klass) {
+    try {
+      return OBJECT_MAPPER.readValue(inputStream, klass);
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   /**
    * Deserialize a JSON file to an object with a type.
    *
@@ -325,6 +380,93 @@ public class Jsons {
     return serialize(jsonNode).length();
   }
 
+  /**
+   * Estimate the serialized size of a {@link JsonNode} by walking the tree instead of serializing
+   * it. The result is the length of {@link #toBytes(JsonNode)}, escaped and non-ASCII characters
+   * included, the same measure as the size of JSON read as bytes. It only allocates for non-integral
+   * numbers.
+   *
+   * @param jsonNode to measure
+   * @return estimated size in bytes of the compact JSON representation, encoded in UTF-8
+   */
+  public static long estimateByteSizeWithoutSerializing(final JsonNode jsonNode) {
+    if (jsonNode == null) {
+      return 0;
+    }
+    switch (jsonNode.getNodeType()) {
+      case OBJECT: {
+        long size = 2;
+        int count = 0;
+        final Iterator<Entry<String, JsonNode>> fields = jsonNode.fields();
+        while (fields.hasNext()) {
+          final Entry<String, JsonNode> field = fields.next();
+          // "key": + value
+          size += quotedLength(field.getKey()) + 1 + estimateByteSizeWithoutSerializing(field.getValue());
+          count++;
+        }
+        return size + Math.max(0, count - 1);
+      }
+      case ARRAY: {
+        long size = 2;
+        for (final JsonNode element : jsonNode) {
+          size += estimateByteSizeWithoutSerializing(element);
+        }
+        return size + Math.max(0, jsonNode.size() - 1);
+      }
+      case STRING:
+        return quotedLength(jsonNode.textValue());
+      case NUMBER:
+        if (jsonNode.isIntegralNumber() && jsonNode.canConvertToLong()) {
+          return integralLength(jsonNode.longValue());
+        }
+        // Big decimals are written as plain strings, see MoreMappers.
+        return jsonNode.isBigDecimal() ? jsonNode.decimalValue().toPlainString().length() : jsonNode.asText().length();
+      case BOOLEAN:
+        return jsonNode.booleanValue() ? 4 : 5;
+      case NULL:
+        return 4;
+      case BINARY:
+        // Binary nodes are serialized as quoted base64.
+        return 4L * ((((BinaryNode) jsonNode).binaryValue().length + 2) / 3) + 2;
+      default:
+        return jsonNode.asText().length();
+    }
+  }
+
+  /**
+   * Length in UTF-8 bytes of a string once quoted and escaped the way Jackson writes it: quotes,
+   * backslashes and control characters are escaped, other characters are written as is.
+   */
+  private static long quotedLength(final String value) {
+    long length = value.length() + 2L;
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        length++;
+      } else if (c < 0x20) {
+        // \b, \t, \n, \f and \r have two character escapes, the other control characters take six.
+        length += c == '\b' || c == '\t' || c == '\n' || c == '\f' || c == '\r' ? 1 : 5;
+      } else if (c >= 0x80) {
+        // Two bytes up to U+07FF, three bytes above, four bytes for a surrogate pair.
+        length += c < 0x800 || Character.isSurrogate(c) ? 1 : 2;
+      }
+    }
+    return length;
+  }
+
+  private static int integralLength(final long value) {
+    if (value == Long.MIN_VALUE) {
+      return 20;
+    }
+    long remaining = Math.abs(value);
+    int length = value < 0 ? 2 : 1;
+    while (remaining >= 10) {
+      remaining /= 10;
+      length++;
+    }
+    return length;
+  }
+
   /**
    * Get top-level keys of a {@link JsonNode}.
    *
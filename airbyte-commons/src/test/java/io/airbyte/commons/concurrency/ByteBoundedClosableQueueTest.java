@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ByteBoundedClosableQueueTest {
+
+  private static ByteBoundedClosableQueue<String> createQueue(final int maxQueueSize, final long maxBytes) {
+    final ClosableQueue<String> delegate = new ClosableLinkedBlockingQueue<>(maxQueueSize, 0);
+    return new ByteBoundedClosableQueue<>(delegate, maxQueueSize, String::length, maxBytes, 0);
+  }
+
+  @Test
+  void testAddAppliesBackpressureOnByteBudget() throws InterruptedException {
+    final ByteBoundedClosableQueue<String> queue = createQueue(100, 10);
+
+    assertTrue(queue.add("12345"));
+    assertTrue(queue.add("12345"));
+    assertEquals(10, queue.getUsedBytes());
+    assertFalse(queue.add("1"));
+
+    assertEquals("12345", queue.poll());
+    assertEquals(5, queue.getUsedBytes());
+    assertTrue(queue.add("1"));
+    assertEquals(6, queue.getUsedBytes());
+  }
+
+  @Test
+  void testMessageCountIsASecondaryLimit() throws InterruptedException {
+    final ByteBoundedClosableQueue<String> queue = createQueue(2, 1000);
+
+    assertTrue(queue.add("a"));
+    assertTrue(queue.add("b"));
+    assertFalse(queue.add("c"));
+    assertEquals(2, queue.getUsedBytes());
+  }
+
+  @Test
+  void testOversizedElementIsAcceptedWhenEmpty() throws InterruptedException {
+    final ByteBoundedClosableQueue<String> queue = createQueue(10, 3);
+
+    assertTrue(queue.add("longer than the budget"));
+    assertFalse(queue.add("a"));
+    assertEquals("longer than the budget", queue.poll());
+    assertEquals(0, queue.getUsedBytes());
+  }
+
+  @Test
+  void testDrainToReleasesBudget() throws InterruptedException {
+    final ByteBoundedClosableQueue<String> queue = createQueue(10, 100);
+    queue.add("abc");
+    queue.add("de");
+    queue.add("f");
+
+    final List<String> batch = new ArrayList<>();
+    assertEquals(3, queue.drainTo(batch, 10));
+    assertEquals(List.of("abc", "de", "f"), batch);
+    assertEquals(0, queue.getUsedBytes());
+  }
+
+  @Test
+  void testClose() throws InterruptedException {
+    final ByteBoundedClosableQueue<String> queue = createQueue(10, 100);
+    queue.add("abc");
+    queue.close();
+
+    assertFalse(queue.add("de"));
+    assertFalse(queue.isDone());
+    assertEquals("abc", queue.poll());
+    assertTrue(queue.isDone());
+  }
+
+  @Test
+  void testSizesStayAlignedAcrossWrapAround() throws InterruptedException {
+    final ByteBoundedClosableQueue<String> queue = createQueue(3, 100);
+    final List<String> batch = new ArrayList<>();
+
+    for (int round = 0; round < 10; round++) {
+      assertTrue(queue.add("a"));
+      assertTrue(queue.add("bb"));
+      assertTrue(queue.add("ccc"));
+      assertEquals(6, queue.getUsedBytes());
+
+      assertEquals("a", queue.poll());
+      assertEquals(5, queue.getUsedBytes());
+      batch.clear();
+      assertEquals(2, queue.drainTo(batch, 10));
+      assertEquals(List.of("bb", "ccc"), batch);
+      assertEquals(0, queue.getUsedBytes());
+    }
+  }
+
+}
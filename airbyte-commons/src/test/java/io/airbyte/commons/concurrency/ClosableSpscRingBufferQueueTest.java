@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class ClosableSpscRingBufferQueueTest {
+
+  @Test
+  void testAddAndPollPreservesOrder() throws InterruptedException {
+    final ClosableQueue<Integer> queue = new ClosableSpscRingBufferQueue<>(4, 1);
+    assertTrue(queue.add(1));
+    assertTrue(queue.add(2));
+    assertTrue(queue.add(3));
+
+    assertEquals(3, queue.size());
+    assertEquals(1, queue.poll());
+    assertEquals(2, queue.poll());
+    assertEquals(3, queue.poll());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  void testAddTimesOutWhenFull() throws InterruptedException {
+    final ClosableQueue<Integer> queue = new ClosableSpscRingBufferQueue<>(2, 0);
+    assertTrue(queue.add(1));
+    assertTrue(queue.add(2));
+    assertFalse(queue.add(3));
+  }
+
+  @Test
+  void testPollTimesOutWhenEmpty() throws InterruptedException {
+    final ClosableQueue<Integer> queue = new ClosableSpscRingBufferQueue<>(2, 0);
+    assertNull(queue.poll());
+  }
+
+  @Test
+  void testCapacityIsRoundedToPowerOfTwo() throws InterruptedException {
+    final ClosableQueue<Integer> queue = new ClosableSpscRingBufferQueue<>(3, 0);
+    for (int i = 0; i < 4; i++) {
+      assertTrue(queue.add(i));
+    }
+    assertFalse(queue.add(4));
+  }
+
+  @Test
+  void testDrainToRespectsMaxElements() throws InterruptedException {
+    final ClosableQueue<Integer> queue = new ClosableSpscRingBufferQueue<>(8, 0);
+    for (int i = 0; i < 5; i++) {
+      queue.add(i);
+    }
+
+    final List<Integer> batch = new ArrayList<>();
+    assertEquals(3, queue.drainTo(batch, 3));
+    assertEquals(List.of(0, 1, 2), batch);
+    assertEquals(2, queue.drainTo(batch, 10));
+    assertEquals(List.of(0, 1, 2, 3, 4), batch);
+    assertEquals(0, queue.drainTo(batch, 10));
+  }
+
+  @Test
+  void testCloseRejectsAddsButDrainsRemainingElements() throws InterruptedException {
+    final ClosableQueue<Integer> queue = new ClosableSpscRingBufferQueue<>(4, 1);
+    queue.add(1);
+    queue.close();
+
+    assertTrue(queue.isClosed());
+    assertFalse(queue.add(2));
+    assertFalse(queue.isDone());
+    assertEquals(1, queue.poll());
+    assertTrue(queue.isDone());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  void testConcurrentProducerAndConsumerWrapAround() throws Exception {
+    final int count = 100_000;
+    final ClosableQueue<Integer> queue = new ClosableSpscRingBufferQueue<>(16, 5);
+
+    final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        for (int i = 0; i < count; i++) {
+          while (!queue.add(i)) {
+            Thread.onSpinWait();
+          }
+        }
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      } finally {
+        queue.close();
+      }
+    });
+
+    final List<Integer> received = new ArrayList<>(count);
+    final List<Integer> batch = new ArrayList<>();
+    while (!queue.isDone()) {
+      batch.clear();
+      queue.drainTo(batch, 7);
+      received.addAll(batch);
+    }
+    producer.get();
+
+    assertEquals(count, received.size());
+    for (int i = 0; i < count; i++) {
+      assertEquals(i, received.get(i));
+    }
+  }
+
+}
@@ -6,6 +6,7 @@ package io.airbyte.commons.json;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -24,7 +25,11 @@ import io.airbyte.protocol.models.AirbyteCatalog;
 import io.airbyte.protocol.models.CatalogHelpers;
 import io.airbyte.protocol.models.Field;
 import io.airbyte.protocol.models.JsonSchemaType;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
@@ -62,6 +67,30 @@ class JsonsTest {
                 TEST2, DEF)));
   }
 
+  @Test
+  void testSerializeToOpenStream() throws IOException {
+    final ByteArrayOutputStream target = new ByteArrayOutputStream();
+    final boolean[] closed = {false};
+    final BufferedOutputStream outputStream = new BufferedOutputStream(target) {
+
+      @Override
+      public void close() throws IOException {
+        closed[0] = true;
+        super.close();
+      }
+
+    };
+
+    Jsons.serializeToOpenStream(new ToClass(ABC, 999, 888L), outputStream);
+    Jsons.serializeToOpenStream(ImmutableMap.of(TEST, "é"), outputStream);
+
+    // Neither flushed nor closed: everything is still in the buffer.
+    assertEquals(0, target.size());
+    assertFalse(closed[0]);
+    outputStream.flush();
+    assertEquals(SERIALIZED_JSON + Jsons.serialize(ImmutableMap.of(TEST, "é")), target.toString(StandardCharsets.UTF_8));
+  }
+
   @Test
   void testSerializeJsonNode() {
     assertEquals(
@@ -88,6 +117,14 @@ class JsonsTest {
         Jsons.deserialize("{\"str\":\"abc\", \"num\": 999, \"numLong\": 888}", ToClass.class));
   }
 
+  @Test
+  void testDeserializeInputStream() {
+    assertEquals(
+        new ToClass(ABC, 999, 888L),
+        Jsons.deserialize(new ByteArrayInputStream("{\"str\":\"abc\", \"num\": 999, \"numLong\": 888}".getBytes(StandardCharsets.UTF_8)),
+            ToClass.class));
+  }
+
   @Test
   void testDeserializeToJsonNode() {
     assertEquals(
@@ -264,6 +301,30 @@ class JsonsTest {
     assertEquals(Jsons.toBytes(json).length, Jsons.getEstimatedByteSize(json));
   }
 
+  @Test
+  void testEstimateByteSizeWithoutSerializing() {
+    final JsonNode json = Jsons.deserialize(
+        "{\"string_key\":\"abc\",\"array_key\":[\"item1\", \"item2\"],\"int\":-1234,\"double\":1.5,\"bool\":false,\"null\":null,"
+            + "\"nested\":{\"empty_array\":[],\"empty_object\":{},\"long\":12345678901234}}");
+    assertEquals(Jsons.getEstimatedByteSize(json), Jsons.estimateByteSizeWithoutSerializing(json));
+  }
+
+  @Test
+  void testEstimateByteSizeWithoutSerializingEscapedCharacters() {
+    final JsonNode json = Jsons.jsonNode(Map.of(
+        "quoted \"key\"", "back\\slash\nnew line\ttab\u0001control",
+        "decimal", new BigDecimal("1E+3")));
+    assertEquals(Jsons.getEstimatedByteSize(json), Jsons.estimateByteSizeWithoutSerializing(json));
+  }
+
+  @Test
+  void testEstimateByteSizeWithoutSerializingCountsUtf8Bytes() {
+    final JsonNode json = Jsons.jsonNode(Map.of(
+        "cl\u00e9", "caf\u00e9 \u2603",
+        "emoji", "\ud83d\ude00"));
+    assertEquals(Jsons.toBytes(json).length, Jsons.estimateByteSizeWithoutSerializing(json));
+  }
+
   @Test
   void testFlatten__noArrays() {
     final JsonNode json = Jsons.deserialize("{ \"abc\": { \"def\": \"ghi\" }, \"jkl\": true, \"pqr\": 1 }");
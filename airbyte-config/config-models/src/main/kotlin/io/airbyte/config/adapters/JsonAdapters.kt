@@ -32,6 +32,11 @@ data class AirbyteJsonRecordAdapter(private val message: AirbyteMessage) : Airby
 
   override fun get(fieldName: String): Value = JsonValueAdapter(data[fieldName])
 
+  /**
+   * Reads a field without wrapping it in a [Value], for code that evaluates fields on every record.
+   */
+  fun getJsonNode(fieldName: String): JsonNode? = data[fieldName]
+
   override fun remove(fieldName: String) {
     data.remove(fieldName)
   }
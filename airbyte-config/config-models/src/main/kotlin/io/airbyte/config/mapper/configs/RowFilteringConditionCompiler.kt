@@ -0,0 +1,203 @@
+package io.airbyte.config.mapper.configs
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.TextNode
+import io.airbyte.config.adapters.AirbyteJsonRecordAdapter
+import io.airbyte.config.adapters.AirbyteRecord
+import java.math.BigDecimal
+import java.math.RoundingMode
+
+/**
+ * A row filtering condition compiled for evaluation on every record.
+ */
+fun interface RecordPredicate {
+  fun test(record: AirbyteRecord): Boolean
+}
+
+/**
+ * Compares two values the way the row filtering comparison operations do: numerically if both are
+ * numbers, as strings otherwise.
+ *
+ * @return a negative number, zero or a positive number if the value is less than, equal to or
+ * greater than the comparison value
+ */
+fun compareFilterValues(
+  value: String,
+  comparisonValue: String,
+): Int {
+  val decimalValue = parseDecimal(value)
+  val decimalComparisonValue = parseDecimal(comparisonValue)
+  if (decimalValue != null && decimalComparisonValue != null) {
+    return decimalValue.compareTo(decimalComparisonValue)
+  }
+  return value.compareTo(comparisonValue)
+}
+
+private fun parseDecimal(value: String): BigDecimal? =
+  try {
+    BigDecimal(value)
+  } catch (e: NumberFormatException) {
+    null
+  }
+
+/**
+ * Turns an [Operation] tree into a [RecordPredicate] that gives the same result as [Operation.eval],
+ * without re-interpreting the operations on each record:
+ * - nested AND and OR operations are flattened into a single list of conditions, and the cheapest
+ *   conditions are evaluated first so that short-circuiting skips the expensive ones;
+ * - comparison values are parsed once to the types they are compared with, and IN values are put in
+ *   hash sets;
+ * - fields of JSON records are read as nodes, without wrapping them in a [io.airbyte.config.adapters.Value].
+ */
+object RowFilteringConditionCompiler {
+  fun compile(operation: Operation): RecordPredicate = compileCondition(operation).predicate
+
+  private class CompiledCondition(val predicate: RecordPredicate, val cost: Int)
+
+  private fun compileCondition(operation: Operation): CompiledCondition =
+    when (operation) {
+      is EqualOperation -> CompiledCondition(EqualPredicate(operation.fieldName, operation.comparisonValue), LEAF_COST)
+      is InOperation -> CompiledCondition(InPredicate(operation.fieldName, operation.comparisonValues), LEAF_COST)
+      is ComparisonOperation -> CompiledCondition(ComparisonPredicate(operation), COMPARISON_COST)
+      is AndOperation -> compileAll(flattenAnd(operation.conditions), ::AllPredicate)
+      is OrOperation -> compileAll(flattenOr(operation.conditions), ::AnyPredicate)
+      // NOT is true when none of its conditions is, so nested ORs can be flattened the same way.
+      is NotOperation -> compileAll(flattenOr(operation.conditions), ::NonePredicate)
+    }
+
+  private fun flattenAnd(conditions: List<Operation>): List<Operation> =
+    conditions.flatMap { if (it is AndOperation) flattenAnd(it.conditions) else listOf(it) }
+
+  private fun flattenOr(conditions: List<Operation>): List<Operation> =
+    conditions.flatMap { if (it is OrOperation) flattenOr(it.conditions) else listOf(it) }
+
+  private fun compileAll(
+    conditions: List<Operation>,
+    combine: (Array<RecordPredicate>) -> RecordPredicate,
+  ): CompiledCondition {
+    // Conditions have no side effects, so they can be evaluated in any order.
+    val compiled = conditions.map { compileCondition(it) }.sortedBy { it.cost }
+    return CompiledCondition(combine(compiled.map { it.predicate }.toTypedArray()), compiled.sumOf { it.cost })
+  }
+
+  private const val LEAF_COST = 1
+  private const val COMPARISON_COST = 2
+
+  private class AllPredicate(private val predicates: Array<RecordPredicate>) : RecordPredicate {
+    override fun test(record: AirbyteRecord): Boolean {
+      for (predicate in predicates) {
+        if (!predicate.test(record)) {
+          return false
+        }
+      }
+      return true
+    }
+  }
+
+  private class AnyPredicate(private val predicates: Array<RecordPredicate>) : RecordPredicate {
+    override fun test(record: AirbyteRecord): Boolean {
+      for (predicate in predicates) {
+        if (predicate.test(record)) {
+          return true
+        }
+      }
+      return false
+    }
+  }
+
+  private class NonePredicate(private val predicates: Array<RecordPredicate>) : RecordPredicate {
+    override fun test(record: AirbyteRecord): Boolean {
+      for (predicate in predicates) {
+        if (predicate.test(record)) {
+          return false
+        }
+      }
+      return true
+    }
+  }
+
+  private class EqualPredicate(private val fieldName: String, private val comparisonValue: String) : RecordPredicate {
+    // Integer fields are written without leading zeros or a decimal part, so they can only be equal to such a value.
+    private val comparisonLong: Long? = comparisonValue.toLongOrNull()?.takeIf { it.toString() == comparisonValue }
+
+    override fun test(record: AirbyteRecord): Boolean {
+      val node = record.fieldNode(fieldName) ?: return false
+      return when {
+        node.isTextual -> node.textValue() == comparisonValue
+        node.isIntegralNumber && node.canConvertToLong() -> comparisonLong != null && node.longValue() == comparisonLong
+        else -> node.asText() == comparisonValue
+      }
+    }
+  }
+
+  private class InPredicate(private val fieldName: String, comparisonValues: List<String>) : RecordPredicate {
+    private val values: Set<String> = comparisonValues.toHashSet()
+    private val longValues: Set<Long> =
+      comparisonValues.mapNotNull { value -> value.toLongOrNull()?.takeIf { it.toString() == value } }.toHashSet()
+
+    override fun test(record: AirbyteRecord): Boolean {
+      val node = record.fieldNode(fieldName) ?: return false
+      return when {
+        node.isTextual -> node.textValue() in values
+        node.isIntegralNumber && node.canConvertToLong() -> node.longValue() in longValues
+        else -> node.asText() in values
+      }
+    }
+  }
+
+  private class ComparisonPredicate(private val operation: ComparisonOperation) : RecordPredicate {
+    private val fieldName = operation.fieldName
+    private val comparisonValue = operation.comparisonValue
+    private val decimal: BigDecimal? = parseDecimal(comparisonValue)
+
+    // Integer fields are compared to the floor of the comparison value, which avoids converting them to BigDecimal.
+    private val integral: Boolean = decimal != null && (decimal.signum() == 0 || decimal.stripTrailingZeros().scale() <= 0)
+    private val floor: Long? =
+      decimal?.setScale(0, RoundingMode.FLOOR)?.let {
+        if (it >= BigDecimal.valueOf(Long.MIN_VALUE) && it <= BigDecimal.valueOf(Long.MAX_VALUE)) it.toLong() else null
+      }
+
+    override fun test(record: AirbyteRecord): Boolean {
+      val node = record.fieldNode(fieldName) ?: return false
+      return operation.matches(compare(node))
+    }
+
+    private fun compare(node: JsonNode): Int {
+      if (decimal != null) {
+        if (node.isIntegralNumber && node.canConvertToLong()) {
+          return compareLong(node.longValue())
+        }
+        val nodeDecimal =
+          when {
+            node.isBigDecimal -> node.decimalValue()
+            node.isNumber -> parseDecimal(node.asText())
+            node.isTextual -> parseDecimal(node.textValue())
+            else -> null
+          }
+        if (nodeDecimal != null) {
+          return nodeDecimal.compareTo(decimal)
+        }
+      }
+      return node.asText().compareTo(comparisonValue)
+    }
+
+    private fun compareLong(value: Long): Int {
+      if (floor == null) {
+        // The comparison value is out of the range of longs.
+        return -decimal!!.signum()
+      }
+      return when {
+        integral -> value.compareTo(floor)
+        value <= floor -> -1
+        else -> 1
+      }
+    }
+  }
+
+  private fun AirbyteRecord.fieldNode(fieldName: String): JsonNode? =
+    when {
+      this is AirbyteJsonRecordAdapter -> getJsonNode(fieldName)
+      has(fieldName) -> TextNode.valueOf(get(fieldName).asString())
+      else -> null
+    }
+}
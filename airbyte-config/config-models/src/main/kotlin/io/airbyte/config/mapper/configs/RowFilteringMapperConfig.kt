@@ -19,6 +19,11 @@ import java.util.UUID
   JsonSubTypes.Type(value = OrOperation::class, names = ["OR", "or"]),
   JsonSubTypes.Type(value = EqualOperation::class, names = ["EQUAL", "equal"]),
   JsonSubTypes.Type(value = NotOperation::class, names = ["NOT", "not"]),
+  JsonSubTypes.Type(value = GreaterThanOperation::class, names = ["GREATER_THAN", "greater_than"]),
+  JsonSubTypes.Type(value = GreaterThanOrEqualOperation::class, names = ["GREATER_THAN_OR_EQUAL", "greater_than_or_equal"]),
+  JsonSubTypes.Type(value = LessThanOperation::class, names = ["LESS_THAN", "less_than"]),
+  JsonSubTypes.Type(value = LessThanOrEqualOperation::class, names = ["LESS_THAN_OR_EQUAL", "less_than_or_equal"]),
+  JsonSubTypes.Type(value = InOperation::class, names = ["IN", "in"]),
 )
 sealed class Operation {
   abstract val type: String
@@ -66,6 +71,125 @@ data class EqualOperation(
   }
 }
 
+/**
+ * Base of the operations comparing a field to a value. If both the field and the value are numbers,
+ * they are compared numerically, otherwise they are compared as strings. Records without the field
+ * never match.
+ */
+sealed class ComparisonOperation : Operation() {
+  abstract val fieldName: String
+  abstract val comparisonValue: String
+
+  abstract fun matches(comparison: Int): Boolean
+
+  override fun eval(record: AirbyteRecord): Boolean {
+    if (record.has(fieldName)) {
+      return matches(compareFilterValues(record.get(fieldName).asString(), comparisonValue))
+    }
+    return false
+  }
+}
+
+data class GreaterThanOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("GREATER_THAN")
+  override val type: String = "GREATER_THAN",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field to apply the operation on.")
+  override val fieldName: String,
+  @JsonProperty("comparisonValue")
+  @field:NotNull
+  @field:SchemaTitle("Comparison Value")
+  @field:SchemaDescription("The value the field must be greater than.")
+  override val comparisonValue: String,
+) : ComparisonOperation() {
+  override fun matches(comparison: Int): Boolean = comparison > 0
+}
+
+data class GreaterThanOrEqualOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("GREATER_THAN_OR_EQUAL")
+  override val type: String = "GREATER_THAN_OR_EQUAL",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field to apply the operation on.")
+  override val fieldName: String,
+  @JsonProperty("comparisonValue")
+  @field:NotNull
+  @field:SchemaTitle("Comparison Value")
+  @field:SchemaDescription("The value the field must be greater than or equal to.")
+  override val comparisonValue: String,
+) : ComparisonOperation() {
+  override fun matches(comparison: Int): Boolean = comparison >= 0
+}
+
+data class LessThanOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("LESS_THAN")
+  override val type: String = "LESS_THAN",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field to apply the operation on.")
+  override val fieldName: String,
+  @JsonProperty("comparisonValue")
+  @field:NotNull
+  @field:SchemaTitle("Comparison Value")
+  @field:SchemaDescription("The value the field must be less than.")
+  override val comparisonValue: String,
+) : ComparisonOperation() {
+  override fun matches(comparison: Int): Boolean = comparison < 0
+}
+
+data class LessThanOrEqualOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("LESS_THAN_OR_EQUAL")
+  override val type: String = "LESS_THAN_OR_EQUAL",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field to apply the operation on.")
+  override val fieldName: String,
+  @JsonProperty("comparisonValue")
+  @field:NotNull
+  @field:SchemaTitle("Comparison Value")
+  @field:SchemaDescription("The value the field must be less than or equal to.")
+  override val comparisonValue: String,
+) : ComparisonOperation() {
+  override fun matches(comparison: Int): Boolean = comparison <= 0
+}
+
+data class InOperation(
+  @JsonProperty("type")
+  @field:NotNull
+  @field:SchemaConstant("IN")
+  override val type: String = "IN",
+  @JsonProperty("fieldName")
+  @field:NotNull
+  @field:SchemaTitle("Field Name")
+  @field:SchemaDescription("The name of the field to apply the operation on.")
+  val fieldName: String,
+  @JsonProperty("comparisonValues")
+  @field:NotNull
+  @field:SchemaTitle("Comparison Values")
+  @field:SchemaDescription("The values the field must be equal to one of.")
+  val comparisonValues: List<String>,
+) : Operation() {
+  override fun eval(record: AirbyteRecord): Boolean {
+    if (record.has(fieldName)) {
+      return record.get(fieldName).asString() in comparisonValues
+    }
+    return false
+  }
+}
+
 data class OrOperation(
   @JsonProperty("type")
   @field:NotNull
@@ -104,7 +228,13 @@ data class RowFilteringConfig(
   @field:SchemaDescription("Defines conditions for including records with logical and nested operations.")
   @field:NotNull
   val conditions: Operation,
-)
+) {
+  // Compiled once per config rather than walking the operations on every record.
+  @delegate:Transient
+  private val compiledConditions: RecordPredicate by lazy { RowFilteringConditionCompiler.compile(conditions) }
+
+  fun compiledConditions(): RecordPredicate = compiledConditions
+}
 
 data class RowFilteringMapperConfig(
   @JsonProperty("name")
@@ -0,0 +1,106 @@
+package io.airbyte.config.mapper.configs
+
+import io.airbyte.commons.json.Jsons
+import io.airbyte.config.adapters.AirbyteJsonRecordAdapter
+import io.airbyte.config.adapters.AirbyteRecord
+import io.airbyte.protocol.models.AirbyteMessage
+import io.airbyte.protocol.models.AirbyteRecordMessage
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class RowFilteringConditionCompilerTest {
+  private val records =
+    listOf(
+      """{"status": "active", "region": "us", "amount": 42, "price": 10.5, "code": "007", "flag": true}""",
+      """{"status": "inactive", "region": "eu", "amount": 7, "price": 99.99, "code": "10", "flag": false}""",
+      """{"status": "active", "region": "asia", "amount": -3, "price": "12", "code": null}""",
+      """{"status": "pending", "amount": 12345678901234567890, "price": 1e3}""",
+      """{"amount": "abc", "price": "cheap"}""",
+      """{}""",
+    ).map { record(it) }
+
+  private val operations =
+    listOf(
+      EqualOperation(fieldName = "status", comparisonValue = "active"),
+      EqualOperation(fieldName = "amount", comparisonValue = "42"),
+      EqualOperation(fieldName = "amount", comparisonValue = "042"),
+      EqualOperation(fieldName = "flag", comparisonValue = "true"),
+      EqualOperation(fieldName = "code", comparisonValue = "null"),
+      GreaterThanOperation(fieldName = "amount", comparisonValue = "10"),
+      GreaterThanOperation(fieldName = "amount", comparisonValue = "-3.5"),
+      GreaterThanOrEqualOperation(fieldName = "amount", comparisonValue = "7.0"),
+      GreaterThanOrEqualOperation(fieldName = "amount", comparisonValue = "99999999999999999999999"),
+      LessThanOperation(fieldName = "price", comparisonValue = "12"),
+      LessThanOperation(fieldName = "amount", comparisonValue = "-99999999999999999999999"),
+      LessThanOrEqualOperation(fieldName = "price", comparisonValue = "1000"),
+      LessThanOrEqualOperation(fieldName = "status", comparisonValue = "b"),
+      GreaterThanOperation(fieldName = "code", comparisonValue = "1"),
+      InOperation(fieldName = "region", comparisonValues = listOf("us", "eu")),
+      InOperation(fieldName = "amount", comparisonValues = listOf("7", "42", "x")),
+      InOperation(fieldName = "price", comparisonValues = listOf("10.5", "12")),
+      AndOperation(
+        conditions =
+          listOf(
+            EqualOperation(fieldName = "status", comparisonValue = "active"),
+            AndOperation(
+              conditions =
+                listOf(
+                  GreaterThanOperation(fieldName = "amount", comparisonValue = "0"),
+                  InOperation(fieldName = "region", comparisonValues = listOf("us")),
+                ),
+            ),
+          ),
+      ),
+      NotOperation(
+        conditions =
+          listOf(
+            OrOperation(
+              conditions =
+                listOf(
+                  EqualOperation(fieldName = "region", comparisonValue = "us"),
+                  LessThanOperation(fieldName = "amount", comparisonValue = "0"),
+                ),
+            ),
+          ),
+      ),
+    )
+
+  @Test
+  fun `compiled conditions give the same result as evaluating the operations`() {
+    operations.forEach { operation ->
+      val predicate = RowFilteringConditionCompiler.compile(operation)
+      records.forEach { record ->
+        assertEquals(operation.eval(record), predicate.test(record), "$operation on ${record.asProtocol.record.data}")
+      }
+    }
+  }
+
+  @Test
+  fun `comparisons are numeric when both values are numbers`() {
+    val predicate = RowFilteringConditionCompiler.compile(GreaterThanOperation(fieldName = "amount", comparisonValue = "9"))
+
+    assertTrue(predicate.test(record("""{"amount": 10}""")))
+    assertTrue(predicate.test(record("""{"amount": "10"}""")))
+    assertFalse(predicate.test(record("""{"amount": 8.99}""")))
+    // "10a" is not a number, so it is compared as a string and sorts before "9".
+    assertFalse(predicate.test(record("""{"amount": "10a"}""")))
+  }
+
+  @Test
+  fun `config compiles its conditions once`() {
+    val config = RowFilteringConfig(conditions = EqualOperation(fieldName = "status", comparisonValue = "active"))
+
+    assertTrue(config.compiledConditions() === config.compiledConditions())
+    assertTrue(config.compiledConditions().test(records[0]))
+    assertFalse(config.compiledConditions().test(records[1]))
+  }
+
+  private fun record(data: String): AirbyteRecord =
+    AirbyteJsonRecordAdapter(
+      AirbyteMessage()
+        .withType(AirbyteMessage.Type.RECORD)
+        .withRecord(AirbyteRecordMessage().withStream("stream").withData(Jsons.deserialize(data))),
+    )
+}
@@ -13,7 +13,6 @@ import io.airbyte.config.State;
 import io.airbyte.config.StateType;
 import io.airbyte.config.StateWrapper;
 import io.airbyte.config.StreamDescriptor;
-import io.airbyte.config.helpers.ProtocolConverters;
 import io.airbyte.config.helpers.StateMessageHelper;
 import io.airbyte.db.Database;
 import io.airbyte.db.ExceptionWrappingDatabase;
@@ -22,7 +21,6 @@ import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
 import io.airbyte.protocol.models.AirbyteStreamState;
 import java.io.IOException;
-import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -85,14 +83,16 @@ public class StatePersistence {
    */
   public void updateOrCreateState(final UUID connectionId, final StateWrapper state)
       throws IOException {
-    final Optional<StateWrapper> previousState = getCurrentState(connectionId);
+    // Only the type of the previous state is needed here, which avoids loading all the stream states of
+    // the connection when a state update only touches a few streams.
+    final Optional<StateType> previousStateType = this.database.query(ctx -> getCurrentStateType(ctx, connectionId));
     final StateType currentStateType = state.getStateType();
-    final boolean isMigration = StateMessageHelper.isMigration(currentStateType, previousState);
+    final boolean isMigration = StateMessageHelper.isMigration(currentStateType, previousStateType.orElse(null));
 
     // The only case where we allow a state migration is moving from LEGACY.
     // We expect any other migration to go through an explicit reset.
-    if (!isMigration && previousState.isPresent() && previousState.get().getStateType() != currentStateType) {
-      throw new IllegalStateException("Unexpected type migration from '" + previousState.get().getStateType() + "' to '" + currentStateType
+    if (!isMigration && previousStateType.isPresent() && previousStateType.get() != currentStateType) {
+      throw new IllegalStateException("Unexpected type migration from '" + previousStateType.get() + "' to '" + currentStateType
           + "'. Migration of StateType need to go through an explicit reset.");
     }
 
@@ -130,142 +130,99 @@ public class StatePersistence {
       return;
     }
 
-    final Optional<StateWrapper> maybeCurrentState = getCurrentState(connectionId);
-    if (maybeCurrentState.isEmpty()) {
-      return;
-    }
-
-    final Set<StreamDescriptor> streamsInState = maybeCurrentState.get().getStateType() == StateType.GLOBAL
-        ? maybeCurrentState.get().getGlobal().getGlobal().getStreamStates().stream().map(AirbyteStreamState::getStreamDescriptor)
-            .map(ProtocolConverters::toInternal)
-            .collect(Collectors.toSet())
-        : maybeCurrentState.get().getStateMessages().stream().map(airbyteStateMessage -> airbyteStateMessage.getStream().getStreamDescriptor())
-            .map(ProtocolConverters::toInternal)
-            .collect(Collectors.toSet());
-
-    if (streamsInState.equals(streamsToDelete)) {
-      eraseState(connectionId);
-    } else {
-
-      final var conditions = streamsToDelete.stream().map(stream -> {
-        var nameCondition = DSL.field(DSL.name(STATE.STREAM_NAME.getName())).eq(stream.getName());
-        var connCondition = DSL.field(DSL.name(STATE.CONNECTION_ID.getName())).eq(connectionId);
-        var namespaceCondition = stream.getNamespace() == null
-            ? DSL.field(DSL.name(STATE.NAMESPACE.getName())).isNull()
-            : DSL.field(DSL.name(STATE.NAMESPACE.getName())).eq(stream.getNamespace());
+    this.database.transaction(ctx -> {
+      // The row without a stream name and namespace is the shared state of a global state
+      final Set<StreamDescriptor> streamsInState = getStateKeys(ctx, connectionId).stream()
+          .filter(key -> key.streamName() != null || key.namespace() != null)
+          .map(key -> new StreamDescriptor().withName(key.streamName()).withNamespace(key.namespace()))
+          .collect(Collectors.toSet());
+      if (streamsInState.isEmpty()) {
+        return null;
+      }
 
-        return DSL.and(namespaceCondition, nameCondition, connCondition);
-      }).reduce(DSL.noCondition(), DSL::or);
-      this.database.transaction(ctx -> ctx.deleteFrom(STATE).where(conditions).execute());
-    }
+      if (streamsInState.equals(streamsToDelete)) {
+        deleteStateRecords(ctx, connectionId);
+      } else {
+        final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch(connectionId);
+        streamsToDelete.forEach(stream -> stateUpdateBatch.delete(new StateKey(stream.getName(), stream.getNamespace())));
+        stateUpdateBatch.save(ctx);
+      }
+      return null;
+    });
   }
 
   private static void clearLegacyState(final DSLContext ctx, final UUID connectionId) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, null, stateUpdateBatch);
+    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch(connectionId);
+    writeStateToDb(null, null, StateType.LEGACY, null, Set.of(), stateUpdateBatch);
     stateUpdateBatch.save(ctx);
   }
 
   private static void saveGlobalState(final DSLContext ctx, final UUID connectionId, final AirbyteGlobalState globalState) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.GLOBAL, globalState.getSharedState(), stateUpdateBatch);
+    final Set<StateKey> existingStates = getStateKeys(ctx, connectionId);
+    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch(connectionId);
+    writeStateToDb(null, null, StateType.GLOBAL, globalState.getSharedState(), existingStates, stateUpdateBatch);
     for (final AirbyteStreamState streamState : globalState.getStreamStates()) {
-      writeStateToDb(ctx,
-          connectionId,
+      writeStateToDb(
           streamState.getStreamDescriptor().getName(),
           streamState.getStreamDescriptor().getNamespace(),
           StateType.GLOBAL,
           streamState.getStreamState(),
+          existingStates,
           stateUpdateBatch);
     }
     stateUpdateBatch.save(ctx);
   }
 
   private static void saveStreamState(final DSLContext ctx, final UUID connectionId, final List<AirbyteStateMessage> stateMessages) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
+    final Set<StateKey> existingStates = getStateKeys(ctx, connectionId);
+    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch(connectionId);
     for (final AirbyteStateMessage stateMessage : stateMessages) {
       final AirbyteStreamState streamState = stateMessage.getStream();
-      writeStateToDb(ctx,
-          connectionId,
+      writeStateToDb(
           streamState.getStreamDescriptor().getName(),
           streamState.getStreamDescriptor().getNamespace(),
           StateType.STREAM,
           streamState.getStreamState(),
+          existingStates,
           stateUpdateBatch);
     }
     stateUpdateBatch.save(ctx);
   }
 
   private static void saveLegacyState(final DSLContext ctx, final UUID connectionId, final JsonNode state) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, state, stateUpdateBatch);
+    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch(connectionId);
+    writeStateToDb(null, null, StateType.LEGACY, state, getStateKeys(ctx, connectionId), stateUpdateBatch);
     stateUpdateBatch.save(ctx);
   }
 
   /**
-   * Performs the actual SQL operation depending on the state.
+   * Adds the SQL operation for a state to the batch, depending on the state.
    *
-   * If the state is null, it will delete the row, otherwise do an insert or update on conflict
+   * If the state is null, it will delete the row, otherwise do an insert or update on conflict.
+   *
+   * @param existingStates the streams of the connection that already have a state row, as read by
+   *        {@link #getStateKeys(DSLContext, UUID)} when starting the batch
    */
-  static void writeStateToDb(final DSLContext ctx,
-                             final UUID connectionId,
-                             final String streamName,
+  static void writeStateToDb(final String streamName,
                              final String namespace,
                              final StateType stateType,
                              final JsonNode state,
+                             final Set<StateKey> existingStates,
                              final StateUpdateBatch stateUpdateBatch) {
+    final StateKey key = new StateKey(streamName, namespace);
     if (state != null) {
-      final boolean hasState = ctx.fetchExists(STATE,
-          STATE.CONNECTION_ID.eq(connectionId),
-          PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-          PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace));
-
       // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
       // the same behavior for consistency.
       final JSONB jsonbState = JSONB.valueOf(Jsons.serialize(stateType != StateType.LEGACY ? state : new State().withState(state)));
-      final OffsetDateTime now = OffsetDateTime.now();
-
-      if (!hasState) {
-        stateUpdateBatch.getCreatedStreamStates().add(
-            ctx.insertInto(STATE)
-                .columns(
-                    STATE.ID,
-                    STATE.CREATED_AT,
-                    STATE.UPDATED_AT,
-                    STATE.CONNECTION_ID,
-                    STATE.STREAM_NAME,
-                    STATE.NAMESPACE,
-                    STATE.STATE_,
-                    STATE.TYPE)
-                .values(
-                    UUID.randomUUID(),
-                    now,
-                    now,
-                    connectionId,
-                    streamName,
-                    namespace,
-                    jsonbState,
-                    Enums.convertTo(stateType, io.airbyte.db.instance.configs.jooq.generated.enums.StateType.class)));
 
+      if (!existingStates.contains(key)) {
+        stateUpdateBatch.create(key, jsonbState, stateType);
       } else {
-        stateUpdateBatch.getUpdatedStreamStates().add(
-            ctx.update(STATE)
-                .set(STATE.UPDATED_AT, now)
-                .set(STATE.STATE_, jsonbState)
-                .where(
-                    STATE.CONNECTION_ID.eq(connectionId),
-                    PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-                    PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace)));
+        stateUpdateBatch.update(key, jsonbState);
       }
-
     } else {
       // If the state is null, we remove the state instead of keeping a null row
-      stateUpdateBatch.getDeletedStreamStates().add(
-          ctx.deleteFrom(STATE)
-              .where(
-                  STATE.CONNECTION_ID.eq(connectionId),
-                  PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-                  PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace)));
+      stateUpdateBatch.delete(key);
     }
   }
 
@@ -292,6 +249,43 @@ public class StatePersistence {
         + " (" + String.join(", ", types.stream().map(io.airbyte.db.instance.configs.jooq.generated.enums.StateType::getLiteral).toList()) + ")");
   }
 
+  /**
+   * Get the StateType of the current state of a connection, without reading the states themselves.
+   *
+   * @param ctx A valid DSL context to use for the query
+   * @param connectionId the ID of the connection
+   * @return the StateType, empty if the connection has no state
+   * @throws IllegalStateException If the state records have inconsistent types
+   */
+  private static Optional<StateType> getCurrentStateType(final DSLContext ctx, final UUID connectionId) {
+    final Set<io.airbyte.db.instance.configs.jooq.generated.enums.StateType> types = ctx.selectDistinct(STATE.TYPE)
+        .from(STATE)
+        .where(STATE.CONNECTION_ID.eq(connectionId))
+        .fetchSet(STATE.TYPE);
+    if (types.isEmpty()) {
+      return Optional.empty();
+    }
+    if (types.size() > 1) {
+      throw new IllegalStateException("Inconsistent StateTypes for connectionId " + connectionId
+          + " (" + String.join(", ", types.stream().map(io.airbyte.db.instance.configs.jooq.generated.enums.StateType::getLiteral).toList()) + ")");
+    }
+    return Optional.of(Enums.convertTo(types.iterator().next(), StateType.class));
+  }
+
+  /**
+   * Get the streams of a connection that have a state row, with a single query.
+   *
+   * @param ctx A valid DSL context to use for the query
+   * @param connectionId the ID of the connection
+   * @return the stream name and namespace of each state row
+   */
+  private static Set<StateKey> getStateKeys(final DSLContext ctx, final UUID connectionId) {
+    return ctx.select(STATE.STREAM_NAME, STATE.NAMESPACE)
+        .from(STATE)
+        .where(STATE.CONNECTION_ID.eq(connectionId))
+        .fetchSet(r -> new StateKey(r.value1(), r.value2()));
+  }
+
   /**
    * Get the state records from the DB.
    *
@@ -387,6 +381,8 @@ public class StatePersistence {
         Jsons.deserialize(record.get(STATE.STATE_).data()));
   }
 
+  record StateKey(String streamName, String namespace) {}
+
   private record StateRecord(
                              io.airbyte.db.instance.configs.jooq.generated.enums.StateType type,
                              String streamName,
@@ -4,23 +4,175 @@
 
 package io.airbyte.config.persistence;
 
+import static io.airbyte.db.instance.configs.jooq.generated.Tables.STATE;
+
+import com.google.common.collect.Lists;
+import io.airbyte.commons.enums.Enums;
+import io.airbyte.config.StateType;
+import io.airbyte.config.persistence.StatePersistence.StateKey;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import lombok.Getter;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
-import org.jooq.Query;
+import org.jooq.InsertValuesStep8;
+import org.jooq.JSONB;
+import org.jooq.Record2;
+import org.jooq.Record3;
+import org.jooq.Row2;
+import org.jooq.Row3;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
 
-@Getter
+/**
+ * Changes to the state rows of a connection, saved with a few multi-row statements rather than one
+ * statement per stream: an UPDATE ... FROM (VALUES ...) for the rows that already exist, an INSERT
+ * ... ON CONFLICT for the new rows and a DELETE ... USING (VALUES ...) for the removed rows.
+ */
 class StateUpdateBatch {
 
-  private final List<Query> updatedStreamStates = new ArrayList<>();
-  private final List<Query> createdStreamStates = new ArrayList<>();
-  private final List<Query> deletedStreamStates = new ArrayList<>();
+  // Keeps the number of bind values of a statement well under the limit of the postgres protocol.
+  static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+  private static final String VALUES_ALIAS = "v";
+  private static final String STREAM_NAME = "stream_name";
+  private static final String NAMESPACE = "namespace";
+  private static final String STATE_VALUE = "state";
+
+  private final UUID connectionId;
+  private final Map<StateKey, JSONB> updatedStreamStates = new LinkedHashMap<>();
+  private final Map<StateKey, CreatedState> createdStreamStates = new LinkedHashMap<>();
+  private final Set<StateKey> deletedStreamStates = new LinkedHashSet<>();
+
+  StateUpdateBatch(final UUID connectionId) {
+    this.connectionId = connectionId;
+  }
+
+  void update(final StateKey key, final JSONB state) {
+    updatedStreamStates.put(key, state);
+  }
+
+  void create(final StateKey key, final JSONB state, final StateType stateType) {
+    createdStreamStates.put(key, new CreatedState(state,
+        Enums.convertTo(stateType, io.airbyte.db.instance.configs.jooq.generated.enums.StateType.class)));
+  }
+
+  void delete(final StateKey key) {
+    deletedStreamStates.add(key);
+  }
 
   void save(final DSLContext ctx) {
-    ctx.batch(updatedStreamStates).execute();
-    ctx.batch(createdStreamStates).execute();
-    ctx.batch(deletedStreamStates).execute();
+    final OffsetDateTime now = OffsetDateTime.now();
+    for (final List<Entry<StateKey, JSONB>> rows : partition(updatedStreamStates.entrySet(), Entry::getKey)) {
+      saveUpdatedStates(ctx, rows, now);
+    }
+    for (final List<Entry<StateKey, CreatedState>> rows : Lists.partition(new ArrayList<>(createdStreamStates.entrySet()),
+        MAX_ROWS_PER_STATEMENT)) {
+      saveCreatedStates(ctx, rows, now);
+    }
+    for (final List<StateKey> keys : partition(deletedStreamStates, Function.identity())) {
+      saveDeletedStates(ctx, keys);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void saveUpdatedStates(final DSLContext ctx, final List<Entry<StateKey, JSONB>> rows, final OffsetDateTime now) {
+    final Table<Record3<String, String, JSONB>> values = DSL.values(rows.stream()
+        .map(row -> DSL.row(
+            DSL.val(row.getKey().streamName(), STATE.STREAM_NAME),
+            DSL.val(row.getKey().namespace(), STATE.NAMESPACE),
+            DSL.val(row.getValue(), STATE.STATE_)))
+        .toArray(Row3[]::new))
+        .as(VALUES_ALIAS, STREAM_NAME, NAMESPACE, STATE_VALUE);
+
+    ctx.update(STATE)
+        .set(STATE.UPDATED_AT, now)
+        .set(STATE.STATE_, values.field(STATE_VALUE, JSONB.class))
+        .from(values)
+        .where(matches(values, rows.get(0).getKey()))
+        .execute();
   }
 
+  private void saveCreatedStates(final DSLContext ctx, final List<Entry<StateKey, CreatedState>> rows, final OffsetDateTime now) {
+    InsertValuesStep8<?, UUID, OffsetDateTime, OffsetDateTime, UUID, String, String, JSONB,
+        io.airbyte.db.instance.configs.jooq.generated.enums.StateType> insert = ctx.insertInto(STATE,
+            STATE.ID,
+            STATE.CREATED_AT,
+            STATE.UPDATED_AT,
+            STATE.CONNECTION_ID,
+            STATE.STREAM_NAME,
+            STATE.NAMESPACE,
+            STATE.STATE_,
+            STATE.TYPE);
+    for (final Entry<StateKey, CreatedState> row : rows) {
+      insert = insert.values(
+          UUID.randomUUID(),
+          now,
+          now,
+          connectionId,
+          row.getKey().streamName(),
+          row.getKey().namespace(),
+          row.getValue().state(),
+          row.getValue().type());
+    }
+
+    // Rows with a null stream name or namespace never conflict, as nulls are distinct in the unique
+    // constraint. Those are only created when they were not found when building the batch.
+    insert.onConflict(STATE.CONNECTION_ID, STATE.STREAM_NAME, STATE.NAMESPACE)
+        .doUpdate()
+        .set(STATE.UPDATED_AT, DSL.excluded(STATE.UPDATED_AT))
+        .set(STATE.STATE_, DSL.excluded(STATE.STATE_))
+        .execute();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void saveDeletedStates(final DSLContext ctx, final List<StateKey> keys) {
+    final Table<Record2<String, String>> values = DSL.values(keys.stream()
+        .map(key -> DSL.row(DSL.val(key.streamName(), STATE.STREAM_NAME), DSL.val(key.namespace(), STATE.NAMESPACE)))
+        .toArray(Row2[]::new))
+        .as(VALUES_ALIAS, STREAM_NAME, NAMESPACE);
+
+    ctx.deleteFrom(STATE)
+        .using(values)
+        .where(matches(values, keys.get(0)))
+        .execute();
+  }
+
+  /**
+   * Join condition between the state table and a table of values whose keys all have the same null
+   * stream name and namespace as the given key. Null parts are matched with IS NULL, the others with
+   * an equality that can use the unique index.
+   */
+  private Condition matches(final Table<?> values, final StateKey key) {
+    return STATE.CONNECTION_ID.eq(connectionId)
+        .and(key.streamName() == null ? STATE.STREAM_NAME.isNull() : STATE.STREAM_NAME.eq(values.field(STREAM_NAME, String.class)))
+        .and(key.namespace() == null ? STATE.NAMESPACE.isNull() : STATE.NAMESPACE.eq(values.field(NAMESPACE, String.class)));
+  }
+
+  /**
+   * Split rows into chunks of rows whose keys have the same null parts, so that they can be matched
+   * with a single condition, and of at most {@link #MAX_ROWS_PER_STATEMENT} rows.
+   */
+  private static <T> List<List<T>> partition(final Collection<T> rows, final Function<T, StateKey> getKey) {
+    final Map<List<Boolean>, List<T>> rowsByNullParts = rows.stream()
+        .collect(Collectors.groupingBy(row -> {
+          final StateKey key = getKey.apply(row);
+          return List.of(key.streamName() == null, key.namespace() == null);
+        }, LinkedHashMap::new, Collectors.toList()));
+    return rowsByNullParts.values().stream()
+        .flatMap(group -> Lists.partition(group, MAX_ROWS_PER_STATEMENT).stream())
+        .toList();
+  }
+
+  private record CreatedState(JSONB state, io.airbyte.db.instance.configs.jooq.generated.enums.StateType type) {}
+
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence;
+
+import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG;
+import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG_STREAM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.ActorCatalog;
+import io.airbyte.config.ActorDefinitionVersion;
+import io.airbyte.config.SourceConnection;
+import io.airbyte.config.StandardSourceDefinition;
+import io.airbyte.config.StandardSourceDefinition.SourceType;
+import io.airbyte.config.StandardWorkspace;
+import io.airbyte.config.secrets.SecretsRepositoryReader;
+import io.airbyte.config.secrets.SecretsRepositoryWriter;
+import io.airbyte.data.exceptions.ConfigNotFoundException;
+import io.airbyte.data.helpers.ActorDefinitionVersionUpdater;
+import io.airbyte.data.services.CatalogService;
+import io.airbyte.data.services.ConnectionService;
+import io.airbyte.data.services.ScopedConfigurationService;
+import io.airbyte.data.services.SecretPersistenceConfigService;
+import io.airbyte.data.services.SourceService;
+import io.airbyte.data.services.impls.jooq.ActorDefinitionServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.CatalogServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.ConnectionServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.OrganizationServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.SourceServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.WorkspaceServiceJooqImpl;
+import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.HeartbeatMaxSecondsBetweenMessages;
+import io.airbyte.featureflag.SourceDefinition;
+import io.airbyte.featureflag.TestClient;
+import io.airbyte.protocol.models.AirbyteCatalog;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.JsonSchemaType;
+import io.airbyte.test.utils.BaseConfigDatabaseTest;
+import io.airbyte.validation.json.JsonValidationException;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.jooq.JSONB;
+import org.jooq.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ActorCatalogPersistenceTest extends BaseConfigDatabaseTest {
+
+  private static final String DOCKER_IMAGE_TAG = "1.2.0";
+  private static final String CONFIG_HASH = "ConfigHash";
+  private static final String OTHER_CONFIG_HASH = "OtherConfigHash";
+
+  private static final AirbyteStream CLOTHES = CatalogHelpers.createAirbyteStream("clothes", Field.of("name", JsonSchemaType.STRING));
+  private static final AirbyteStream SHOES = CatalogHelpers.createAirbyteStream("shoes", Field.of("size", JsonSchemaType.NUMBER));
+  private static final AirbyteStream HATS = CatalogHelpers.createAirbyteStream("hats", Field.of("color", JsonSchemaType.STRING));
+
+  private CatalogService catalogService;
+  private SourceConnection source;
+
+  @BeforeEach
+  void setup() throws SQLException, IOException, JsonValidationException {
+    truncateAllTables();
+
+    final FeatureFlagClient featureFlagClient = mock(TestClient.class);
+    when(featureFlagClient.stringVariation(eq(HeartbeatMaxSecondsBetweenMessages.INSTANCE), any(SourceDefinition.class))).thenReturn("3600");
+
+    final SecretsRepositoryReader secretsRepositoryReader = mock(SecretsRepositoryReader.class);
+    final SecretsRepositoryWriter secretsRepositoryWriter = mock(SecretsRepositoryWriter.class);
+    final SecretPersistenceConfigService secretPersistenceConfigService = mock(SecretPersistenceConfigService.class);
+    final ConnectionService connectionService = new ConnectionServiceJooqImpl(database);
+    final SourceService sourceService = new SourceServiceJooqImpl(
+        database,
+        featureFlagClient,
+        secretsRepositoryReader,
+        secretsRepositoryWriter,
+        secretPersistenceConfigService,
+        connectionService,
+        new ActorDefinitionVersionUpdater(
+            featureFlagClient,
+            connectionService,
+            new ActorDefinitionServiceJooqImpl(database),
+            mock(ScopedConfigurationService.class)));
+    catalogService = new CatalogServiceJooqImpl(database);
+
+    new OrganizationServiceJooqImpl(database).writeOrganization(MockData.defaultOrganization());
+    final StandardWorkspace workspace = MockData.standardWorkspaces().get(0);
+    new WorkspaceServiceJooqImpl(database, featureFlagClient, secretsRepositoryReader, secretsRepositoryWriter, secretPersistenceConfigService)
+        .writeStandardWorkspaceNoSecrets(workspace);
+
+    final StandardSourceDefinition sourceDefinition = new StandardSourceDefinition()
+        .withSourceDefinitionId(UUID.randomUUID())
+        .withSourceType(SourceType.DATABASE)
+        .withName("sourceDefinition");
+    final ActorDefinitionVersion actorDefinitionVersion = MockData.actorDefinitionVersion()
+        .withActorDefinitionId(sourceDefinition.getSourceDefinitionId())
+        .withVersionId(sourceDefinition.getDefaultVersionId());
+    sourceService.writeConnectorMetadata(sourceDefinition, actorDefinitionVersion, Collections.emptyList());
+
+    source = new SourceConnection()
+        .withSourceDefinitionId(sourceDefinition.getSourceDefinitionId())
+        .withSourceId(UUID.randomUUID())
+        .withName("SomeConnector")
+        .withWorkspaceId(workspace.getWorkspaceId())
+        .withConfiguration(Jsons.deserialize("{}"));
+    sourceService.writeSourceConnectionNoSecrets(source);
+  }
+
+  @Test
+  void testStreamsSharedByCatalogsAreStoredOnce() throws IOException, SQLException {
+    final AirbyteCatalog firstCatalog = new AirbyteCatalog().withStreams(List.of(CLOTHES, SHOES));
+    final AirbyteCatalog secondCatalog = new AirbyteCatalog().withStreams(List.of(CLOTHES, HATS));
+
+    catalogService.writeActorCatalogFetchEvent(firstCatalog, source.getSourceId(), DOCKER_IMAGE_TAG, CONFIG_HASH);
+    catalogService.writeActorCatalogFetchEvent(secondCatalog, source.getSourceId(), DOCKER_IMAGE_TAG, OTHER_CONFIG_HASH);
+
+    assertEquals(2, countRows(ACTOR_CATALOG));
+    assertEquals(3, countRows(ACTOR_CATALOG_STREAM));
+    assertCatalog(firstCatalog, catalogService.getActorCatalog(source.getSourceId(), DOCKER_IMAGE_TAG, CONFIG_HASH));
+    assertCatalog(secondCatalog, catalogService.getActorCatalog(source.getSourceId(), DOCKER_IMAGE_TAG, OTHER_CONFIG_HASH));
+  }
+
+  @Test
+  void testIdenticalCatalogsAreStoredOnce() throws IOException, SQLException {
+    final UUID firstCatalogId = catalogService.writeActorCatalogFetchEvent(
+        new AirbyteCatalog().withStreams(List.of(CLOTHES, SHOES)), source.getSourceId(), DOCKER_IMAGE_TAG, CONFIG_HASH);
+    final UUID secondCatalogId = catalogService.writeActorCatalogFetchEvent(
+        new AirbyteCatalog().withStreams(List.of(CLOTHES, SHOES)), source.getSourceId(), "1.3.0", CONFIG_HASH);
+
+    assertEquals(firstCatalogId, secondCatalogId);
+    assertEquals(1, countRows(ACTOR_CATALOG));
+    assertEquals(2, countRows(ACTOR_CATALOG_STREAM));
+  }
+
+  @Test
+  void testStreamOrderIsPreserved() throws IOException {
+    final AirbyteCatalog catalog = new AirbyteCatalog().withStreams(List.of(SHOES, HATS, CLOTHES));
+    catalogService.writeActorCatalogFetchEvent(catalog, source.getSourceId(), DOCKER_IMAGE_TAG, CONFIG_HASH);
+
+    final Optional<ActorCatalog> actorCatalog = catalogService.getMostRecentActorCatalogForSource(source.getSourceId());
+    assertCatalog(catalog, actorCatalog);
+  }
+
+  @Test
+  void testCatalogsStoredBeforeManifestsCanBeRead() throws IOException, SQLException, ConfigNotFoundException {
+    final AirbyteCatalog catalog = new AirbyteCatalog().withStreams(List.of(CLOTHES));
+    final UUID catalogId = UUID.randomUUID();
+    final OffsetDateTime timestamp = OffsetDateTime.now();
+    database.query(ctx -> ctx.insertInto(ACTOR_CATALOG)
+        .set(ACTOR_CATALOG.ID, catalogId)
+        .set(ACTOR_CATALOG.CATALOG, JSONB.valueOf(Jsons.serialize(catalog)))
+        .set(ACTOR_CATALOG.CATALOG_HASH, "8ad32981")
+        .set(ACTOR_CATALOG.CREATED_AT, timestamp)
+        .set(ACTOR_CATALOG.MODIFIED_AT, timestamp)
+        .execute());
+
+    final ActorCatalog actorCatalog = catalogService.getActorCatalogById(catalogId);
+    assertEquals("8ad32981", actorCatalog.getCatalogHash());
+    assertEquals(catalog, Jsons.object(actorCatalog.getCatalog(), AirbyteCatalog.class));
+  }
+
+  private static int countRows(final Table<?> table) throws SQLException {
+    return database.query(ctx -> ctx.selectCount().from(table).fetchOne().into(int.class));
+  }
+
+  private static void assertCatalog(final AirbyteCatalog expected, final Optional<ActorCatalog> actual) {
+    assertTrue(actual.isPresent());
+    assertEquals(expected, Jsons.object(actual.get().getCatalog(), AirbyteCatalog.class));
+  }
+
+}
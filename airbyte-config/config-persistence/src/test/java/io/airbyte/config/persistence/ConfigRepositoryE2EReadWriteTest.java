@@ -298,7 +298,7 @@ class ConfigRepositoryE2EReadWriteTest extends BaseConfigDatabaseTest {
 
   @Test
   void testWriteCanonicalHashActorCatalog() throws IOException, JsonValidationException, SQLException {
-    final String canonicalConfigHash = "8ad32981";
+    final String canonicalConfigHash = "6aeb872ac9de647a318dfa9ae2908a260ae50d93819d960321ea13790a82a617";
     final StandardWorkspace workspace = MockData.standardWorkspaces().get(0);
 
     final StandardSourceDefinition sourceDefinition = new StandardSourceDefinition()
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence;
+
+import static org.mockito.Mockito.mock;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.ActorDefinitionVersion;
+import io.airbyte.config.StandardDestinationDefinition;
+import io.airbyte.config.StandardSourceDefinition;
+import io.airbyte.config.StandardSync;
+import io.airbyte.config.StateType;
+import io.airbyte.config.StateWrapper;
+import io.airbyte.config.secrets.SecretsRepositoryReader;
+import io.airbyte.config.secrets.SecretsRepositoryWriter;
+import io.airbyte.data.helpers.ActorDefinitionVersionUpdater;
+import io.airbyte.data.services.ConnectionService;
+import io.airbyte.data.services.DestinationService;
+import io.airbyte.data.services.ScopedConfigurationService;
+import io.airbyte.data.services.SecretPersistenceConfigService;
+import io.airbyte.data.services.SourceService;
+import io.airbyte.data.services.impls.jooq.ActorDefinitionServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.ConnectionServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.DestinationServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.OrganizationServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.SourceServiceJooqImpl;
+import io.airbyte.data.services.impls.jooq.WorkspaceServiceJooqImpl;
+import io.airbyte.featureflag.TestClient;
+import io.airbyte.protocol.models.AirbyteStateMessage;
+import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
+import io.airbyte.protocol.models.AirbyteStreamState;
+import io.airbyte.protocol.models.StreamDescriptor;
+import io.airbyte.test.utils.BaseConfigDatabaseTest;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures how many stream state rows per second {@link StatePersistence#updateOrCreateState} writes
+ * against the test container database, when creating the states of a connection and when updating
+ * all of them. Half of the streams have a namespace, since rows without one can't be upserted on
+ * the unique constraint.
+ * <p>
+ * This is a benchmark rather than a test, it only runs when STATE_PERSISTENCE_BENCHMARK is set to
+ * true and logs its results.
+ */
+@EnabledIfEnvironmentVariable(named = "STATE_PERSISTENCE_BENCHMARK", matches = "true")
+class StatePersistenceBenchmarkTest extends BaseConfigDatabaseTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StatePersistenceBenchmarkTest.class);
+
+  private static final int WARMUP_ITERATIONS = 2;
+  private static final int MEASUREMENT_ITERATIONS = 5;
+
+  private StatePersistence statePersistence;
+  private UUID connectionId;
+
+  @BeforeEach
+  void beforeEach() throws Exception {
+    truncateAllTables();
+    statePersistence = new StatePersistence(database);
+    connectionId = setupConnection();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {10, 1_000, 10_000})
+  void benchmarkStreamStateWrites(final int streamCount) throws Exception {
+    long createNanos = 0;
+    long updateNanos = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS + MEASUREMENT_ITERATIONS; i++) {
+      statePersistence.eraseState(connectionId);
+
+      final long createStart = System.nanoTime();
+      statePersistence.updateOrCreateState(connectionId, streamState(streamCount, i));
+      final long createEnd = System.nanoTime();
+      statePersistence.updateOrCreateState(connectionId, streamState(streamCount, i + 1));
+      final long updateEnd = System.nanoTime();
+
+      if (i >= WARMUP_ITERATIONS) {
+        createNanos += createEnd - createStart;
+        updateNanos += updateEnd - createEnd;
+      }
+    }
+
+    final StateWrapper persistedState = statePersistence.getCurrentState(connectionId).orElseThrow();
+    Assertions.assertEquals(streamCount, persistedState.getStateMessages().size());
+
+    LOGGER.info("{} streams: created {} rows/sec, updated {} rows/sec", streamCount,
+        rowsPerSecond(streamCount, createNanos), rowsPerSecond(streamCount, updateNanos));
+  }
+
+  private static long rowsPerSecond(final int streamCount, final long nanos) {
+    return (long) streamCount * MEASUREMENT_ITERATIONS * 1_000_000_000L / Math.max(nanos, 1);
+  }
+
+  private static StateWrapper streamState(final int streamCount, final int cursor) {
+    final List<AirbyteStateMessage> stateMessages = IntStream.range(0, streamCount)
+        .mapToObj(i -> new AirbyteStateMessage()
+            .withType(AirbyteStateType.STREAM)
+            .withStream(new AirbyteStreamState()
+                .withStreamDescriptor(new StreamDescriptor()
+                    .withName("stream_" + i)
+                    .withNamespace(i % 2 == 0 ? "namespace" : null))
+                .withStreamState(Jsons.jsonNode(Map.of("cursor", cursor, "cursor_field", "updated_at")))))
+        .toList();
+    return new StateWrapper().withStateType(StateType.STREAM).withStateMessages(stateMessages);
+  }
+
+  private UUID setupConnection() throws Exception {
+    final var featureFlagClient = mock(TestClient.class);
+    final var secretsRepositoryReader = mock(SecretsRepositoryReader.class);
+    final var secretsRepositoryWriter = mock(SecretsRepositoryWriter.class);
+    final var secretPersistenceConfigService = mock(SecretPersistenceConfigService.class);
+    final ConnectionService connectionService = new ConnectionServiceJooqImpl(database);
+    final var actorDefinitionVersionUpdater = new ActorDefinitionVersionUpdater(
+        featureFlagClient,
+        connectionService,
+        new ActorDefinitionServiceJooqImpl(database),
+        mock(ScopedConfigurationService.class));
+    final SourceService sourceService = new SourceServiceJooqImpl(database, featureFlagClient, secretsRepositoryReader,
+        secretsRepositoryWriter, secretPersistenceConfigService, connectionService, actorDefinitionVersionUpdater);
+    final DestinationService destinationService = new DestinationServiceJooqImpl(database, featureFlagClient, secretsRepositoryReader,
+        secretsRepositoryWriter, secretPersistenceConfigService, connectionService, actorDefinitionVersionUpdater);
+
+    new OrganizationServiceJooqImpl(database).writeOrganization(MockData.defaultOrganization());
+    new WorkspaceServiceJooqImpl(database, featureFlagClient, secretsRepositoryReader, secretsRepositoryWriter, secretPersistenceConfigService)
+        .writeStandardWorkspaceNoSecrets(MockData.standardWorkspaces().get(0));
+
+    final StandardSourceDefinition sourceDefinition = MockData.publicSourceDefinition();
+    final ActorDefinitionVersion sourceDefinitionVersion = MockData.actorDefinitionVersion()
+        .withActorDefinitionId(sourceDefinition.getSourceDefinitionId())
+        .withVersionId(sourceDefinition.getDefaultVersionId());
+    sourceService.writeConnectorMetadata(sourceDefinition, sourceDefinitionVersion, Collections.emptyList());
+    sourceService.writeSourceConnectionNoSecrets(MockData.sourceConnections().get(0));
+
+    final StandardDestinationDefinition destinationDefinition = MockData.publicDestinationDefinition();
+    final ActorDefinitionVersion destinationDefinitionVersion = MockData.actorDefinitionVersion()
+        .withActorDefinitionId(destinationDefinition.getDestinationDefinitionId())
+        .withVersionId(destinationDefinition.getDefaultVersionId());
+    destinationService.writeConnectorMetadata(destinationDefinition, destinationDefinitionVersion, Collections.emptyList());
+    destinationService.writeDestinationConnectionNoSecrets(MockData.destinationConnections().get(0));
+
+    final StandardSync sync = Jsons.clone(MockData.standardSyncs().get(0)).withOperationIds(Collections.emptyList());
+    connectionService.writeStandardSync(sync);
+    return sync.getConnectionId();
+  }
+
+}
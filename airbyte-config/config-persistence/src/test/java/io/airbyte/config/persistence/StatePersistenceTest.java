@@ -53,6 +53,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.jooq.JSONB;
 import org.jooq.impl.DSL;
 import org.junit.jupiter.api.Assertions;
@@ -500,6 +502,40 @@ class StatePersistenceTest extends BaseConfigDatabaseTest {
         partialResetResult);
   }
 
+  @Test
+  void testStreamStatesLargerThanOneStatement() throws IOException {
+    final int streamCount = StateUpdateBatch.MAX_ROWS_PER_STATEMENT * 2 + 1;
+    final StateWrapper created = streamStates(streamCount, "created");
+    statePersistence.updateOrCreateState(connectionId, created);
+    assertSameStreamStates(created, statePersistence.getCurrentState(connectionId).orElseThrow());
+
+    final StateWrapper updated = streamStates(streamCount, "updated");
+    statePersistence.updateOrCreateState(connectionId, updated);
+    assertSameStreamStates(updated, statePersistence.getCurrentState(connectionId).orElseThrow());
+
+    statePersistence.bulkDelete(connectionId, updated.getStateMessages().stream()
+        .skip(1)
+        .map(msg -> new io.airbyte.config.StreamDescriptor()
+            .withName(msg.getStream().getStreamDescriptor().getName())
+            .withNamespace(msg.getStream().getStreamDescriptor().getNamespace()))
+        .collect(Collectors.toSet()));
+    assertEquals(
+        new StateWrapper().withStateType(StateType.STREAM).withStateMessages(List.of(updated.getStateMessages().get(0))),
+        statePersistence.getCurrentState(connectionId).orElseThrow());
+  }
+
+  private static StateWrapper streamStates(final int streamCount, final String value) {
+    return new StateWrapper()
+        .withStateType(StateType.STREAM)
+        .withStateMessages(IntStream.range(0, streamCount)
+            .mapToObj(i -> new AirbyteStateMessage()
+                .withType(AirbyteStateType.STREAM)
+                .withStream(new AirbyteStreamState()
+                    .withStreamDescriptor(new StreamDescriptor().withName("s" + i).withNamespace(i % 3 == 0 ? null : "n" + i % 2))
+                    .withStreamState(Jsons.jsonNode(value + i))))
+            .toList());
+  }
+
   @Test
   void testStreamFullReset() throws IOException {
     final StateWrapper state0 = new StateWrapper()
@@ -952,6 +988,14 @@ class StatePersistenceTest extends BaseConfigDatabaseTest {
     };
   }
 
+  // The rows of a connection are not read in any particular order
+  private void assertSameStreamStates(final StateWrapper expected, final StateWrapper actual) {
+    Assertions.assertEquals(expected.getStateType(), actual.getStateType());
+    Assertions.assertEquals(
+        expected.getStateMessages().stream().map(Jsons::serialize).collect(Collectors.toSet()),
+        actual.getStateMessages().stream().map(Jsons::serialize).collect(Collectors.toSet()));
+  }
+
   private void assertEquals(final StateWrapper lhs, final StateWrapper rhs) {
     Assertions.assertEquals(Jsons.serialize(lhs), Jsons.serialize(rhs));
   }
@@ -19,6 +19,12 @@ import io.airbyte.config.secrets.persistence.SecretPersistence
 import io.github.oshai.kotlinlogging.KotlinLogging
 import secrets.persistence.SecretCoordinateException
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.function.Supplier
 
 private val logger = KotlinLogging.logger {}
@@ -149,40 +155,124 @@ object SecretsHelpers {
 
   /**
    * Replaces {"_secret": "full_coordinate"} objects in the partial config with the string secret
-   * payloads loaded from the secret persistence at those coordinates.
+   * payloads loaded from the secret persistence at those coordinates. The coordinates are collected
+   * first, and the secrets they refer to are read once each. Given an executor, up to
+   * [maxConcurrentReads] of them are read concurrently by the calling thread and the executor,
+   * otherwise they are read one after the other.
    *
    * @param partialConfig configuration containing secret coordinates (references to secrets)
    * @param secretPersistence secret storage mechanism
+   * @param readExecutor executor the secrets are read on along with the calling thread, if they are
+   * to be read concurrently
+   * @param maxConcurrentReads maximum number of secrets read at once by this call
    * @return full config including actual secret values
    */
+  @JvmOverloads
   fun combineConfig(
     partialConfig: JsonNode?,
     secretPersistence: ReadOnlySecretPersistence,
+    readExecutor: Executor? = null,
+    maxConcurrentReads: Int = 1,
   ): JsonNode {
-    return if (partialConfig != null) {
-      val config = partialConfig.deepCopy<JsonNode>()
+    if (partialConfig == null) {
+      return JsonNodeFactory.instance.objectNode()
+    }
+
+    val coordinates = mutableSetOf<SecretCoordinate>()
+    collectSecretCoordinates(partialConfig, coordinates)
+    val secrets = readSecrets(coordinates, secretPersistence, readExecutor, maxConcurrentReads)
+    return replaceSecretCoordinates(partialConfig.deepCopy()) { coordinate ->
+      TextNode(checkSecretValue(coordinate, secrets.getValue(coordinate)))
+    }
+  }
 
-      // if the entire config is a secret coordinate object
-      if (config.has(COORDINATE_FIELD)) {
-        val coordinateNode = config[COORDINATE_FIELD]
-        val coordinate: SecretCoordinate = getCoordinateFromTextNode(coordinateNode)
-        return TextNode(getOrThrowSecretValue(secretPersistence, coordinate))
+  private fun collectSecretCoordinates(
+    config: JsonNode,
+    coordinates: MutableSet<SecretCoordinate>,
+  ) {
+    // if the entire config is a secret coordinate object
+    if (config.has(COORDINATE_FIELD)) {
+      coordinates.add(getCoordinateFromTextNode(config[COORDINATE_FIELD]))
+      return
+    }
+
+    // otherwise iterate through all object fields
+    config.fields().forEachRemaining { (_, fieldNode): Map.Entry<String, JsonNode> ->
+      if (fieldNode is ArrayNode) {
+        fieldNode.forEach { collectSecretCoordinates(it, coordinates) }
+      } else if (fieldNode is ObjectNode) {
+        collectSecretCoordinates(fieldNode, coordinates)
       }
+    }
+  }
+
+  private fun replaceSecretCoordinates(
+    config: JsonNode,
+    secretNode: (SecretCoordinate) -> JsonNode,
+  ): JsonNode {
+    // if the entire config is a secret coordinate object
+    if (config.has(COORDINATE_FIELD)) {
+      return secretNode(getCoordinateFromTextNode(config[COORDINATE_FIELD]))
+    }
 
-      // otherwise iterate through all object fields
-      config.fields().forEachRemaining { (fieldName, fieldNode): Map.Entry<String, JsonNode> ->
-        if (fieldNode is ArrayNode) {
-          for (i in 0 until fieldNode.size()) {
-            fieldNode[i] = combineConfig(fieldNode[i], secretPersistence)
-          }
-        } else if (fieldNode is ObjectNode) {
-          (config as ObjectNode).replace(fieldName, combineConfig(fieldNode, secretPersistence))
+    // otherwise iterate through all object fields
+    config.fields().forEachRemaining { (fieldName, fieldNode): Map.Entry<String, JsonNode> ->
+      if (fieldNode is ArrayNode) {
+        for (i in 0 until fieldNode.size()) {
+          fieldNode[i] = replaceSecretCoordinates(fieldNode[i], secretNode)
         }
+      } else if (fieldNode is ObjectNode) {
+        (config as ObjectNode).replace(fieldName, replaceSecretCoordinates(fieldNode, secretNode))
       }
-      config
-    } else {
-      JsonNodeFactory.instance.objectNode()
     }
+    return config
+  }
+
+  /**
+   * Reads the secrets at the given coordinates. Each read is a blocking call to the backing secret
+   * store, so when there are several of them up to [maxConcurrentReads] readers take turns reading
+   * them: the calling thread and readers on [readExecutor]. This bounds the reads of a single config
+   * however large the executor is, and the first failure stops the other readers. As the calling
+   * thread reads too, and readers that didn't start by the time it is done are skipped, the secrets
+   * are read even while the executor is busy with other work.
+   */
+  private fun readSecrets(
+    coordinates: Set<SecretCoordinate>,
+    secretPersistence: ReadOnlySecretPersistence,
+    readExecutor: Executor?,
+    maxConcurrentReads: Int,
+  ): Map<SecretCoordinate, String> {
+    if (readExecutor == null || maxConcurrentReads <= 1 || coordinates.size <= 1) {
+      return coordinates.associateWith { secretPersistence.read(it) }
+    }
+
+    val pending = ConcurrentLinkedQueue(coordinates)
+    val secrets = ConcurrentHashMap<SecretCoordinate, String>()
+    val readPending =
+      Runnable {
+        try {
+          generateSequence { pending.poll() }.forEach { secrets[it] = secretPersistence.read(it) }
+        } catch (e: Exception) {
+          pending.clear()
+          throw e
+        }
+      }
+    val readers =
+      List(minOf(maxConcurrentReads, coordinates.size) - 1) {
+        val started = AtomicBoolean(false)
+        started to CompletableFuture.runAsync({ if (started.compareAndSet(false, true)) readPending.run() }, readExecutor)
+      }
+    try {
+      readPending.run()
+      // The readers the executor didn't get to have nothing left to read, so only the started ones are waited on.
+      val startedReaders = readers.filterNot { (started, _) -> started.compareAndSet(false, true) }.map { (_, reader) -> reader }
+      CompletableFuture.allOf(*startedReaders.toTypedArray()).get()
+    } catch (e: ExecutionException) {
+      throw e.cause ?: e
+    } finally {
+      pending.clear()
+    }
+    return secrets
   }
 
   /**
@@ -276,8 +366,13 @@ object SecretsHelpers {
   private fun getOrThrowSecretValue(
     secretPersistence: ReadOnlySecretPersistence,
     coordinate: SecretCoordinate,
+  ): String = checkSecretValue(coordinate, secretPersistence.read(coordinate))
+
+  @Throws(SecretCoordinateException::class)
+  private fun checkSecretValue(
+    coordinate: SecretCoordinate,
+    secret: String,
   ): String {
-    val secret: String = secretPersistence.read(coordinate)
     if (secret.isNotBlank()) {
       return secret
     } else {
@@ -6,30 +6,51 @@ package io.airbyte.config.secrets.hydration
 
 import com.fasterxml.jackson.databind.JsonNode
 import io.airbyte.config.secrets.SecretsHelpers
+import io.airbyte.config.secrets.persistence.CachingSecretPersistence
+import io.airbyte.config.secrets.persistence.ReadOnlySecretPersistence
 import io.airbyte.config.secrets.persistence.RuntimeSecretPersistence
 import io.airbyte.config.secrets.persistence.SecretPersistence
 import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import jakarta.inject.Named
 import jakarta.inject.Singleton
+import java.util.concurrent.ExecutorService
 
 /**
- * Adds secrets to a partial config based off a persistence.
+ * Adds secrets to a partial config based off a persistence. Secrets are read from the default
+ * persistence through the secrets cache when it is enabled.
+ *
+ * The secrets of a config are read concurrently by the calling thread and the secret-read executor,
+ * at most airbyte.secret.read.max-concurrency of them at once. The executor is dedicated to these
+ * reads, so that they don't queue behind the requests waiting on them in the IO executor.
  */
 @Requires(bean = SecretPersistence::class)
 @Singleton
-class RealSecretsHydrator(private val secretPersistence: SecretPersistence) : SecretsHydrator {
+class RealSecretsHydrator(
+  secretPersistence: SecretPersistence,
+  cachingSecretPersistence: CachingSecretPersistence? = null,
+  @Named(SECRET_READ_EXECUTOR) private val secretReadExecutor: ExecutorService? = null,
+  @Value("\${airbyte.secret.read.max-concurrency:8}") private val maxConcurrentSecretReads: Int = 1,
+) : SecretsHydrator {
+  companion object {
+    const val SECRET_READ_EXECUTOR = "secret-read"
+  }
+
+  private val secretReader: ReadOnlySecretPersistence = cachingSecretPersistence ?: secretPersistence
+
   override fun hydrateFromDefaultSecretPersistence(partialConfig: JsonNode): JsonNode {
-    return SecretsHelpers.combineConfig(partialConfig, secretPersistence)
+    return SecretsHelpers.combineConfig(partialConfig, secretReader, secretReadExecutor, maxConcurrentSecretReads)
   }
 
   override fun hydrateFromRuntimeSecretPersistence(
     partialConfig: JsonNode,
     runtimeSecretPersistence: RuntimeSecretPersistence,
   ): JsonNode {
-    return SecretsHelpers.combineConfig(partialConfig, runtimeSecretPersistence)
+    return SecretsHelpers.combineConfig(partialConfig, runtimeSecretPersistence, secretReadExecutor, maxConcurrentSecretReads)
   }
 
   override fun hydrateSecretCoordinateFromDefaultSecretPersistence(secretCoordinate: JsonNode): JsonNode {
-    return SecretsHelpers.hydrateSecretCoordinate(secretCoordinate, secretPersistence)
+    return SecretsHelpers.hydrateSecretCoordinate(secretCoordinate, secretReader)
   }
 
   override fun hydrateSecretCoordinateFromRuntimeSecretPersistence(
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.secrets.persistence
+
+import com.google.common.base.Ticker
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import io.airbyte.config.secrets.SecretCoordinate
+import io.airbyte.metrics.lib.MetricClient
+import io.airbyte.metrics.lib.OssMetricsRegistry
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import jakarta.inject.Inject
+import jakarta.inject.Named
+import jakarta.inject.Singleton
+import java.nio.charset.StandardCharsets
+import java.security.SecureRandom
+import java.time.Duration
+import javax.crypto.Cipher
+import javax.crypto.KeyGenerator
+import javax.crypto.SecretKey
+import javax.crypto.spec.GCMParameterSpec
+
+private const val CIPHER_TRANSFORMATION = "AES/GCM/NoPadding"
+private const val KEY_SIZE_BITS = 256
+private const val IV_SIZE_BYTES = 12
+private const val TAG_SIZE_BITS = 128
+
+/**
+ * Reads secrets from the default secret persistence through a bounded in-memory cache, so that the
+ * secrets of a connector are not read from the secret store again for every check, discover and
+ * sync started within the cache TTL.
+ *
+ * Secret coordinates are versioned and a new version is written whenever a secret is updated, so a
+ * cached secret only goes stale when it is deleted. Blank secrets, which are missing from the store,
+ * are not cached so that a secret is found as soon as it is written.
+ *
+ * Cached secrets are encrypted with a key generated when the cache is created, which never leaves
+ * the memory of the process, so that secret payloads are not kept in plain text on the heap.
+ */
+@Singleton
+@Requires(property = "airbyte.secret.cache.enabled", value = "true")
+class CachingSecretPersistence internal constructor(
+  private val secretPersistence: ReadOnlySecretPersistence,
+  maxSize: Long,
+  ttl: Duration,
+  private val metricClient: MetricClient,
+  ticker: Ticker,
+) : ReadOnlySecretPersistence {
+  @Inject
+  constructor(
+    @Named("secretPersistence") secretPersistence: SecretPersistence,
+    @Value("\${airbyte.secret.cache.max-size:1000}") maxSize: Long,
+    @Value("\${airbyte.secret.cache.ttl-seconds:60}") ttlSeconds: Long,
+    metricClient: MetricClient,
+  ) : this(secretPersistence, maxSize, Duration.ofSeconds(ttlSeconds), metricClient, Ticker.systemTicker())
+
+  private val key: SecretKey = KeyGenerator.getInstance("AES").apply { init(KEY_SIZE_BITS) }.generateKey()
+  private val random = SecureRandom()
+
+  private val cache: Cache<SecretCoordinate, ByteArray> =
+    CacheBuilder.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterWrite(ttl)
+      .ticker(ticker)
+      .build()
+
+  override fun read(coordinate: SecretCoordinate): String {
+    cache.getIfPresent(coordinate)?.let {
+      metricClient.count(OssMetricsRegistry.SECRETS_CACHE_HIT, 1)
+      return decrypt(it)
+    }
+
+    metricClient.count(OssMetricsRegistry.SECRETS_CACHE_MISS, 1)
+    val secret = secretPersistence.read(coordinate)
+    if (secret.isNotBlank()) {
+      cache.put(coordinate, encrypt(secret))
+    }
+    return secret
+  }
+
+  /**
+   * Encrypts a secret with a random IV, which is kept in front of the cipher text.
+   */
+  private fun encrypt(secret: String): ByteArray {
+    val iv = ByteArray(IV_SIZE_BYTES).also { random.nextBytes(it) }
+    val cipher = Cipher.getInstance(CIPHER_TRANSFORMATION).apply { init(Cipher.ENCRYPT_MODE, key, GCMParameterSpec(TAG_SIZE_BITS, iv)) }
+    return iv + cipher.doFinal(secret.toByteArray(StandardCharsets.UTF_8))
+  }
+
+  private fun decrypt(encryptedSecret: ByteArray): String {
+    val cipher =
+      Cipher.getInstance(CIPHER_TRANSFORMATION).apply {
+        init(Cipher.DECRYPT_MODE, key, GCMParameterSpec(TAG_SIZE_BITS, encryptedSecret, 0, IV_SIZE_BYTES))
+      }
+    return String(cipher.doFinal(encryptedSecret, IV_SIZE_BYTES, encryptedSecret.size - IV_SIZE_BYTES), StandardCharsets.UTF_8)
+  }
+}
@@ -25,6 +25,9 @@ class RuntimeSecretPersistence(private val secretPersistenceConfig: SecretPersis
   private val awsAccessKey: String? = System.getenv(AWS_ASSUME_ROLE_ACCESS_KEY_ID)
   private val awsSecretKey: String? = System.getenv(AWS_ASSUME_ROLE_SECRET_ACCESS_KEY)
 
+  // Built once rather than for every secret read or written, as every secret of a config is read through it.
+  private val secretPersistence: SecretPersistence by lazy { buildSecretPersistence(secretPersistenceConfig) }
+
   private fun buildSecretPersistence(secretPersistenceConfig: SecretPersistenceConfig): SecretPersistence {
     return when (secretPersistenceConfig.secretPersistenceType) {
       SecretPersistenceConfig.SecretPersistenceType.TESTING -> {
@@ -63,7 +66,6 @@ class RuntimeSecretPersistence(private val secretPersistenceConfig: SecretPersis
   }
 
   override fun read(coordinate: SecretCoordinate): String {
-    val secretPersistence = buildSecretPersistence(secretPersistenceConfig)
     return secretPersistence.read(coordinate)
   }
 
@@ -73,7 +75,6 @@ class RuntimeSecretPersistence(private val secretPersistenceConfig: SecretPersis
   ) {
     log.debug { "Writing secret to secret persistence: $coordinate" }
     log.debug { "Config: $secretPersistenceConfig" }
-    val secretPersistence: SecretPersistence = buildSecretPersistence(secretPersistenceConfig)
     secretPersistence.write(coordinate, payload)
   }
 
@@ -6,6 +6,7 @@ package io.airbyte.config.secrets
 
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.node.JsonNodeFactory
+import io.airbyte.commons.json.Jsons
 import io.airbyte.config.secrets.persistence.ReadOnlySecretPersistence
 import io.airbyte.config.secrets.persistence.SecretPersistence
 import io.airbyte.config.secrets.test.cases.ArrayOneOfTestCase
@@ -21,6 +22,7 @@ import io.airbyte.validation.json.JsonSchemaValidator
 import io.airbyte.validation.json.JsonValidationException
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.verify
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
@@ -28,6 +30,10 @@ import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
 import java.io.IOException
 import java.util.UUID
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.function.Consumer
 import java.util.regex.Pattern
 import java.util.stream.Stream
@@ -170,6 +176,114 @@ internal class SecretsHelpersTest {
     }
   }
 
+  @Test
+  fun testCombineReadsEachSecretOnceAndConcurrently() {
+    val first = SecretCoordinate.fromFullCoordinate("airbyte_workspace_first_v1")
+    val second = SecretCoordinate.fromFullCoordinate("airbyte_workspace_second_v1")
+    val partialConfig =
+      Jsons.jsonNode(
+        mapOf(
+          "password" to mapOf("_secret" to first.fullCoordinate),
+          "tunnel" to mapOf("password" to mapOf("_secret" to second.fullCoordinate)),
+          "keys" to listOf(mapOf("_secret" to first.fullCoordinate)),
+        ),
+      )
+    // Each read waits for the other one, so they only complete if they are made concurrently.
+    val executor = Executors.newCachedThreadPool()
+    val reads = CountDownLatch(2)
+    val secretPersistence: ReadOnlySecretPersistence = mockk()
+    every { secretPersistence.read(any()) } answers {
+      reads.countDown()
+      check(reads.await(10, TimeUnit.SECONDS)) { "Secrets were not read concurrently" }
+      firstArg<SecretCoordinate>().coordinateBase
+    }
+
+    val combinedConfig =
+      try {
+        SecretsHelpers.combineConfig(partialConfig, secretPersistence, executor, 2)
+      } finally {
+        executor.shutdownNow()
+      }
+
+    val expectedConfig =
+      Jsons.jsonNode(
+        mapOf(
+          "password" to first.coordinateBase,
+          "tunnel" to mapOf("password" to second.coordinateBase),
+          "keys" to listOf(first.coordinateBase),
+        ),
+      )
+    Assertions.assertEquals(expectedConfig, combinedConfig)
+    verify(exactly = 1) { secretPersistence.read(first) }
+    verify(exactly = 1) { secretPersistence.read(second) }
+  }
+
+  @Test
+  fun testCombineReadsAtMostTheMaxConcurrentSecretsAtOnce() {
+    val coordinates = (1..6).map { SecretCoordinate.fromFullCoordinate("airbyte_workspace_secret${it}_v1") }
+    val partialConfig = Jsons.jsonNode(coordinates.associate { it.coordinateBase to mapOf("_secret" to it.fullCoordinate) })
+    val executor = Executors.newCachedThreadPool()
+    val readsInFlight = AtomicInteger()
+    val maxReadsInFlight = AtomicInteger()
+    val secretPersistence: ReadOnlySecretPersistence = mockk()
+    every { secretPersistence.read(any()) } answers {
+      maxReadsInFlight.accumulateAndGet(readsInFlight.incrementAndGet()) { a, b -> maxOf(a, b) }
+      Thread.sleep(50)
+      readsInFlight.decrementAndGet()
+      firstArg<SecretCoordinate>().coordinateBase
+    }
+
+    val combinedConfig =
+      try {
+        SecretsHelpers.combineConfig(partialConfig, secretPersistence, executor, 2)
+      } finally {
+        executor.shutdownNow()
+      }
+
+    Assertions.assertEquals(Jsons.jsonNode(coordinates.associate { it.coordinateBase to it.coordinateBase }), combinedConfig)
+    Assertions.assertEquals(2, maxReadsInFlight.get())
+  }
+
+  @Test
+  fun testCombineReadsSecretsWhileTheExecutorIsBusy() {
+    val coordinates = (1..4).map { SecretCoordinate.fromFullCoordinate("airbyte_workspace_secret${it}_v1") }
+    val partialConfig = Jsons.jsonNode(coordinates.associate { it.coordinateBase to mapOf("_secret" to it.fullCoordinate) })
+    // The only thread of the executor is busy until the secrets are read.
+    val executor = Executors.newSingleThreadExecutor()
+    val busy = CountDownLatch(1)
+    executor.execute { busy.await() }
+    val secretPersistence: ReadOnlySecretPersistence = mockk()
+    every { secretPersistence.read(any()) } answers { firstArg<SecretCoordinate>().coordinateBase }
+
+    val combinedConfig =
+      try {
+        SecretsHelpers.combineConfig(partialConfig, secretPersistence, executor, 2)
+      } finally {
+        busy.countDown()
+        executor.shutdownNow()
+      }
+
+    Assertions.assertEquals(Jsons.jsonNode(coordinates.associate { it.coordinateBase to it.coordinateBase }), combinedConfig)
+  }
+
+  @Test
+  fun testCombineFailsWhenASecretReadFails() {
+    val coordinates = (1..4).map { SecretCoordinate.fromFullCoordinate("airbyte_workspace_secret${it}_v1") }
+    val partialConfig = Jsons.jsonNode(coordinates.associate { it.coordinateBase to mapOf("_secret" to it.fullCoordinate) })
+    val executor = Executors.newCachedThreadPool()
+    val secretPersistence: ReadOnlySecretPersistence = mockk()
+    every { secretPersistence.read(any()) } answers { firstArg<SecretCoordinate>().coordinateBase }
+    every { secretPersistence.read(coordinates[1]) } throws IllegalStateException("secret store unavailable")
+
+    try {
+      Assertions.assertThrows(IllegalStateException::class.java) {
+        SecretsHelpers.combineConfig(partialConfig, secretPersistence, executor, 2)
+      }
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+
   @Test
   fun testUpdatingSecretsOneAtATimeShouldAlwaysIncrementAllVersions() {
     val uuidIterator = SecretsTestCase.UUIDS.iterator()
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.secrets.persistence
+
+import com.google.common.base.Ticker
+import io.airbyte.config.secrets.SecretCoordinate
+import io.airbyte.metrics.lib.MetricClient
+import io.airbyte.metrics.lib.OssMetricsRegistry
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+class CachingSecretPersistenceTest {
+  private val coordinate = SecretCoordinate.fromFullCoordinate("secret_coordinate_v1")
+  private val ttl = Duration.ofMinutes(1)
+
+  private lateinit var secretPersistence: ReadOnlySecretPersistence
+  private lateinit var metricClient: MetricClient
+  private lateinit var ticker: FakeTicker
+  private lateinit var cachingSecretPersistence: CachingSecretPersistence
+
+  @BeforeEach
+  fun setup() {
+    secretPersistence = mockk()
+    metricClient = mockk()
+    every { metricClient.count(any(), any()) } returns Unit
+    ticker = FakeTicker()
+    cachingSecretPersistence = CachingSecretPersistence(secretPersistence, 10, ttl, metricClient, ticker)
+  }
+
+  @Test
+  fun `test secrets are read from the cache until they expire`() {
+    every { secretPersistence.read(coordinate) } returns "secret value"
+
+    Assertions.assertEquals("secret value", cachingSecretPersistence.read(coordinate))
+    Assertions.assertEquals("secret value", cachingSecretPersistence.read(coordinate))
+    verify(exactly = 1) { secretPersistence.read(coordinate) }
+    verify(exactly = 1) { metricClient.count(OssMetricsRegistry.SECRETS_CACHE_MISS, 1) }
+    verify(exactly = 1) { metricClient.count(OssMetricsRegistry.SECRETS_CACHE_HIT, 1) }
+
+    ticker.advance(ttl)
+    Assertions.assertEquals("secret value", cachingSecretPersistence.read(coordinate))
+    verify(exactly = 2) { secretPersistence.read(coordinate) }
+    verify(exactly = 2) { metricClient.count(OssMetricsRegistry.SECRETS_CACHE_MISS, 1) }
+  }
+
+  @Test
+  fun `test missing secrets are not cached`() {
+    every { secretPersistence.read(coordinate) } returnsMany listOf("", "secret value")
+
+    Assertions.assertEquals("", cachingSecretPersistence.read(coordinate))
+    Assertions.assertEquals("secret value", cachingSecretPersistence.read(coordinate))
+    verify(exactly = 2) { secretPersistence.read(coordinate) }
+    verify(exactly = 0) { metricClient.count(OssMetricsRegistry.SECRETS_CACHE_HIT, 1) }
+  }
+
+  private class FakeTicker : Ticker() {
+    private var nanos = 0L
+
+    fun advance(duration: Duration) {
+      nanos += duration.toNanos()
+    }
+
+    override fun read(): Long = nanos
+  }
+}
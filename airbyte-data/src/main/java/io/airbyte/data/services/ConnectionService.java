@@ -27,6 +27,8 @@ public interface ConnectionService {
 
   StandardSync getStandardSync(UUID connectionId) throws JsonValidationException, IOException, ConfigNotFoundException;
 
+  List<StandardSync> getStandardSyncs(List<UUID> connectionIds) throws IOException;
+
   void writeStandardSync(StandardSync standardSync) throws IOException;
 
   List<StandardSync> listStandardSyncs() throws IOException;
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.data.services.impls.jooq;
+
+import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG;
+import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG_STREAM;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteCatalog;
+import io.airbyte.protocol.models.AirbyteStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep3;
+import org.jooq.JSONB;
+
+/**
+ * Actor catalog stored as a manifest: the catalog with each of its streams replaced by the SHA-256
+ * hash of the stream. Streams are stored once per hash in the actor_catalog_stream table, so that
+ * storing a new version of a catalog only writes the streams that changed, and catalogs are looked
+ * up by the hash of their manifest without being read back.
+ */
+class ActorCatalogManifest {
+
+  private static final String STREAMS = "streams";
+
+  // Keeps the number of bind values of a statement well below the limit of the postgres protocol.
+  private static final int MAX_STREAMS_PER_STATEMENT = 1000;
+
+  private final String catalogHash;
+  private final JsonNode manifest;
+  private final Map<String, AirbyteStream> streamsByHash;
+
+  private ActorCatalogManifest(final String catalogHash, final JsonNode manifest, final Map<String, AirbyteStream> streamsByHash) {
+    this.catalogHash = catalogHash;
+    this.manifest = manifest;
+    this.streamsByHash = streamsByHash;
+  }
+
+  /**
+   * Build the manifest of a catalog.
+   *
+   * @param catalog catalog
+   * @return manifest of the catalog
+   * @throws IOException if the catalog can't be serialized to canonical JSON
+   */
+  static ActorCatalogManifest of(final AirbyteCatalog catalog) throws IOException {
+    final Map<String, AirbyteStream> streamsByHash = new LinkedHashMap<>();
+    final ArrayNode streamHashes = JsonNodeFactory.instance.arrayNode();
+    for (final AirbyteStream stream : catalog.getStreams()) {
+      final String streamHash = hash(Jsons.canonicalJsonSerialize(stream));
+      streamsByHash.put(streamHash, stream);
+      streamHashes.add(streamHash);
+    }
+
+    final ObjectNode manifest = (ObjectNode) Jsons.jsonNode(catalog.getAdditionalProperties());
+    manifest.set(STREAMS, streamHashes);
+    return new ActorCatalogManifest(hash(Jsons.canonicalJsonSerialize(manifest)), manifest, streamsByHash);
+  }
+
+  String getCatalogHash() {
+    return catalogHash;
+  }
+
+  /**
+   * Find a catalog stored with the same manifest.
+   *
+   * @param ctx db context
+   * @return id of the catalog, null if there is none
+   */
+  UUID findCatalogId(final DSLContext ctx) {
+    return ctx.select(ACTOR_CATALOG.ID)
+        .from(ACTOR_CATALOG)
+        .where(ACTOR_CATALOG.CATALOG_HASH.eq(catalogHash))
+        .and(ACTOR_CATALOG.CATALOG_MANIFEST.isNotNull())
+        .limit(1)
+        .fetchOne(ACTOR_CATALOG.ID);
+  }
+
+  /**
+   * Insert the catalog, along with those of its streams that aren't stored yet.
+   *
+   * @param ctx db context
+   * @param timestamp timestamp
+   * @return id of the inserted catalog
+   */
+  UUID insert(final DSLContext ctx, final OffsetDateTime timestamp) {
+    insertMissingStreams(ctx, timestamp);
+
+    final UUID catalogId = UUID.randomUUID();
+    ctx.insertInto(ACTOR_CATALOG)
+        .set(ACTOR_CATALOG.ID, catalogId)
+        .set(ACTOR_CATALOG.CATALOG_MANIFEST, JSONB.valueOf(Jsons.serialize(manifest)))
+        .set(ACTOR_CATALOG.CATALOG_HASH, catalogHash)
+        .set(ACTOR_CATALOG.CREATED_AT, timestamp)
+        .set(ACTOR_CATALOG.MODIFIED_AT, timestamp).execute();
+    return catalogId;
+  }
+
+  private void insertMissingStreams(final DSLContext ctx, final OffsetDateTime timestamp) {
+    for (final List<String> streamHashes : Lists.partition(new ArrayList<>(streamsByHash.keySet()), MAX_STREAMS_PER_STATEMENT)) {
+      final Set<String> storedHashes = new HashSet<>(ctx.select(ACTOR_CATALOG_STREAM.HASH)
+          .from(ACTOR_CATALOG_STREAM)
+          .where(ACTOR_CATALOG_STREAM.HASH.in(streamHashes))
+          .fetch(ACTOR_CATALOG_STREAM.HASH));
+      final List<String> missingHashes = streamHashes.stream().filter(streamHash -> !storedHashes.contains(streamHash)).toList();
+      if (missingHashes.isEmpty()) {
+        continue;
+      }
+
+      InsertValuesStep3<?, String, JSONB, OffsetDateTime> insert =
+          ctx.insertInto(ACTOR_CATALOG_STREAM, ACTOR_CATALOG_STREAM.HASH, ACTOR_CATALOG_STREAM.STREAM, ACTOR_CATALOG_STREAM.CREATED_AT);
+      for (final String streamHash : missingHashes) {
+        insert = insert.values(streamHash, JSONB.valueOf(Jsons.serialize(streamsByHash.get(streamHash))), timestamp);
+      }
+      // The same stream can be discovered concurrently by another source.
+      insert.onConflictDoNothing().execute();
+    }
+  }
+
+  /**
+   * Read a catalog stored as a manifest, fetching all of its streams at once.
+   *
+   * @param ctx db context
+   * @param manifest manifest of the catalog
+   * @return catalog
+   */
+  static AirbyteCatalog readCatalog(final DSLContext ctx, final JSONB manifest) {
+    final ObjectNode catalog = (ObjectNode) Jsons.deserialize(manifest.data());
+    final List<String> streamHashes = new ArrayList<>();
+    catalog.get(STREAMS).forEach(streamHash -> streamHashes.add(streamHash.asText()));
+
+    final Map<String, JsonNode> streamsByHash = new HashMap<>();
+    for (final List<String> hashes : Lists.partition(new ArrayList<>(new HashSet<>(streamHashes)), MAX_STREAMS_PER_STATEMENT)) {
+      ctx.select(ACTOR_CATALOG_STREAM.HASH, ACTOR_CATALOG_STREAM.STREAM)
+          .from(ACTOR_CATALOG_STREAM)
+          .where(ACTOR_CATALOG_STREAM.HASH.in(hashes))
+          .fetch()
+          .forEach(record -> streamsByHash.put(record.value1(), Jsons.deserialize(record.value2().data())));
+    }
+
+    final ArrayNode streams = catalog.putArray(STREAMS);
+    for (final String streamHash : streamHashes) {
+      final JsonNode stream = streamsByHash.get(streamHash);
+      if (stream == null) {
+        throw new IllegalStateException(String.format("Stream %s of the actor catalog is missing", streamHash));
+      }
+      streams.add(stream);
+    }
+    return Jsons.object(catalog, AirbyteCatalog.class);
+  }
+
+  private static String hash(final String json) {
+    return Hashing.sha256().hashString(json, StandardCharsets.UTF_8).toString();
+  }
+
+}
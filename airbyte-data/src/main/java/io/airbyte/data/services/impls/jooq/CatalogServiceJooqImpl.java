@@ -8,11 +8,7 @@ import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG
 import static io.airbyte.db.instance.configs.jooq.generated.Tables.ACTOR_CATALOG_FETCH_EVENT;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Charsets;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
 import datadog.trace.api.Trace;
-import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.ActorCatalog;
 import io.airbyte.config.ActorCatalogFetchEvent;
 import io.airbyte.config.ActorCatalogWithUpdatedAt;
@@ -27,7 +23,6 @@ import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -36,16 +31,12 @@ import java.util.stream.Collectors;
 import org.jooq.DSLContext;
 import org.jooq.JSONB;
 import org.jooq.Record;
-import org.jooq.Record2;
 import org.jooq.Result;
 import org.jooq.impl.DSL;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 @Singleton
 public class CatalogServiceJooqImpl implements CatalogService {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(CatalogServiceJooqImpl.class);
   private final ExceptionWrappingDatabase database;
 
   @VisibleForTesting
@@ -64,11 +55,12 @@ public class CatalogServiceJooqImpl implements CatalogService {
   @Override
   public ActorCatalog getActorCatalogById(UUID actorCatalogId)
       throws IOException, ConfigNotFoundException {
-    final Result<Record> result = database.query(ctx -> ctx.select(ACTOR_CATALOG.asterisk())
-        .from(ACTOR_CATALOG).where(ACTOR_CATALOG.ID.eq(actorCatalogId))).fetch();
+    final Optional<ActorCatalog> actorCatalog = database.query(ctx -> ctx.select(ACTOR_CATALOG.asterisk())
+        .from(ACTOR_CATALOG).where(ACTOR_CATALOG.ID.eq(actorCatalogId)).fetch()
+        .stream().findFirst().map(record -> DbConverter.buildActorCatalog(record, readCatalog(ctx, record))));
 
-    if (!result.isEmpty()) {
-      return DbConverter.buildActorCatalog(result.get(0));
+    if (actorCatalog.isPresent()) {
+      return actorCatalog.get();
     }
     throw new ConfigNotFoundException(ConfigSchema.ACTOR_CATALOG, actorCatalogId);
   }
@@ -87,15 +79,14 @@ public class CatalogServiceJooqImpl implements CatalogService {
                                                 String actorVersion,
                                                 String configHash)
       throws IOException {
-    final Result<Record> records = database.transaction(ctx -> ctx.select(ACTOR_CATALOG.asterisk())
+    return database.transaction(ctx -> ctx.select(ACTOR_CATALOG.asterisk())
         .from(ACTOR_CATALOG).join(ACTOR_CATALOG_FETCH_EVENT)
         .on(ACTOR_CATALOG.ID.eq(ACTOR_CATALOG_FETCH_EVENT.ACTOR_CATALOG_ID))
         .where(ACTOR_CATALOG_FETCH_EVENT.ACTOR_ID.eq(actorId))
         .and(ACTOR_CATALOG_FETCH_EVENT.ACTOR_VERSION.eq(actorVersion))
         .and(ACTOR_CATALOG_FETCH_EVENT.CONFIG_HASH.eq(configHash))
-        .orderBy(ACTOR_CATALOG_FETCH_EVENT.CREATED_AT.desc()).limit(1)).fetch();
-
-    return records.stream().findFirst().map(DbConverter::buildActorCatalog);
+        .orderBy(ACTOR_CATALOG_FETCH_EVENT.CREATED_AT.desc()).limit(1).fetch()
+        .stream().findFirst().map(record -> DbConverter.buildActorCatalog(record, readCatalog(ctx, record))));
   }
 
   /**
@@ -108,13 +99,13 @@ public class CatalogServiceJooqImpl implements CatalogService {
   @Override
   public Optional<ActorCatalogWithUpdatedAt> getMostRecentSourceActorCatalog(UUID sourceId)
       throws IOException {
-    final Result<Record> records = database.query(ctx -> ctx.select(ACTOR_CATALOG.asterisk(), ACTOR_CATALOG_FETCH_EVENT.CREATED_AT)
+    return database.query(ctx -> ctx.select(ACTOR_CATALOG.asterisk(), ACTOR_CATALOG_FETCH_EVENT.CREATED_AT)
         .from(ACTOR_CATALOG)
         .join(ACTOR_CATALOG_FETCH_EVENT)
         .on(ACTOR_CATALOG_FETCH_EVENT.ACTOR_CATALOG_ID.eq(ACTOR_CATALOG.ID))
         .where(ACTOR_CATALOG_FETCH_EVENT.ACTOR_ID.eq(sourceId))
-        .orderBy(ACTOR_CATALOG_FETCH_EVENT.CREATED_AT.desc()).limit(1).fetch());
-    return records.stream().findFirst().map(DbConverter::buildActorCatalogWithUpdatedAt);
+        .orderBy(ACTOR_CATALOG_FETCH_EVENT.CREATED_AT.desc()).limit(1).fetch()
+        .stream().findFirst().map(record -> DbConverter.buildActorCatalogWithUpdatedAt(record, readCatalog(ctx, record))));
   }
 
   /**
@@ -127,13 +118,13 @@ public class CatalogServiceJooqImpl implements CatalogService {
   @Override
   public Optional<ActorCatalog> getMostRecentActorCatalogForSource(UUID sourceId)
       throws IOException {
-    final Result<Record> records = database.query(ctx -> ctx.select(ACTOR_CATALOG.asterisk())
+    return database.query(ctx -> ctx.select(ACTOR_CATALOG.asterisk())
         .from(ACTOR_CATALOG)
         .join(ACTOR_CATALOG_FETCH_EVENT)
         .on(ACTOR_CATALOG_FETCH_EVENT.ACTOR_CATALOG_ID.eq(ACTOR_CATALOG.ID))
         .where(ACTOR_CATALOG_FETCH_EVENT.ACTOR_ID.eq(sourceId))
-        .orderBy(ACTOR_CATALOG_FETCH_EVENT.CREATED_AT.desc()).limit(1).fetch());
-    return records.stream().findFirst().map(DbConverter::buildActorCatalog);
+        .orderBy(ACTOR_CATALOG_FETCH_EVENT.CREATED_AT.desc()).limit(1).fetch()
+        .stream().findFirst().map(record -> DbConverter.buildActorCatalog(record, readCatalog(ctx, record))));
   }
 
   /**
@@ -179,8 +170,9 @@ public class CatalogServiceJooqImpl implements CatalogService {
       throws IOException {
     final OffsetDateTime timestamp = OffsetDateTime.now();
     final UUID fetchEventID = UUID.randomUUID();
+    final ActorCatalogManifest manifest = ActorCatalogManifest.of(catalog);
     return database.transaction(ctx -> {
-      final UUID catalogId = getOrInsertActorCatalog(catalog, ctx, timestamp);
+      final UUID catalogId = getOrInsertActorCatalog(manifest, ctx, timestamp);
       ctx.insertInto(ACTOR_CATALOG_FETCH_EVENT)
           .set(ACTOR_CATALOG_FETCH_EVENT.ID, fetchEventID)
           .set(ACTOR_CATALOG_FETCH_EVENT.ACTOR_ID, actorId)
@@ -228,95 +220,34 @@ public class CatalogServiceJooqImpl implements CatalogService {
   }
 
   /**
-   * Store an Airbyte catalog in DB if it is not present already. Checks in the config DB if the
-   * catalog is present already, if so returns it identifier. If not present, it is inserted in DB
-   * with a new identifier and that identifier is returned.
+   * Store an Airbyte catalog in DB if it is not present already. Catalogs are stored as a manifest of
+   * their streams and identified by the hash of that manifest, so that an existing catalog is found
+   * without reading it back, and only the streams that aren't stored yet are written.
    *
-   * @param airbyteCatalog the catalog to be cached
+   * @param manifest manifest of the catalog to be cached
    * @param context - db context
    * @param timestamp - timestamp
    * @return the db identifier for the cached catalog.
    */
-  private UUID getOrInsertActorCatalog(final AirbyteCatalog airbyteCatalog,
+  private UUID getOrInsertActorCatalog(final ActorCatalogManifest manifest,
                                        final DSLContext context,
                                        final OffsetDateTime timestamp) {
-
-    final String canonicalCatalogHash = generateCanonicalHash(airbyteCatalog);
-    UUID catalogId = lookupCatalogId(canonicalCatalogHash, airbyteCatalog, context);
+    final UUID catalogId = manifest.findCatalogId(context);
     if (catalogId != null) {
       return catalogId;
     }
-
-    final String oldCatalogHash = generateOldHash(airbyteCatalog);
-    catalogId = lookupCatalogId(oldCatalogHash, airbyteCatalog, context);
-    if (catalogId != null) {
-      return catalogId;
-    }
-
-    return insertCatalog(airbyteCatalog, canonicalCatalogHash, context, timestamp);
-  }
-
-  private String generateCanonicalHash(final AirbyteCatalog airbyteCatalog) {
-    final HashFunction hashFunction = Hashing.murmur3_32_fixed();
-    try {
-      return hashFunction.hashBytes(Jsons.canonicalJsonSerialize(airbyteCatalog)
-          .getBytes(Charsets.UTF_8)).toString();
-    } catch (final IOException e) {
-      LOGGER.error("Failed to serialize AirbyteCatalog to canonical JSON", e);
-      return null;
-    }
-  }
-
-  private UUID lookupCatalogId(final String catalogHash, final AirbyteCatalog airbyteCatalog, final DSLContext context) {
-    if (catalogHash == null) {
-      return null;
-    }
-    return findAndReturnCatalogId(catalogHash, airbyteCatalog, context);
-  }
-
-  private String generateOldHash(final AirbyteCatalog airbyteCatalog) {
-    final HashFunction hashFunction = Hashing.murmur3_32_fixed();
-    return hashFunction.hashBytes(Jsons.serialize(airbyteCatalog).getBytes(Charsets.UTF_8)).toString();
+    return manifest.insert(context, timestamp);
   }
 
-  private UUID insertCatalog(final AirbyteCatalog airbyteCatalog,
-                             final String catalogHash,
-                             final DSLContext context,
-                             final OffsetDateTime timestamp) {
-    final UUID catalogId = UUID.randomUUID();
-    context.insertInto(ACTOR_CATALOG)
-        .set(ACTOR_CATALOG.ID, catalogId)
-        .set(ACTOR_CATALOG.CATALOG, JSONB.valueOf(Jsons.serialize(airbyteCatalog)))
-        .set(ACTOR_CATALOG.CATALOG_HASH, catalogHash)
-        .set(ACTOR_CATALOG.CREATED_AT, timestamp)
-        .set(ACTOR_CATALOG.MODIFIED_AT, timestamp).execute();
-    return catalogId;
-  }
-
-  private UUID findAndReturnCatalogId(final String catalogHash, final AirbyteCatalog airbyteCatalog, final DSLContext context) {
-    final Map<UUID, AirbyteCatalog> catalogs = findCatalogByHash(catalogHash, context);
-    for (final Map.Entry<UUID, AirbyteCatalog> entry : catalogs.entrySet()) {
-      if (entry.getValue().equals(airbyteCatalog)) {
-        return entry.getKey();
-      }
-    }
-    return null;
-  }
-
-  private Map<UUID, AirbyteCatalog> findCatalogByHash(final String catalogHash, final DSLContext context) {
-    final Result<Record2<UUID, JSONB>> records = context.select(ACTOR_CATALOG.ID, ACTOR_CATALOG.CATALOG)
-        .from(ACTOR_CATALOG)
-        .where(ACTOR_CATALOG.CATALOG_HASH.eq(catalogHash)).fetch();
-
-    final Map<UUID, AirbyteCatalog> result = new HashMap<>();
-    for (final Record record : records) {
-      // We do not apply the on-the-fly migration here because the only caller is getOrInsertActorCatalog
-      // which is using this to figure out if the catalog has already been inserted. Migrating on the fly
-      // here will cause us to add a duplicate each time we check for existence of a catalog.
-      final AirbyteCatalog catalog = Jsons.deserialize(record.get(ACTOR_CATALOG.CATALOG).toString(), AirbyteCatalog.class);
-      result.put(record.get(ACTOR_CATALOG.ID), catalog);
+  /**
+   * Read the catalog of an actor catalog record, from its manifest if it has one.
+   */
+  private static AirbyteCatalog readCatalog(final DSLContext ctx, final Record record) {
+    final JSONB manifest = record.get(ACTOR_CATALOG.CATALOG_MANIFEST);
+    if (manifest == null) {
+      return DbConverter.parseAirbyteCatalog(record.get(ACTOR_CATALOG.CATALOG).toString());
     }
-    return result;
+    return ActorCatalogManifest.readCatalog(ctx, manifest);
   }
 
 }
@@ -334,28 +334,32 @@ public class DbConverter {
   }
 
   /**
-   * Build actor catalog from db record.
+   * Build actor catalog from db record and its catalog. The catalog column is empty for catalogs
+   * stored as a manifest, so the catalog is read separately.
    *
    * @param record db record
+   * @param catalog catalog of the record
    * @return actor catalog
    */
-  public static ActorCatalog buildActorCatalog(final Record record) {
+  public static ActorCatalog buildActorCatalog(final Record record, final AirbyteCatalog catalog) {
     return new ActorCatalog()
         .withId(record.get(ACTOR_CATALOG.ID))
-        .withCatalog(Jsons.jsonNode(parseAirbyteCatalog(record.get(ACTOR_CATALOG.CATALOG).toString())))
+        .withCatalog(Jsons.jsonNode(catalog))
         .withCatalogHash(record.get(ACTOR_CATALOG.CATALOG_HASH));
   }
 
   /**
-   * Build actor catalog with updated at from db record.
+   * Build actor catalog with updated at from db record and its catalog. The catalog column is empty
+   * for catalogs stored as a manifest, so the catalog is read separately.
    *
    * @param record db record
+   * @param catalog catalog of the record
    * @return actor catalog with last updated at
    */
-  public static ActorCatalogWithUpdatedAt buildActorCatalogWithUpdatedAt(final Record record) {
+  public static ActorCatalogWithUpdatedAt buildActorCatalogWithUpdatedAt(final Record record, final AirbyteCatalog catalog) {
     return new ActorCatalogWithUpdatedAt()
         .withId(record.get(ACTOR_CATALOG.ID))
-        .withCatalog(Jsons.jsonNode(parseAirbyteCatalog(record.get(ACTOR_CATALOG.CATALOG).toString())))
+        .withCatalog(Jsons.jsonNode(catalog))
         .withCatalogHash(record.get(ACTOR_CATALOG.CATALOG_HASH))
         .withUpdatedAt(record.get(ACTOR_CATALOG_FETCH_EVENT.CREATED_AT, LocalDateTime.class).toEpochSecond(ZoneOffset.UTC));
   }
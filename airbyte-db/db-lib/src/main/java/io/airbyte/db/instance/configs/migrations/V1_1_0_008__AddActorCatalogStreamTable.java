@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.configs.migrations;
+
+import static org.jooq.impl.DSL.currentOffsetDateTime;
+import static org.jooq.impl.DSL.primaryKey;
+
+import java.time.OffsetDateTime;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.JSONB;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the streams of actor catalogs once per content hash. New catalogs reference their streams
+ * by hash in a manifest instead of holding the whole catalog, and are identified by a SHA-256 hash
+ * of that manifest. Existing catalogs keep their catalog column and murmur3 hash.
+ */
+public class V1_1_0_008__AddActorCatalogStreamTable extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V1_1_0_008__AddActorCatalogStreamTable.class);
+
+  private static final String ACTOR_CATALOG_TABLE = "actor_catalog";
+  private static final String ACTOR_CATALOG_STREAM_TABLE = "actor_catalog_stream";
+
+  private static final Field<String> hashField = DSL.field("hash", SQLDataType.VARCHAR(64).nullable(false));
+  private static final Field<JSONB> streamField = DSL.field("stream", SQLDataType.JSONB.nullable(false));
+  private static final Field<OffsetDateTime> createdAtField =
+      DSL.field("created_at", SQLDataType.TIMESTAMPWITHTIMEZONE.nullable(false).defaultValue(currentOffsetDateTime()));
+
+  private static final Field<JSONB> catalogManifestField = DSL.field("catalog_manifest", SQLDataType.JSONB.nullable(true));
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    // Warning: please do not use any jOOQ generated code to write a migration.
+    // As database schema changes, the generated jOOQ code can be deprecated. So
+    // old migration may not compile if there is any generated code.
+    final DSLContext ctx = DSL.using(context.getConnection());
+    runMigration(ctx);
+  }
+
+  static void runMigration(final DSLContext ctx) {
+    ctx.createTableIfNotExists(ACTOR_CATALOG_STREAM_TABLE)
+        .columns(hashField, streamField, createdAtField)
+        .constraints(primaryKey(hashField))
+        .execute();
+
+    ctx.alterTable(ACTOR_CATALOG_TABLE)
+        .addColumnIfNotExists(catalogManifestField)
+        .execute();
+
+    ctx.alterTable(ACTOR_CATALOG_TABLE)
+        .alter(DSL.field("catalog")).dropNotNull()
+        .execute();
+
+    // Widening a varchar doesn't rewrite the table.
+    ctx.alterTable(ACTOR_CATALOG_TABLE)
+        .alter(DSL.field("catalog_hash")).set(SQLDataType.VARCHAR(64))
+        .execute();
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.jobs.migrations;
+
+import static org.jooq.impl.DSL.currentOffsetDateTime;
+import static org.jooq.impl.DSL.primaryKey;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adds the stream_stats_hourly table, a rollup of the records and bytes committed by the sync jobs
+ * of a connection per stream and per hour, so that the stream history of a connection is read
+ * without going through the stats of every attempt. Hours rather than days are kept so that days
+ * can be cut in the timezone of whoever reads the history.
+ * <p>
+ * The rollup is backfilled with the stats of the last 30 days, the window of the stream history.
+ * Older hours are purged with the job history, through an index on the hour.
+ */
+public class V1_1_0_001__AddStreamStatsHourly extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V1_1_0_001__AddStreamStatsHourly.class);
+
+  private static final String STREAM_STATS_HOURLY_TABLE = "stream_stats_hourly";
+
+  private static final Field<UUID> connectionId = DSL.field("connection_id", SQLDataType.UUID.nullable(false));
+  // Null namespaces are stored as empty strings so that the primary key can be used for upserts.
+  private static final Field<String> streamNamespace =
+      DSL.field("stream_namespace", SQLDataType.VARCHAR.nullable(false).defaultValue(DSL.inline("")));
+  private static final Field<String> streamName = DSL.field("stream_name", SQLDataType.VARCHAR.nullable(false));
+  private static final Field<OffsetDateTime> bucketStart = DSL.field("bucket_start", SQLDataType.TIMESTAMPWITHTIMEZONE.nullable(false));
+  private static final Field<Long> recordsCommitted =
+      DSL.field("records_committed", SQLDataType.BIGINT.nullable(false).defaultValue(DSL.inline(0L)));
+  private static final Field<Long> bytesCommitted = DSL.field("bytes_committed", SQLDataType.BIGINT.nullable(false).defaultValue(DSL.inline(0L)));
+  private static final Field<OffsetDateTime> updatedAt =
+      DSL.field("updated_at", SQLDataType.TIMESTAMPWITHTIMEZONE.nullable(false).defaultValue(currentOffsetDateTime()));
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    final DSLContext ctx = DSL.using(context.getConnection());
+
+    LOGGER.info("Create stream_stats_hourly table");
+    createStreamStatsHourlyTable(ctx);
+
+    LOGGER.info("Backfill stream_stats_hourly table");
+    backfillStreamStatsHourly(ctx);
+
+    LOGGER.info("Completed migration: {}", this.getClass().getSimpleName());
+  }
+
+  private static void createStreamStatsHourlyTable(final DSLContext ctx) {
+    // The primary key starts with the connection and the hour so that the history of a connection is
+    // a range scan.
+    ctx.createTableIfNotExists(STREAM_STATS_HOURLY_TABLE)
+        .columns(connectionId, bucketStart, streamNamespace, streamName, recordsCommitted, bytesCommitted, updatedAt)
+        .constraints(primaryKey(connectionId, bucketStart, streamNamespace, streamName))
+        .execute();
+    ctx.createIndexIfNotExists("stream_stats_hourly_bucket_start_idx")
+        .on(STREAM_STATS_HOURLY_TABLE, bucketStart.getName())
+        .execute();
+  }
+
+  /**
+   * Rolls up the latest stats of each stream of the sync attempts updated during the last 30 days
+   * into the hour they were last updated in. Stats written after the migration are rolled up as the
+   * difference with these, so attempts running during the upgrade are not counted twice.
+   */
+  private static void backfillStreamStatsHourly(final DSLContext ctx) {
+    ctx.execute("""
+                INSERT INTO stream_stats_hourly
+                  (connection_id, bucket_start, stream_namespace, stream_name, records_committed, bytes_committed, updated_at)
+                SELECT CAST(jobs.scope AS UUID), date_trunc('hour', stats.updated_at), COALESCE(stats.stream_namespace, ''), stats.stream_name,
+                  SUM(COALESCE(stats.records_committed, 0)), SUM(COALESCE(stats.bytes_committed, 0)), now()
+                FROM (
+                  SELECT DISTINCT ON (attempt_id, stream_name, stream_namespace) *
+                  FROM stream_stats
+                  WHERE updated_at > now() - interval '30 days'
+                  ORDER BY attempt_id, stream_name, stream_namespace, updated_at DESC
+                ) AS stats
+                INNER JOIN attempts ON attempts.id = stats.attempt_id
+                INNER JOIN jobs ON jobs.id = attempts.job_id
+                WHERE jobs.config_type = 'sync'
+                GROUP BY 1, 2, 3, 4
+                ON CONFLICT DO NOTHING
+                """);
+  }
+
+}
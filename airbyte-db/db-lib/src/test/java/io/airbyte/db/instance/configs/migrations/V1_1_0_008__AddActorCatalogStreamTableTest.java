@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.configs.migrations;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.db.factory.FlywayFactory;
+import io.airbyte.db.instance.configs.AbstractConfigsDatabaseTest;
+import io.airbyte.db.instance.configs.ConfigsDatabaseMigrator;
+import io.airbyte.db.instance.development.DevDatabaseMigrator;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.jooq.DSLContext;
+import org.jooq.JSONB;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class V1_1_0_008__AddActorCatalogStreamTableTest extends AbstractConfigsDatabaseTest {
+
+  private static final String ACTOR_CATALOG_TABLE = "actor_catalog";
+  private static final String ACTOR_CATALOG_STREAM_TABLE = "actor_catalog_stream";
+  private static final String SHA_256_HASH = "a".repeat(64);
+
+  @BeforeEach
+  void setUp() {
+    final Flyway flyway = FlywayFactory.create(dataSource, "V1_1_0_008__AddActorCatalogStreamTableTest", ConfigsDatabaseMigrator.DB_IDENTIFIER,
+        ConfigsDatabaseMigrator.MIGRATION_FILE_LOCATION);
+    final ConfigsDatabaseMigrator configsDbMigrator = new ConfigsDatabaseMigrator(database, flyway);
+
+    final BaseJavaMigration previousMigration = new V1_1_0_007__AddSubscriptionStatusToOrganizationPaymentConfig();
+    final DevDatabaseMigrator devConfigsDbMigrator = new DevDatabaseMigrator(configsDbMigrator, previousMigration.getVersion());
+    devConfigsDbMigrator.createBaseline();
+  }
+
+  @Test
+  void testMigration() {
+    final DSLContext ctx = getDslContext();
+    V1_1_0_008__AddActorCatalogStreamTable.runMigration(ctx);
+
+    // streams are stored once per hash
+    insertStream(ctx);
+    final Exception e = assertThrows(DataAccessException.class, () -> insertStream(ctx));
+    assertTrue(e.getMessage().contains("duplicate key value violates unique constraint \"actor_catalog_stream_pkey\""));
+
+    // catalogs can be stored as a manifest with a SHA-256 hash
+    assertDoesNotThrow(() -> ctx.insertInto(DSL.table(ACTOR_CATALOG_TABLE))
+        .columns(
+            DSL.field("id"),
+            DSL.field("catalog_manifest"),
+            DSL.field("catalog_hash"),
+            DSL.field("created_at"),
+            DSL.field("modified_at"))
+        .values(
+            UUID.randomUUID(),
+            JSONB.valueOf("{\"streams\": [\"" + SHA_256_HASH + "\"]}"),
+            SHA_256_HASH,
+            OffsetDateTime.now(),
+            OffsetDateTime.now())
+        .execute());
+  }
+
+  private static void insertStream(final DSLContext ctx) {
+    ctx.insertInto(DSL.table(ACTOR_CATALOG_STREAM_TABLE))
+        .columns(DSL.field("hash"), DSL.field("stream"))
+        .values(SHA_256_HASH, JSONB.valueOf("{\"name\": \"stream\"}"))
+        .execute();
+  }
+
+}
@@ -11,6 +11,7 @@ import io.micronaut.http.annotation.PathVariable
 import io.micronaut.http.annotation.QueryValue
 import io.micronaut.scheduling.TaskExecutors
 import io.micronaut.scheduling.annotation.ExecuteOn
+import io.swagger.v3.oas.annotations.media.ArraySchema
 import io.swagger.v3.oas.annotations.media.Content
 import io.swagger.v3.oas.annotations.media.Schema
 import io.swagger.v3.oas.annotations.parameters.RequestBody
@@ -41,6 +42,21 @@ class FeatureFlagApi(private val ffs: FeatureFlagService) {
     ffs.delete(key)
   }
 
+  @GET
+  @Path("/")
+  @ApiResponses(
+    value = [
+      ApiResponse(
+        responseCode = "200",
+        description = "All the FeatureFlags with their rules, for clients evaluating them locally",
+        content = [Content(array = ArraySchema(schema = Schema(implementation = FeatureFlag::class)))],
+      ),
+    ],
+  )
+  fun list(): List<FeatureFlag> {
+    return ffs.list()
+  }
+
   @GET
   @Path("/{key}")
   @ApiResponses(
@@ -66,6 +66,10 @@ open class FeatureFlagService(
     return flags[key]?.toFeatureFlag()
   }
 
+  open fun list(): List<FeatureFlag> {
+    return flags.values.map { it.toFeatureFlag() }
+  }
+
   open fun addRule(
     key: String,
     rule: Rule,
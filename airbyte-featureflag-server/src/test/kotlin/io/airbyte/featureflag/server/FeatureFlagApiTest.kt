@@ -78,6 +78,20 @@ class FeatureFlagApiTest(
     assertEquals(404, response.status.code)
   }
 
+  @Test
+  fun `test list returns all the flags`() {
+    val flags =
+      listOf(
+        FeatureFlag(key = "flag1", default = "default1", rules = listOf(Rule(context = Context(kind = "c", value = "c1"), value = "c1v"))),
+        FeatureFlag(key = "flag2", default = "default2"),
+      )
+    every { ffs.list() } returns flags
+
+    val response = call<Array<FeatureFlag>>(HttpRequest.GET("/api/v1/feature-flags/"))
+    assertEquals(200, response.status.code)
+    assertEquals(flags, response.body.get().toList())
+  }
+
   @Test
   fun `test put`() {
     val flag = FeatureFlag(key = "flag", default = "default", rules = listOf(Rule(context = Context(kind = "c", value = "c1"), value = "c1v")))
@@ -45,6 +45,17 @@ class FeatureFlagServiceTest {
     assertEquals(flag2, ffs.get(flag2.key))
   }
 
+  @Test
+  fun `list returns all the flags`() {
+    val flag1 = FeatureFlag(key = "flag1", default = "flag1 default", rules = listOf(Rule(context = Context(kind = "c", value = "c1"), value = "v1")))
+    val flag2 = FeatureFlag(key = "flag2", default = "flag2 default")
+
+    assertEquals(listOf<FeatureFlag>(), ffs.list())
+    ffs.put(flag1)
+    ffs.put(flag2)
+    assertEquals(setOf(flag1, flag2), ffs.list().toSet())
+  }
+
   @Test
   fun `eval is a find first evaluation of the list of rules`() {
     val defaultValue = "default-value"
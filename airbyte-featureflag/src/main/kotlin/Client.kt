@@ -4,6 +4,7 @@
 
 package io.airbyte.featureflag
 
+import com.fasterxml.jackson.databind.DeserializationFeature
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory
 import com.fasterxml.jackson.module.kotlin.readValue
@@ -24,6 +25,8 @@ import java.lang.Thread.MIN_PRIORITY
 import java.nio.file.Path
 import java.nio.file.StandardWatchEventKinds
 import java.nio.file.WatchService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.locks.ReentrantReadWriteLock
 import kotlin.concurrent.read
 import kotlin.concurrent.thread
@@ -86,6 +89,9 @@ internal const val CONFIG_FF_PATH = "airbyte.feature-flag.path"
 /** Config key to provide the base URL used by the [FeatureFlagServiceClient] */
 internal const val CONFIG_FF_BASEURL = "airbyte.feature-flag.base-url"
 
+/** Config key to provide how often the [FeatureFlagServiceClient] downloads the flags it evaluates locally. */
+internal const val CONFIG_FF_REFRESH_INTERVAL_SECONDS = "airbyte.feature-flag.refresh-interval-seconds"
+
 /**
  * Config file based feature-flag client.
  *
@@ -186,33 +192,98 @@ class LaunchDarklyClient(private val client: LDClient) : FeatureFlagClient {
   }
 }
 
+/**
+ * FeatureFlagService based feature-flag client.
+ *
+ * All the flags and their rules are downloaded from the service and evaluated locally, so that evaluating a flag doesn't require a call
+ * to the service. The flags are downloaded again in the background once they are older than [refreshIntervalSeconds], the previous
+ * flags are used in the meantime.
+ *
+ * Until the flags have been downloaded successfully, each flag is evaluated by the service.
+ */
 @Singleton
 @Requires(property = CONFIG_FF_CLIENT, value = CONFIG_FF_CLIENT_VAL_FFS)
 class FeatureFlagServiceClient(
   @Named("ffsHttpClient") private val httpClient: OkHttpClient,
   @Property(name = CONFIG_FF_BASEURL) private val baseUrl: String,
+  @Property(name = CONFIG_FF_REFRESH_INTERVAL_SECONDS, defaultValue = "30") private val refreshIntervalSeconds: Long = 30,
 ) : FeatureFlagClient {
   private val basePath = "/api/v1/feature-flags"
 
+  /** [flags] holds the flags downloaded from the service by flag key, null until a download succeeded. */
+  @Volatile
+  private var flags: Map<String, FeatureFlagServiceFlag>? = null
+
+  /** [lastDownloadAttempt] is the [System.nanoTime] of the last download, successful or not. */
+  @Volatile
+  private var lastDownloadAttempt: Long? = null
+
+  private val isDownloading = AtomicBoolean(false)
+
   override fun boolVariation(
     flag: Flag<Boolean>,
     context: Context,
   ): Boolean {
-    return callFeatureFlagService(flag.key, context)?.toBoolean() ?: flag.default
+    return evaluate(flag.key, context)?.toBoolean() ?: flag.default
   }
 
   override fun stringVariation(
     flag: Flag<String>,
     context: Context,
   ): String {
-    return callFeatureFlagService(flag.key, context) ?: flag.default
+    return evaluate(flag.key, context) ?: flag.default
   }
 
   override fun intVariation(
     flag: Flag<Int>,
     context: Context,
   ): Int {
-    return callFeatureFlagService(flag.key, context)?.toInt() ?: flag.default
+    return evaluate(flag.key, context)?.toInt() ?: flag.default
+  }
+
+  private fun evaluate(
+    key: String,
+    context: Context,
+  ): String? {
+    val currentFlags = getFlags() ?: return callFeatureFlagService(key, context)
+    return currentFlags[key]?.eval(context.toEvalContext())
+  }
+
+  private fun getFlags(): Map<String, FeatureFlagServiceFlag>? {
+    val lastAttempt = lastDownloadAttempt
+    if (lastAttempt == null) {
+      synchronized(this) {
+        if (lastDownloadAttempt == null) {
+          downloadFlags()
+        }
+      }
+    } else if (System.nanoTime() - lastAttempt >= TimeUnit.SECONDS.toNanos(refreshIntervalSeconds) && isDownloading.compareAndSet(false, true)) {
+      thread(isDaemon = true, name = "feature-flag-refresh") {
+        try {
+          downloadFlags()
+        } finally {
+          isDownloading.set(false)
+        }
+      }
+    }
+    return flags
+  }
+
+  private fun downloadFlags() {
+    lastDownloadAttempt = System.nanoTime()
+    try {
+      val request =
+        Request.Builder()
+          .url("$baseUrl$basePath/")
+          .build()
+      flags =
+        httpClient.newCall(request).execute().use {
+          check(it.code == 200) { "Unexpected response code ${it.code}" }
+          jsonMapper.readValue<List<FeatureFlagServiceFlag>>(it.body!!.string()).associateBy { flag -> flag.key }
+        }
+    } catch (e: Exception) {
+      log.warn("Failed to download the feature flags, they will be downloaded again in $refreshIntervalSeconds seconds", e)
+    }
   }
 
   private fun callFeatureFlagService(
@@ -233,6 +304,17 @@ class FeatureFlagServiceClient(
       is Multi -> contexts.joinToString("&") { it.toQueryParams() }
       else -> "kind=$kind&value=$key"
     }
+
+  /** Same as the context of an evaluation by the service, where the last context of a kind wins. */
+  private fun Context.toEvalContext(): Map<String, String> =
+    when (this) {
+      is Multi -> contexts.associate { it.kind to it.key }
+      else -> mapOf(kind to key)
+    }
+
+  companion object {
+    private val log = LoggerFactory.getLogger(FeatureFlagServiceClient::class.java)
+  }
 }
 
 /**
@@ -351,6 +433,31 @@ private data class ConfigFileFlagContext(
   val include: List<String> = listOf(),
 )
 
+/**
+ * Data wrapper around a flag downloaded from the FeatureFlagService.
+ */
+private data class FeatureFlagServiceFlag(
+  val key: String,
+  val default: String,
+  val rules: List<FeatureFlagServiceRule> = listOf(),
+) {
+  /** Returns the value of the first rule matching the [context], the same way the service evaluates a flag. */
+  fun eval(context: Map<String, String>): String = rules.firstOrNull { context[it.context.kind] == it.context.value }?.value ?: default
+}
+
+private data class FeatureFlagServiceRule(
+  val context: FeatureFlagServiceContext,
+  val value: String,
+)
+
+private data class FeatureFlagServiceContext(
+  val kind: String,
+  val value: String,
+)
+
+/** The json mapper is used for reading the flags downloaded from the FeatureFlagService. */
+private val jsonMapper = ObjectMapper().registerKotlinModule().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+
 /** The yaml mapper is used for reading the feature-flag configuration file. */
 private val yamlMapper = ObjectMapper(YAMLFactory()).registerKotlinModule()
 
@@ -168,6 +168,22 @@ object LogStateMsgs : Temporary<Boolean>(key = "platform.log-state-msgs", defaul
 
 object ReplicationBufferOverride : Temporary<Int>(key = "platform.replication-buffer-override", default = 0)
 
+object ReplicationBufferBytesOverride : Temporary<Int>(key = "platform.replication-buffer-bytes-override-mb", default = 0)
+
+object UseRingBufferReplicationQueue : Temporary<Boolean>(key = "platform.use-ring-buffer-replication-queue", default = false)
+
+object ReplicationProcessingParallelism : Temporary<Int>(key = "platform.replication-processing-parallelism", default = 1)
+
+object ParseSourceRecordsFromBytes : Temporary<Boolean>(key = "platform.parse-source-records-from-bytes", default = false)
+
+object RawRecordPassthrough : Temporary<Boolean>(key = "platform.raw-record-passthrough", default = false)
+
+/**
+ * JSON object of schema validation sampling rates between 0 and 1, keyed by "namespace.stream" (or "stream"), with "*" for the
+ * streams that are not listed, e.g. {"*": 0.01, "public.users": 1.0}. Empty validates every record.
+ */
+object SchemaValidationSamplingRates : Temporary<String>(key = "platform.schema-validation-sampling-rates", default = "")
+
 object DisableAuthHeaderReplacement : Temporary<Boolean>(key = "platform.disable-auth-header-replacement", default = false)
 
 object NodeSelectorOverride : Temporary<String>(key = "platform.node-selector-override", default = "")
@@ -324,6 +324,45 @@ class FeatureFlagServiceClientTest {
     }
   }
 
+  @Test
+  fun `verify downloaded flags are evaluated locally`() {
+    val flag = Temporary(key = "local-flag", default = "default")
+    val connectionId = UUID.randomUUID()
+    val workspaceId = UUID.randomUUID()
+    val flags =
+      """
+      [
+        {
+          "key": "${flag.key}",
+          "default": "flag-default",
+          "rules": [
+            {"context": {"kind": "connection", "value": "$connectionId"}, "value": "connection-value"},
+            {"context": {"kind": "workspace", "value": "$workspaceId"}, "value": "workspace-value"}
+          ]
+        },
+        {"key": "bool-flag", "default": "true"}
+      ]
+      """.trimIndent()
+
+    val httpClient =
+      mockk<OkHttpClient> {
+        every { newCall(match { it.url.encodedPath == "/api/v1/feature-flags/" }) } returns mockResponse(flags)
+      }
+    val client = FeatureFlagServiceClient(httpClient, baseUrl)
+
+    with(client) {
+      assertEquals("connection-value", stringVariation(flag, Connection(connectionId)))
+      assertEquals("workspace-value", stringVariation(flag, Workspace(workspaceId)))
+      assertEquals("connection-value", stringVariation(flag, Multi(listOf(Workspace(workspaceId), Connection(connectionId)))))
+      assertEquals("flag-default", stringVariation(flag, Connection(UUID.randomUUID())))
+      assertEquals(true, boolVariation(Temporary(key = "bool-flag", default = false), Connection(connectionId)))
+      assertEquals(3, intVariation(Temporary(key = "unknown-flag", default = 3), Connection(connectionId)))
+    }
+
+    // the flags are only downloaded once within the refresh interval
+    verify(exactly = 1) { httpClient.newCall(any()) }
+  }
+
   private fun mockResponse(
     bodyString: String,
     statusCode: Int = 200,
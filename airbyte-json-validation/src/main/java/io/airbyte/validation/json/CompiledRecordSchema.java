@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.validation.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A fast-path check for the schema shapes connectors usually declare: objects whose properties are
+ * primitives, nullable primitives, and nested objects or arrays of those.
+ * <p>
+ * The schema is compiled once into a tree of type checks, and {@link #test(JsonNode)} walks a
+ * record against it in one pass without allocating anything. The check is conservative: it only
+ * answers true for records the full validator would accept. A false answer means the record needs to
+ * go through the full validator, which also produces the error messages.
+ * <p>
+ * Annotation keywords (title, description, airbyte_type...) are ignored, as they are by the full
+ * validator. {@code format} is checked for the date and time formats connectors use, with a strict
+ * RFC 3339 parser that accepts a subset of what the full validator does. Schemas using any other
+ * assertion keyword ($ref, enum, minimum, other formats...) can't be compiled, see
+ * {@link #compile(JsonNode)}.
+ */
+public final class CompiledRecordSchema {
+
+  private static final String TYPE = "type";
+  private static final String PROPERTIES = "properties";
+  private static final String REQUIRED = "required";
+  private static final String ADDITIONAL_PROPERTIES = "additionalProperties";
+  private static final String ITEMS = "items";
+  private static final String FORMAT = "format";
+  private static final String SCHEMA = "$schema";
+
+  private static final Set<String> HANDLED_KEYWORDS = Set.of(TYPE, PROPERTIES, REQUIRED, ADDITIONAL_PROPERTIES, ITEMS, FORMAT);
+
+  // Draft-07 keywords that can fail a validation. Anything else is an annotation and is ignored by the
+  // full validator as well.
+  private static final Set<String> ASSERTION_KEYWORDS = Set.of(
+      "$ref", "multipleOf", "maximum", "exclusiveMaximum", "minimum", "exclusiveMinimum", "maxLength", "minLength", "pattern",
+      "additionalItems", ITEMS, "maxItems", "minItems", "uniqueItems", "contains", "maxProperties", "minProperties", REQUIRED,
+      PROPERTIES, "patternProperties", ADDITIONAL_PROPERTIES, "dependencies", "propertyNames", "enum", "const", TYPE, "allOf",
+      "anyOf", "oneOf", "not", "if", "then", "else", "format");
+
+  private static final int NULL = 1;
+  private static final int BOOLEAN = 1 << 1;
+  private static final int INTEGER = 1 << 2;
+  private static final int NUMBER = 1 << 3;
+  private static final int STRING = 1 << 4;
+  private static final int ARRAY = 1 << 5;
+  private static final int OBJECT = 1 << 6;
+  private static final int ANY = NULL | BOOLEAN | INTEGER | NUMBER | STRING | ARRAY | OBJECT;
+
+  private static final int NO_FORMAT = 0;
+  private static final int DATE_TIME = 1;
+  private static final int DATE = 2;
+  private static final int TIME = 3;
+
+  private final Node root;
+
+  private CompiledRecordSchema(final Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Compile a schema.
+   *
+   * @param schema JSON schema of a record
+   * @return the compiled schema, or empty if the schema uses keywords the fast path does not handle
+   */
+  public static Optional<CompiledRecordSchema> compile(final JsonNode schema) {
+    final JsonNode metaschema = schema.get(SCHEMA);
+    if (metaschema != null && !metaschema.asText().isEmpty() && !metaschema.asText().contains("json-schema.org/draft-07")) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(compileNode(schema)).map(CompiledRecordSchema::new);
+  }
+
+  /**
+   * Returns true if the record is valid. False means the record might be invalid and must be checked
+   * by the full validator.
+   */
+  public boolean test(final JsonNode record) {
+    return root.test(record);
+  }
+
+  private static Node compileNode(final JsonNode schema) {
+    if (schema == null || !schema.isObject()) {
+      return null;
+    }
+
+    final Iterator<String> keywords = schema.fieldNames();
+    while (keywords.hasNext()) {
+      final String keyword = keywords.next();
+      if (ASSERTION_KEYWORDS.contains(keyword) && !HANDLED_KEYWORDS.contains(keyword)) {
+        return null;
+      }
+    }
+
+    final int types = compileTypes(schema.get(TYPE));
+    if (types == 0) {
+      return null;
+    }
+
+    final int format = compileFormat(schema.get(FORMAT));
+    if (format < 0) {
+      return null;
+    }
+
+    final String[] propertyNames;
+    final Node[] propertyNodes;
+    final JsonNode properties = schema.get(PROPERTIES);
+    if (properties == null) {
+      propertyNames = new String[0];
+      propertyNodes = new Node[0];
+    } else if (properties.isObject()) {
+      propertyNames = new String[properties.size()];
+      propertyNodes = new Node[properties.size()];
+      int i = 0;
+      final Iterator<Entry<String, JsonNode>> fields = properties.fields();
+      while (fields.hasNext()) {
+        final Entry<String, JsonNode> field = fields.next();
+        final Node propertyNode = compileNode(field.getValue());
+        if (propertyNode == null) {
+          return null;
+        }
+        propertyNames[i] = field.getKey();
+        propertyNodes[i] = propertyNode;
+        i++;
+      }
+    } else {
+      return null;
+    }
+
+    final String[] required;
+    final JsonNode requiredNode = schema.get(REQUIRED);
+    if (requiredNode == null) {
+      required = new String[0];
+    } else if (requiredNode.isArray()) {
+      final List<String> requiredNames = new ArrayList<>();
+      for (final JsonNode name : requiredNode) {
+        if (!name.isTextual()) {
+          return null;
+        }
+        requiredNames.add(name.asText());
+      }
+      required = requiredNames.toArray(new String[0]);
+    } else {
+      return null;
+    }
+
+    final boolean additionalPropertiesAllowed;
+    final JsonNode additionalProperties = schema.get(ADDITIONAL_PROPERTIES);
+    if (additionalProperties == null) {
+      additionalPropertiesAllowed = true;
+    } else if (additionalProperties.isBoolean()) {
+      additionalPropertiesAllowed = additionalProperties.asBoolean();
+    } else {
+      return null;
+    }
+
+    final Node items;
+    final JsonNode itemsNode = schema.get(ITEMS);
+    if (itemsNode == null) {
+      items = null;
+    } else {
+      items = compileNode(itemsNode);
+      if (items == null) {
+        return null;
+      }
+    }
+
+    return new Node(types, format, propertyNames, propertyNodes, additionalPropertiesAllowed ? null : Set.of(propertyNames), required,
+        items);
+  }
+
+  /**
+   * Returns the format to check, or -1 if the format is not handled.
+   */
+  private static int compileFormat(final JsonNode format) {
+    if (format == null) {
+      return NO_FORMAT;
+    }
+    if (!format.isTextual()) {
+      return -1;
+    }
+    return switch (format.asText()) {
+      case "date-time" -> DATE_TIME;
+      case "date" -> DATE;
+      case "time" -> TIME;
+      default -> -1;
+    };
+  }
+
+  private static int compileTypes(final JsonNode type) {
+    if (type == null) {
+      return ANY;
+    }
+    if (type.isTextual()) {
+      return typeMask(type.asText());
+    }
+    if (type.isArray()) {
+      int types = 0;
+      for (final JsonNode element : type) {
+        final int mask = element.isTextual() ? typeMask(element.asText()) : 0;
+        if (mask == 0) {
+          return 0;
+        }
+        types |= mask;
+      }
+      return types;
+    }
+    return 0;
+  }
+
+  private static int typeMask(final String type) {
+    return switch (type) {
+      case "null" -> NULL;
+      case "boolean" -> BOOLEAN;
+      case "integer" -> INTEGER;
+      // integers are numbers too
+      case "number" -> NUMBER | INTEGER;
+      case "string" -> STRING;
+      case "array" -> ARRAY;
+      case "object" -> OBJECT;
+      default -> 0;
+    };
+  }
+
+  private static int typeOf(final JsonNode value) {
+    return switch (value.getNodeType()) {
+      case NULL -> NULL;
+      case BOOLEAN -> BOOLEAN;
+      case NUMBER -> value.isIntegralNumber() ? INTEGER : NUMBER;
+      case STRING -> STRING;
+      case ARRAY -> ARRAY;
+      case OBJECT -> OBJECT;
+      // missing, binary and POJO nodes are left to the full validator
+      default -> 0;
+    };
+  }
+
+  private record Node(int types,
+                      int format,
+                      String[] propertyNames,
+                      Node[] propertyNodes,
+                      // only set when additional properties are not allowed
+                      Set<String> allowedProperties,
+                      String[] required,
+                      Node items) {
+
+    boolean test(final JsonNode value) {
+      final int type = typeOf(value);
+      if ((types & type) == 0) {
+        return false;
+      }
+      if (type == OBJECT) {
+        return testObject(value);
+      }
+      if (type == STRING && format != NO_FORMAT) {
+        return testFormat(value.textValue());
+      }
+      if (type == ARRAY && items != null) {
+        for (final JsonNode item : value) {
+          if (!items.test(item)) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+    private boolean testFormat(final String value) {
+      return switch (format) {
+        case DATE_TIME -> Rfc3339.isDateTime(value);
+        case DATE -> Rfc3339.isDate(value);
+        case TIME -> Rfc3339.isTime(value);
+        default -> false;
+      };
+    }
+
+    private boolean testObject(final JsonNode value) {
+      for (final String name : required) {
+        if (!value.has(name)) {
+          return false;
+        }
+      }
+      for (int i = 0; i < propertyNames.length; i++) {
+        final JsonNode property = value.get(propertyNames[i]);
+        if (property != null && !propertyNodes[i].test(property)) {
+          return false;
+        }
+      }
+      if (allowedProperties != null) {
+        final Iterator<String> fieldNames = value.fieldNames();
+        while (fieldNames.hasNext()) {
+          if (!allowedProperties.contains(fieldNames.next())) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+  }
+
+  /**
+   * Allocation free checks of the RFC 3339 date and time formats. They are stricter than the full
+   * validator: upper case separators only, at most 9 fraction digits, no leap seconds and offsets up
+   * to 18 hours. Values they reject go through the full validator.
+   */
+  static final class Rfc3339 {
+
+    private Rfc3339() {}
+
+    // YYYY-MM-DDTHH:MM:SS[.fraction](Z|+HH:MM|-HH:MM)
+    static boolean isDateTime(final String value) {
+      return value.length() >= 20 && isDateAt(value, 0) && value.charAt(10) == 'T' && isTimeAt(value, 11);
+    }
+
+    // YYYY-MM-DD
+    static boolean isDate(final String value) {
+      return value.length() == 10 && isDateAt(value, 0);
+    }
+
+    // HH:MM:SS[.fraction](Z|+HH:MM|-HH:MM)
+    static boolean isTime(final String value) {
+      return isTimeAt(value, 0);
+    }
+
+    private static boolean isDateAt(final String value, final int start) {
+      if (value.length() < start + 10 || value.charAt(start + 4) != '-' || value.charAt(start + 7) != '-') {
+        return false;
+      }
+      final int year = digits(value, start, 4);
+      final int month = digits(value, start + 5, 2);
+      final int day = digits(value, start + 8, 2);
+      return year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= daysInMonth(year, month);
+    }
+
+    private static boolean isTimeAt(final String value, final int start) {
+      if (value.length() < start + 9 || value.charAt(start + 2) != ':' || value.charAt(start + 5) != ':') {
+        return false;
+      }
+      final int hour = digits(value, start, 2);
+      final int minute = digits(value, start + 3, 2);
+      final int second = digits(value, start + 6, 2);
+      if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+        return false;
+      }
+
+      int i = start + 8;
+      if (value.charAt(i) == '.') {
+        final int fractionStart = ++i;
+        while (i < value.length() && isDigit(value.charAt(i))) {
+          i++;
+        }
+        if (i == fractionStart || i - fractionStart > 9 || i == value.length()) {
+          return false;
+        }
+      }
+
+      final char offset = value.charAt(i);
+      if (offset == 'Z') {
+        return i + 1 == value.length();
+      }
+      if ((offset != '+' && offset != '-') || value.length() != i + 6 || value.charAt(i + 3) != ':') {
+        return false;
+      }
+      final int offsetHour = digits(value, i + 1, 2);
+      final int offsetMinute = digits(value, i + 4, 2);
+      return offsetHour >= 0 && offsetMinute >= 0 && offsetMinute <= 59 && (offsetHour < 18 || offsetHour == 18 && offsetMinute == 0);
+    }
+
+    /**
+     * Value of count decimal digits, or -1 if one of the characters is not a digit.
+     */
+    private static int digits(final String value, final int start, final int count) {
+      int result = 0;
+      for (int i = start; i < start + count; i++) {
+        final char c = value.charAt(i);
+        if (!isDigit(c)) {
+          return -1;
+        }
+        result = result * 10 + (c - '0');
+      }
+      return result;
+    }
+
+    private static boolean isDigit(final char c) {
+      return c >= '0' && c <= '9';
+    }
+
+    private static int daysInMonth(final int year, final int month) {
+      return switch (month) {
+        case 2 -> (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+        case 4, 6, 9, 11 -> 30;
+        default -> 31;
+      };
+    }
+
+  }
+
+}
@@ -22,9 +22,9 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import me.andrz.jackson.JsonContext;
 import me.andrz.jackson.JsonReferenceException;
@@ -52,7 +52,10 @@ public class JsonSchemaValidator {
 
   private final JsonSchemaFactory jsonSchemaFactory;
   private final URI baseUri;
-  private final Map<String, JsonSchema> schemaToValidators = new HashMap<>();
+  private final boolean compiledValidatorsEnabled;
+  private final Map<String, JsonSchema> schemaToValidators = new ConcurrentHashMap<>();
+  // Fast-path validators of the initialized schemas that could be compiled.
+  private final Map<String, CompiledRecordSchema> schemaToCompiledValidators = new ConcurrentHashMap<>();
 
   public JsonSchemaValidator() {
     this(DEFAULT_BASE_URI);
@@ -68,17 +71,39 @@ public class JsonSchemaValidator {
    */
   @VisibleForTesting
   public JsonSchemaValidator(final URI baseUri) {
+    this(baseUri, true);
+  }
+
+  /**
+   * Allows benchmarks and tests to turn off the compiled fast path of
+   * {@link #initializeSchemaValidator(String, JsonNode)}.
+   *
+   * @param baseUri The base URI for schema resolution
+   * @param compiledValidatorsEnabled whether to compile the schemas that can be
+   */
+  @VisibleForTesting
+  public JsonSchemaValidator(final URI baseUri, final boolean compiledValidatorsEnabled) {
     this.jsonSchemaFactory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
     this.baseUri = baseUri;
+    this.compiledValidatorsEnabled = compiledValidatorsEnabled;
   }
 
   /**
    * Create and cache a schema validator for a particular schema. This validator is used when
    * {@link #testInitializedSchema(String, JsonNode)} and
    * {@link #validateInitializedSchema(String, JsonNode)} is called.
+   * <p>
+   * If the schema is simple enough, a {@link CompiledRecordSchema} is also created so that valid
+   * objects don't need to go through the full validator.
    */
   public void initializeSchemaValidator(final String schemaName, final JsonNode schemaJson) {
     schemaToValidators.put(schemaName, getSchemaValidator(schemaJson));
+    if (!compiledValidatorsEnabled) {
+      return;
+    }
+    CompiledRecordSchema.compile(schemaJson).ifPresentOrElse(
+        compiled -> schemaToCompiledValidators.put(schemaName, compiled),
+        () -> schemaToCompiledValidators.remove(schemaName));
   }
 
   /**
@@ -87,6 +112,9 @@ public class JsonSchemaValidator {
   public boolean testInitializedSchema(final String schemaName, final JsonNode objectJson) {
     final var schema = schemaToValidators.get(schemaName);
     Preconditions.checkNotNull(schema, schemaName + " needs to be initialised before calling this method");
+    if (passesCompiledValidator(schemaName, objectJson)) {
+      return true;
+    }
 
     final var validate = schema.validate(objectJson);
     return validate.isEmpty();
@@ -99,11 +127,23 @@ public class JsonSchemaValidator {
   public Set<String> validateInitializedSchema(final String schemaName, final JsonNode objectNode) {
     final var schema = schemaToValidators.get(schemaName);
     Preconditions.checkNotNull(schema, schemaName + " needs to be initialised before calling this method");
+    if (passesCompiledValidator(schemaName, objectNode)) {
+      return Set.of();
+    }
 
     final Set<ValidationMessage> validationMessages = schema.validate(objectNode);
     return validationMessages.stream().map(ValidationMessage::getMessage).collect(Collectors.toSet());
   }
 
+  /**
+   * Returns true if the schema has a compiled validator and the object passes it. Objects failing it
+   * still need to be checked by the full validator, which produces the error messages.
+   */
+  private boolean passesCompiledValidator(final String schemaName, final JsonNode objectNode) {
+    final CompiledRecordSchema compiled = schemaToCompiledValidators.get(schemaName);
+    return compiled != null && compiled.test(objectNode);
+  }
+
   /**
    * Test if a JSON object conforms to a given JSONSchema.
    * <p>
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.validation.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.airbyte.commons.json.Jsons;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CompiledRecordSchemaTest {
+
+  private static final JsonNode SCHEMA = Jsons.deserialize(
+      """
+      {
+        "$schema": "http://json-schema.org/draft-07/schema#",
+        "type": "object",
+        "required": ["id"],
+        "properties": {
+          "id": {"type": "integer"},
+          "name": {"type": ["null", "string"], "description": "a name"},
+          "score": {"type": "number", "airbyte_type": "float"},
+          "active": {"type": "boolean", "title": "Active", "default": false, "examples": [true]},
+          "updated_at": {"type": ["null", "string"], "format": "date-time", "airbyte_type": "timestamp_with_timezone"},
+          "birthday": {"type": "string", "format": "date"},
+          "tags": {"type": "array", "items": {"type": "string"}},
+          "address": {
+            "type": "object",
+            "additionalProperties": false,
+            "properties": {"city": {"type": "string"}}
+          }
+        }
+      }
+      """);
+
+  @Test
+  void testValidRecords() {
+    final CompiledRecordSchema compiled = CompiledRecordSchema.compile(SCHEMA).orElseThrow();
+
+    assertTrue(compiled.test(Jsons.deserialize("{\"id\": 1}")));
+    assertTrue(compiled.test(Jsons.deserialize(
+        "{\"id\": 1, \"name\": null, \"score\": 1.5, \"active\": true, \"tags\": [\"a\"], \"address\": {\"city\": \"Paris\"}, \"other\": 1}")));
+    assertTrue(compiled.test(Jsons.deserialize("{\"id\": 1, \"score\": 2}")));
+    assertTrue(compiled.test(Jsons.deserialize("{\"id\": 1, \"updated_at\": null, \"birthday\": \"2000-02-29\"}")));
+  }
+
+  @Test
+  void testDateTimeFormats() {
+    for (final String value : List.of(
+        "2024-01-01T00:00:00Z",
+        "2024-02-29T23:59:59.123456789+05:30",
+        "1999-12-31T12:00:00-18:00",
+        "0001-01-01T00:00:00.5Z")) {
+      assertTrue(CompiledRecordSchema.Rfc3339.isDateTime(value), value);
+    }
+    for (final String value : List.of(
+        "",
+        "2024-01-01",
+        "2024-01-01T00:00:00",
+        "2024-01-01 00:00:00Z",
+        "2024-01-01t00:00:00z",
+        "2023-02-29T00:00:00Z",
+        "2024-13-01T00:00:00Z",
+        "2024-01-01T24:00:00Z",
+        "2024-01-01T00:00:60Z",
+        "2024-01-01T00:00:00.Z",
+        "2024-01-01T00:00:00.1234567891Z",
+        "2024-01-01T00:00:00+18:30",
+        "2024-01-01T00:00:00+0100",
+        "2024-01-01T00:00:00Zjunk")) {
+      assertFalse(CompiledRecordSchema.Rfc3339.isDateTime(value), value);
+    }
+
+    assertTrue(CompiledRecordSchema.Rfc3339.isDate("2024-12-31"));
+    assertFalse(CompiledRecordSchema.Rfc3339.isDate("2024-04-31"));
+    assertFalse(CompiledRecordSchema.Rfc3339.isDate("2024-1-01"));
+    assertTrue(CompiledRecordSchema.Rfc3339.isTime("08:30:00.5+01:00"));
+    assertFalse(CompiledRecordSchema.Rfc3339.isTime("08:30:00"));
+  }
+
+  @Test
+  void testRecordsThatNeedTheFullValidator() {
+    final CompiledRecordSchema compiled = CompiledRecordSchema.compile(SCHEMA).orElseThrow();
+
+    for (final String record : List.of(
+        "{}",
+        "{\"id\": \"1\"}",
+        "{\"id\": 1.5}",
+        "{\"id\": 1, \"name\": 3}",
+        "{\"id\": 1, \"tags\": [1]}",
+        "{\"id\": 1, \"address\": {\"zip\": \"75001\"}}",
+        "{\"id\": 1, \"updated_at\": \"yesterday\"}",
+        "{\"id\": 1, \"birthday\": \"2001-02-29\"}",
+        "[]")) {
+      assertFalse(compiled.test(Jsons.deserialize(record)), record);
+    }
+  }
+
+  @Test
+  void testUnsupportedSchemasAreNotCompiled() {
+    for (final String schema : List.of(
+        "{\"type\": \"object\", \"properties\": {\"email\": {\"type\": \"string\", \"format\": \"email\"}}}",
+        "{\"type\": \"object\", \"properties\": {\"id\": {\"$ref\": \"WellKnownTypes.json#/definitions/Integer\"}}}",
+        "{\"type\": \"object\", \"properties\": {\"id\": {\"type\": \"integer\", \"minimum\": 0}}}",
+        "{\"type\": \"object\", \"additionalProperties\": {\"type\": \"string\"}}",
+        "{\"type\": \"object\", \"properties\": {\"id\": {\"anyOf\": [{\"type\": \"integer\"}, {\"type\": \"string\"}]}}}",
+        "{\"$schema\": \"http://json-schema.org/draft-04/schema#\", \"type\": \"object\"}")) {
+      assertTrue(CompiledRecordSchema.compile(Jsons.deserialize(schema)).isEmpty(), schema);
+    }
+  }
+
+  @Test
+  void testMatchesTheFullValidator() {
+    final JsonSchemaValidator validator = new JsonSchemaValidator();
+    validator.initializeSchemaValidator("stream", SCHEMA);
+
+    assertEquals(Set.of(), validator.validateInitializedSchema("stream", Jsons.deserialize("{\"id\": 1, \"name\": \"a\"}")));
+    assertEquals(validator.validate(SCHEMA, Jsons.deserialize("{\"id\": \"1\"}")),
+        validator.validateInitializedSchema("stream", Jsons.deserialize("{\"id\": \"1\"}")));
+    assertTrue(validator.testInitializedSchema("stream", Jsons.deserialize("{\"id\": 1}")));
+    assertFalse(validator.testInitializedSchema("stream", Jsons.deserialize("{}")));
+
+    for (final String record : List.of(
+        "{\"id\": 1, \"updated_at\": \"2024-01-01T00:00:00Z\", \"birthday\": \"2000-01-01\"}",
+        "{\"id\": 1, \"updated_at\": \"yesterday\"}",
+        "{\"id\": 1, \"birthday\": \"2001-02-29\"}")) {
+      assertEquals(validator.validate(SCHEMA, Jsons.deserialize(record)),
+          validator.validateInitializedSchema("stream", Jsons.deserialize(record)), record);
+    }
+  }
+
+}
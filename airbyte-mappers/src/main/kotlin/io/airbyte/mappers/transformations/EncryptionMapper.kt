@@ -36,6 +36,12 @@ class EncryptionMapper : FilteredRecordsMapper<EncryptionMapperConfig>() {
     override fun specType(): Class<*> = EncryptionMapperConfig::class.java
   }
 
+  companion object {
+    private const val MAX_CACHED_ENCRYPTORS = 16
+  }
+
+  private val encryptors: ThreadLocal<EncryptorCache> = ThreadLocal.withInitial { EncryptorCache() }
+
   override val name: String
     get() = MapperOperationName.ENCRYPTION
 
@@ -62,7 +68,7 @@ class EncryptionMapper : FilteredRecordsMapper<EncryptionMapperConfig>() {
       var failed = false
       try {
         val data = record.get(config.config.targetField).asString()
-        val encryptedData = encrypt(data.toByteArray(Charsets.UTF_8), config.config)
+        val encryptedData = getEncryptor(config.config).encrypt(data.toByteArray(Charsets.UTF_8))
         record.set(outputFieldName, encryptedData)
       } catch (e: Exception) {
         // TODO We should use a more precise Reason once available in the protocol
@@ -78,15 +84,18 @@ class EncryptionMapper : FilteredRecordsMapper<EncryptionMapperConfig>() {
 
   private fun getOutputFieldName(config: EncryptionMapperConfig): String = "${config.config.targetField}${config.config.fieldNameSuffix ?: ""}"
 
-  private fun encrypt(
-    data: ByteArray,
-    config: EncryptionConfig,
-  ): String {
-    return when (config) {
-      is AesEncryptionConfig -> encryptAES(data, config)
-      is RsaEncryptionConfig -> encryptRSA(data, config)
+  /**
+   * Returns this thread's encryptor for the config. Looking up a [Cipher] and decoding the key are much
+   * more expensive than encrypting a field, so they are done once per thread and config rather than
+   * once per record.
+   */
+  private fun getEncryptor(config: EncryptionConfig): Encryptor =
+    encryptors.get().getOrPut(config) {
+      when (config) {
+        is AesEncryptionConfig -> AesEncryptor(config, getCipher(config))
+        is RsaEncryptionConfig -> RsaEncryptor(config, getCipher(config))
+      }
     }
-  }
 
   private fun getCipher(config: EncryptionConfig): Cipher {
     return when (config) {
@@ -100,29 +109,47 @@ class EncryptionMapper : FilteredRecordsMapper<EncryptionMapperConfig>() {
     }
   }
 
+  private interface Encryptor {
+    fun encrypt(data: ByteArray): String
+  }
+
   @OptIn(ExperimentalStdlibApi::class)
-  private fun encryptAES(
-    data: ByteArray,
-    config: AesEncryptionConfig,
-  ): String {
-    val key = config.key as? AirbyteSecret.Hydrated ?: throw IllegalArgumentException("key hasn't been hydrated")
-    val cipher = getCipher(config)
-    val iv = ByteArray(16)
-    SecureRandom().nextBytes(iv)
-    cipher.init(Cipher.ENCRYPT_MODE, SecretKeySpec(key.value.hexToByteArray(), config.algorithm), IvParameterSpec(iv))
-    val encryptedData = cipher.doFinal(data)
-    return (iv + encryptedData).toHexString()
+  private class AesEncryptor(config: AesEncryptionConfig, private val cipher: Cipher) : Encryptor {
+    private val key =
+      (config.key as? AirbyteSecret.Hydrated ?: throw IllegalArgumentException("key hasn't been hydrated"))
+        .let { SecretKeySpec(it.value.hexToByteArray(), config.algorithm) }
+    private val random = SecureRandom()
+
+    override fun encrypt(data: ByteArray): String {
+      // Every value gets its own IV, so the cipher is initialized again for each of them.
+      val iv = ByteArray(16)
+      random.nextBytes(iv)
+      cipher.init(Cipher.ENCRYPT_MODE, key, IvParameterSpec(iv))
+      val encryptedData = cipher.doFinal(data)
+      return (iv + encryptedData).toHexString()
+    }
   }
 
   @OptIn(ExperimentalStdlibApi::class)
-  private fun encryptRSA(
-    data: ByteArray,
-    config: RsaEncryptionConfig,
-  ): String {
-    val cipher = getCipher(config)
-    val keyFactory = KeyFactory.getInstance(config.algorithm)
-    val keySpec = X509EncodedKeySpec(config.publicKey.hexToByteArray())
-    cipher.init(Cipher.ENCRYPT_MODE, keyFactory.generatePublic(keySpec))
-    return cipher.doFinal(data).toHexString()
+  private class RsaEncryptor(config: RsaEncryptionConfig, private val cipher: Cipher) : Encryptor {
+    private val publicKey = KeyFactory.getInstance(config.algorithm).generatePublic(X509EncodedKeySpec(config.publicKey.hexToByteArray()))
+
+    init {
+      cipher.init(Cipher.ENCRYPT_MODE, publicKey)
+    }
+
+    override fun encrypt(data: ByteArray): String {
+      try {
+        // doFinal leaves the cipher initialized with the public key, ready for the next value.
+        return cipher.doFinal(data).toHexString()
+      } catch (e: Exception) {
+        cipher.init(Cipher.ENCRYPT_MODE, publicKey)
+        throw e
+      }
+    }
+  }
+
+  private class EncryptorCache : LinkedHashMap<EncryptionConfig, Encryptor>(MAX_CACHED_ENCRYPTORS, 0.75f, true) {
+    override fun removeEldestEntry(eldest: MutableMap.MutableEntry<EncryptionConfig, Encryptor>?): Boolean = size > MAX_CACHED_ENCRYPTORS
   }
 }
@@ -32,6 +32,8 @@ class HashingMapper : FilteredRecordsMapper<HashingMapperConfig>() {
 
   private val hashingMapperSpec = HashingMapperSpec()
 
+  private val digests: ThreadLocal<MutableMap<String, MessageDigest>> = ThreadLocal.withInitial { HashMap() }
+
   override val name: String
     get() = MapperOperationName.HASHING
 
@@ -60,7 +62,7 @@ class HashingMapper : FilteredRecordsMapper<HashingMapperConfig>() {
       try {
         val data = record.get(config.config.targetField).asString().toByteArray()
 
-        val hashedAndEncodeValue: String = hashAndEncodeData(config.config.method.value, data)
+        val hashedAndEncodeValue: String = HexFormat.of().formatHex(getDigest(config.config.method.value).digest(data))
         record.set(outputFieldName, hashedAndEncodeValue)
       } catch (e: Exception) {
         // TODO We should use a more precise Reason once available in the protocol
@@ -71,16 +73,16 @@ class HashingMapper : FilteredRecordsMapper<HashingMapperConfig>() {
     }
   }
 
-  private fun hashAndEncodeData(
-    method: String,
-    data: ByteArray,
-  ): String {
+  /**
+   * Returns this thread's digest for the method. [MessageDigest.getInstance] goes through the security
+   * providers on every call, so digests are created once per thread and reused: [MessageDigest.digest]
+   * resets the digest once it is done.
+   */
+  private fun getDigest(method: String): MessageDigest {
     if (supportedMethods.contains(method).not()) {
       throw MapperException(type = DestinationCatalogGenerator.MapperErrorType.INVALID_MAPPER_CONFIG, message = "Unsupported hashing method: $method")
     }
 
-    val hashedValue = MessageDigest.getInstance(method).digest(data)
-
-    return HexFormat.of().formatHex(hashedValue)
+    return digests.get().getOrPut(method) { MessageDigest.getInstance(method) }.apply { reset() }
   }
 }
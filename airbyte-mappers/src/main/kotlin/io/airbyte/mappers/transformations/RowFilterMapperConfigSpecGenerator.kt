@@ -15,6 +15,11 @@ import com.github.victools.jsonschema.generator.SchemaVersion
 import com.github.victools.jsonschema.generator.TypeAttributeOverrideV2
 import com.github.victools.jsonschema.generator.TypeScope
 import io.airbyte.config.mapper.configs.EqualOperation
+import io.airbyte.config.mapper.configs.GreaterThanOperation
+import io.airbyte.config.mapper.configs.GreaterThanOrEqualOperation
+import io.airbyte.config.mapper.configs.InOperation
+import io.airbyte.config.mapper.configs.LessThanOperation
+import io.airbyte.config.mapper.configs.LessThanOrEqualOperation
 import io.airbyte.config.mapper.configs.NotNull
 import io.airbyte.config.mapper.configs.NotOperation
 import io.airbyte.config.mapper.configs.Operation
@@ -112,6 +117,11 @@ class RowFilterMapperConfigSpecGenerator {
 //            generateSchemaForClass(OrOperation::class.java),
             generateSchemaForClass(EqualOperation::class.java),
             generateSchemaForClass(NotOperation::class.java),
+            generateSchemaForClass(GreaterThanOperation::class.java),
+            generateSchemaForClass(GreaterThanOrEqualOperation::class.java),
+            generateSchemaForClass(LessThanOperation::class.java),
+            generateSchemaForClass(LessThanOrEqualOperation::class.java),
+            generateSchemaForClass(InOperation::class.java),
           )
         node?.apply {
           removeAll()
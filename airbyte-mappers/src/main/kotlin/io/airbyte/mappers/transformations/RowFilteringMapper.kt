@@ -28,7 +28,7 @@ class RowFilteringMapper : FilteredRecordsMapper<RowFilteringMapperConfig>() {
     config: RowFilteringMapperConfig,
     record: AirbyteRecord,
   ) {
-    val conditionEvalResult = config.config.conditions.eval(record)
+    val conditionEvalResult = config.config.compiledConditions().test(record)
     record.setInclude(conditionEvalResult)
   }
 }
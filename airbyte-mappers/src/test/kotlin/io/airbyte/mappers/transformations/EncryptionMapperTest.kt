@@ -303,6 +303,60 @@ class EncryptionMapperTest {
     }
   }
 
+  @Test
+  fun `test aes encryption of several records`() {
+    val keyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+    val key = keyFactory.generateSecret(PBEKeySpec("my secret".toCharArray(), "salt".toByteArray(), 65536, 256))
+    val aesConfig =
+      AesEncryptionConfig(
+        algorithm = "AES",
+        targetField = "testField",
+        fieldNameSuffix = "_encrypted",
+        mode = AesMode.CBC,
+        padding = AesPadding.PKCS5Padding,
+        key = AirbyteSecret.Hydrated(key.encoded.toHexString()),
+      )
+    val config = EncryptionMapperConfig(config = aesConfig)
+
+    val records = listOf(createRecord("testField", "something"), createRecord("testField", "something"), createRecord("testField", "other"))
+    val discardedRecord = createRecord("testField", "discarded").also { it.setInclude(false) }
+    (records + discardedRecord).forEach { encryptionMapper.map(config, it) }
+
+    assertEquals(listOf("something", "something", "other"), records.map { decryptAES(it.get("testField_encrypted").asString(), aesConfig, key) })
+    // Each value is encrypted with its own IV, even when the cipher is reused.
+    assertTrue(records[0].get("testField_encrypted").asString() != records[1].get("testField_encrypted").asString())
+    assertEquals("discarded", discardedRecord.get("testField").asString())
+    assertFalse(discardedRecord.has("testField_encrypted"))
+  }
+
+  @Test
+  fun `test rsa encryption keeps working after a value fails`() {
+    val keyGenerator = KeyPairGenerator.getInstance("RSA")
+    keyGenerator.initialize(2048)
+    val keyPair = keyGenerator.generateKeyPair()
+    val rsaConfig =
+      RsaEncryptionConfig(
+        algorithm = "RSA",
+        targetField = "testRsa",
+        fieldNameSuffix = "_encrypted",
+        publicKey = keyPair.public.encoded.toHexString(),
+      )
+    val config = EncryptionMapperConfig(config = rsaConfig)
+
+    // A 2048 bits key cannot encrypt more than 245 bytes.
+    val records = listOf(createRecord("testRsa", "first"), createRecord("testRsa", "x".repeat(300)), createRecord("testRsa", "last"))
+    records.forEach { encryptionMapper.map(config, it) }
+
+    assertEquals("first", decryptRSA(records[0].get("testRsa_encrypted").asString(), rsaConfig, keyPair.private))
+    assertFalse(records[1].has("testRsa_encrypted"))
+    assertEquals(AirbyteRecordMessageMetaChange.Change.NULLED, records[1].asProtocol.record.meta.changes.single().change)
+    assertEquals("last", decryptRSA(records[2].get("testRsa_encrypted").asString(), rsaConfig, keyPair.private))
+
+    val singleRecord = createRecord("testRsa", "single")
+    encryptionMapper.map(config, singleRecord)
+    assertEquals("single", decryptRSA(singleRecord.get("testRsa_encrypted").asString(), rsaConfig, keyPair.private))
+  }
+
   private fun verifyRecordInvariant(record: AirbyteRecord): AirbyteRecord {
     println(record.asProtocol)
     assertEquals(SANITY_CHECK_VALUE, record.get(SANITY_CHECK_KEY).asString())
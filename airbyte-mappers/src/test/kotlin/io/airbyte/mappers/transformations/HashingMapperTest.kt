@@ -98,6 +98,33 @@ class HashingMapperTest {
     assertEquals("value2", record.get("field2").asString())
   }
 
+  @Test
+  fun mapReusesDigestsAcrossRecords() {
+    val config =
+      HashingMapperConfig(
+        MAPPER_NAME,
+        null,
+        HashingConfig(
+          "field1",
+          HashingMethods.fromValue("SHA-256")!!,
+          "_hashed",
+        ),
+      )
+
+    val records = listOf("value1", "value2", "value1").map { TestRecordAdapter(StreamDescriptor().withName("stream"), mapOf("field1" to it)) }
+    val discardedRecord = TestRecordAdapter(StreamDescriptor().withName("stream"), mapOf("field1" to "value3")).also { it.setInclude(false) }
+    (records + discardedRecord).forEach { hashingMapper.map(config, it) }
+
+    val expectedRecords = listOf("value1", "value2", "value1").map { TestRecordAdapter(StreamDescriptor().withName("stream"), mapOf("field1" to it)) }
+    expectedRecords.forEach { hashingMapper.map(config, it) }
+
+    assertEquals(expectedRecords.map { it.get("field1_hashed").asString() }, records.map { it.get("field1_hashed").asString() })
+    assertEquals(records[0].get("field1_hashed").asString(), records[2].get("field1_hashed").asString())
+    assertTrue(records.none { it.has("field1") })
+    assertEquals("value3", discardedRecord.get("field1").asString())
+    assertFalse(discardedRecord.has("field1_hashed"))
+  }
+
   @Test
   fun testAllMethodAreSupported() {
     val messageDigestAlgorithms = Security.getAlgorithms("MessageDigest")
@@ -226,6 +226,12 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   NUM_UNEXPECTED_FIELDS_IN_STREAMS(MetricEmittingApps.WORKER,
       "schemas_unexpected_fields",
       "number of unexpected (top level) fields for a given stream"),
+  NUM_FIELDS_DROPPED_BY_FIELD_SELECTION(MetricEmittingApps.WORKER,
+      "field_selection_dropped_fields",
+      "number of (top level) fields removed from the records of a given stream by field selection"),
+  NUM_RECORDS_DROPPED_BY_SCHEMA_VALIDATION(MetricEmittingApps.WORKER,
+      "schema_validation_dropped_records",
+      "number of records that were not validated because schema validation could not keep up"),
   NUM_TOTAL_SCHEDULED_SYNCS_IN_LAST_DAY(
       MetricEmittingApps.METRICS_REPORTER,
       "num_total_scheduled_syncs_last_day",
@@ -266,6 +272,15 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   REPLICATION_RECORDS_SYNCED(MetricEmittingApps.WORKER,
       "replication_records_synced",
       "number of records synced during replication"),
+  REPLICATION_BUFFER_BYTES(MetricEmittingApps.ORCHESTRATOR,
+      "replication_buffer_bytes",
+      "estimated bytes currently held in a replication worker buffer"),
+  REPLICATION_BUFFER_FILL_RATIO(MetricEmittingApps.ORCHESTRATOR,
+      "replication_buffer_fill_ratio",
+      "fraction of the byte budget of a replication worker buffer currently in use"),
+  REPLICATION_BUFFER_MESSAGES(MetricEmittingApps.ORCHESTRATOR,
+      "replication_buffer_messages",
+      "number of messages currently held in a replication worker buffer"),
   REPLICATION_WORKER_CREATED(MetricEmittingApps.WORKER,
       "replication_worker_created",
       "number of replication worker created"),
@@ -486,6 +501,12 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   DELETE_SECRET_DEFAULT_STORE(MetricEmittingApps.SERVER,
       "delete_secret_default_store",
       "A secret was created in the default configured secret store."),
+  SECRETS_CACHE_HIT(MetricEmittingApps.SERVER,
+      "secrets_cache_hit",
+      "A secret read from the default configured secret store was served by the in-memory secrets cache."),
+  SECRETS_CACHE_MISS(MetricEmittingApps.SERVER,
+      "secrets_cache_miss",
+      "A secret read from the default configured secret store was not in the in-memory secrets cache."),
 
   CATALOG_SIZE_VALIDATION_ERROR(MetricEmittingApps.SERVER,
       "catalog_size_validation_error",
@@ -539,6 +560,10 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       "secrets_hydration_failure",
       "Count of secrets hydration failures."),
 
+  REPLICATION_INPUT_HYDRATION_TIME_MS(MetricEmittingApps.WORKLOAD_INIT,
+      "replication_input_hydration_time_ms",
+      "The amount of time spent hydrating the input of a replication, in milliseconds."),
+
   WORKLOAD_HYDRATION_FETCH_FAILURE(MetricEmittingApps.WORKLOAD_INIT,
       "workload_hydration_fetch_failure",
       "Count of failures fetching workload during hydration step."),
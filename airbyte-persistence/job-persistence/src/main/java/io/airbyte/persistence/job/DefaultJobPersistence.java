@@ -9,6 +9,7 @@ import static io.airbyte.db.instance.jobs.jooq.generated.Tables.ATTEMPTS;
 import static io.airbyte.db.instance.jobs.jooq.generated.Tables.JOBS;
 import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_ATTEMPT_METADATA;
 import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_STATS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_STATS_HOURLY;
 import static io.airbyte.db.instance.jobs.jooq.generated.Tables.SYNC_STATS;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -49,12 +50,14 @@ import io.airbyte.protocol.models.v0.StreamDescriptor;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -63,6 +66,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -104,6 +108,8 @@ public class DefaultJobPersistence implements JobPersistence {
   private static final String METADATA_KEY_COL = "key";
   private static final String METADATA_VAL_COL = "value";
   private static final String AIRBYTE_METADATA_TABLE = "airbyte_metadata";
+  // The stream history reads the last 30 days of the hourly rollup, in the timezone of the reader.
+  private static final int STREAM_STATS_HOURLY_RETENTION_DAYS = 31;
   private static final String ORDER_BY_JOB_TIME_ATTEMPT_TIME =
       "ORDER BY jobs.created_at DESC, jobs.id DESC, attempts.created_at ASC, attempts.id ASC ";
   private static final String ORDER_BY_JOB_CREATED_AT_DESC = "ORDER BY jobs.created_at DESC ";
@@ -216,6 +222,7 @@ public class DefaultJobPersistence implements JobPersistence {
                                                   final List<StreamSyncStats> perStreamStats,
                                                   final Long attemptId,
                                                   final UUID connectionId,
+                                                  final boolean isSync,
                                                   final DSLContext ctx) {
     final List<Query> queries = new ArrayList<>();
 
@@ -226,16 +233,28 @@ public class DefaultJobPersistence implements JobPersistence {
     // solution to prevent O(N) existence checks, where N in the
     // number of streams, is to fetch all streams for the attempt. Existence checks are in memory,
     // letting us do only 2 queries in total.
-    final Set<StreamDescriptor> existingStreams = ctx.select(STREAM_STATS.STREAM_NAME, STREAM_STATS.STREAM_NAMESPACE)
+    // The hourly rollup is updated with the difference to these stats. The stats of an attempt are
+    // only written by its own replication, one write after the other, so the rows aren't locked.
+    final Map<StreamDescriptor, SyncStats> existingStreams = ctx.select(STREAM_STATS.STREAM_NAME, STREAM_STATS.STREAM_NAMESPACE,
+        STREAM_STATS.RECORDS_COMMITTED, STREAM_STATS.BYTES_COMMITTED)
         .from(STREAM_STATS)
         .where(STREAM_STATS.ATTEMPT_ID.eq(attemptId))
-        .fetchSet(r -> new StreamDescriptor().withName(r.get(STREAM_STATS.STREAM_NAME)).withNamespace(r.get(STREAM_STATS.STREAM_NAMESPACE)));
+        .fetch()
+        .stream()
+        .collect(Collectors.toMap(
+            r -> new StreamDescriptor().withName(r.get(STREAM_STATS.STREAM_NAME)).withNamespace(r.get(STREAM_STATS.STREAM_NAMESPACE)),
+            r -> new SyncStats().withRecordsCommitted(r.get(STREAM_STATS.RECORDS_COMMITTED)).withBytesCommitted(r.get(STREAM_STATS.BYTES_COMMITTED)),
+            (first, duplicate) -> first));
 
     Optional.ofNullable(perStreamStats).orElse(Collections.emptyList()).forEach(
         streamStats -> {
-          final var isExisting =
-              existingStreams.contains(new StreamDescriptor().withName(streamStats.getStreamName()).withNamespace(streamStats.getStreamNamespace()));
+          final SyncStats existingStats =
+              existingStreams.get(new StreamDescriptor().withName(streamStats.getStreamName()).withNamespace(streamStats.getStreamNamespace()));
+          final var isExisting = existingStats != null;
           final var stats = streamStats.getStats();
+          if (isSync) {
+            rollUpStreamStatsHourly(now, streamStats, existingStats, connectionId, ctx).ifPresent(queries::add);
+          }
           if (isExisting) {
             queries.add(
                 ctx.update(STREAM_STATS)
@@ -272,6 +291,43 @@ public class DefaultJobPersistence implements JobPersistence {
     ctx.batch(queries).execute();
   }
 
+  /**
+   * Stream stats are cumulative for an attempt, so the hourly rollup of the connection is updated with
+   * the records and bytes committed since the stats were last written, in the hour they are written.
+   */
+  private static Optional<Query> rollUpStreamStatsHourly(final OffsetDateTime now,
+                                                         final StreamSyncStats streamStats,
+                                                         final SyncStats existingStats,
+                                                         final UUID connectionId,
+                                                         final DSLContext ctx) {
+    final long recordsCommitted = committed(streamStats.getStats().getRecordsCommitted())
+        - (existingStats == null ? 0 : committed(existingStats.getRecordsCommitted()));
+    final long bytesCommitted = committed(streamStats.getStats().getBytesCommitted())
+        - (existingStats == null ? 0 : committed(existingStats.getBytesCommitted()));
+    if (recordsCommitted == 0 && bytesCommitted == 0) {
+      return Optional.empty();
+    }
+
+    return Optional.of(ctx.insertInto(STREAM_STATS_HOURLY)
+        .set(STREAM_STATS_HOURLY.CONNECTION_ID, connectionId)
+        .set(STREAM_STATS_HOURLY.BUCKET_START, now.truncatedTo(ChronoUnit.HOURS))
+        .set(STREAM_STATS_HOURLY.STREAM_NAMESPACE, Objects.requireNonNullElse(streamStats.getStreamNamespace(), ""))
+        .set(STREAM_STATS_HOURLY.STREAM_NAME, streamStats.getStreamName())
+        .set(STREAM_STATS_HOURLY.RECORDS_COMMITTED, recordsCommitted)
+        .set(STREAM_STATS_HOURLY.BYTES_COMMITTED, bytesCommitted)
+        .set(STREAM_STATS_HOURLY.UPDATED_AT, now)
+        .onConflict(STREAM_STATS_HOURLY.CONNECTION_ID, STREAM_STATS_HOURLY.BUCKET_START, STREAM_STATS_HOURLY.STREAM_NAMESPACE,
+            STREAM_STATS_HOURLY.STREAM_NAME)
+        .doUpdate()
+        .set(STREAM_STATS_HOURLY.RECORDS_COMMITTED, STREAM_STATS_HOURLY.RECORDS_COMMITTED.plus(recordsCommitted))
+        .set(STREAM_STATS_HOURLY.BYTES_COMMITTED, STREAM_STATS_HOURLY.BYTES_COMMITTED.plus(bytesCommitted))
+        .set(STREAM_STATS_HOURLY.UPDATED_AT, now));
+  }
+
+  private static long committed(final Long committed) {
+    return committed == null ? 0 : committed;
+  }
+
   private static Map<JobAttemptPair, AttemptStats> hydrateSyncStats(final String jobIdsStr, final DSLContext ctx) {
     final var attemptStats = new HashMap<JobAttemptPair, AttemptStats>();
     final var syncResults = ctx.fetch(
@@ -780,7 +836,8 @@ public class DefaultJobPersistence implements JobPersistence {
 
       final List<StreamSyncStats> streamSyncStats = output.getSync().getStandardSyncSummary().getStreamStats();
       if (CollectionUtils.isNotEmpty(streamSyncStats)) {
-        saveToStreamStatsTableBatch(now, output.getSync().getStandardSyncSummary().getStreamStats(), attemptId, connectionId, ctx);
+        saveToStreamStatsTableBatch(now, output.getSync().getStandardSyncSummary().getStreamStats(), attemptId, connectionId,
+            job.getConfigType() == ConfigType.SYNC, ctx);
       }
       return null;
     });
@@ -801,7 +858,15 @@ public class DefaultJobPersistence implements JobPersistence {
       throws IOException {
     final OffsetDateTime now = OffsetDateTime.ofInstant(timeSupplier.get(), ZoneOffset.UTC);
     jobDatabase.transaction(ctx -> {
-      final var attemptId = getAttemptId(jobId, attemptNumber, ctx);
+      // The config type is read along with the attempt id, as only the stats of syncs are rolled up.
+      final Optional<Record> attempt = ctx.fetch(
+          "SELECT attempts.id, jobs.config_type FROM attempts JOIN jobs ON jobs.id = attempts.job_id "
+              + "WHERE attempts.job_id = ? AND attempts.attempt_number = ?",
+          jobId, attemptNumber).stream().findFirst();
+      final long attemptId = attempt.map(r -> r.get("id", Long.class)).orElse(-1L);
+      final boolean isSync = attempt.flatMap(r -> Enums.toEnum(r.get("config_type", String.class), ConfigType.class))
+          .map(configType -> configType == ConfigType.SYNC)
+          .orElse(false);
 
       final var syncStats = new SyncStats()
           .withEstimatedRecords(estimatedRecords)
@@ -812,7 +877,7 @@ public class DefaultJobPersistence implements JobPersistence {
           .withBytesCommitted(bytesCommitted);
       saveToSyncStatsTable(now, syncStats, attemptId, ctx);
 
-      saveToStreamStatsTableBatch(now, streamStats, attemptId, connectionId, ctx);
+      saveToStreamStatsTableBatch(now, streamStats, attemptId, connectionId, isSync, ctx);
       return null;
     });
 
@@ -1147,6 +1212,32 @@ public class DefaultJobPersistence implements JobPersistence {
     return getJobsFromResultLight(listJobsQuery(configTypes, configId, pagesize, ORDER_BY_JOB_TIME_ATTEMPT_TIME));
   }
 
+  /**
+   * Ranks the jobs of each connection with a window function, so that the most recent jobs of all
+   * the connections are read at once rather than with one query per connection.
+   */
+  @Override
+  public Map<UUID, List<Job>> listJobsLightForConnections(final Set<ConfigType> configTypes,
+                                                          final List<UUID> connectionIds,
+                                                          final int pagesize)
+      throws IOException {
+    if (connectionIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    return jobDatabase.query(ctx -> {
+      final String jobsSubquery = "(SELECT * FROM (SELECT *, "
+          + "ROW_NUMBER() OVER (PARTITION BY scope ORDER BY created_at DESC, id DESC) AS job_row_number FROM jobs "
+          + WHERE + "CAST(config_type AS VARCHAR) in " + toSqlInFragment(configTypes) + AND
+          + scopeInList(connectionIds)
+          + ") AS ranked_jobs WHERE job_row_number <= " + pagesize + ") AS jobs";
+
+      return getJobsFromResultLight(ctx.fetch(jobSelectAndJoin(jobsSubquery) + ORDER_BY_JOB_TIME_ATTEMPT_TIME))
+          .stream()
+          .collect(Collectors.groupingBy(job -> UUID.fromString(job.getScope())));
+    });
+  }
+
   @Override
   public List<Job> listJobsLight(final Set<ConfigType> configTypes,
                                  final String configId,
@@ -1299,6 +1390,49 @@ public class DefaultJobPersistence implements JobPersistence {
         .toList();
   }
 
+  @Override
+  public List<StreamRecordsCommittedPerDay> listStreamRecordsCommittedPerDay(final UUID connectionId, final ZonedDateTime startTime)
+      throws IOException {
+    // The hours of the rollup are summed into days by bucketing them on the start of each day in the
+    // timezone of the start time, which postgres can't do itself for every zone java knows of. The
+    // rollup has no finer precision than UTC hours, so days start at the hour their midnight falls
+    // in: in timezones that are not a whole number of hours off UTC, the records committed in the
+    // last minutes before midnight are counted in the next day.
+    final LocalDate startDate = startTime.toLocalDate();
+    final LocalDate endDate = timeSupplier.get().atZone(startTime.getZone()).toLocalDate();
+    final List<OffsetDateTime> dayStarts = new ArrayList<>();
+    dayStarts.add(toStartOfUtcHour(startTime));
+    for (LocalDate date = startDate.plusDays(1); !date.isAfter(endDate); date = date.plusDays(1)) {
+      dayStarts.add(toStartOfUtcHour(date.atStartOfDay(startTime.getZone())));
+    }
+    final String dayStartsArray = dayStarts.stream()
+        .map(DateTimeFormatter.ISO_OFFSET_DATE_TIME::format)
+        .collect(Collectors.joining(",", "{", "}"));
+
+    return jobDatabase.query(ctx -> ctx.fetch(
+        "SELECT stream_namespace, stream_name, "
+            + "width_bucket(bucket_start, CAST(? AS TIMESTAMPTZ[])) AS day_number, "
+            + "SUM(records_committed) AS records_committed "
+            + "FROM stream_stats_hourly "
+            + "WHERE connection_id = ? AND bucket_start >= ? "
+            + "GROUP BY stream_namespace, stream_name, day_number",
+        dayStartsArray,
+        connectionId,
+        dayStarts.get(0)))
+        .stream()
+        .map(r -> new StreamRecordsCommittedPerDay(
+            startDate.plusDays(r.get("day_number", Integer.class) - 1),
+            // null namespaces are rolled up as empty strings
+            StringUtils.defaultIfEmpty(r.get("stream_namespace", String.class), null),
+            r.get("stream_name", String.class),
+            r.get("records_committed", Long.class)))
+        .toList();
+  }
+
+  private static OffsetDateTime toStartOfUtcHour(final ZonedDateTime time) {
+    return time.toInstant().truncatedTo(ChronoUnit.HOURS).atOffset(ZoneOffset.UTC);
+  }
+
   @Override
   public List<JobWithStatusAndTimestamp> listJobStatusAndTimestampWithConnection(final UUID connectionId,
                                                                                  final Set<ConfigType> configTypes,
@@ -1606,6 +1740,8 @@ public class DefaultJobPersistence implements JobPersistence {
   /**
    * Purge job history from N days before a given date. Only purge jobs that are not the last job for
    * the connection.
+   * <p>
+   * The hourly stream stats are purged once they are older than the stream history.
    *
    * @param asOfDate date to purge before
    */
@@ -1619,6 +1755,9 @@ public class DefaultJobPersistence implements JobPersistence {
           asOfDate.format(DateTimeFormatter.ofPattern("YYYY-MM-dd")),
           jobHistoryExcessiveNumberOfJobs,
           jobHistoryMinimumRecency));
+      jobDatabase.query(ctx -> ctx.deleteFrom(STREAM_STATS_HOURLY)
+          .where(STREAM_STATS_HOURLY.BUCKET_START.lt(asOfDate.minusDays(STREAM_STATS_HOURLY_RETENTION_DAYS).atOffset(ZoneOffset.UTC)))
+          .execute());
     } catch (final IOException e) {
       throw new RuntimeException(e);
     }
@@ -23,7 +23,9 @@ import io.airbyte.config.SyncStats;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -303,6 +305,17 @@ public interface JobPersistence {
 
   List<Job> listJobsLight(Set<ConfigType> configTypes, String configId, int pagesize) throws IOException;
 
+  /**
+   * List the most recent jobs of each connection, in a single query.
+   *
+   * @param configTypes the type of jobs we are looking for
+   * @param connectionIds the connections to list jobs for
+   * @param pagesize the maximum number of jobs to list per connection
+   * @return jobs of each connection that has any, sorted by createdAt in descending order
+   * @throws IOException if there is an issue while interacting with db
+   */
+  Map<UUID, List<Job>> listJobsLightForConnections(Set<ConfigType> configTypes, List<UUID> connectionIds, int pagesize) throws IOException;
+
   List<Job> listJobsLight(Set<ConfigType> configTypes,
                           String configId,
                           int limit,
@@ -361,6 +374,18 @@ public interface JobPersistence {
                                                                              Instant attemptEndedAtTimestamp)
       throws IOException;
 
+  /**
+   * List the records committed per stream per day by the sync jobs of a connection, read from the
+   * hourly rollup of the stream stats. Days start at the UTC hour their midnight falls in, so in
+   * timezones that are not a whole number of hours off UTC, such as Asia/Kolkata, the records
+   * committed up to 45 minutes before midnight are counted in the next day.
+   *
+   * @param connectionId The ID of the connection
+   * @param startTime The time from which records are counted, whose timezone the days are in
+   * @return records committed for each stream and day with records committed, in no particular order
+   */
+  List<StreamRecordsCommittedPerDay> listStreamRecordsCommittedPerDay(UUID connectionId, ZonedDateTime startTime) throws IOException;
+
   /**
    * List job statuses and timestamps for connection id.
    *
@@ -476,4 +501,16 @@ public interface JobPersistence {
 
   }
 
+  /**
+   * Records committed for a stream during a day.
+   *
+   * @param day day, in the timezone it was requested in
+   * @param streamNamespace stream namespace
+   * @param streamName stream name
+   * @param recordsCommitted records committed
+   */
+  record StreamRecordsCommittedPerDay(LocalDate day, String streamNamespace, String streamName, long recordsCommitted) {
+
+  }
+
 }
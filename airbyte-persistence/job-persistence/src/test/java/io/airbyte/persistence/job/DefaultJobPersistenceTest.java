@@ -9,6 +9,7 @@ import static io.airbyte.db.instance.jobs.jooq.generated.Tables.ATTEMPTS;
 import static io.airbyte.db.instance.jobs.jooq.generated.Tables.JOBS;
 import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_ATTEMPT_METADATA;
 import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_STATS;
+import static io.airbyte.db.instance.jobs.jooq.generated.Tables.STREAM_STATS_HOURLY;
 import static io.airbyte.db.instance.jobs.jooq.generated.Tables.SYNC_STATS;
 import static io.airbyte.persistence.job.DefaultJobPersistence.toSqlName;
 import static org.junit.Assert.assertFalse;
@@ -58,14 +59,18 @@ import io.airbyte.db.instance.DatabaseConstants;
 import io.airbyte.db.instance.test.TestDatabaseProviders;
 import io.airbyte.persistence.job.JobPersistence.AttemptStats;
 import io.airbyte.persistence.job.JobPersistence.JobAttemptPair;
+import io.airbyte.persistence.job.JobPersistence.StreamRecordsCommittedPerDay;
 import io.airbyte.test.utils.Databases;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -234,6 +239,7 @@ class DefaultJobPersistenceTest {
     jobDatabase.query(ctx -> ctx.truncateTable(AIRBYTE_METADATA).cascade().execute());
     jobDatabase.query(ctx -> ctx.truncateTable(SYNC_STATS));
     jobDatabase.query(ctx -> ctx.truncateTable(STREAM_ATTEMPT_METADATA));
+    jobDatabase.query(ctx -> ctx.truncateTable(STREAM_STATS_HOURLY).execute());
   }
 
   private Result<Record> getJobRecord(final long jobId) throws SQLException {
@@ -1022,6 +1028,141 @@ class DefaultJobPersistenceTest {
       assertEquals(bytesCommitted, stats.getBytesCommitted());
     }
 
+    @Test
+    @DisplayName("Writing stats of a sync should roll up the records committed since the previous write per stream and hour")
+    void testWriteStatsRollsUpSyncs() throws IOException, SQLException {
+      final Instant firstHour = Instant.parse("2024-03-10T10:15:00Z");
+      final Instant secondHour = Instant.parse("2024-03-10T11:05:00Z");
+      final long jobId = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+
+      when(timeSupplier.get()).thenReturn(firstHour);
+      jobPersistence.writeStats(jobId, attemptNumber, 1000L, 1000L, 1000L, 1000L, 110L, 1100L, CONNECTION_ID, List.of(
+          new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns")
+              .withStats(new SyncStats().withRecordsCommitted(100L).withBytesCommitted(1000L)),
+          new StreamSyncStats().withStreamName("name2")
+              .withStats(new SyncStats().withRecordsCommitted(10L).withBytesCommitted(100L))));
+      jobPersistence.writeStats(jobId, attemptNumber, 1000L, 1000L, 1000L, 1000L, 260L, 2600L, CONNECTION_ID, List.of(
+          new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns")
+              .withStats(new SyncStats().withRecordsCommitted(250L).withBytesCommitted(2500L))));
+
+      when(timeSupplier.get()).thenReturn(secondHour);
+      final var streamStats = new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns")
+          .withStats(new SyncStats().withRecordsCommitted(300L).withBytesCommitted(3000L));
+      jobPersistence.writeOutput(jobId, attemptNumber, new JobOutput().withSync(new StandardSyncOutput().withStandardSyncSummary(
+          new StandardSyncSummary().withTotalStats(new SyncStats().withRecordsCommitted(310L)).withStreamStats(List.of(streamStats)))));
+
+      final var hourlyStats = jobDatabase.query(ctx -> ctx.selectFrom(STREAM_STATS_HOURLY)
+          .orderBy(STREAM_STATS_HOURLY.STREAM_NAME, STREAM_STATS_HOURLY.BUCKET_START)
+          .fetch());
+      assertEquals(3, hourlyStats.size());
+      assertEquals(List.of("name1", "name1", "name2"), hourlyStats.map(r -> r.get(STREAM_STATS_HOURLY.STREAM_NAME)));
+      assertEquals(List.of("ns", "ns", ""), hourlyStats.map(r -> r.get(STREAM_STATS_HOURLY.STREAM_NAMESPACE)));
+      assertEquals(List.of(250L, 50L, 10L), hourlyStats.map(r -> r.get(STREAM_STATS_HOURLY.RECORDS_COMMITTED)));
+      assertEquals(List.of(2500L, 500L, 100L), hourlyStats.map(r -> r.get(STREAM_STATS_HOURLY.BYTES_COMMITTED)));
+      final Instant firstBucket = firstHour.truncatedTo(ChronoUnit.HOURS);
+      final Instant secondBucket = secondHour.truncatedTo(ChronoUnit.HOURS);
+      assertEquals(List.of(firstBucket, secondBucket, firstBucket), hourlyStats.map(r -> r.get(STREAM_STATS_HOURLY.BUCKET_START).toInstant()));
+    }
+
+    @Test
+    @DisplayName("Writing stats of jobs other than syncs should not roll them up")
+    void testWriteStatsDoesNotRollUpOtherJobs() throws IOException, SQLException {
+      final long jobId = jobPersistence.enqueueJob(SCOPE, RESET_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+
+      jobPersistence.writeStats(jobId, attemptNumber, 1000L, 1000L, 1000L, 1000L, 100L, 1000L, CONNECTION_ID, List.of(
+          new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns")
+              .withStats(new SyncStats().withRecordsCommitted(100L).withBytesCommitted(1000L))));
+
+      assertEquals(0, jobDatabase.query(ctx -> ctx.fetchCount(STREAM_STATS_HOURLY)));
+    }
+
+  }
+
+  @Nested
+  @DisplayName("When listing the records committed per stream and per day")
+  class ListStreamRecordsCommittedPerDay {
+
+    @Test
+    @DisplayName("Should sum hours into the days of the timezone of the start time")
+    void testDaysInTimezone() throws IOException {
+      final ZoneId losAngeles = ZoneId.of("America/Los_Angeles");
+      // 2024-03-09 22:30 and 2024-03-10 01:30 in Los Angeles, the same day in UTC
+      final Instant lateOnFirstDay = Instant.parse("2024-03-10T06:30:00Z");
+      final Instant earlyOnSecondDay = Instant.parse("2024-03-10T09:30:00Z");
+      final long jobId = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+
+      when(timeSupplier.get()).thenReturn(lateOnFirstDay);
+      writeRecordsCommitted(jobId, attemptNumber, CONNECTION_ID, 100L);
+      when(timeSupplier.get()).thenReturn(earlyOnSecondDay);
+      writeRecordsCommitted(jobId, attemptNumber, CONNECTION_ID, 300L);
+
+      final List<StreamRecordsCommittedPerDay> actual = jobPersistence.listStreamRecordsCommittedPerDay(CONNECTION_ID,
+          earlyOnSecondDay.atZone(losAngeles).minusDays(30));
+
+      assertEquals(Set.of(
+          new StreamRecordsCommittedPerDay(LocalDate.parse("2024-03-09"), "ns", "name1", 100L),
+          new StreamRecordsCommittedPerDay(LocalDate.parse("2024-03-10"), "ns", "name1", 200L)),
+          new HashSet<>(actual));
+    }
+
+    @Test
+    @DisplayName("Should count the hour of midnight in the next day in timezones that are not a whole number of hours off UTC")
+    void testDaysInHalfHourTimezone() throws IOException {
+      final ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+      // 2024-03-09 23:15, 2024-03-09 23:45 and 2024-03-10 00:15 in Kolkata
+      final Instant hourBeforeMidnight = Instant.parse("2024-03-09T17:45:00Z");
+      final Instant hourOfMidnight = Instant.parse("2024-03-09T18:15:00Z");
+      final Instant afterMidnight = Instant.parse("2024-03-09T18:45:00Z");
+      final long jobId = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+
+      when(timeSupplier.get()).thenReturn(hourBeforeMidnight);
+      writeRecordsCommitted(jobId, attemptNumber, CONNECTION_ID, 100L);
+      when(timeSupplier.get()).thenReturn(hourOfMidnight);
+      writeRecordsCommitted(jobId, attemptNumber, CONNECTION_ID, 300L);
+      when(timeSupplier.get()).thenReturn(afterMidnight);
+      writeRecordsCommitted(jobId, attemptNumber, CONNECTION_ID, 350L);
+
+      final List<StreamRecordsCommittedPerDay> actual = jobPersistence.listStreamRecordsCommittedPerDay(CONNECTION_ID,
+          afterMidnight.atZone(kolkata).minusDays(30));
+
+      assertEquals(Set.of(
+          new StreamRecordsCommittedPerDay(LocalDate.parse("2024-03-09"), "ns", "name1", 100L),
+          new StreamRecordsCommittedPerDay(LocalDate.parse("2024-03-10"), "ns", "name1", 250L)),
+          new HashSet<>(actual));
+    }
+
+    @Test
+    @DisplayName("Should only list the records committed by the connection after the start time")
+    void testStartTimeAndConnection() throws IOException {
+      final Instant now = Instant.parse("2024-03-10T09:30:00Z");
+      final long jobId = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+      final long otherJobId = jobPersistence.enqueueJob(CONNECTION_ID2.toString(), SYNC_JOB_CONFIG).orElseThrow();
+      final int otherAttemptNumber = jobPersistence.createAttempt(otherJobId, LOG_PATH);
+
+      when(timeSupplier.get()).thenReturn(now.minus(31, ChronoUnit.DAYS));
+      writeRecordsCommitted(jobId, attemptNumber, CONNECTION_ID, 100L);
+      when(timeSupplier.get()).thenReturn(now);
+      writeRecordsCommitted(jobId, attemptNumber, CONNECTION_ID, 150L);
+      writeRecordsCommitted(otherJobId, otherAttemptNumber, CONNECTION_ID2, 1000L);
+
+      final List<StreamRecordsCommittedPerDay> actual = jobPersistence.listStreamRecordsCommittedPerDay(CONNECTION_ID,
+          now.atZone(ZoneOffset.UTC).minusDays(30));
+
+      assertEquals(List.of(new StreamRecordsCommittedPerDay(LocalDate.parse("2024-03-10"), "ns", "name1", 50L)), actual);
+    }
+
+    private void writeRecordsCommitted(final long jobId, final int attemptNumber, final UUID connectionId, final long recordsCommitted)
+        throws IOException {
+      jobPersistence.writeStats(jobId, attemptNumber, 0L, 0L, 0L, 0L, recordsCommitted, 0L, connectionId, List.of(
+          new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns")
+              .withStats(new SyncStats().withRecordsCommitted(recordsCommitted))));
+    }
+
   }
 
   @Nested
@@ -1537,6 +1678,45 @@ class DefaultJobPersistenceTest {
 
   }
 
+  @Nested
+  @DisplayName("When listing the most recent jobs of multiple connections")
+  class ListJobsLightForConnections {
+
+    private static final UUID CONNECTION_ID_1 = UUID.randomUUID();
+    private static final UUID CONNECTION_ID_2 = UUID.randomUUID();
+    private static final UUID CONNECTION_ID_3 = UUID.randomUUID();
+    private static final List<UUID> CONNECTION_IDS = List.of(CONNECTION_ID_1, CONNECTION_ID_2, CONNECTION_ID_3);
+
+    @Test
+    @DisplayName("Should return nothing if no connection is given")
+    void testListJobsLightForNoConnections() throws IOException {
+      assertTrue(jobPersistence.listJobsLightForConnections(Job.REPLICATION_TYPES, List.of(), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return the most recent jobs of each connection, most recent first")
+    void testListJobsLightForConnections() throws IOException {
+      final List<Long> connection1JobIds = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        when(timeSupplier.get()).thenReturn(NOW.plusSeconds(i));
+        final long jobId = jobPersistence.enqueueJob(CONNECTION_ID_1.toString(), SYNC_JOB_CONFIG).orElseThrow();
+        jobPersistence.succeedAttempt(jobId, jobPersistence.createAttempt(jobId, LOG_PATH));
+        connection1JobIds.add(0, jobId);
+      }
+      final long connection2JobId = jobPersistence.enqueueJob(CONNECTION_ID_2.toString(), SYNC_JOB_CONFIG).orElseThrow();
+      // jobs of other types are not listed
+      jobPersistence.enqueueJob(CONNECTION_ID_3.toString(), SPEC_JOB_CONFIG).orElseThrow();
+
+      final Map<UUID, List<Job>> actual = jobPersistence.listJobsLightForConnections(Job.REPLICATION_TYPES, CONNECTION_IDS, 3);
+
+      assertEquals(Set.of(CONNECTION_ID_1, CONNECTION_ID_2), actual.keySet());
+      assertEquals(connection1JobIds.subList(0, 3), actual.get(CONNECTION_ID_1).stream().map(Job::getId).toList());
+      assertEquals(1, actual.get(CONNECTION_ID_1).getFirst().getAttempts().size());
+      assertEquals(List.of(connection2JobId), actual.get(CONNECTION_ID_2).stream().map(Job::getId).toList());
+    }
+
+  }
+
   @Nested
   @DisplayName("When getting the last running sync job for multiple connections")
   class GetRunningSyncJobForConnections {
@@ -2661,6 +2841,28 @@ class DefaultJobPersistenceTest {
       assertTrue(afterPurge.contains(lastJobWithState), goalOfTestScenario + " - Missing last job with saved state after deletion.");
     }
 
+    @Test
+    @DisplayName("Should purge the hourly stream stats older than the stream history")
+    void testPurgeStreamStatsHourly() throws IOException, SQLException {
+      final LocalDateTime fakeNow = LocalDateTime.of(2021, 6, 20, 0, 0);
+      final long jobId = jobPersistence.enqueueJob(SCOPE, SYNC_JOB_CONFIG).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+
+      when(timeSupplier.get()).thenReturn(fakeNow.minusDays(32).toInstant(ZoneOffset.UTC));
+      jobPersistence.writeStats(jobId, attemptNumber, 0L, 0L, 0L, 0L, 100L, 0L, CONNECTION_ID, List.of(
+          new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns").withStats(new SyncStats().withRecordsCommitted(100L))));
+      when(timeSupplier.get()).thenReturn(fakeNow.minusDays(30).toInstant(ZoneOffset.UTC));
+      jobPersistence.writeStats(jobId, attemptNumber, 0L, 0L, 0L, 0L, 150L, 0L, CONNECTION_ID, List.of(
+          new StreamSyncStats().withStreamName("name1").withStreamNamespace("ns").withStats(new SyncStats().withRecordsCommitted(150L))));
+
+      jobPersistence.purgeJobHistory(fakeNow);
+
+      final var hourlyStats = jobDatabase.query(ctx -> ctx.selectFrom(STREAM_STATS_HOURLY).fetch());
+      assertEquals(List.of(50L), hourlyStats.map(r -> r.get(STREAM_STATS_HOURLY.RECORDS_COMMITTED)));
+      assertEquals(fakeNow.minusDays(30).toInstant(ZoneOffset.UTC),
+          hourlyStats.get(0).get(STREAM_STATS_HOURLY.BUCKET_START).toInstant());
+    }
+
     private Job addStateToJob(final Job job) throws IOException, SQLException {
       persistAttemptForJobHistoryTesting(job, LOG_PATH.toString(),
           LocalDateTime.ofEpochSecond(job.getCreatedAtInSecond(), 0, ZoneOffset.UTC), true);
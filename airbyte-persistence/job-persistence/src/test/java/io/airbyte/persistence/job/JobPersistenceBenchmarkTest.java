@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020-2024 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.persistence.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.Job;
+import io.airbyte.config.JobConfig;
+import io.airbyte.config.JobConfig.ConfigType;
+import io.airbyte.config.JobSyncConfig;
+import io.airbyte.db.Database;
+import io.airbyte.db.factory.DSLContextFactory;
+import io.airbyte.db.factory.DataSourceFactory;
+import io.airbyte.db.instance.DatabaseConstants;
+import io.airbyte.db.instance.test.TestDatabaseProviders;
+import io.airbyte.test.utils.Databases;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Compares reading the recent jobs of many connections one connection at a time, as the connection
+ * statuses used to, with reading them for all the connections at once, against the test container
+ * database seeded with many connections and jobs.
+ * <p>
+ * This is a benchmark rather than a test, it only runs when JOB_PERSISTENCE_BENCHMARK is set to true
+ * and logs its results.
+ */
+@EnabledIfEnvironmentVariable(named = "JOB_PERSISTENCE_BENCHMARK", matches = "true")
+class JobPersistenceBenchmarkTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JobPersistenceBenchmarkTest.class);
+
+  private static final int JOBS_PER_CONNECTION = 50;
+  private static final int MAX_JOB_LOOKBACK = 10;
+  private static final int WARMUP_ITERATIONS = 2;
+  private static final int MEASUREMENT_ITERATIONS = 5;
+
+  private static PostgreSQLContainer<?> container;
+  private DataSource dataSource;
+  private Database jobDatabase;
+  private JobPersistence jobPersistence;
+
+  @BeforeAll
+  static void dbSetup() {
+    container = new PostgreSQLContainer<>(DatabaseConstants.DEFAULT_DATABASE_VERSION)
+        .withDatabaseName("airbyte")
+        .withUsername("docker")
+        .withPassword("docker");
+    container.start();
+  }
+
+  @AfterAll
+  static void dbDown() {
+    container.close();
+  }
+
+  @BeforeEach
+  void setup() throws Exception {
+    dataSource = Databases.createDataSource(container);
+    final DSLContext dslContext = DSLContextFactory.create(dataSource, SQLDialect.POSTGRES);
+    jobDatabase = new TestDatabaseProviders(dataSource, dslContext).createNewJobsDatabase();
+    jobDatabase.query(ctx -> ctx.execute("TRUNCATE TABLE jobs, attempts CASCADE"));
+    jobPersistence = new DefaultJobPersistence(jobDatabase);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    DataSourceFactory.close(dataSource);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {100, 500, 2_000})
+  void benchmarkRecentJobsOfConnections(final int connectionCount) throws Exception {
+    final List<UUID> connectionIds = IntStream.range(0, connectionCount).mapToObj(i -> UUID.randomUUID()).toList();
+    seedJobs(connectionIds);
+
+    long perConnectionNanos = 0;
+    long bulkNanos = 0;
+    Map<UUID, List<Job>> perConnectionJobs = Map.of();
+    Map<UUID, List<Job>> bulkJobs = Map.of();
+    for (int i = 0; i < WARMUP_ITERATIONS + MEASUREMENT_ITERATIONS; i++) {
+      final long perConnectionStart = System.nanoTime();
+      perConnectionJobs = listJobsPerConnection(connectionIds);
+      final long bulkStart = System.nanoTime();
+      bulkJobs = jobPersistence.listJobsLightForConnections(Job.REPLICATION_TYPES, connectionIds, MAX_JOB_LOOKBACK);
+      jobPersistence.getLastSyncJobForConnections(connectionIds);
+      final long bulkEnd = System.nanoTime();
+
+      if (i >= WARMUP_ITERATIONS) {
+        perConnectionNanos += bulkStart - perConnectionStart;
+        bulkNanos += bulkEnd - bulkStart;
+      }
+    }
+
+    assertEquals(jobIds(perConnectionJobs), jobIds(bulkJobs));
+    LOGGER.info("{} connections: {} ms with queries per connection, {} ms with bulk queries", connectionCount,
+        perConnectionNanos / MEASUREMENT_ITERATIONS / 1_000_000, bulkNanos / MEASUREMENT_ITERATIONS / 1_000_000);
+  }
+
+  private Map<UUID, List<Job>> listJobsPerConnection(final List<UUID> connectionIds) throws IOException {
+    final Map<UUID, List<Job>> jobs = new HashMap<>();
+    for (final UUID connectionId : connectionIds) {
+      jobs.put(connectionId, jobPersistence.listJobsLight(Job.REPLICATION_TYPES, connectionId.toString(), MAX_JOB_LOOKBACK));
+      jobPersistence.getLastSyncJob(connectionId);
+    }
+    return jobs;
+  }
+
+  private static Map<UUID, List<Long>> jobIds(final Map<UUID, List<Job>> jobs) {
+    final Map<UUID, List<Long>> jobIds = new HashMap<>();
+    jobs.forEach((connectionId, connectionJobs) -> {
+      if (!connectionJobs.isEmpty()) {
+        jobIds.put(connectionId, connectionJobs.stream().map(Job::getId).toList());
+      }
+    });
+    return jobIds;
+  }
+
+  /**
+   * Seeds a succeeded sync job with one attempt per hour for each connection, with set based inserts
+   * so that seeding doesn't dominate the benchmark.
+   */
+  private void seedJobs(final List<UUID> connectionIds) throws Exception {
+    final String config = Jsons.serialize(new JobConfig().withConfigType(ConfigType.SYNC).withSync(new JobSyncConfig()));
+    final String[] scopes = connectionIds.stream().map(UUID::toString).toArray(String[]::new);
+    jobDatabase.query(ctx -> ctx.execute(
+        """
+        INSERT INTO jobs (config_type, scope, config, status, created_at, updated_at)
+        SELECT 'sync'::job_config_type, scopes.scope, ?::jsonb, 'succeeded'::job_status,
+          now() - job_number * interval '1 hour', now() - job_number * interval '1 hour'
+        FROM unnest(?::varchar[]) AS scopes(scope), generate_series(1, ?) AS job_number
+        """, config, scopes, JOBS_PER_CONNECTION));
+    jobDatabase.query(ctx -> ctx.execute(
+        """
+        INSERT INTO attempts (job_id, attempt_number, log_path, status, created_at, updated_at)
+        SELECT id, 0, '/tmp/logs', 'succeeded'::attempt_status, created_at, updated_at FROM jobs
+        """));
+  }
+
+}
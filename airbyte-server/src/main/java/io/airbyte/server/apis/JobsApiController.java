@@ -28,6 +28,8 @@ import io.airbyte.api.model.generated.JobOptionalRead;
 import io.airbyte.api.model.generated.JobReadList;
 import io.airbyte.api.model.generated.JobSuccessWithAttemptNumberRequest;
 import io.airbyte.api.model.generated.PersistCancelJobRequestBody;
+import io.airbyte.api.model.generated.ReplicationHydrationContextRead;
+import io.airbyte.api.model.generated.ReplicationHydrationContextRequestBody;
 import io.airbyte.api.model.generated.ReportJobStartRequest;
 import io.airbyte.api.model.generated.SyncInput;
 import io.airbyte.commons.auth.generated.Intent;
@@ -35,6 +37,7 @@ import io.airbyte.commons.auth.permissions.RequiresIntent;
 import io.airbyte.commons.server.handlers.JobHistoryHandler;
 import io.airbyte.commons.server.handlers.JobInputHandler;
 import io.airbyte.commons.server.handlers.JobsHandler;
+import io.airbyte.commons.server.handlers.ReplicationHydrationContextHandler;
 import io.airbyte.commons.server.handlers.SchedulerHandler;
 import io.airbyte.commons.server.scheduling.AirbyteTaskExecutors;
 import io.airbyte.commons.temporal.StreamResetRecordsHelper;
@@ -57,16 +60,19 @@ public class JobsApiController implements JobsApi {
   private final SchedulerHandler schedulerHandler;
   private final JobsHandler jobsHandler;
   private final JobInputHandler jobInputHandler;
+  private final ReplicationHydrationContextHandler replicationHydrationContextHandler;
   private final StreamResetRecordsHelper streamResetRecordsHelper;
 
   public JobsApiController(final JobHistoryHandler jobHistoryHandler,
                            final SchedulerHandler schedulerHandler,
                            final JobInputHandler jobInputHandler,
+                           final ReplicationHydrationContextHandler replicationHydrationContextHandler,
                            final JobsHandler jobsHandler,
                            final StreamResetRecordsHelper streamResetRecordsHelper) {
     this.jobHistoryHandler = jobHistoryHandler;
     this.schedulerHandler = schedulerHandler;
     this.jobInputHandler = jobInputHandler;
+    this.replicationHydrationContextHandler = replicationHydrationContextHandler;
     this.jobsHandler = jobsHandler;
     this.streamResetRecordsHelper = streamResetRecordsHelper;
   }
@@ -154,6 +160,14 @@ public class JobsApiController implements JobsApi {
     return ApiHelper.execute(() -> jobHistoryHandler.getLastReplicationJob(connectionIdRequestBody));
   }
 
+  @Post("/get_replication_hydration_context")
+  @Secured({ADMIN})
+  @ExecuteOn(AirbyteTaskExecutors.IO)
+  @Override
+  public ReplicationHydrationContextRead getReplicationHydrationContext(@Body final ReplicationHydrationContextRequestBody requestBody) {
+    return ApiHelper.execute(() -> replicationHydrationContextHandler.getReplicationHydrationContext(requestBody));
+  }
+
   @Post("/job_failure")
   @Secured({ADMIN})
   @ExecuteOn(AirbyteTaskExecutors.IO)
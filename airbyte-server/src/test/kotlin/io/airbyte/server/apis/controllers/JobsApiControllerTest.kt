@@ -7,7 +7,10 @@ import io.airbyte.api.model.generated.JobCreate
 import io.airbyte.api.model.generated.JobDebugInfoRead
 import io.airbyte.api.model.generated.JobIdRequestBody
 import io.airbyte.api.model.generated.JobInfoRead
+import io.airbyte.api.model.generated.ReplicationHydrationContextRead
+import io.airbyte.api.model.generated.ReplicationHydrationContextRequestBody
 import io.airbyte.commons.server.handlers.JobHistoryHandler
+import io.airbyte.commons.server.handlers.ReplicationHydrationContextHandler
 import io.airbyte.commons.server.handlers.SchedulerHandler
 import io.airbyte.data.exceptions.ConfigNotFoundException
 import io.airbyte.server.assertStatus
@@ -32,6 +35,9 @@ internal class JobsApiControllerTest {
   @Inject
   lateinit var jobHistoryHandler: JobHistoryHandler
 
+  @Inject
+  lateinit var replicationHydrationContextHandler: ReplicationHydrationContextHandler
+
   @Inject
   @Client("/")
   lateinit var client: HttpClient
@@ -42,6 +48,9 @@ internal class JobsApiControllerTest {
   @MockBean(JobHistoryHandler::class)
   fun jobHistoryHandler(): JobHistoryHandler = mockk()
 
+  @MockBean(ReplicationHydrationContextHandler::class)
+  fun replicationHydrationContextHandler(): ReplicationHydrationContextHandler = mockk()
+
   @Test
   fun testCreateJob() {
     every { schedulerHandler.createJob(any()) } returns JobInfoRead() andThenThrows ConfigNotFoundException("", "")
@@ -67,4 +76,15 @@ internal class JobsApiControllerTest {
     assertStatus(HttpStatus.OK, client.status(HttpRequest.POST(path, JobIdRequestBody())))
     assertStatus(HttpStatus.NOT_FOUND, client.statusException(HttpRequest.POST(path, JobIdRequestBody())))
   }
+
+  @Test
+  fun testGetReplicationHydrationContext() {
+    every {
+      replicationHydrationContextHandler.getReplicationHydrationContext(any())
+    } returns ReplicationHydrationContextRead() andThenThrows ConfigNotFoundException("", "")
+
+    val path = "/api/v1/jobs/get_replication_hydration_context"
+    assertStatus(HttpStatus.OK, client.status(HttpRequest.POST(path, ReplicationHydrationContextRequestBody())))
+    assertStatus(HttpStatus.NOT_FOUND, client.statusException(HttpRequest.POST(path, ReplicationHydrationContextRequestBody())))
+  }
 }
@@ -123,6 +123,7 @@ public class BaseConfigDatabaseTest {
               actor,
               actor_catalog,
               actor_catalog_fetch_event,
+              actor_catalog_stream,
               actor_definition,
               actor_definition_breaking_change,
               actor_definition_config_injection,
@@ -21,6 +21,8 @@ import io.airbyte.workload.api.domain.WorkloadListRequest
 import io.airbyte.workload.api.domain.WorkloadListResponse
 import io.airbyte.workload.api.domain.WorkloadRunningRequest
 import io.airbyte.workload.api.domain.WorkloadSuccessRequest
+import io.airbyte.workload.api.domain.WorkloadTerminalListRequest
+import io.airbyte.workload.api.domain.WorkloadTerminalListResponse
 import io.airbyte.workload.handler.DefaultDeadlineValues
 import io.airbyte.workload.handler.WorkloadHandler
 import io.airbyte.workload.metrics.WorkloadApiMetricMetadata.Companion.DATA_PLANE_ID_TAG
@@ -436,6 +438,29 @@ open class WorkloadApi(
     )
   }
 
+  @POST
+  @Path("/terminal_list")
+  @Consumes("application/json")
+  @Produces("application/json")
+  @Operation(summary = "Get the workloads among the given ids that reached a terminal status, and the ids that don't exist.", tags = ["workload"])
+  @ApiResponses(
+    value = [
+      ApiResponse(
+        responseCode = "200",
+        description = "Success",
+        content = [Content(schema = Schema(implementation = WorkloadTerminalListResponse::class))],
+      ),
+    ],
+  )
+  open fun workloadListTerminal(
+    @RequestBody(
+      content = [Content(schema = Schema(implementation = WorkloadTerminalListRequest::class))],
+    ) @Body workloadTerminalListRequest: WorkloadTerminalListRequest,
+  ): WorkloadTerminalListResponse {
+    val workloadIds = workloadTerminalListRequest.workloadIds
+    return WorkloadTerminalListResponse(workloadHandler.getTerminalWorkloads(workloadIds), workloadHandler.getUnknownWorkloadIds(workloadIds))
+  }
+
   @POST
   @Path("/expired_deadline_list")
   @Consumes("application/json")
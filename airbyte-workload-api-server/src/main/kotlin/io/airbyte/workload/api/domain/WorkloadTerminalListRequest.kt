@@ -0,0 +1,5 @@
+package io.airbyte.workload.api.domain
+
+data class WorkloadTerminalListRequest(
+  var workloadIds: List<String> = ArrayList(),
+)
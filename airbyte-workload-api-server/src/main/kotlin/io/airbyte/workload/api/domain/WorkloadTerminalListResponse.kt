@@ -0,0 +1,6 @@
+package io.airbyte.workload.api.domain
+
+data class WorkloadTerminalListResponse(
+  var workloads: List<Workload> = ArrayList(),
+  var notFoundWorkloadIds: List<String> = ArrayList(),
+)
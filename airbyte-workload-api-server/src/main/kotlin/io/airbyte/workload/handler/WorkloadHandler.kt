@@ -27,6 +27,10 @@ interface WorkloadHandler {
     deadline: OffsetDateTime,
   ): List<Workload>
 
+  fun getTerminalWorkloads(workloadIds: List<String>): List<Workload>
+
+  fun getUnknownWorkloadIds(workloadIds: List<String>): List<String>
+
   fun workloadAlreadyExists(workloadId: String): Boolean
 
   fun createWorkload(
@@ -35,6 +35,8 @@ class WorkloadHandlerImpl(
   companion object {
     val ACTIVE_STATUSES: List<WorkloadStatus> =
       listOf(WorkloadStatus.PENDING, WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING)
+    val TERMINAL_STATUSES: List<WorkloadStatus> =
+      listOf(WorkloadStatus.SUCCESS, WorkloadStatus.FAILURE, WorkloadStatus.CANCELLED)
   }
 
   override fun getWorkload(workloadId: String): ApiWorkload {
@@ -61,6 +63,23 @@ class WorkloadHandlerImpl(
     return domainWorkloads.map { it.toApi() }
   }
 
+  override fun getTerminalWorkloads(workloadIds: List<String>): List<Workload> {
+    if (workloadIds.isEmpty()) {
+      return emptyList()
+    }
+
+    return workloadRepository.searchByIdInListAndStatusInList(workloadIds, TERMINAL_STATUSES).map { it.toApi() }
+  }
+
+  override fun getUnknownWorkloadIds(workloadIds: List<String>): List<String> {
+    if (workloadIds.isEmpty()) {
+      return emptyList()
+    }
+
+    val knownWorkloadIds = workloadRepository.findIdByIdInList(workloadIds).toSet()
+    return workloadIds.filterNot { it in knownWorkloadIds }
+  }
+
   override fun workloadAlreadyExists(workloadId: String): Boolean {
     return workloadRepository.existsById(workloadId)
   }
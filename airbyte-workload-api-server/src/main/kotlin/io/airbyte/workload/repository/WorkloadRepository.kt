@@ -53,6 +53,13 @@ interface WorkloadRepository : PageableRepository<Workload, String> {
     statuses: List<WorkloadStatus>,
   ): List<Workload>
 
+  fun searchByIdInListAndStatusInList(
+    ids: List<String>,
+    statuses: List<WorkloadStatus>,
+  ): List<Workload>
+
+  fun findIdByIdInList(ids: List<String>): List<String>
+
   @Query(
     """
       SELECT * FROM workload
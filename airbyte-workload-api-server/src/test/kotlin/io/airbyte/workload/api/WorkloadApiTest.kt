@@ -11,6 +11,7 @@ import io.airbyte.workload.api.domain.WorkloadHeartbeatRequest
 import io.airbyte.workload.api.domain.WorkloadListRequest
 import io.airbyte.workload.api.domain.WorkloadRunningRequest
 import io.airbyte.workload.api.domain.WorkloadSuccessRequest
+import io.airbyte.workload.api.domain.WorkloadTerminalListRequest
 import io.airbyte.workload.errors.InvalidStatusTransitionException
 import io.airbyte.workload.errors.NotFoundException
 import io.airbyte.workload.handler.ApiWorkload
@@ -177,6 +178,15 @@ class WorkloadApiTest(
     testEndpointStatus(HttpRequest.POST("/api/v1/workload/list", WorkloadListRequest()), HttpStatus.OK)
   }
 
+  @Test
+  fun `test terminal list success`() {
+    every { workloadHandler.getTerminalWorkloads(listOf("a", "b")) }.returns(emptyList())
+    every { workloadHandler.getUnknownWorkloadIds(listOf("a", "b")) }.returns(listOf("b"))
+    testEndpointStatus(HttpRequest.POST("/api/v1/workload/terminal_list", WorkloadTerminalListRequest(listOf("a", "b"))), HttpStatus.OK)
+    verify { workloadHandler.getTerminalWorkloads(listOf("a", "b")) }
+    verify { workloadHandler.getUnknownWorkloadIds(listOf("a", "b")) }
+  }
+
   @Test
   fun `test cancel success`() {
     every { workloadHandler.cancelWorkload(any(), any(), any()) } just Runs
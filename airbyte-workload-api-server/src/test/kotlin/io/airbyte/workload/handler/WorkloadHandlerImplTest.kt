@@ -212,6 +212,40 @@ class WorkloadHandlerImplTest {
     assertEquals(io.airbyte.config.WorkloadType.DISCOVER, workloads[0].type)
   }
 
+  @Test
+  fun `test get terminal workloads`() {
+    val domainWorkload =
+      Fixtures.workload(
+        id = WORKLOAD_ID,
+        status = WorkloadStatus.SUCCESS,
+      )
+    every {
+      workloadRepository.searchByIdInListAndStatusInList(
+        listOf(WORKLOAD_ID, "other"),
+        listOf(WorkloadStatus.SUCCESS, WorkloadStatus.FAILURE, WorkloadStatus.CANCELLED),
+      )
+    }.returns(listOf(domainWorkload))
+
+    val workloads = workloadHandler.getTerminalWorkloads(listOf(WORKLOAD_ID, "other"))
+    assertEquals(1, workloads.size)
+    assertEquals(WORKLOAD_ID, workloads[0].id)
+    assertEquals(ApiWorkloadStatus.SUCCESS, workloads[0].status)
+  }
+
+  @Test
+  fun `test get terminal workloads without ids does not query the repository`() {
+    assertTrue(workloadHandler.getTerminalWorkloads(emptyList()).isEmpty())
+    assertTrue(workloadHandler.getUnknownWorkloadIds(emptyList()).isEmpty())
+    verify { workloadRepository wasNot Called }
+  }
+
+  @Test
+  fun `test get unknown workload ids`() {
+    every { workloadRepository.findIdByIdInList(listOf(WORKLOAD_ID, "other")) }.returns(listOf(WORKLOAD_ID))
+
+    assertEquals(listOf("other"), workloadHandler.getUnknownWorkloadIds(listOf(WORKLOAD_ID, "other")))
+  }
+
   @ParameterizedTest
   @EnumSource(value = WorkloadStatus::class, names = ["CLAIMED", "LAUNCHED", "RUNNING"])
   fun `test successfulHeartbeat`(workloadStatus: WorkloadStatus) {
@@ -267,6 +267,37 @@ internal class WorkloadRepositoryTest {
     assertEquals(0, mutexMismatch.size)
   }
 
+  @Test
+  fun `test search by ids and status`() {
+    val workload1 =
+      Fixtures.workload(
+        id = "workload-terminal-search-1",
+        status = WorkloadStatus.SUCCESS,
+      )
+    val workload2 =
+      Fixtures.workload(
+        id = "workload-terminal-search-2",
+        status = WorkloadStatus.RUNNING,
+      )
+    val workload3 =
+      Fixtures.workload(
+        id = "workload-terminal-search-3",
+        status = WorkloadStatus.CANCELLED,
+      )
+    workloadRepo.save(workload1)
+    workloadRepo.save(workload2)
+    workloadRepo.save(workload3)
+
+    val terminalStatuses = listOf(WorkloadStatus.SUCCESS, WorkloadStatus.FAILURE, WorkloadStatus.CANCELLED)
+    val match = workloadRepo.searchByIdInListAndStatusInList(listOf(workload1.id, workload2.id, "unknown"), terminalStatuses)
+    assertEquals(listOf(workload1.id), match.map { it.id })
+
+    val allMatches = workloadRepo.searchByIdInListAndStatusInList(listOf(workload1.id, workload2.id, workload3.id), terminalStatuses)
+    assertEquals(setOf(workload1.id, workload3.id), allMatches.map { it.id }.toSet())
+
+    assertEquals(setOf(workload1.id, workload2.id), workloadRepo.findIdByIdInList(listOf(workload1.id, workload2.id, "unknown")).toSet())
+  }
+
   @Test
   fun `test search`() {
     val workload1 =